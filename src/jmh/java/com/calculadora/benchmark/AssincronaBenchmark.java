@@ -0,0 +1,63 @@
+package com.calculadora.benchmark;
+
+import com.calculadora.controller.CalculadoraAssincrona;
+import com.calculadora.controller.CalculadoraController;
+import com.calculadora.controller.PoliticaAdmissao;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Envia rajadas de pedidos pequenos à {@link CalculadoraAssincrona} e espera
+ * todos; com lote 1 cada pedido é despachado sozinho, com lote 256 os pedidos
+ * que chegam juntos são calculados juntos.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AssincronaBenchmark {
+    
+    private static final int RAJADA = 1024;
+    
+    @Param({"1", "256"})
+    public int tamanhoLote;
+    
+    private CalculadoraController controller;
+    private CalculadoraAssincrona assincrona;
+    @SuppressWarnings("unchecked")
+    private final CompletableFuture<Double>[] futuros = new CompletableFuture[RAJADA];
+    
+    @Setup
+    public void preparar() {
+        controller = new CalculadoraController();
+        assincrona = new CalculadoraAssincrona(controller, Runtime.getRuntime().availableProcessors(),
+            RAJADA, tamanhoLote, PoliticaAdmissao.ESPERAR);
+    }
+    
+    @TearDown
+    public void encerrar() {
+        assincrona.close();
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(RAJADA)
+    public double sincrono() {
+        double soma = 0;
+        for (int i = 0; i < RAJADA; i++) {
+            soma += controller.executarOperacao("*", i, 1.5);
+        }
+        return soma;
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(RAJADA)
+    public double assincrono() {
+        for (int i = 0; i < RAJADA; i++) {
+            futuros[i] = assincrona.executarOperacaoAsync("*", i, 1.5);
+        }
+        return CompletableFuture.allOf(futuros).thenApply(v -> futuros[RAJADA - 1].join()).join();
+    }
+}
@@ -0,0 +1,64 @@
+package com.calculadora.benchmark;
+
+import com.calculadora.controller.AvaliadorParalelo;
+import com.calculadora.controller.CalculadoraController;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Compara a API em lote sequencial do controller com o {@link AvaliadorParalelo}
+ * em lotes grandes.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AvaliadorParaleloBenchmark {
+    
+    @Param({"1000000", "10000000"})
+    public int tamanho;
+    
+    @Param({"*", "/"})
+    public String simbolo;
+    
+    private CalculadoraController controller;
+    private AvaliadorParalelo avaliador;
+    private double[] a;
+    private double[] b;
+    private double[] resultado;
+    private byte[] situacao;
+    
+    @Setup
+    public void preparar() {
+        controller = new CalculadoraController();
+        avaliador = new AvaliadorParalelo(controller);
+        Random random = new Random(42);
+        a = new double[tamanho];
+        b = new double[tamanho];
+        for (int i = 0; i < tamanho; i++) {
+            a[i] = random.nextDouble() * 1000;
+            b[i] = 1 + random.nextDouble() * 1000;
+        }
+        resultado = new double[tamanho];
+        situacao = new byte[tamanho];
+    }
+    
+    @TearDown
+    public void encerrar() {
+        avaliador.close();
+    }
+    
+    @Benchmark
+    public double[] sequencial() {
+        controller.executarOperacao(simbolo, a, b, resultado);
+        return resultado;
+    }
+    
+    @Benchmark
+    public long paralelo() {
+        return avaliador.avaliar(simbolo, a, b, resultado, situacao);
+    }
+}
@@ -0,0 +1,87 @@
+package com.calculadora.benchmark;
+
+import com.calculadora.io.CodecNumerico;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Compara o {@link CodecNumerico} com {@link Double#parseDouble(String)} e
+ * {@link Double#toString(double)} (com a conversão entre String e bytes que os
+ * caminhos de E/S precisam). Valores "curtos" têm poucos dígitos, como os
+ * digitados; "longos" são doubles aleatórios, com 16 ou 17 dígitos.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CodecNumericoBenchmark {
+    
+    private static final int QUANTIDADE = 1024;
+    
+    @Param({"curto", "longo"})
+    public String tipo;
+    
+    private double[] valores;
+    private byte[][] textos;
+    private byte[] destino;
+    
+    @Setup
+    public void preparar() {
+        Random random = new Random(42);
+        valores = new double[QUANTIDADE];
+        textos = new byte[QUANTIDADE][];
+        for (int i = 0; i < QUANTIDADE; i++) {
+            valores[i] = tipo.equals("curto")
+                ? random.nextInt(1_000_000) / 100.0
+                : random.nextDouble() * Math.pow(10, random.nextInt(40) - 20);
+            textos[i] = Double.toString(valores[i]).getBytes(StandardCharsets.US_ASCII);
+        }
+        destino = new byte[QUANTIDADE * CodecNumerico.MAXIMO_CARACTERES];
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(QUANTIDADE)
+    public double lerCodec() {
+        double soma = 0;
+        for (byte[] texto : textos) {
+            soma += CodecNumerico.lerDouble(texto, 0, texto.length);
+        }
+        return soma;
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(QUANTIDADE)
+    public double lerJdk() {
+        double soma = 0;
+        for (byte[] texto : textos) {
+            soma += Double.parseDouble(new String(texto, StandardCharsets.ISO_8859_1));
+        }
+        return soma;
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(QUANTIDADE)
+    public int escreverCodec() {
+        int posicao = 0;
+        for (double valor : valores) {
+            posicao = CodecNumerico.escreverDouble(valor, destino, posicao);
+        }
+        return posicao;
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(QUANTIDADE)
+    public int escreverJdk() {
+        int posicao = 0;
+        for (double valor : valores) {
+            byte[] texto = Double.toString(valor).getBytes(StandardCharsets.ISO_8859_1);
+            System.arraycopy(texto, 0, destino, posicao, texto.length);
+            posicao += texto.length;
+        }
+        return posicao;
+    }
+}
@@ -0,0 +1,40 @@
+package com.calculadora.benchmark;
+
+import com.calculadora.controller.CalculadoraController;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Mede a construção do {@link CalculadoraController}, incluindo o
+ * carregamento das operações.
+ * A saída padrão é descartada durante a medição para não inundar o console,
+ * mas o custo de formatar as mensagens continua sendo medido.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ConstrucaoControllerBenchmark {
+    
+    private PrintStream saidaOriginal;
+    
+    @Setup
+    public void preparar() {
+        saidaOriginal = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+    
+    @TearDown
+    public void restaurar() {
+        System.setOut(saidaOriginal);
+    }
+    
+    @Benchmark
+    public CalculadoraController construir() {
+        return new CalculadoraController();
+    }
+}
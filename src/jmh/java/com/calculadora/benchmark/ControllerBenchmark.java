@@ -0,0 +1,74 @@
+package com.calculadora.benchmark;
+
+import com.calculadora.controller.CalculadoraController;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Mede {@link CalculadoraController#executarOperacao(String, double, double)}
+ * com misturas de símbolos que deixam a chamada a {@code Operacao.executar}
+ * monomórfica (um símbolo), bimórfica (dois) ou megamórfica (quatro),
+ * comparando a busca pelo símbolo com o caminho por código numérico.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ControllerBenchmark {
+    
+    private static final int TAMANHO = 1024;
+    
+    @Param({"mono", "bi", "mega"})
+    public String mistura;
+    
+    private CalculadoraController controller;
+    private String[] simbolos;
+    private int[] codigos;
+    private double[] a;
+    private double[] b;
+    private int indice;
+    
+    @Setup
+    public void preparar() {
+        controller = new CalculadoraController();
+        
+        String[] disponiveis;
+        switch (mistura) {
+            case "mono":
+                disponiveis = new String[] {"+"};
+                break;
+            case "bi":
+                disponiveis = new String[] {"+", "-"};
+                break;
+            default:
+                disponiveis = new String[] {"+", "-", "*", "/"};
+        }
+        
+        Random random = new Random(42);
+        simbolos = new String[TAMANHO];
+        codigos = new int[TAMANHO];
+        a = new double[TAMANHO];
+        b = new double[TAMANHO];
+        for (int i = 0; i < TAMANHO; i++) {
+            simbolos[i] = disponiveis[random.nextInt(disponiveis.length)];
+            codigos[i] = controller.resolverCodigo(simbolos[i]);
+            a[i] = random.nextDouble() * 1000;
+            b[i] = 1 + random.nextDouble() * 1000;
+        }
+    }
+    
+    @Benchmark
+    public double executarOperacao() {
+        int i = indice++ & (TAMANHO - 1);
+        return controller.executarOperacao(simbolos[i], a[i], b[i]);
+    }
+    
+    @Benchmark
+    public double executarPorCodigo() {
+        int i = indice++ & (TAMANHO - 1);
+        return controller.executarOperacao(codigos[i], a[i], b[i]);
+    }
+}
@@ -0,0 +1,45 @@
+package com.calculadora.benchmark;
+
+import com.calculadora.model.Divisao;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Mede a verificação de divisor zero em {@link Divisao}: o caminho normal
+ * e o caminho que lança {@link ArithmeticException}.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DivisaoBenchmark {
+    
+    private Divisao divisao;
+    private double a;
+    private double divisor;
+    private double zero;
+    
+    @Setup
+    public void preparar() {
+        divisao = new Divisao();
+        a = 1234.5;
+        divisor = 6.75;
+        zero = 0;
+    }
+    
+    @Benchmark
+    public double divisorValido() {
+        return divisao.executar(a, divisor);
+    }
+    
+    @Benchmark
+    public double divisorZero() {
+        try {
+            return divisao.executar(a, zero);
+        } catch (ArithmeticException e) {
+            return Double.NaN;
+        }
+    }
+}
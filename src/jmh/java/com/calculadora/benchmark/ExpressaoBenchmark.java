@@ -0,0 +1,62 @@
+package com.calculadora.benchmark;
+
+import com.calculadora.controller.CalculadoraController;
+import com.calculadora.expressao.Expressao;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Compara os dois níveis de avaliação de uma fórmula: a árvore interpretada
+ * ({@link CalculadoraController#compilarExpressao}) e o bytecode gerado
+ * ({@link CalculadoraController#compilarFormula}), tendo como referência a
+ * mesma fórmula escrita à mão em Java.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ExpressaoBenchmark {
+    
+    private static final String FORMULA = "(a + b) * c / 2 - a * (3 * 1.5) + -(b - c) * (60 * 60)";
+    private static final int TAMANHO = 1024;
+    
+    private Expressao interpretada;
+    private Expressao compilada;
+    private double[][] valores;
+    private int indice;
+    
+    @Setup
+    public void preparar() {
+        CalculadoraController controller = new CalculadoraController();
+        interpretada = controller.compilarExpressao(FORMULA);
+        compilada = controller.compilarFormula(FORMULA);
+        
+        Random random = new Random(42);
+        valores = new double[TAMANHO][];
+        for (int i = 0; i < TAMANHO; i++) {
+            valores[i] = new double[] {random.nextDouble() * 100, random.nextDouble() * 100, 1 + random.nextDouble()};
+        }
+    }
+    
+    @Benchmark
+    public double interpretada() {
+        return interpretada.avaliar(valores[indice++ & (TAMANHO - 1)]);
+    }
+    
+    @Benchmark
+    public double compilada() {
+        return compilada.avaliar(valores[indice++ & (TAMANHO - 1)]);
+    }
+    
+    @Benchmark
+    public double escritaAMao() {
+        double[] v = valores[indice++ & (TAMANHO - 1)];
+        double a = v[0];
+        double b = v[1];
+        double c = v[2];
+        return (a + b) * c / 2 - a * 4.5 + -(b - c) * 3600;
+    }
+}
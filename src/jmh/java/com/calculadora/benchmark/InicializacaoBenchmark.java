@@ -0,0 +1,111 @@
+package com.calculadora.benchmark;
+
+import com.calculadora.controller.CalculadoraController;
+import java.awt.GraphicsEnvironment;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Mede a inicialização da aplicação em uma JVM nova, com e sem o arquivo CDS.
+ * Cada medição inicia um processo com o jar gerado pelo {@code package} e espera o seu fim.
+ * 
+ * Modos:
+ * <ul>
+ * <li>componentes: controller, expressões e componentes da janela sem exibi-la ({@code --treino})</li>
+ * <li>lote: modo lote com entrada vazia</li>
+ * <li>interface: até o primeiro quadro da janela ({@code --inicializacao}); requer ambiente gráfico
+ * e por isso só é medido quando pedido, com {@code -p modo=interface}</li>
+ * </ul>
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InicializacaoBenchmark {
+    
+    @Param({"componentes", "lote"})
+    public String modo;
+    
+    @Param({"sem", "com"})
+    public String cds;
+    
+    private Path diretorio;
+    private Path entradaVazia;
+    private List<String> comando;
+    
+    @Setup
+    public void preparar() throws Exception {
+        if (modo.equals("interface") && GraphicsEnvironment.isHeadless()) {
+            throw new IllegalStateException("O modo interface requer um ambiente gráfico");
+        }
+        Path jar = localizarJar();
+        diretorio = Files.createTempDirectory("inicializacao");
+        entradaVazia = Files.createFile(diretorio.resolve("entrada.txt"));
+        
+        comando = new ArrayList<>(Arrays.asList(
+            Paths.get(System.getProperty("java.home"), "bin", "java").toString()));
+        if (cds.equals("com")) {
+            Path arquivo = diretorio.resolve("calculadora.jsa");
+            executar(Arrays.asList(comando.get(0), "-Djava.awt.headless=true",
+                "-XX:ArchiveClassesAtExit=" + arquivo, "-jar", jar.toString(), "--treino"));
+            comando.add("-XX:SharedArchiveFile=" + arquivo);
+        }
+        switch (modo) {
+            case "interface":
+                comando.addAll(Arrays.asList("-jar", jar.toString(), "--inicializacao"));
+                break;
+            case "componentes":
+                comando.addAll(Arrays.asList("-Djava.awt.headless=true", "-jar", jar.toString(), "--treino"));
+                break;
+            default:
+                comando.addAll(Arrays.asList("-jar", jar.toString(), "--lote"));
+        }
+    }
+    
+    @TearDown
+    public void encerrar() throws IOException {
+        Files.deleteIfExists(diretorio.resolve("calculadora.jsa"));
+        Files.deleteIfExists(entradaVazia);
+        Files.deleteIfExists(diretorio);
+    }
+    
+    /**
+     * O jar fica ao lado de target/classes, de onde a aplicação é carregada nos benchmarks.
+     */
+    private static Path localizarJar() throws Exception {
+        Path classes = Paths.get(CalculadoraController.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        try (DirectoryStream<Path> jars = Files.newDirectoryStream(classes.getParent(), "calculadora-*.jar")) {
+            for (Path jar : jars) {
+                return jar;
+            }
+        }
+        throw new IllegalStateException("Jar da aplicação não encontrado em " + classes.getParent()
+            + "; execute o package antes dos benchmarks");
+    }
+    
+    private void executar(List<String> comando) throws IOException, InterruptedException {
+        Process processo = new ProcessBuilder(comando)
+            .redirectInput(entradaVazia.toFile())
+            .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+            .redirectError(ProcessBuilder.Redirect.DISCARD)
+            .start();
+        if (processo.waitFor() != 0) {
+            throw new IllegalStateException("Falha ao executar " + comando + ": código " + processo.exitValue());
+        }
+    }
+    
+    @Benchmark
+    public void inicializar() throws IOException, InterruptedException {
+        executar(comando);
+    }
+}
@@ -0,0 +1,84 @@
+package com.calculadora.benchmark;
+
+import com.calculadora.model.Matriz;
+import com.calculadora.model.MultiplicacaoMatricial;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Compara o produto de matrizes quadradas em blocos, em paralelo e em uma
+ * única thread, com o laço ingênuo i-j-k.
+ * 
+ * Em 4096 x 4096 cada produto leva de segundos (em blocos) a minutos
+ * (ingênuo); para medir só os tamanhos menores, use {@code -p tamanho=64,256,1024}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MatrizBenchmark {
+    
+    @Param({"64", "256", "1024", "4096"})
+    public int tamanho;
+    
+    private ForkJoinPool poolSequencial;
+    private MultiplicacaoMatricial paralela;
+    private MultiplicacaoMatricial sequencial;
+    private Matriz a;
+    private Matriz b;
+    private Matriz resultado;
+    
+    @Setup
+    public void preparar() {
+        poolSequencial = new ForkJoinPool(1);
+        paralela = new MultiplicacaoMatricial();
+        sequencial = new MultiplicacaoMatricial(poolSequencial);
+        Random random = new Random(42);
+        a = new Matriz(tamanho, tamanho);
+        b = new Matriz(tamanho, tamanho);
+        for (int i = 0; i < a.tamanho(); i++) {
+            a.getDados()[i] = random.nextDouble();
+            b.getDados()[i] = random.nextDouble();
+        }
+        resultado = new Matriz(tamanho, tamanho);
+    }
+    
+    @TearDown
+    public void encerrar() {
+        poolSequencial.shutdown();
+    }
+    
+    @Benchmark
+    public Matriz blocosParalelo() {
+        paralela.executar(a, b, resultado);
+        return resultado;
+    }
+    
+    @Benchmark
+    public Matriz blocosSequencial() {
+        sequencial.executar(a, b, resultado);
+        return resultado;
+    }
+    
+    @Benchmark
+    public Matriz ingenuo() {
+        double[] dadosA = a.getDados();
+        double[] dadosB = b.getDados();
+        double[] dadosR = resultado.getDados();
+        int n = tamanho;
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                double soma = 0;
+                for (int k = 0; k < n; k++) {
+                    soma += dadosA[i * n + k] * dadosB[k * n + j];
+                }
+                dadosR[i * n + j] = soma;
+            }
+        }
+        return resultado;
+    }
+}
@@ -0,0 +1,40 @@
+package com.calculadora.benchmark;
+
+import com.calculadora.controller.CalculadoraController;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Mede o custo das métricas por operação no caminho quente do controller,
+ * com as métricas desativadas e ativadas.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MetricasBenchmark {
+    
+    @Param({"false", "true"})
+    public boolean ativa;
+    
+    private CalculadoraController controller;
+    private int codigo;
+    private double a;
+    private double b;
+    
+    @Setup
+    public void preparar() {
+        controller = new CalculadoraController();
+        controller.getMetricas().setAtiva(ativa);
+        codigo = controller.resolverCodigo("*");
+        a = 1234.5;
+        b = 6.75;
+    }
+    
+    @Benchmark
+    public double executarPorCodigo() {
+        return controller.executarOperacao(codigo, a, b);
+    }
+}
@@ -0,0 +1,45 @@
+package com.calculadora.benchmark;
+
+import com.calculadora.model.Adicao;
+import com.calculadora.model.Divisao;
+import com.calculadora.model.Multiplicacao;
+import com.calculadora.model.Operacao;
+import com.calculadora.model.Subtracao;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Mede chamadas diretas a {@link Operacao#executar(double, double)}, sem o controller.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class OperacaoBenchmark {
+    
+    @Param({"+", "-", "*", "/"})
+    public String simbolo;
+    
+    private Operacao operacao;
+    private double a;
+    private double b;
+    
+    @Setup
+    public void preparar() {
+        Operacao[] operacoes = {new Adicao(), new Subtracao(), new Multiplicacao(), new Divisao()};
+        for (Operacao candidata : operacoes) {
+            if (candidata.getSimbolo().equals(simbolo)) {
+                operacao = candidata;
+            }
+        }
+        a = 1234.5;
+        b = 6.75;
+    }
+    
+    @Benchmark
+    public double executar() {
+        return operacao.executar(a, b);
+    }
+}
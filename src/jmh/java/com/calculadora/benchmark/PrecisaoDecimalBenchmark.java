@@ -0,0 +1,70 @@
+package com.calculadora.benchmark;
+
+import com.calculadora.controller.CalculadoraController;
+import com.calculadora.controller.ModoPrecisao;
+import com.calculadora.model.ContextoDecimal;
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Compara os modos de precisão. Com o profiler {@code gc}, os benchmarks
+ * {@code decimal} e {@code pontoFixo} devem mostrar alocação zero no caso comum;
+ * {@code bigDecimal} mostra o custo de calcular sempre em {@link BigDecimal}.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PrecisaoDecimalBenchmark {
+    
+    @Param({"+", "*", "/"})
+    public String simbolo;
+    
+    private CalculadoraController binario;
+    private CalculadoraController decimal;
+    private int codigo;
+    private double a;
+    private double b;
+    private long escaladoA;
+    private long escaladoB;
+    private BigDecimal decimalA;
+    private BigDecimal decimalB;
+    
+    @Setup
+    public void preparar() {
+        binario = new CalculadoraController();
+        decimal = new CalculadoraController();
+        decimal.setModoPrecisao(ModoPrecisao.DECIMAL);
+        codigo = decimal.resolverCodigo(simbolo);
+        a = 1234.56;
+        b = 7.89;
+        ContextoDecimal contexto = decimal.getContextoDecimal();
+        escaladoA = contexto.escalar(a);
+        escaladoB = contexto.escalar(b);
+        decimalA = BigDecimal.valueOf(a);
+        decimalB = BigDecimal.valueOf(b);
+    }
+    
+    @Benchmark
+    public double binario() {
+        return binario.executarOperacao(codigo, a, b);
+    }
+    
+    @Benchmark
+    public double decimal() {
+        return decimal.executarOperacao(codigo, a, b);
+    }
+    
+    @Benchmark
+    public long pontoFixo() {
+        return decimal.executarOperacaoEscalada(codigo, escaladoA, escaladoB);
+    }
+    
+    @Benchmark
+    public BigDecimal bigDecimal() {
+        return decimal.executarOperacao(simbolo, decimalA, decimalB);
+    }
+}
@@ -0,0 +1,69 @@
+package com.calculadora.benchmark;
+
+import com.calculadora.controller.CalculadoraController;
+import com.calculadora.reducao.Estatisticas;
+import com.calculadora.reducao.Redutor;
+import com.calculadora.reducao.SomaCompensada;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Compara a soma acumulada elemento a elemento pelo controller com as reduções
+ * compensadas do {@link Redutor}, sequenciais e paralelas.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RedutorBenchmark {
+    
+    @Param({"1000000"})
+    public int tamanho;
+    
+    private CalculadoraController controller;
+    private Redutor redutor;
+    private double[] valores;
+    
+    @Setup
+    public void preparar() {
+        controller = new CalculadoraController();
+        redutor = new Redutor(controller);
+        Random random = new Random(42);
+        valores = new double[tamanho];
+        for (int i = 0; i < tamanho; i++) {
+            valores[i] = random.nextDouble() * 1000;
+        }
+    }
+    
+    @TearDown
+    public void encerrar() {
+        redutor.close();
+    }
+    
+    @Benchmark
+    public double acumuladaPeloController() {
+        double soma = 0;
+        for (double valor : valores) {
+            soma = controller.executarOperacao("+", soma, valor);
+        }
+        return soma;
+    }
+    
+    @Benchmark
+    public double compensadaSequencial() {
+        return new SomaCompensada().adicionar(valores, 0, valores.length).getSoma();
+    }
+    
+    @Benchmark
+    public double compensadaParalela() {
+        return redutor.somar(valores);
+    }
+    
+    @Benchmark
+    public Estatisticas estatisticasParalelas() {
+        return redutor.estatisticas(valores);
+    }
+}
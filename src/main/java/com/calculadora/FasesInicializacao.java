@@ -0,0 +1,63 @@
+package com.calculadora;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Mede as fases da inicialização da aplicação: o tempo de cada fase desde a
+ * anterior, a partir do início do processo (a fase "jvm" cobre a criação da
+ * JVM e o carregamento de classes até o {@code main}).
+ * 
+ * O instante de início do processo vem do sistema operacional e tem a
+ * resolução dele (cerca de 10 ms no Linux); as demais fases usam
+ * {@link System#nanoTime()}.
+ */
+final class FasesInicializacao {
+    
+    /** Prefixo da linha do relatório, procurado pelo benchmark de inicialização. */
+    static final String PREFIXO_RELATORIO = "✓ Inicialização:";
+    
+    private final long inicioMain = System.nanoTime();
+    private final long jvmMs;
+    private final List<String> nomes = new ArrayList<>();
+    private final List<Long> instantes = new ArrayList<>();
+    
+    FasesInicializacao() {
+        Optional<Instant> inicioProcesso = ProcessHandle.current().info().startInstant();
+        jvmMs = inicioProcesso.map(inicio -> Duration.between(inicio, Instant.now()).toMillis()).orElse(-1L);
+    }
+    
+    /**
+     * Registra o fim de uma fase.
+     * 
+     * @param nome nome da fase
+     */
+    synchronized void marcar(String nome) {
+        nomes.add(nome);
+        instantes.add(System.nanoTime());
+    }
+    
+    /**
+     * @return linha com a duração de cada fase e o total, em milissegundos
+     */
+    synchronized String relatorio() {
+        StringBuilder linha = new StringBuilder(PREFIXO_RELATORIO);
+        long total = 0;
+        if (jvmMs >= 0) {
+            linha.append(" jvm ").append(jvmMs).append(" ms,");
+            total = jvmMs;
+        }
+        long anterior = inicioMain;
+        for (int i = 0; i < nomes.size(); i++) {
+            long duracao = (instantes.get(i) - anterior) / 1_000_000;
+            linha.append(' ').append(nomes.get(i)).append(' ').append(duracao).append(" ms,");
+            total += duracao;
+            anterior = instantes.get(i);
+        }
+        linha.append(" total ").append(total).append(" ms");
+        return linha.toString();
+    }
+}
@@ -1,15 +1,117 @@
 package com.calculadora;
 
+import com.calculadora.carga.DistribuicaoOperandos;
+import com.calculadora.carga.TesteResistencia;
 import com.calculadora.controller.CalculadoraController;
+import com.calculadora.controller.CarregadorPlugins;
+import com.calculadora.historico.HistoricoCalculos;
+import com.calculadora.io.ProcessadorColunar;
+import com.calculadora.io.ProcessadorLote;
+import com.calculadora.servidor.ClienteCarga;
+import com.calculadora.servidor.ServidorCalculo;
 import com.calculadora.view.CalculadoraView;
+import java.awt.GraphicsEnvironment;
+import java.awt.GridLayout;
+import java.io.ByteArrayInputStream;
+import java.io.FileDescriptor;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Locale;
+import javax.swing.JButton;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.JTextField;
 
 /**
  * Classe principal da aplicação.
  * Inicializa o Controller e a View seguindo o padrão MVC.
+ * 
+ * Modos de execução:
+ * <pre>
+ * (sem argumentos)                      interface gráfica
+ * --inicializacao                       interface gráfica, encerrada após o primeiro quadro com o
+ *                                       tempo de cada fase da inicialização
+ * --treino                              exercita a inicialização, para gerar o arquivo CDS
+ * --lote [entrada] [--saida arquivo]    processa linhas "a op b" da entrada (ou stdin), sem interface
+ * --colunar entrada saida               avalia um arquivo no formato binário colunar
+ * --servidor [portaBinaria] [portaTexto] atende cálculos em localhost (padrão 7070 e 7071)
+ * --carga [porta] [conexoes] [segundos] [profundidade] [operacoesPorQuadro]
+ *                                       mede vazão e latência de um servidor local
+ * --resistencia [threads] [segundos] [taxaPorThread] [mistura] [distribuicao] [taxaDivisorZero] [arquivo]
+ *                                       carga prolongada sobre um controller compartilhado, com
+ *                                       percentis e estatísticas de GC em JSON (padrão resistencia.json)
+ * </pre>
+ * 
+ * Com {@code -Dcalculadora.metricas=true} as métricas por operação começam ativas;
+ * elas podem ser ligadas e desligadas via JMX nos modos interface gráfica e servidor.
+ * Na interface gráfica, os cálculos são registrados em {@code ~/.calculadora/historico.dat}
+ * (outro arquivo pode ser indicado com {@code -Dcalculadora.historico=caminho}).
+ * Nos modos interface gráfica e servidor, jars de operações colocados em
+ * {@code ~/.calculadora/plugins} (ou em {@code -Dcalculadora.plugins=diretorio})
+ * são carregados, recarregados e descarregados sem reiniciar a aplicação.
+ * 
+ * Na interface gráfica, só o controller e a janela são criados antes do
+ * primeiro quadro; as métricas via JMX, os plugins e o histórico são
+ * iniciados depois, em segundo plano. Com {@code -Dcalculadora.inicializacao=true}
+ * o tempo de cada fase é informado na saída de erro.
  */
 public class Main {
     
     public static void main(String[] args) {
+        if (args.length > 0 && args[0].equals("--lote")) {
+            executarLote(args);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--colunar")) {
+            executarColunar(args);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--servidor")) {
+            executarServidor(args);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--carga")) {
+            executarCarga(args);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--resistencia")) {
+            executarResistencia(args);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--treino")) {
+            executarTreino();
+            return;
+        }
+        boolean apenasMedir = args.length > 0 && args[0].equals("--inicializacao");
+        executarInterface(apenasMedir, apenasMedir || Boolean.getBoolean("calculadora.inicializacao"));
+    }
+    
+    /**
+     * Modo interface gráfica. A janela é exibida primeiro; o restante é iniciado depois do primeiro quadro.
+     * 
+     * @param apenasMedir encerra a aplicação logo após o primeiro quadro
+     * @param informarFases informa o tempo de cada fase da inicialização na saída de erro
+     */
+    private static void executarInterface(boolean apenasMedir, boolean informarFases) {
+        FasesInicializacao fases = new FasesInicializacao();
+        if (GraphicsEnvironment.isHeadless()) {
+            System.err.println("✗ A interface gráfica requer um ambiente gráfico; veja os modos sem interface em --lote e --servidor");
+            System.exit(2);
+        }
+        
         System.out.println("====================================");
         System.out.println("Calculadora com MVC, Polimorfismo e Reflection");
         System.out.println("====================================\n");
@@ -19,17 +121,256 @@ public class Main {
             try {
                 // Cria o Controller
                 CalculadoraController controller = new CalculadoraController();
-                
-                System.out.println();
+                fases.marcar("controller");
                 
                 // Cria e exibe a View
-                new CalculadoraView(controller);
-                
-                System.out.println("\n✓ Aplicação iniciada com sucesso!");
+                CalculadoraView view = new CalculadoraView(controller);
+                fases.marcar("janela");
+                view.setAoPrimeiroQuadro(() -> {
+                    fases.marcar("primeiro quadro");
+                    if (informarFases) {
+                        System.err.println(fases.relatorio());
+                    }
+                    if (apenasMedir) {
+                        System.exit(0);
+                    }
+                    iniciarServicos(controller, view);
+                });
             } catch (Exception e) {
                 System.err.println("✗ Erro ao iniciar a aplicação: " + e.getMessage());
                 e.printStackTrace();
             }
         });
     }
+    
+    /**
+     * Inicia em segundo plano o que não é necessário para exibir a janela:
+     * as métricas via JMX, os plugins e o histórico.
+     */
+    private static void iniciarServicos(CalculadoraController controller, CalculadoraView view) {
+        Thread thread = new Thread(() -> {
+            controller.getOperacoes().values().forEach(operacao ->
+                System.out.println("✓ Operação carregada: " + operacao.getDescricao() + " (" + operacao.getSimbolo() + ")"));
+            System.out.println();
+            controller.getMetricas().registrarMBean("interface");
+            iniciarPlugins(controller);
+            HistoricoCalculos historico = abrirHistorico();
+            if (historico != null) {
+                javax.swing.SwingUtilities.invokeLater(() -> view.setHistorico(historico));
+            }
+            System.out.println("\n✓ Aplicação iniciada com sucesso!");
+        }, "inicializacao-servicos");
+        thread.setDaemon(true);
+        thread.start();
+    }
+    
+    /**
+     * Modo treino: exercita as classes usadas na inicialização e nos cálculos, sem abrir arquivos do
+     * usuário, para que {@code -XX:ArchiveClassesAtExit} as grave no arquivo CDS. Com ambiente
+     * gráfico, a janela é exibida e fechada após o primeiro quadro; sem ele, os componentes da
+     * janela são criados sem serem exibidos.
+     */
+    private static void executarTreino() {
+        CalculadoraController controller = new CalculadoraController();
+        for (String simbolo : controller.getOperacoes().keySet()) {
+            controller.executarOperacao(simbolo, 6, 3);
+        }
+        controller.avaliarExpressao("(a + b) * 2 / c - 1", 1, 2, 3);
+        controller.compilarFormula("x * y + 1").avaliar(new double[] {2, 3});
+        
+        byte[] linhas = "1 + 2\n3 * 4\n8 / 0\n".getBytes(StandardCharsets.UTF_8);
+        try {
+            new ProcessadorLote(controller).processar(Channels.newChannel(new ByteArrayInputStream(linhas)),
+                Channels.newChannel(OutputStream.nullOutputStream()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        
+        if (!GraphicsEnvironment.isHeadless()) {
+            executarInterface(true, true);
+            return;
+        }
+        JPanel painel = new JPanel(new GridLayout(6, 4, 5, 5));
+        painel.add(new JTextField("0"));
+        painel.add(new JButton("="));
+        painel.add(new JLabel(" "));
+        painel.doLayout();
+        System.err.println("✓ Treino concluído");
+    }
+    
+    /**
+     * Observa o diretório de plugins, se existir. A aplicação continua sem plugins em caso de erro.
+     * O carregador é fechado ao encerrar a JVM, o que apaga as cópias temporárias dos jars.
+     */
+    private static void iniciarPlugins(CalculadoraController controller) {
+        Path diretorio = Paths.get(System.getProperty("calculadora.plugins",
+            Paths.get(System.getProperty("user.home"), ".calculadora", "plugins").toString()));
+        if (!Files.isDirectory(diretorio)) {
+            return;
+        }
+        try {
+            CarregadorPlugins carregador = new CarregadorPlugins(controller, diretorio);
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> fecharPlugins(carregador)));
+            carregador.iniciar();
+            System.out.println("✓ Observando plugins em " + diretorio);
+        } catch (IOException e) {
+            System.err.println("✗ Plugins indisponíveis: " + e.getMessage());
+        }
+    }
+    
+    private static void fecharPlugins(CarregadorPlugins carregador) {
+        try {
+            carregador.close();
+        } catch (IOException e) {
+            System.err.println("✗ Erro ao fechar os plugins: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Abre o histórico de cálculos, fechado (com os registros pendentes gravados) ao encerrar a JVM.
+     * 
+     * @return histórico ou null se não puder ser aberto; a interface funciona sem ele
+     */
+    private static HistoricoCalculos abrirHistorico() {
+        Path arquivo = Paths.get(System.getProperty("calculadora.historico",
+            Paths.get(System.getProperty("user.home"), ".calculadora", "historico.dat").toString()));
+        try {
+            if (arquivo.getParent() != null) {
+                Files.createDirectories(arquivo.getParent());
+            }
+            HistoricoCalculos historico = new HistoricoCalculos(arquivo);
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    historico.close();
+                } catch (IOException e) {
+                    System.err.println("✗ Erro ao fechar o histórico: " + e.getMessage());
+                }
+            }));
+            System.out.println("✓ Histórico: " + historico.getTotal() + " cálculos em " + arquivo);
+            return historico;
+        } catch (IOException e) {
+            System.err.println("✗ Histórico indisponível: " + e.getMessage());
+            return null;
+        }
+    }
+    
+    /**
+     * Modo lote: lê da entrada padrão ou de um arquivo e escreve na saída padrão ou em um arquivo.
+     * O resumo vai para a saída de erro, para não se misturar aos resultados.
+     */
+    private static void executarLote(String[] args) {
+        String arquivoEntrada = null;
+        String arquivoSaida = null;
+        for (int i = 1; i < args.length; i++) {
+            if (args[i].equals("--saida") && i + 1 < args.length) {
+                arquivoSaida = args[++i];
+            } else {
+                arquivoEntrada = args[i];
+            }
+        }
+        
+        ProcessadorLote processador = new ProcessadorLote(new CalculadoraController());
+        try (ReadableByteChannel entrada = arquivoEntrada != null
+                 ? FileChannel.open(Paths.get(arquivoEntrada), StandardOpenOption.READ)
+                 : Channels.newChannel(new FileInputStream(FileDescriptor.in));
+             WritableByteChannel saida = arquivoSaida != null
+                 ? FileChannel.open(Paths.get(arquivoSaida), StandardOpenOption.CREATE,
+                     StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)
+                 : Channels.newChannel(new FileOutputStream(FileDescriptor.out))) {
+            processador.processar(entrada, saida);
+            System.err.println("✓ " + processador.getLinhas() + " linhas processadas, " + processador.getErros() + " com erro");
+        } catch (IOException e) {
+            System.err.println("✗ Erro no processamento em lote: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+    
+    /**
+     * Modo colunar: avalia um arquivo binário colunar e grava o arquivo de resultados.
+     */
+    private static void executarColunar(String[] args) {
+        if (args.length != 3) {
+            System.err.println("Uso: --colunar <entrada> <saida>");
+            System.exit(2);
+        }
+        
+        ProcessadorColunar processador = new ProcessadorColunar(new CalculadoraController());
+        try {
+            long linhas = processador.processar(Paths.get(args[1]), Paths.get(args[2]));
+            System.err.println("✓ " + linhas + " linhas processadas, " + processador.getErros() + " com erro");
+        } catch (IOException e) {
+            System.err.println("✗ Erro no processamento colunar: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+    
+    /**
+     * Modo servidor: atende os protocolos binário e texto até o processo ser encerrado.
+     */
+    private static void executarServidor(String[] args) {
+        int portaBinaria = args.length > 1 ? Integer.parseInt(args[1]) : ServidorCalculo.PORTA_BINARIA_PADRAO;
+        int portaTexto = args.length > 2 ? Integer.parseInt(args[2]) : ServidorCalculo.PORTA_TEXTO_PADRAO;
+        
+        CalculadoraController controller = new CalculadoraController();
+        controller.getMetricas().registrarMBean("servidor");
+        iniciarPlugins(controller);
+        ServidorCalculo servidor = new ServidorCalculo(controller);
+        try {
+            servidor.iniciar(portaBinaria, portaTexto);
+            System.out.println("✓ Servidor em localhost: binário na porta " + servidor.getPortaBinaria()
+                + ", texto na porta " + servidor.getPortaTexto());
+            Thread.currentThread().join();
+        } catch (IOException e) {
+            System.err.println("✗ Erro ao iniciar o servidor: " + e.getMessage());
+            System.exit(1);
+        } catch (InterruptedException e) {
+            servidor.parar();
+        }
+    }
+    
+    /**
+     * Modo carga: gera carga contra um servidor local e imprime vazão e percentis de latência.
+     */
+    private static void executarCarga(String[] args) {
+        int porta = args.length > 1 ? Integer.parseInt(args[1]) : ServidorCalculo.PORTA_BINARIA_PADRAO;
+        int conexoes = args.length > 2 ? Integer.parseInt(args[2]) : 4;
+        int segundos = args.length > 3 ? Integer.parseInt(args[3]) : 10;
+        int profundidade = args.length > 4 ? Integer.parseInt(args[4]) : 16;
+        int operacoesPorQuadro = args.length > 5 ? Integer.parseInt(args[5]) : 1;
+        
+        try {
+            new ClienteCarga(porta, conexoes, profundidade, operacoesPorQuadro).executar(segundos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    /**
+     * Modo resistência: carga prolongada sobre um controller compartilhado, com
+     * percentis corrigidos para omissão coordenada e estatísticas de GC em JSON.
+     */
+    private static void executarResistencia(String[] args) {
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        int segundos = args.length > 2 ? Integer.parseInt(args[2]) : 60;
+        double taxaPorThread = args.length > 3 ? Double.parseDouble(args[3]) : 100_000;
+        String mistura = args.length > 4 ? args[4] : TesteResistencia.MISTURA_PADRAO;
+        DistribuicaoOperandos distribuicao = args.length > 5
+            ? DistribuicaoOperandos.valueOf(args[5].toUpperCase(Locale.ROOT)) : DistribuicaoOperandos.UNIFORME;
+        double taxaDivisorZero = args.length > 6 ? Double.parseDouble(args[6]) : 0;
+        Path arquivo = Paths.get(args.length > 7 ? args[7] : "resistencia.json");
+        
+        TesteResistencia teste = new TesteResistencia(new CalculadoraController(), threads, taxaPorThread);
+        teste.setMistura(TesteResistencia.lerMistura(mistura));
+        teste.setDistribuicao(distribuicao);
+        teste.setTaxaDivisorZero(taxaDivisorZero);
+        try {
+            teste.executar(Duration.ofSeconds(segundos), arquivo);
+            System.out.println("✓ Resultado gravado em " + arquivo.toAbsolutePath());
+        } catch (IOException e) {
+            System.err.println("✗ Erro ao gravar o resultado: " + e.getMessage());
+            System.exit(1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
 }
@@ -0,0 +1,36 @@
+package com.calculadora.carga;
+
+import java.util.Random;
+
+/**
+ * Distribuições dos operandos gerados pelo {@link TesteResistencia}.
+ */
+public enum DistribuicaoOperandos {
+    
+    /** Uniforme entre 0 e 1000. */
+    UNIFORME {
+        @Override
+        double gerar(Random aleatorio) {
+            return aleatorio.nextDouble() * 1000;
+        }
+    },
+    
+    /** Magnitudes de 1e-6 a 1e6, com sinal; grandezas muito diferentes entre si. */
+    LOG_UNIFORME {
+        @Override
+        double gerar(Random aleatorio) {
+            double valor = Math.pow(10, aleatorio.nextDouble() * 12 - 6);
+            return aleatorio.nextBoolean() ? valor : -valor;
+        }
+    },
+    
+    /** Inteiros de 0 a 99; operandos que se repetem muito, como em uma tabela memorizada. */
+    INTEIROS {
+        @Override
+        double gerar(Random aleatorio) {
+            return aleatorio.nextInt(100);
+        }
+    };
+    
+    abstract double gerar(Random aleatorio);
+}
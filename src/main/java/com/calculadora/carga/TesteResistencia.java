@@ -0,0 +1,540 @@
+package com.calculadora.carga;
+
+import com.calculadora.controller.CalculadoraController;
+import com.calculadora.metricas.HistogramaLatencia;
+import com.sun.management.GarbageCollectionNotificationInfo;
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+
+/**
+ * Teste de carga prolongada de um controller compartilhado: várias threads
+ * chamam {@code executarOperacao} com uma mistura de operações e uma
+ * distribuição de operandos configuráveis, inclusive com divisores zero.
+ * 
+ * Com uma taxa por thread, a carga é de laço aberto: cada chamada tem um
+ * horário previsto e a latência é medida a partir dele, não do início real.
+ * Assim uma pausa (de GC, por exemplo) conta para todas as chamadas que
+ * deveriam ter ocorrido durante ela, e os percentis não sofrem de omissão
+ * coordenada. O tempo de serviço (só a chamada) é informado à parte. Com taxa
+ * zero as threads chamam sem parar e as duas medidas coincidem.
+ * 
+ * A cada intervalo são impressas a vazão, os percentis do intervalo e as
+ * coletas de lixo; ao final, tudo é gravado em um arquivo JSON.
+ */
+public class TesteResistencia {
+    
+    /** Mistura padrão: as quatro operações elementares com o mesmo peso. */
+    public static final String MISTURA_PADRAO = "+:1,-:1,*:1,/:1";
+    
+    // Operandos pré-gerados por thread, percorridos em ciclo
+    private static final int OPERANDOS = 1 << 14;
+    private static final int MASCARA = OPERANDOS - 1;
+    
+    private static final double[] PERCENTIS = {50, 90, 99, 99.9, 99.99};
+    private static final String[] NOMES_PERCENTIS = {"p50", "p90", "p99", "p99_9", "p99_99"};
+    
+    // Tempo dado às threads para terminarem a janela anterior antes de ela ser lida
+    private static final long FOLGA_JANELA = TimeUnit.MILLISECONDS.toNanos(2);
+    
+    private final CalculadoraController controller;
+    private final int threads;
+    private final double taxaPorThread;
+    
+    private Map<String, Integer> mistura = lerMistura(MISTURA_PADRAO);
+    private DistribuicaoOperandos distribuicao = DistribuicaoOperandos.UNIFORME;
+    private double taxaDivisorZero;
+    private Duration intervaloRelatorio = Duration.ofSeconds(1);
+    private boolean imprimir = true;
+    
+    private final HistogramaLatencia latencias = new HistogramaLatencia();
+    private final HistogramaLatencia servico = new HistogramaLatencia();
+    private final LongAdder erros = new LongAdder();
+    private final List<String> intervalos = new ArrayList<>();
+    private long operacoes;
+    private volatile double descartado;
+    
+    /**
+     * @param controller controller compartilhado pelas threads
+     * @param threads número de threads de carga
+     * @param taxaPorThread chamadas por segundo de cada thread; zero para chamar sem pausa (sem correção)
+     */
+    public TesteResistencia(CalculadoraController controller, int threads, double taxaPorThread) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("O número de threads deve ser positivo!");
+        }
+        if (!(taxaPorThread >= 0) || Double.isInfinite(taxaPorThread)) {
+            throw new IllegalArgumentException("A taxa por thread deve ser zero ou positiva!");
+        }
+        this.controller = controller;
+        this.threads = threads;
+        this.taxaPorThread = taxaPorThread;
+    }
+    
+    /**
+     * Lê uma mistura no formato {@code +:40,-:20,*:30,/:10}.
+     * 
+     * @param texto pares símbolo:peso separados por vírgula
+     * @return pesos por símbolo, na ordem do texto
+     */
+    public static Map<String, Integer> lerMistura(String texto) {
+        Map<String, Integer> pesos = new LinkedHashMap<>();
+        for (String par : texto.split(",")) {
+            int separador = par.lastIndexOf(':');
+            if (separador <= 0) {
+                throw new IllegalArgumentException("Mistura inválida: '" + par + "' (esperado símbolo:peso)");
+            }
+            int peso = Integer.parseInt(par.substring(separador + 1).trim());
+            if (peso < 0) {
+                throw new IllegalArgumentException("Peso negativo na mistura: '" + par + "'");
+            }
+            pesos.merge(par.substring(0, separador).trim(), peso, Integer::sum);
+        }
+        return pesos;
+    }
+    
+    /**
+     * @param mistura peso de cada símbolo; os símbolos devem existir no controller
+     */
+    public void setMistura(Map<String, Integer> mistura) {
+        if (mistura.values().stream().mapToLong(Integer::longValue).sum() <= 0) {
+            throw new IllegalArgumentException("A mistura deve ter algum peso positivo!");
+        }
+        this.mistura = new LinkedHashMap<>(mistura);
+    }
+    
+    public void setDistribuicao(DistribuicaoOperandos distribuicao) {
+        this.distribuicao = distribuicao;
+    }
+    
+    /**
+     * @param taxa fração dos segundos operandos que são zero, entre 0 e 1
+     */
+    public void setTaxaDivisorZero(double taxa) {
+        if (!(taxa >= 0 && taxa <= 1)) {
+            throw new IllegalArgumentException("A taxa de divisores zero deve estar entre 0 e 1!");
+        }
+        this.taxaDivisorZero = taxa;
+    }
+    
+    public void setIntervaloRelatorio(Duration intervalo) {
+        if (intervalo.isNegative() || intervalo.isZero()) {
+            throw new IllegalArgumentException("O intervalo de relatório deve ser positivo!");
+        }
+        this.intervaloRelatorio = intervalo;
+    }
+    
+    /**
+     * @param imprimir se o relatório de cada intervalo vai para a saída padrão
+     */
+    public void setImprimir(boolean imprimir) {
+        this.imprimir = imprimir;
+    }
+    
+    /**
+     * Executa a carga pela duração informada e grava o resultado.
+     * 
+     * @param duracao duração da carga
+     * @param arquivo arquivo JSON com a configuração, os intervalos e o total; null para não gravar
+     * @throws IOException se o arquivo não puder ser gravado
+     * @throws InterruptedException se a thread for interrompida
+     */
+    public void executar(Duration duracao, Path arquivo) throws IOException, InterruptedException {
+        String[] simbolos = expandirMistura();
+        Trabalhador[] trabalhadores = new Trabalhador[threads];
+        for (int i = 0; i < threads; i++) {
+            trabalhadores[i] = new Trabalhador(simbolos, new Random(i));
+        }
+        
+        MonitorGc gc = new MonitorGc();
+        long periodo = taxaPorThread > 0 ? Math.max(1, Math.round(1e9 / taxaPorThread)) : 0;
+        long intervalo = intervaloRelatorio.toNanos();
+        long inicio = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(10);
+        long prazo = inicio + duracao.toNanos();
+        
+        Thread[] threadsCarga = new Thread[threads];
+        for (int i = 0; i < threads; i++) {
+            Trabalhador trabalhador = trabalhadores[i];
+            // Defasagem entre as threads, para que as chamadas não cheguem em rajadas
+            long primeiro = inicio + periodo * i / threads;
+            threadsCarga[i] = new Thread(() -> trabalhador.executar(primeiro, periodo, inicio, intervalo, prazo),
+                "resistencia-" + i);
+            threadsCarga[i].start();
+        }
+        
+        try {
+            for (int janela = 0; ; janela++) {
+                long inicioJanela = inicio + janela * intervalo;
+                long fimJanela = Math.min(inicioJanela + intervalo, prazo);
+                boolean ultima = fimJanela >= prazo;
+                if (ultima) {
+                    for (Thread thread : threadsCarga) {
+                        thread.join();
+                    }
+                } else {
+                    dormirAte(fimJanela + FOLGA_JANELA);
+                }
+                
+                HistogramaLatencia histograma = new HistogramaLatencia();
+                for (Trabalhador trabalhador : trabalhadores) {
+                    trabalhador.transferirJanela(janela & 1, histograma);
+                    if (ultima) {
+                        trabalhador.transferirJanela((janela + 1) & 1, histograma);
+                    }
+                }
+                registrarIntervalo(inicioJanela - inicio, fimJanela - inicioJanela, histograma, gc.intervalo());
+                if (ultima) {
+                    break;
+                }
+            }
+        } finally {
+            for (Thread thread : threadsCarga) {
+                thread.interrupt();
+            }
+            gc.encerrar();
+        }
+        
+        double acumulado = 0;
+        for (Trabalhador trabalhador : trabalhadores) {
+            latencias.somar(trabalhador.latencias);
+            servico.somar(trabalhador.servico);
+            acumulado += trabalhador.descartado;
+        }
+        descartado = acumulado;
+        operacoes = latencias.getTotal();
+        
+        String total = totalJson(duracao.toNanos(), gc);
+        if (imprimir) {
+            imprimirResumo(duracao.toNanos(), gc);
+        }
+        if (arquivo != null) {
+            Files.write(arquivo, json(total).getBytes(StandardCharsets.UTF_8));
+        }
+    }
+    
+    private String[] expandirMistura() {
+        int pesoTotal = 0;
+        for (Map.Entry<String, Integer> entrada : mistura.entrySet()) {
+            if (controller.resolverCodigo(entrada.getKey()) < 0) {
+                throw new IllegalArgumentException("Operação '" + entrada.getKey() + "' não encontrada!");
+            }
+            pesoTotal += entrada.getValue();
+        }
+        // Tabela com uma posição por unidade de peso, sorteada por índice
+        String[] tabela = new String[pesoTotal];
+        int posicao = 0;
+        for (Map.Entry<String, Integer> entrada : mistura.entrySet()) {
+            for (int i = 0; i < entrada.getValue(); i++) {
+                tabela[posicao++] = entrada.getKey();
+            }
+        }
+        return tabela;
+    }
+    
+    private void registrarIntervalo(long desde, long duracao, HistogramaLatencia histograma, long[] gc) {
+        long quantidade = histograma.getTotal();
+        long errosAteAgora = erros.sum();
+        double vazao = quantidade * 1e9 / duracao;
+        StringBuilder sb = new StringBuilder();
+        sb.append("{\"inicio_s\": ").append(formatar(desde / 1e9))
+            .append(", \"operacoes\": ").append(quantidade)
+            .append(", \"vazao\": ").append(formatar(vazao))
+            .append(", \"erros_acumulados\": ").append(errosAteAgora)
+            .append(", \"latencia_ns\": ").append(percentisJson(histograma))
+            .append(", \"gc\": ").append(gcJson(gc[0], gc[1], gc[2]))
+            .append(", \"heap_usado_mb\": ").append(formatar(heapUsadoMb()))
+            .append('}');
+        intervalos.add(sb.toString());
+        
+        if (imprimir) {
+            System.out.printf(Locale.ROOT, "%7.1f s  %11.0f op/s  p99 %9.1f µs  p99.9 %9.1f µs  máx %9.1f µs  GC %d (%d ms)%n",
+                (desde + duracao) / 1e9, vazao, histograma.percentil(99) / 1000.0,
+                histograma.percentil(99.9) / 1000.0, histograma.maximo() / 1000.0, gc[0], gc[1]);
+        }
+    }
+    
+    private void imprimirResumo(long duracao, MonitorGc gc) {
+        System.out.println("Operações:          " + operacoes + " (" + erros.sum() + " com erro)");
+        System.out.printf("Vazão:              %.0f operações/s%n", operacoes * 1e9 / duracao);
+        for (int i = 0; i < PERCENTIS.length; i++) {
+            System.out.printf("Latência %-7s    %.1f µs (serviço %.1f µs)%n", NOMES_PERCENTIS[i].replace('_', '.') + ":",
+                latencias.percentil(PERCENTIS[i]) / 1000.0, servico.percentil(PERCENTIS[i]) / 1000.0);
+        }
+        System.out.printf("Latência máxima:    %.1f µs%n", latencias.maximo() / 1000.0);
+        long[] totalGc = gc.total();
+        System.out.printf("Coletas de lixo:    %d, %d ms no total, pausa máxima %d ms%n", totalGc[0], totalGc[1], totalGc[2]);
+    }
+    
+    private String json(String total) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("{\n  \"configuracao\": {")
+            .append("\"threads\": ").append(threads)
+            .append(", \"taxa_por_thread\": ").append(formatar(taxaPorThread))
+            .append(", \"correcao_omissao\": ").append(taxaPorThread > 0)
+            .append(", \"mistura\": {");
+        boolean primeiro = true;
+        for (Map.Entry<String, Integer> entrada : mistura.entrySet()) {
+            sb.append(primeiro ? "" : ", ").append('"').append(escapar(entrada.getKey())).append("\": ").append(entrada.getValue());
+            primeiro = false;
+        }
+        sb.append("}, \"distribuicao\": \"").append(distribuicao)
+            .append("\", \"taxa_divisor_zero\": ").append(formatar(taxaDivisorZero))
+            .append(", \"politica_erro\": \"").append(controller.getPoliticaErro())
+            .append("\", \"intervalo_s\": ").append(formatar(intervaloRelatorio.toNanos() / 1e9))
+            .append(", \"jvm\": \"").append(escapar(System.getProperty("java.vm.name") + " " + System.getProperty("java.version")))
+            .append("\", \"processadores\": ").append(Runtime.getRuntime().availableProcessors())
+            .append("},\n  \"intervalos\": [");
+        for (int i = 0; i < intervalos.size(); i++) {
+            sb.append(i == 0 ? "\n    " : ",\n    ").append(intervalos.get(i));
+        }
+        sb.append("\n  ],\n  \"total\": ").append(total).append("\n}\n");
+        return sb.toString();
+    }
+    
+    private String totalJson(long duracao, MonitorGc gc) {
+        long[] totalGc = gc.total();
+        return "{\"operacoes\": " + operacoes
+            + ", \"erros\": " + erros.sum()
+            + ", \"vazao\": " + formatar(operacoes * 1e9 / duracao)
+            + ", \"latencia_ns\": " + percentisJson(latencias)
+            + ", \"servico_ns\": " + percentisJson(servico)
+            + ", \"gc\": " + gcJson(totalGc[0], totalGc[1], totalGc[2]) + "}";
+    }
+    
+    private static String percentisJson(HistogramaLatencia histograma) {
+        StringBuilder sb = new StringBuilder("{");
+        for (int i = 0; i < PERCENTIS.length; i++) {
+            sb.append('"').append(NOMES_PERCENTIS[i]).append("\": ").append(histograma.percentil(PERCENTIS[i])).append(", ");
+        }
+        return sb.append("\"maximo\": ").append(histograma.maximo()).append('}').toString();
+    }
+    
+    private static String gcJson(long coletas, long tempoMs, long pausaMaximaMs) {
+        return "{\"coletas\": " + coletas + ", \"tempo_ms\": " + tempoMs + ", \"pausa_maxima_ms\": " + pausaMaximaMs + "}";
+    }
+    
+    private static double heapUsadoMb() {
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed() / (1024.0 * 1024.0);
+    }
+    
+    private static String formatar(double valor) {
+        return Double.isFinite(valor) ? String.format(Locale.ROOT, "%.3f", valor) : "null";
+    }
+    
+    private static String escapar(String texto) {
+        return texto.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+    
+    private static void dormirAte(long instante) throws InterruptedException {
+        long restante;
+        while ((restante = instante - System.nanoTime()) > 0) {
+            TimeUnit.NANOSECONDS.sleep(restante);
+        }
+    }
+    
+    /**
+     * @return histograma das latências corrigidas (desde o horário previsto de cada chamada)
+     */
+    public HistogramaLatencia getLatencias() {
+        return latencias;
+    }
+    
+    /**
+     * @return histograma dos tempos de serviço (só a chamada ao controller)
+     */
+    public HistogramaLatencia getLatenciasServico() {
+        return servico;
+    }
+    
+    /**
+     * @return número de chamadas feitas na última execução
+     */
+    public long getOperacoes() {
+        return operacoes;
+    }
+    
+    /**
+     * @return número de chamadas com erro (exceção ou resultado não finito)
+     */
+    public long getErros() {
+        return erros.sum();
+    }
+    
+    /**
+     * Estado de uma thread de carga. Os histogramas são próprios de cada thread,
+     * para que o registro não dispute linhas de cache entre elas; as janelas se
+     * alternam, e a janela anterior é lida enquanto a atual é preenchida.
+     */
+    private final class Trabalhador {
+        
+        final String[] simbolos = new String[OPERANDOS];
+        final double[] a = new double[OPERANDOS];
+        final double[] b = new double[OPERANDOS];
+        
+        final HistogramaLatencia latencias = new HistogramaLatencia();
+        final HistogramaLatencia servico = new HistogramaLatencia();
+        final HistogramaLatencia[] janelas = {new HistogramaLatencia(), new HistogramaLatencia()};
+        double descartado;
+        
+        Trabalhador(String[] mistura, Random aleatorio) {
+            for (int i = 0; i < OPERANDOS; i++) {
+                simbolos[i] = mistura[aleatorio.nextInt(mistura.length)];
+                a[i] = distribuicao.gerar(aleatorio);
+                b[i] = aleatorio.nextDouble() < taxaDivisorZero ? 0 : distribuicao.gerar(aleatorio);
+            }
+        }
+        
+        void executar(long primeiro, long periodo, long inicio, long intervalo, long prazo) {
+            double acumulado = 0;
+            long previsto = primeiro;
+            if (!esperarAte(primeiro)) {
+                return;
+            }
+            for (int i = 0; ; i++) {
+                if (periodo > 0 && !esperarAte(previsto)) {
+                    break;
+                }
+                long antes = System.nanoTime();
+                if (antes >= prazo) {
+                    break;
+                }
+                int j = i & MASCARA;
+                try {
+                    double resultado = controller.executarOperacao(simbolos[j], a[j], b[j]);
+                    if (!Double.isFinite(resultado)) {
+                        erros.increment();
+                    }
+                    acumulado += resultado;
+                } catch (ArithmeticException e) {
+                    erros.increment();
+                }
+                long depois = System.nanoTime();
+                long latencia = depois - (periodo > 0 ? previsto : antes);
+                servico.registrar(depois - antes);
+                latencias.registrar(latencia);
+                janelas[(int) ((depois - inicio) / intervalo) & 1].registrar(latencia);
+                previsto += periodo;
+            }
+            descartado = acumulado;
+        }
+        
+        void transferirJanela(int indice, HistogramaLatencia destino) {
+            destino.somar(janelas[indice]);
+            janelas[indice].zerar();
+        }
+        
+        private boolean esperarAte(long instante) {
+            long restante;
+            while ((restante = instante - System.nanoTime()) > 0) {
+                if (restante > 200_000) {
+                    // Dorme até perto do horário e termina girando, pela precisão
+                    LockSupport.parkNanos(restante - 100_000);
+                    if (Thread.currentThread().isInterrupted()) {
+                        return false;
+                    }
+                } else {
+                    Thread.onSpinWait();
+                }
+            }
+            return true;
+        }
+    }
+    
+    /**
+     * Acompanha as coletas de lixo: contagem e tempo pelos MXBeans dos coletores
+     * e a maior duração de coleta pelas notificações da JVM.
+     */
+    private static final class MonitorGc implements NotificationListener {
+        
+        private final List<GarbageCollectorMXBean> coletores = ManagementFactory.getGarbageCollectorMXBeans();
+        private final AtomicLong pausaMaximaIntervalo = new AtomicLong();
+        private final AtomicLong pausaMaximaTotal = new AtomicLong();
+        private final long coletasIniciais;
+        private final long tempoInicial;
+        private long coletasAnteriores;
+        private long tempoAnterior;
+        
+        MonitorGc() {
+            for (GarbageCollectorMXBean coletor : coletores) {
+                if (coletor instanceof NotificationEmitter) {
+                    ((NotificationEmitter) coletor).addNotificationListener(this, null, null);
+                }
+            }
+            coletasIniciais = coletasAnteriores = coletas();
+            tempoInicial = tempoAnterior = tempo();
+        }
+        
+        @Override
+        public void handleNotification(Notification notificacao, Object contexto) {
+            if (GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notificacao.getType())) {
+                long duracao = GarbageCollectionNotificationInfo.from((CompositeData) notificacao.getUserData())
+                    .getGcInfo().getDuration();
+                pausaMaximaIntervalo.accumulateAndGet(duracao, Math::max);
+                pausaMaximaTotal.accumulateAndGet(duracao, Math::max);
+            }
+        }
+        
+        /**
+         * @return coletas, tempo em ms e maior coleta em ms desde a chamada anterior
+         */
+        long[] intervalo() {
+            long coletas = coletas();
+            long tempo = tempo();
+            long[] resultado = {coletas - coletasAnteriores, tempo - tempoAnterior, pausaMaximaIntervalo.getAndSet(0)};
+            coletasAnteriores = coletas;
+            tempoAnterior = tempo;
+            return resultado;
+        }
+        
+        long[] total() {
+            return new long[] {coletasAnteriores - coletasIniciais, tempoAnterior - tempoInicial, pausaMaximaTotal.get()};
+        }
+        
+        void encerrar() {
+            for (GarbageCollectorMXBean coletor : coletores) {
+                if (coletor instanceof NotificationEmitter) {
+                    try {
+                        ((NotificationEmitter) coletor).removeNotificationListener(this);
+                    } catch (ListenerNotFoundException e) {
+                        // Já removido
+                    }
+                }
+            }
+        }
+        
+        private long coletas() {
+            long total = 0;
+            for (GarbageCollectorMXBean coletor : coletores) {
+                total += Math.max(0, coletor.getCollectionCount());
+            }
+            return total;
+        }
+        
+        private long tempo() {
+            long total = 0;
+            for (GarbageCollectorMXBean coletor : coletores) {
+                total += Math.max(0, coletor.getCollectionTime());
+            }
+            return total;
+        }
+    }
+}
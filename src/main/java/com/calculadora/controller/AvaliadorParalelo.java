@@ -0,0 +1,166 @@
+package com.calculadora.controller;
+
+import com.calculadora.model.Lotes;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Avalia lotes grandes de operações em paralelo, sobre um {@link ForkJoinPool} próprio.
+ * 
+ * O lote é dividido ao meio até que cada parte tenha no máximo o limite
+ * sequencial de elementos; cada parte é calculada pela API em lote do
+ * controller, sobre um trecho contíguo dos vetores. Como cada elemento é
+ * calculado de forma independente, o resultado é idêntico bit a bit ao do
+ * caminho sequencial. Erros aritméticos (como divisão por zero) não abortam
+ * o lote nem lançam exceções: a situação de cada índice é marcada no vetor de
+ * situação, pela API com situação do controller.
+ */
+public class AvaliadorParalelo implements AutoCloseable {
+    
+    /** Limite sequencial padrão: 8192 elementos, 64 KiB por vetor de operandos. */
+    public static final int LIMITE_SEQUENCIAL_PADRAO = 1 << 13;
+    
+    /** Situação de um índice calculado com sucesso. */
+    public static final byte SITUACAO_OK = Lotes.SITUACAO_OK;
+    /**
+     * Situação de um índice cujo cálculo falhou. Como em
+     * {@link CalculadoraController#executarOperacao(int, double[], double[], double[], byte[], int, int)},
+     * o resultado recebe o valor IEEE 754 da falha (ex.: infinito em x / 0) na
+     * política {@link PoliticaErro#IEEE} e NaN nas demais.
+     */
+    public static final byte SITUACAO_ERRO_ARITMETICO = Lotes.SITUACAO_ERRO_ARITMETICO;
+    
+    private final CalculadoraController controller;
+    private final ForkJoinPool pool;
+    private final int limiteSequencial;
+    
+    public AvaliadorParalelo(CalculadoraController controller) {
+        this(controller, Runtime.getRuntime().availableProcessors(), LIMITE_SEQUENCIAL_PADRAO);
+    }
+    
+    /**
+     * @param controller controller que executa as operações
+     * @param paralelismo número de threads do pool
+     * @param limiteSequencial tamanho máximo de uma parte calculada por uma única tarefa
+     */
+    public AvaliadorParalelo(CalculadoraController controller, int paralelismo, int limiteSequencial) {
+        if (paralelismo <= 0) {
+            throw new IllegalArgumentException("O paralelismo deve ser positivo!");
+        }
+        if (limiteSequencial <= 0) {
+            throw new IllegalArgumentException("O limite sequencial deve ser positivo!");
+        }
+        this.controller = Objects.requireNonNull(controller);
+        this.pool = new ForkJoinPool(paralelismo);
+        this.limiteSequencial = limiteSequencial;
+    }
+    
+    /**
+     * Avalia uma operação sobre vetores inteiros de operandos.
+     * 
+     * @param simbolo símbolo da operação
+     * @param a primeiros operandos
+     * @param b segundos operandos
+     * @param resultado vetor que recebe os resultados
+     * @param situacao vetor que recebe a situação de cada índice
+     * @return número de índices com erro
+     * @throws IllegalArgumentException se a operação não existir ou os vetores tiverem tamanhos diferentes
+     */
+    public long avaliar(String simbolo, double[] a, double[] b, double[] resultado, byte[] situacao) {
+        if (a.length != b.length || a.length != resultado.length || a.length != situacao.length) {
+            throw new IllegalArgumentException("Os vetores devem ter o mesmo tamanho!");
+        }
+        return avaliar(controller.resolverCodigo(simbolo), a, b, resultado, situacao, 0, a.length);
+    }
+    
+    /**
+     * Avalia uma operação, identificada pelo código, sobre um intervalo dos vetores.
+     * 
+     * @param codigo código da operação (ver {@link CalculadoraController#resolverCodigo})
+     * @param a primeiros operandos
+     * @param b segundos operandos
+     * @param resultado vetor que recebe os resultados
+     * @param situacao vetor que recebe a situação de cada índice
+     * @param inicio índice inicial
+     * @param quantidade número de elementos
+     * @return número de índices com erro
+     * @throws IndexOutOfBoundsException se o intervalo exceder algum vetor
+     */
+    public long avaliar(int codigo, double[] a, double[] b, double[] resultado, byte[] situacao,
+                        int inicio, int quantidade) {
+        Lotes.validarIntervalo(a, b, resultado, inicio, quantidade);
+        Objects.checkFromIndexSize(inicio, quantidade, situacao.length);
+        
+        Parte parte = new Parte(codigo, a, b, resultado, situacao, inicio, inicio + quantidade);
+        if (quantidade <= limiteSequencial) {
+            return parte.calcular();
+        }
+        return pool.invoke(parte);
+    }
+    
+    /**
+     * @return número de threads do pool
+     */
+    public int getParalelismo() {
+        return pool.getParallelism();
+    }
+    
+    /**
+     * @return tamanho máximo de uma parte calculada por uma única tarefa
+     */
+    public int getLimiteSequencial() {
+        return limiteSequencial;
+    }
+    
+    /**
+     * Encerra as threads do pool.
+     */
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+    
+    /**
+     * Tarefa que calcula o intervalo [inicio, fim) e devolve o número de erros.
+     */
+    private final class Parte extends RecursiveTask<Long> {
+        
+        private static final long serialVersionUID = 1L;
+        
+        private final int codigo;
+        private final double[] a;
+        private final double[] b;
+        private final double[] resultado;
+        private final byte[] situacao;
+        private final int inicio;
+        private final int fim;
+        
+        Parte(int codigo, double[] a, double[] b, double[] resultado, byte[] situacao, int inicio, int fim) {
+            this.codigo = codigo;
+            this.a = a;
+            this.b = b;
+            this.resultado = resultado;
+            this.situacao = situacao;
+            this.inicio = inicio;
+            this.fim = fim;
+        }
+        
+        @Override
+        protected Long compute() {
+            if (fim - inicio <= limiteSequencial) {
+                return calcular();
+            }
+            int meio = (inicio + fim) >>> 1;
+            Parte esquerda = new Parte(codigo, a, b, resultado, situacao, inicio, meio);
+            Parte direita = new Parte(codigo, a, b, resultado, situacao, meio, fim);
+            esquerda.fork();
+            long errosDireita = direita.compute();
+            return esquerda.join() + errosDireita;
+        }
+        
+        long calcular() {
+            return controller.executarOperacao(codigo, a, b, resultado, situacao, inicio, fim - inicio);
+        }
+    }
+}
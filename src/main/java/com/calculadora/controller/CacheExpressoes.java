@@ -0,0 +1,128 @@
+package com.calculadora.controller;
+
+import com.calculadora.expressao.Expressao;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Cache LRU, limitada e thread-safe, do texto de uma expressão para a sua forma compilada.
+ * Quando a capacidade é atingida, a expressão usada há mais tempo é descartada,
+ * mantendo a memória estável mesmo com muitas entradas diferentes.
+ * 
+ * Cada {@link #limpar()} inicia uma nova geração: uma expressão cuja compilação
+ * começou antes da limpeza não é guardada, pois pode ter resolvido operações
+ * que já não valem.
+ */
+public class CacheExpressoes {
+    
+    private final int capacidade;
+    private final Map<String, Expressao> entradas;
+    // Incrementada a cada limpeza; protegida pelo bloqueio de entradas
+    private long geracao;
+    
+    // Contadores de uso
+    private final LongAdder acertos = new LongAdder();
+    private final LongAdder falhas = new LongAdder();
+    private final LongAdder remocoes = new LongAdder();
+    
+    /**
+     * Cria uma cache com a capacidade informada.
+     * 
+     * @param capacidade número máximo de expressões; zero desativa a cache
+     * @throws IllegalArgumentException se a capacidade for negativa
+     */
+    public CacheExpressoes(int capacidade) {
+        if (capacidade < 0) {
+            throw new IllegalArgumentException("A capacidade da cache não pode ser negativa!");
+        }
+        this.capacidade = capacidade;
+        // accessOrder = true: a ordem de iteração vai da menos para a mais recentemente usada
+        this.entradas = new LinkedHashMap<String, Expressao>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Expressao> maisAntiga) {
+                if (size() > CacheExpressoes.this.capacidade) {
+                    remocoes.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+    
+    /**
+     * Retorna a expressão em cache ou compila e armazena uma nova.
+     * A compilação acontece fora do bloqueio, para não serializar chamadas concorrentes;
+     * se a cache for limpa durante a compilação, a expressão é retornada sem ser guardada.
+     * 
+     * @param texto texto da expressão
+     * @param compilador função que compila o texto
+     * @return expressão compilada
+     */
+    public Expressao obter(String texto, Function<String, Expressao> compilador) {
+        Expressao expressao;
+        long geracaoInicial;
+        synchronized (entradas) {
+            expressao = entradas.get(texto);
+            geracaoInicial = geracao;
+        }
+        if (expressao != null) {
+            acertos.increment();
+            return expressao;
+        }
+        
+        falhas.increment();
+        expressao = compilador.apply(texto);
+        if (capacidade > 0) {
+            synchronized (entradas) {
+                if (geracao == geracaoInicial) {
+                    Expressao existente = entradas.putIfAbsent(texto, expressao);
+                    if (existente != null) {
+                        expressao = existente;
+                    }
+                }
+            }
+        }
+        return expressao;
+    }
+    
+    /**
+     * Remove todas as expressões da cache, mantendo os contadores.
+     * Compilações em andamento não serão guardadas.
+     */
+    public void limpar() {
+        synchronized (entradas) {
+            entradas.clear();
+            geracao++;
+        }
+    }
+    
+    public int getCapacidade() {
+        return capacidade;
+    }
+    
+    public int getTamanho() {
+        synchronized (entradas) {
+            return entradas.size();
+        }
+    }
+    
+    public long getAcertos() {
+        return acertos.sum();
+    }
+    
+    public long getFalhas() {
+        return falhas.sum();
+    }
+    
+    public long getRemocoes() {
+        return remocoes.sum();
+    }
+    
+    @Override
+    public String toString() {
+        return "CacheExpressoes[tamanho=" + getTamanho() + "/" + capacidade
+            + ", acertos=" + getAcertos() + ", falhas=" + getFalhas() + ", remocoes=" + getRemocoes() + "]";
+    }
+}
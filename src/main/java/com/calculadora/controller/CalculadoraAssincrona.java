@@ -0,0 +1,429 @@
+package com.calculadora.controller;
+
+import com.calculadora.model.Lotes;
+import java.lang.reflect.Method;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fachada assíncrona do controller: os pedidos devolvem {@link CompletableFuture}s
+ * e são calculados por um executor próprio, com threads virtuais quando a JVM
+ * as oferece (Java 21 ou mais recente) e um pool fixo nas demais.
+ * 
+ * O número de pedidos pendentes é limitado; ao atingir o limite, a
+ * {@link PoliticaAdmissao} decide entre recusar o pedido e bloquear quem envia.
+ * Os pedidos entram em uma fila sem bloqueios, esvaziada por no máximo
+ * {@code paralelismo} tarefas; cada tarefa retira até {@code tamanhoLote}
+ * pedidos de uma vez e calcula os de mesma operação em uma única chamada da
+ * API em lote com situação do controller. Assim, pedidos enviados juntos são
+ * calculados juntos, sem custo de despacho por pedido, e nenhuma espera é
+ * acrescentada quando a carga é baixa: um pedido sozinho é despachado logo.
+ * 
+ * Os futuros seguem a política de erro do controller: na política
+ * {@link PoliticaErro#EXCECAO} completam com a mesma exceção que a chamada
+ * síncrona lançaria; nas demais, com o valor. Ações encadeadas sem o sufixo
+ * {@code Async} rodam na thread de cálculo e devem ser curtas.
+ */
+public class CalculadoraAssincrona implements AutoCloseable {
+    
+    /** Limite padrão de pedidos pendentes. */
+    public static final int CAPACIDADE_PADRAO = 1 << 16;
+    
+    /** Número máximo padrão de pedidos calculados em uma chamada ao controller. */
+    public static final int TAMANHO_LOTE_PADRAO = 256;
+    
+    private final CalculadoraController controller;
+    private final int paralelismo;
+    private final int capacidade;
+    private final int tamanhoLote;
+    private final PoliticaAdmissao admissao;
+    private final ExecutorService executor;
+    private final boolean threadsVirtuais;
+    
+    private final Queue<Pedido> fila = new ConcurrentLinkedQueue<>();
+    // Vetores de trabalho reaproveitados entre as tarefas de drenagem (no máximo uma por tarefa ativa)
+    private final Queue<AreaLote> areas = new ConcurrentLinkedQueue<>();
+    private final Semaphore vagas;
+    private final AtomicInteger drenadores = new AtomicInteger();
+    private volatile boolean fechada;
+    
+    private final LongAdder pedidos = new LongAdder();
+    private final LongAdder lotes = new LongAdder();
+    private final LongAdder rejeitados = new LongAdder();
+    
+    public CalculadoraAssincrona(CalculadoraController controller) {
+        this(controller, Runtime.getRuntime().availableProcessors(), CAPACIDADE_PADRAO,
+            TAMANHO_LOTE_PADRAO, PoliticaAdmissao.REJEITAR);
+    }
+    
+    /**
+     * @param controller controller que executa as operações
+     * @param paralelismo número máximo de tarefas calculando ao mesmo tempo
+     * @param capacidade número máximo de pedidos pendentes (na fila ou em cálculo)
+     * @param tamanhoLote número máximo de pedidos retirados da fila de uma vez
+     * @param admissao o que fazer com um pedido quando a capacidade se esgota
+     */
+    public CalculadoraAssincrona(CalculadoraController controller, int paralelismo, int capacidade,
+                                 int tamanhoLote, PoliticaAdmissao admissao) {
+        if (paralelismo <= 0 || capacidade <= 0 || tamanhoLote <= 0) {
+            throw new IllegalArgumentException("Paralelismo, capacidade e tamanho do lote devem ser positivos!");
+        }
+        this.controller = Objects.requireNonNull(controller);
+        this.paralelismo = paralelismo;
+        this.capacidade = capacidade;
+        this.tamanhoLote = tamanhoLote;
+        this.admissao = Objects.requireNonNull(admissao);
+        this.vagas = new Semaphore(capacidade);
+        
+        ExecutorService virtual = executorVirtual();
+        this.threadsVirtuais = virtual != null;
+        this.executor = virtual != null ? virtual : Executors.newFixedThreadPool(paralelismo, tarefa -> {
+            Thread thread = new Thread(tarefa, "calculo-assincrono");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    /**
+     * Cria o executor de threads virtuais por reflexão, pois o projeto compila para Java 11.
+     * O limite de paralelismo é garantido pelo número de tarefas, não pelo executor.
+     */
+    private static ExecutorService executorVirtual() {
+        try {
+            Method fabrica = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) fabrica.invoke(null);
+        } catch (ReflectiveOperationException | UnsupportedOperationException e) {
+            return null;
+        }
+    }
+    
+    /**
+     * Envia uma operação para cálculo.
+     * 
+     * @param simbolo símbolo da operação
+     * @param a primeiro operando
+     * @param b segundo operando
+     * @return futuro com o resultado; já completo com {@link RejectedExecutionException} se o pedido for recusado
+     */
+    public CompletableFuture<Double> executarOperacaoAsync(String simbolo, double a, double b) {
+        CompletableFuture<Double> futuro = new CompletableFuture<>();
+        enviar(new PedidoSimples(simbolo, controller.codigoOuNegativo(simbolo), a, b, futuro), futuro);
+        return futuro;
+    }
+    
+    /**
+     * Envia um lote de operandos para cálculo. O lote é calculado por inteiro
+     * em uma tarefa, pela API em lote do controller; os vetores não devem ser
+     * alterados até o futuro completar.
+     * 
+     * @param simbolo símbolo da operação
+     * @param a primeiros operandos
+     * @param b segundos operandos
+     * @return futuro com um novo vetor de resultados
+     * @throws IllegalArgumentException se os vetores tiverem tamanhos diferentes
+     */
+    public CompletableFuture<double[]> executarOperacaoAsync(String simbolo, double[] a, double[] b) {
+        if (a.length != b.length) {
+            throw new IllegalArgumentException("Os vetores devem ter o mesmo tamanho!");
+        }
+        CompletableFuture<double[]> futuro = new CompletableFuture<>();
+        enviar(new PedidoLote(simbolo, a, b, futuro), futuro);
+        return futuro;
+    }
+    
+    private void enviar(Pedido pedido, CompletableFuture<?> futuro) {
+        if (!admitir()) {
+            rejeitados.increment();
+            futuro.completeExceptionally(new RejectedExecutionException(fechada
+                ? "A calculadora assíncrona foi encerrada!"
+                : "Limite de " + capacidade + " pedidos pendentes atingido!"));
+            return;
+        }
+        pedidos.increment();
+        fila.add(pedido);
+        agendar();
+        if (fechada) {
+            // close() pode já ter esvaziado a fila antes deste pedido entrar
+            recusarPendentes();
+        }
+    }
+    
+    private boolean admitir() {
+        if (fechada) {
+            return false;
+        }
+        if (admissao == PoliticaAdmissao.REJEITAR) {
+            return vagas.tryAcquire();
+        }
+        try {
+            vagas.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        if (fechada) {
+            vagas.release();
+            return false;
+        }
+        return true;
+    }
+    
+    /**
+     * Inicia uma tarefa de drenagem se houver pedidos na fila e menos de {@code paralelismo} tarefas ativas.
+     */
+    private void agendar() {
+        while (true) {
+            int ativos = drenadores.get();
+            if (ativos >= paralelismo || fila.isEmpty()) {
+                return;
+            }
+            if (drenadores.compareAndSet(ativos, ativos + 1)) {
+                break;
+            }
+        }
+        try {
+            executor.execute(this::drenar);
+        } catch (RejectedExecutionException e) {
+            // Executor encerrado: os pedidos restantes são recusados em close()
+            drenadores.decrementAndGet();
+        }
+    }
+    
+    private void drenar() {
+        AreaLote area = areas.poll();
+        if (area == null) {
+            area = new AreaLote(tamanhoLote);
+        }
+        
+        try {
+            Pedido pedido;
+            do {
+                int quantidade = 0;
+                while (quantidade < tamanhoLote && (pedido = fila.poll()) != null) {
+                    if (pedido instanceof PedidoSimples) {
+                        area.lote[quantidade++] = (PedidoSimples) pedido;
+                    } else {
+                        ((PedidoLote) pedido).calcular();
+                    }
+                }
+                if (quantidade > 0) {
+                    lotes.increment();
+                    calcular(area, quantidade);
+                }
+            } while (!fila.isEmpty());
+        } finally {
+            areas.offer(area);
+            drenadores.decrementAndGet();
+            // Um pedido pode ter chegado depois do último poll e antes do decremento
+            agendar();
+        }
+    }
+    
+    /**
+     * Calcula os pedidos do lote, agrupando-os por operação.
+     */
+    private void calcular(AreaLote area, int quantidade) {
+        PedidoSimples[] lote = area.lote;
+        PedidoSimples[] grupo = area.grupo;
+        for (int i = 0; i < quantidade; i++) {
+            if (lote[i] == null) {
+                continue;
+            }
+            int codigo = lote[i].codigo;
+            int tamanho = 0;
+            for (int j = i; j < quantidade; j++) {
+                PedidoSimples pedido = lote[j];
+                if (pedido != null && pedido.codigo == codigo) {
+                    area.a[tamanho] = pedido.a;
+                    area.b[tamanho] = pedido.b;
+                    grupo[tamanho++] = pedido;
+                    lote[j] = null;
+                }
+            }
+            
+            try {
+                controller.executarOperacao(codigo, area.a, area.b, area.resultado, area.situacao, 0, tamanho);
+            } catch (RuntimeException e) {
+                for (int k = 0; k < tamanho; k++) {
+                    vagas.release();
+                    grupo[k].futuro.completeExceptionally(e);
+                    grupo[k] = null;
+                }
+                continue;
+            }
+            for (int k = 0; k < tamanho; k++) {
+                grupo[k].completar(area.resultado[k], area.situacao[k]);
+                grupo[k] = null;
+            }
+        }
+    }
+    
+    /**
+     * @return número de pedidos aceitos
+     */
+    public long getPedidos() {
+        return pedidos.sum();
+    }
+    
+    /**
+     * @return número de lotes de pedidos simples calculados; pedidos / lotes é o tamanho médio do lote
+     */
+    public long getLotes() {
+        return lotes.sum();
+    }
+    
+    /**
+     * @return número de pedidos recusados pela admissão ou pelo encerramento
+     */
+    public long getRejeitados() {
+        return rejeitados.sum();
+    }
+    
+    /**
+     * @return número de pedidos na fila ou em cálculo
+     */
+    public int getPendentes() {
+        return capacidade - vagas.availablePermits();
+    }
+    
+    /**
+     * @return true se as tarefas rodam em threads virtuais
+     */
+    public boolean isThreadsVirtuais() {
+        return threadsVirtuais;
+    }
+    
+    /**
+     * Recusa novos pedidos, espera os pendentes terminarem e encerra o executor.
+     */
+    @Override
+    public void close() {
+        fechada = true;
+        executor.shutdown();
+        try {
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        recusarPendentes();
+    }
+    
+    /**
+     * Recusa os pedidos que ficaram na fila sem tarefa para calculá-los.
+     */
+    private void recusarPendentes() {
+        Pedido pedido;
+        while ((pedido = fila.poll()) != null) {
+            vagas.release();
+            pedido.futuro().completeExceptionally(new RejectedExecutionException("A calculadora assíncrona foi encerrada!"));
+        }
+    }
+    
+    /**
+     * Vetores de trabalho de uma tarefa de drenagem.
+     */
+    private static final class AreaLote {
+        
+        final PedidoSimples[] lote;
+        final PedidoSimples[] grupo;
+        final double[] a;
+        final double[] b;
+        final double[] resultado;
+        final byte[] situacao;
+        
+        AreaLote(int tamanho) {
+            lote = new PedidoSimples[tamanho];
+            grupo = new PedidoSimples[tamanho];
+            a = new double[tamanho];
+            b = new double[tamanho];
+            resultado = new double[tamanho];
+            situacao = new byte[tamanho];
+        }
+    }
+    
+    private interface Pedido {
+        CompletableFuture<?> futuro();
+    }
+    
+    private final class PedidoSimples implements Pedido {
+        
+        final String simbolo;
+        final int codigo;
+        final double a;
+        final double b;
+        final CompletableFuture<Double> futuro;
+        
+        PedidoSimples(String simbolo, int codigo, double a, double b, CompletableFuture<Double> futuro) {
+            this.simbolo = simbolo;
+            this.codigo = codigo;
+            this.a = a;
+            this.b = b;
+            this.futuro = futuro;
+        }
+        
+        @Override
+        public CompletableFuture<?> futuro() {
+            return futuro;
+        }
+        
+        void completar(double valor, byte situacao) {
+            // A vaga é liberada antes, para que uma ação encadeada possa enviar outro pedido
+            vagas.release();
+            if (situacao == Lotes.SITUACAO_OK || controller.getPoliticaErro() != PoliticaErro.EXCECAO) {
+                futuro.complete(valor);
+                return;
+            }
+            // Falha na política de exceções: repete pelo caminho síncrono, que lança a exceção exata
+            try {
+                futuro.complete(controller.executarOperacao(simbolo, a, b));
+            } catch (RuntimeException e) {
+                futuro.completeExceptionally(e);
+            }
+        }
+    }
+    
+    private final class PedidoLote implements Pedido {
+        
+        final String simbolo;
+        final double[] a;
+        final double[] b;
+        final CompletableFuture<double[]> futuro;
+        
+        PedidoLote(String simbolo, double[] a, double[] b, CompletableFuture<double[]> futuro) {
+            this.simbolo = simbolo;
+            this.a = a;
+            this.b = b;
+            this.futuro = futuro;
+        }
+        
+        @Override
+        public CompletableFuture<?> futuro() {
+            return futuro;
+        }
+        
+        void calcular() {
+            double[] resultado = new double[a.length];
+            RuntimeException erro = null;
+            try {
+                controller.executarOperacao(simbolo, a, b, resultado);
+            } catch (RuntimeException e) {
+                erro = e;
+            }
+            vagas.release();
+            if (erro != null) {
+                futuro.completeExceptionally(erro);
+            } else {
+                futuro.complete(resultado);
+            }
+        }
+    }
+}
@@ -1,55 +1,133 @@
 package com.calculadora.controller;
 
+import com.calculadora.expressao.AnalisadorExpressao;
+import com.calculadora.expressao.Expressao;
+import com.calculadora.metricas.MetricasOperacoes;
+import com.calculadora.model.ContextoDecimal;
+import com.calculadora.model.Lotes;
+import com.calculadora.model.Matriz;
 import com.calculadora.model.Operacao;
-import java.lang.reflect.InvocationTargetException;
-import java.util.HashMap;
+import com.calculadora.model.OperacaoDecimal;
+import com.calculadora.model.OperacaoMatricial;
+import com.calculadora.model.OperacaoMemorizada;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Map;
+import java.util.Objects;
 
 /**
  * Controller que gerencia as operações da calculadora.
- * Utiliza Reflection para instanciar dinamicamente as operações.
+ * As operações vêm do {@link RegistroOperacoes} compartilhado, montado a partir
+ * do índice gerado em tempo de compilação; criar um controller não usa Reflection.
+ * 
+ * O controller pode ser compartilhado entre threads. O registro, as operações
+ * memorizadas e as adaptadas ao contexto decimal formam um estado
+ * imutável, publicado em um único campo volatile: cada chamada lê o estado uma
+ * vez e nunca bloqueia, e as alterações (como {@link #registrarOperacoes} e
+ * {@link #removerOperacoes}, usadas pelo {@link CarregadorPlugins}) montam um
+ * novo estado sob o monitor do controller, sem pausar os cálculos em andamento.
+ * 
+ * As falhas aritméticas seguem a {@link PoliticaErro} do controller. As
+ * chamadas com vetor de situação ou {@link ResultadoOperacao} nunca lançam
+ * exceções por elas e são as indicadas para lotes com muitas linhas inválidas.
  */
 public class CalculadoraController {
     
-    private Map<String, Operacao> operacoes;
+    /** Capacidade padrão da cache de expressões compiladas. */
+    public static final int CAPACIDADE_CACHE_PADRAO = 256;
+    
+    private final CacheExpressoes cacheExpressoes;
+    private final MetricasOperacoes metricas;
+    
+    private volatile Estado estado;
+    // Incrementada (sob o monitor) a cada estado publicado, depois da troca
+    private volatile long geracao;
+    private volatile boolean modoDecimal;
+    private volatile PoliticaErro politicaErro = PoliticaErro.EXCECAO;
     
     public CalculadoraController() {
-        this.operacoes = new HashMap<>();
-        carregarOperacoes();
-    }
-    
-    /**
-     * Carrega dinamicamente todas as operações usando Reflection.
-     * Procura por classes no pacote com.calculadora.model que herdam de OperacaoAbstrata.
-     */
-    private void carregarOperacoes() {
-        String[] nomeClasses = {
-            "com.calculadora.model.Adicao",
-            "com.calculadora.model.Subtracao",
-            "com.calculadora.model.Multiplicacao",
-            "com.calculadora.model.Divisao"
-        };
-        
-        for (String nomeClasse : nomeClasses) {
-            try {
-                // Reflection: carrega a classe dinamicamente
-                Class<?> classe = Class.forName(nomeClasse);
-                
-                // Verifica se a classe implementa Operacao
-                if (Operacao.class.isAssignableFrom(classe)) {
-                    // Reflection: instancia a classe usando o construtor padrão
-                    Operacao operacao = (Operacao) classe.getDeclaredConstructor().newInstance();
-                    
-                    // Armazena a operação usando o símbolo como chave
-                    operacoes.put(operacao.getSimbolo(), operacao);
-                    
-                    System.out.println("✓ Operação carregada: " + operacao.getDescricao() + " (" + operacao.getSimbolo() + ")");
+        this(CAPACIDADE_CACHE_PADRAO);
+    }
+    
+    /**
+     * Cria o controller com uma cache de expressões de tamanho definido.
+     * 
+     * @param capacidadeCache número máximo de expressões compiladas em cache; zero desativa a cache
+     */
+    public CalculadoraController(int capacidadeCache) {
+        RegistroOperacoes registro = RegistroOperacoes.padrao();
+        this.cacheExpressoes = new CacheExpressoes(capacidadeCache);
+        this.metricas = new MetricasOperacoes(registro.getOperacoes().values());
+        this.estado = new Estado(registro, null, ContextoDecimal.PADRAO);
+    }
+    
+    /**
+     * Retrato imutável das operações do controller, trocado inteiro a cada alteração.
+     */
+    private static final class Estado {
+        
+        final RegistroOperacoes registro;
+        // Operações por código, com as memorizadas no lugar das originais; null se nenhuma for memorizada
+        final Operacao[] binarias;
+        final ContextoDecimal contexto;
+        // Operações adaptadas ao contexto decimal, por código; criadas no primeiro uso
+        final OperacaoDecimal[] decimais;
+        
+        Estado(RegistroOperacoes registro, Operacao[] binarias, ContextoDecimal contexto) {
+            this.registro = registro;
+            this.binarias = binarias;
+            this.contexto = Objects.requireNonNull(contexto);
+            this.decimais = new OperacaoDecimal[registro.tamanho()];
+        }
+        
+        Operacao binaria(String simbolo) {
+            if (binarias == null) {
+                return registro.get(simbolo);
+            }
+            int codigo = registro.codigo(simbolo);
+            return codigo >= 0 ? binarias[codigo] : null;
+        }
+        
+        Operacao binaria(int codigo) {
+            if (binarias == null) {
+                return registro.get(codigo);
+            }
+            return codigo >= 0 && codigo < binarias.length ? binarias[codigo] : null;
+        }
+        
+        OperacaoDecimal decimal(int codigo) {
+            if (codigo < 0 || codigo >= decimais.length) {
+                return null;
+            }
+            OperacaoDecimal decimal = decimais[codigo];
+            if (decimal == null) {
+                Operacao operacao = registro.get(codigo);
+                if (operacao == null) {
+                    return null;
                 }
-            } catch (ClassNotFoundException e) {
-                System.err.println("✗ Classe não encontrada: " + nomeClasse);
-            } catch (InvocationTargetException | NoSuchMethodException | InstantiationException | IllegalAccessException e) {
-                System.err.println("✗ Erro ao instanciar " + nomeClasse + ": " + e.getMessage());
+                // Corrida benigna: o adaptador é imutável (campos final) e duas threads criam adaptadores equivalentes
+                decimal = new OperacaoDecimal(operacao, contexto);
+                decimais[codigo] = decimal;
             }
+            return decimal;
+        }
+        
+        /**
+         * Deriva um estado com outro registro, mantendo as memorizações cujas operações não mudaram.
+         */
+        Estado com(RegistroOperacoes novo) {
+            Operacao[] novas = null;
+            if (binarias != null) {
+                novas = novo.porCodigo().toArray(new Operacao[0]);
+                for (int i = 0; i < binarias.length; i++) {
+                    if (binarias[i] instanceof OperacaoMemorizada
+                            && ((OperacaoMemorizada) binarias[i]).getOperacao() == novas[i]) {
+                        novas[i] = binarias[i];
+                    }
+                }
+            }
+            return new Estado(novo, novas, contexto);
         }
     }
     
@@ -60,25 +138,540 @@ public class CalculadoraController {
      * @param a primeiro operando
      * @param b segundo operando
      * @return resultado da operação
-     * @throws IllegalArgumentException se a operação não existir
+     * @throws IllegalArgumentException se a operação não existir (na política {@link PoliticaErro#EXCECAO})
+     * @throws ArithmeticException se a operação falhar (na política {@link PoliticaErro#EXCECAO})
      */
     public double executarOperacao(String simbolo, double a, double b) {
-        Operacao operacao = operacoes.get(simbolo);
+        Estado atual = estado;
+        int codigo = atual.registro.codigo(simbolo);
+        Operacao operacao = operacao(atual, codigo);
         
         if (operacao == null) {
+            if (politicaErro != PoliticaErro.EXCECAO) {
+                return Double.NaN;
+            }
+            throw new IllegalArgumentException("Operação '" + simbolo + "' não encontrada!");
+        }
+        
+        return executar(codigo, operacao, a, b);
+    }
+    
+    private double executar(int codigo, Operacao operacao, double a, double b) {
+        if (politicaErro == PoliticaErro.EXCECAO) {
+            if (metricas.isAtiva()) {
+                return metricas.executar(codigo, operacao, a, b);
+            }
+            return operacao.executar(a, b);
+        }
+        if (metricas.isAtiva()) {
+            return metricas.executarIEEE(codigo, operacao, a, b);
+        }
+        return operacao.executarIEEE(a, b);
+    }
+    
+    /**
+     * Executa uma operação matemática sobre lotes de operandos.
+     * O símbolo é resolvido uma única vez para todo o lote.
+     * 
+     * @param simbolo símbolo da operação (+, -, *, /)
+     * @param a primeiros operandos
+     * @param b segundos operandos
+     * @param resultado vetor que recebe os resultados
+     * @param inicio índice inicial
+     * @param quantidade número de elementos
+     * @throws IllegalArgumentException se a operação não existir (na política {@link PoliticaErro#EXCECAO})
+     * @throws ArithmeticException se a operação falhar (na política {@link PoliticaErro#EXCECAO})
+     * @throws IndexOutOfBoundsException se o intervalo exceder algum vetor
+     */
+    public void executarOperacao(String simbolo, double[] a, double[] b, double[] resultado, int inicio, int quantidade) {
+        Estado atual = estado;
+        int codigo = atual.registro.codigo(simbolo);
+        Operacao operacao = operacao(atual, codigo);
+        
+        if (operacao == null) {
+            if (politicaErro != PoliticaErro.EXCECAO) {
+                Lotes.validarIntervalo(a, b, resultado, inicio, quantidade);
+                Arrays.fill(resultado, inicio, inicio + quantidade, Double.NaN);
+                return;
+            }
+            throw new IllegalArgumentException("Operação '" + simbolo + "' não encontrada!");
+        }
+        
+        executar(codigo, operacao, a, b, resultado, inicio, quantidade);
+    }
+    
+    private void executar(int codigo, Operacao operacao, double[] a, double[] b, double[] resultado,
+                          int inicio, int quantidade) {
+        if (politicaErro == PoliticaErro.EXCECAO) {
+            if (metricas.isAtiva()) {
+                metricas.executar(codigo, operacao, a, b, resultado, inicio, quantidade);
+                return;
+            }
+            operacao.executar(a, b, resultado, inicio, quantidade);
+            return;
+        }
+        if (metricas.isAtiva()) {
+            metricas.executarIEEE(codigo, operacao, a, b, resultado, inicio, quantidade);
+            return;
+        }
+        operacao.executarIEEE(a, b, resultado, inicio, quantidade);
+    }
+    
+    /**
+     * Executa uma operação matemática sobre vetores inteiros de operandos.
+     * 
+     * @param simbolo símbolo da operação (+, -, *, /)
+     * @param a primeiros operandos
+     * @param b segundos operandos
+     * @param resultado vetor que recebe os resultados
+     * @throws IllegalArgumentException se a operação não existir ou os vetores tiverem tamanhos diferentes
+     */
+    public void executarOperacao(String simbolo, double[] a, double[] b, double[] resultado) {
+        if (a.length != b.length || a.length != resultado.length) {
+            throw new IllegalArgumentException("Os vetores devem ter o mesmo tamanho!");
+        }
+        executarOperacao(simbolo, a, b, resultado, 0, a.length);
+    }
+    
+    /**
+     * Resolve o símbolo de uma operação para um código numérico.
+     * O código pode ser guardado e usado em {@link #executarOperacao(int, double, double)},
+     * evitando a busca pelo símbolo a cada chamada.
+     * 
+     * @param simbolo símbolo da operação (+, -, *, /)
+     * @return código da operação
+     * @throws IllegalArgumentException se a operação não existir
+     */
+    public int resolverCodigo(String simbolo) {
+        int codigo = estado.registro.codigo(simbolo);
+        
+        if (codigo < 0) {
             throw new IllegalArgumentException("Operação '" + simbolo + "' não encontrada!");
         }
         
-        return operacao.executar(a, b);
+        return codigo;
+    }
+    
+    /**
+     * @return código da operação, ou -1 se ela não existir
+     */
+    int codigoOuNegativo(String simbolo) {
+        return estado.registro.codigo(simbolo);
+    }
+    
+    /**
+     * Executa uma operação matemática a partir do seu código.
+     * 
+     * @param codigo código obtido por {@link #resolverCodigo(String)}
+     * @param a primeiro operando
+     * @param b segundo operando
+     * @return resultado da operação
+     * @throws IllegalArgumentException se o código não existir (na política {@link PoliticaErro#EXCECAO})
+     * @throws ArithmeticException se a operação falhar (na política {@link PoliticaErro#EXCECAO})
+     */
+    public double executarOperacao(int codigo, double a, double b) {
+        Operacao operacao = operacaoOuNull(codigo);
+        if (operacao == null) {
+            if (politicaErro != PoliticaErro.EXCECAO) {
+                return Double.NaN;
+            }
+            throw codigoInexistente(codigo);
+        }
+        return executar(codigo, operacao, a, b);
+    }
+    
+    /**
+     * Executa uma operação sem lançar exceções por falhas aritméticas nem por
+     * operações inexistentes: a situação do cálculo fica no resultado informado,
+     * que pode ser reutilizado em todas as chamadas de uma thread.
+     * 
+     * @param simbolo símbolo da operação
+     * @param a primeiro operando
+     * @param b segundo operando
+     * @param destino resultado que recebe o valor e a situação
+     * @return true se o cálculo teve sucesso
+     */
+    public boolean executarOperacao(String simbolo, double a, double b, ResultadoOperacao destino) {
+        return executarOperacao(estado.registro.codigo(simbolo), a, b, destino);
+    }
+    
+    /**
+     * Executa uma operação, a partir do seu código, sem lançar exceções por falhas
+     * aritméticas nem por códigos inexistentes.
+     * 
+     * @param codigo código obtido por {@link #resolverCodigo(String)}
+     * @param a primeiro operando
+     * @param b segundo operando
+     * @param destino resultado que recebe o valor e a situação
+     * @return true se o cálculo teve sucesso
+     */
+    public boolean executarOperacao(int codigo, double a, double b, ResultadoOperacao destino) {
+        destino.a[0] = a;
+        destino.b[0] = b;
+        executarOperacao(codigo, destino.a, destino.b, destino.valor, destino.situacao, 0, 1);
+        return destino.isOk();
+    }
+    
+    /**
+     * Executa uma operação matemática, a partir do seu código, sobre lotes de operandos.
+     * 
+     * @param codigo código obtido por {@link #resolverCodigo(String)}
+     * @param a primeiros operandos
+     * @param b segundos operandos
+     * @param resultado vetor que recebe os resultados
+     * @param inicio índice inicial
+     * @param quantidade número de elementos
+     * @throws IllegalArgumentException se o código não existir (na política {@link PoliticaErro#EXCECAO})
+     * @throws ArithmeticException se a operação falhar (na política {@link PoliticaErro#EXCECAO})
+     * @throws IndexOutOfBoundsException se o intervalo exceder algum vetor
+     */
+    public void executarOperacao(int codigo, double[] a, double[] b, double[] resultado, int inicio, int quantidade) {
+        Operacao operacao = operacaoOuNull(codigo);
+        if (operacao == null) {
+            if (politicaErro != PoliticaErro.EXCECAO) {
+                Lotes.validarIntervalo(a, b, resultado, inicio, quantidade);
+                Arrays.fill(resultado, inicio, inicio + quantidade, Double.NaN);
+                return;
+            }
+            throw codigoInexistente(codigo);
+        }
+        executar(codigo, operacao, a, b, resultado, inicio, quantidade);
+    }
+    
+    /**
+     * Executa uma operação sobre lotes de operandos informando a situação de cada
+     * índice (ver as constantes {@code SITUACAO_*} de {@link Lotes}), sem lançar
+     * exceções por falhas aritméticas nem por códigos inexistentes. Com a política
+     * {@link PoliticaErro#IEEE}, os índices com falha recebem o valor IEEE 754 da
+     * falha; com as demais, NaN.
+     * 
+     * @param codigo código obtido por {@link #resolverCodigo(String)}
+     * @param a primeiros operandos
+     * @param b segundos operandos
+     * @param resultado vetor que recebe os resultados
+     * @param situacao vetor que recebe a situação de cada índice
+     * @param inicio índice inicial
+     * @param quantidade número de elementos
+     * @return número de índices com falha
+     * @throws IndexOutOfBoundsException se o intervalo exceder algum vetor
+     */
+    public int executarOperacao(int codigo, double[] a, double[] b, double[] resultado, byte[] situacao,
+                                int inicio, int quantidade) {
+        Lotes.validarIntervalo(a, b, resultado, inicio, quantidade);
+        Objects.checkFromIndexSize(inicio, quantidade, situacao.length);
+        int fim = inicio + quantidade;
+        
+        Operacao operacao = operacaoOuNull(codigo);
+        if (operacao == null) {
+            Arrays.fill(resultado, inicio, fim, Double.NaN);
+            Arrays.fill(situacao, inicio, fim, Lotes.SITUACAO_OPERACAO_INVALIDA);
+            return quantidade;
+        }
+        
+        int falhas = metricas.isAtiva()
+            ? metricas.executar(codigo, operacao, a, b, resultado, situacao, inicio, quantidade)
+            : operacao.executar(a, b, resultado, situacao, inicio, quantidade);
+        if (falhas > 0 && politicaErro != PoliticaErro.IEEE) {
+            for (int i = inicio; i < fim; i++) {
+                if (situacao[i] != Lotes.SITUACAO_OK) {
+                    resultado[i] = Double.NaN;
+                }
+            }
+        }
+        return falhas;
+    }
+    
+    /**
+     * Operação de um código no modo de precisão atual, ou null se não existir.
+     * Os caminhos por símbolo resolvem o código uma única vez e o repassam
+     * também às métricas.
+     */
+    private Operacao operacao(Estado atual, int codigo) {
+        return modoDecimal ? atual.decimal(codigo) : atual.binaria(codigo);
+    }
+    
+    private Operacao operacaoOuNull(int codigo) {
+        return operacao(estado, codigo);
+    }
+    
+    private static IllegalArgumentException codigoInexistente(int codigo) {
+        return new IllegalArgumentException("Código de operação " + codigo + " não encontrado!");
+    }
+    
+    /**
+     * Registra operações neste controller, substituindo as de mesmo símbolo.
+     * Os códigos já resolvidos continuam válidos.
+     * 
+     * @param operacoes operações a registrar
+     */
+    public synchronized void registrarOperacoes(Collection<? extends Operacao> operacoes) {
+        publicar(estado.com(estado.registro.com(operacoes)));
+    }
+    
+    /**
+     * Remove operações deste controller. O código de uma operação removida deixa de ser válido.
+     * 
+     * @param simbolos símbolos das operações; símbolos inexistentes são ignorados
+     */
+    public synchronized void removerOperacoes(Collection<String> simbolos) {
+        publicar(estado.com(estado.registro.sem(simbolos)));
+    }
+    
+    private void publicar(Estado novo) {
+        metricas.atualizar(novo.registro.porCodigo());
+        estado = novo;
+        geracao++;
+        // Expressões compiladas guardam as operações resolvidas
+        cacheExpressoes.limpar();
+    }
+    
+    /**
+     * Passa a memorizar os resultados de uma operação no modo binário, substituindo
+     * uma memorização anterior do mesmo símbolo. Indicado para operações caras
+     * cujos operandos se repetem; operações elementares não podem ser memorizadas.
+     * 
+     * @param simbolo símbolo da operação
+     * @param capacidade número máximo de resultados memorizados
+     * @return memorização criada, com seus contadores
+     * @throws IllegalArgumentException se a operação não existir ou for elementar
+     */
+    public synchronized OperacaoMemorizada memorizarOperacao(String simbolo, int capacidade) {
+        Estado atual = estado;
+        int codigo = resolverCodigo(simbolo);
+        OperacaoMemorizada memorizada = new OperacaoMemorizada(atual.registro.get(codigo), capacidade);
+        
+        Operacao[] operacoes = atual.binarias != null
+            ? atual.binarias.clone()
+            : atual.registro.porCodigo().toArray(new Operacao[0]);
+        operacoes[codigo] = memorizada;
+        publicar(new Estado(atual.registro, operacoes, atual.contexto));
+        return memorizada;
+    }
+    
+    /**
+     * Deixa de memorizar uma operação.
+     * 
+     * @param simbolo símbolo da operação
+     * @throws IllegalArgumentException se a operação não existir
+     */
+    public synchronized void removerMemorizacao(String simbolo) {
+        Estado atual = estado;
+        int codigo = resolverCodigo(simbolo);
+        if (getMemorizacao(simbolo) == null) {
+            return;
+        }
+        
+        Operacao[] operacoes = atual.binarias.clone();
+        operacoes[codigo] = atual.registro.get(codigo);
+        boolean alguma = false;
+        for (Operacao operacao : operacoes) {
+            alguma |= operacao instanceof OperacaoMemorizada;
+        }
+        publicar(new Estado(atual.registro, alguma ? operacoes : null, atual.contexto));
+    }
+    
+    /**
+     * Retorna a memorização de uma operação.
+     * 
+     * @param simbolo símbolo da operação
+     * @return memorização ou null se a operação não estiver memorizada
+     */
+    public OperacaoMemorizada getMemorizacao(String simbolo) {
+        Operacao operacao = estado.binaria(simbolo);
+        return operacao instanceof OperacaoMemorizada ? (OperacaoMemorizada) operacao : null;
+    }
+    
+    /**
+     * Compila uma expressão com várias operações, como {@code (a + b) * c / 2}.
+     * Os operadores são resolvidos pelas operações carregadas neste controller.
+     * A expressão resultante é imutável e pode ser avaliada muitas vezes.
+     * Expressões já compiladas são reaproveitadas da cache.
+     * 
+     * @param texto texto da expressão
+     * @return expressão compilada
+     * @throws IllegalArgumentException se o texto for inválido ou usar uma operação inexistente
+     */
+    public Expressao compilarExpressao(String texto) {
+        return cacheExpressoes.obter(texto, t -> new AnalisadorExpressao(estado::binaria).analisar(t));
+    }
+    
+    /**
+     * Compila uma expressão até bytecode, para fórmulas avaliadas muitas vezes.
+     * A geração acontece uma vez por expressão em cache; se não for possível,
+     * a expressão retornada continua interpretada.
+     * 
+     * @param texto texto da expressão
+     * @return expressão compilada (ver {@link Expressao#isCompilada()})
+     * @throws IllegalArgumentException se o texto for inválido ou usar uma operação inexistente
+     */
+    public Expressao compilarFormula(String texto) {
+        return compilarExpressao(texto).compilar();
+    }
+    
+    /**
+     * Compila (ou obtém da cache) e avalia uma expressão.
+     * 
+     * @param texto texto da expressão
+     * @param valores valores das variáveis, na ordem em que aparecem no texto
+     * @return resultado da expressão
+     * @throws IllegalArgumentException se o texto for inválido ou faltarem valores
+     */
+    public double avaliarExpressao(String texto, double... valores) {
+        return compilarExpressao(texto).avaliar(valores);
+    }
+    
+    /**
+     * Retorna a cache de expressões compiladas, com seus contadores.
+     * 
+     * @return cache de expressões
+     */
+    public CacheExpressoes getCacheExpressoes() {
+        return cacheExpressoes;
+    }
+    
+    /**
+     * Retorna as métricas por operação deste controller (desativadas por padrão).
+     * 
+     * @return métricas de chamadas, erros e latência
+     */
+    public MetricasOperacoes getMetricas() {
+        return metricas;
+    }
+    
+    /**
+     * Define o modo de precisão das operações com double.
+     * No modo {@link ModoPrecisao#DECIMAL}, as operações usam o contexto decimal
+     * deste controller. Expressões compiladas continuam em aritmética binária.
+     * 
+     * @param modo modo de precisão
+     */
+    public void setModoPrecisao(ModoPrecisao modo) {
+        this.modoDecimal = Objects.requireNonNull(modo) == ModoPrecisao.DECIMAL;
+    }
+    
+    public ModoPrecisao getModoPrecisao() {
+        return modoDecimal ? ModoPrecisao.DECIMAL : ModoPrecisao.BINARIO;
+    }
+    
+    /**
+     * Define como as falhas aritméticas e as operações inexistentes são tratadas
+     * nas chamadas que devolvem apenas o resultado.
+     * 
+     * @param politica política de erro
+     */
+    public void setPoliticaErro(PoliticaErro politica) {
+        this.politicaErro = Objects.requireNonNull(politica);
+    }
+    
+    public PoliticaErro getPoliticaErro() {
+        return politicaErro;
+    }
+    
+    /**
+     * Define a escala e o arredondamento da aritmética decimal.
+     * 
+     * @param contexto contexto decimal
+     */
+    public synchronized void setContextoDecimal(ContextoDecimal contexto) {
+        Estado atual = estado;
+        estado = new Estado(atual.registro, atual.binarias, contexto);
+    }
+    
+    public ContextoDecimal getContextoDecimal() {
+        return estado.contexto;
+    }
+    
+    /**
+     * Executa uma operação com operandos decimais, no contexto decimal deste
+     * controller, independentemente do modo de precisão.
+     * 
+     * @param simbolo símbolo da operação (+, -, *, /)
+     * @param a primeiro operando
+     * @param b segundo operando
+     * @return resultado com no máximo a escala do contexto decimal
+     * @throws IllegalArgumentException se a operação não existir
+     */
+    public BigDecimal executarOperacao(String simbolo, BigDecimal a, BigDecimal b) {
+        // Resolve e executa no mesmo retrato, como os caminhos binários
+        Estado atual = estado;
+        OperacaoDecimal decimal = atual.decimal(atual.registro.codigo(simbolo));
+        if (decimal == null) {
+            throw new IllegalArgumentException("Operação '" + simbolo + "' não encontrada!");
+        }
+        return decimal.executar(a, b);
+    }
+    
+    /**
+     * Executa uma operação em ponto fixo, com operandos e resultado escalados
+     * por 10^escala do contexto decimal. Não aloca enquanto os valores cabem em um long.
+     * 
+     * @param codigo código obtido por {@link #resolverCodigo(String)}
+     * @param a primeiro operando escalado
+     * @param b segundo operando escalado
+     * @return resultado escalado
+     * @throws IllegalArgumentException se o código não existir
+     * @throws ArithmeticException se o resultado não couber em um long escalado
+     */
+    public long executarOperacaoEscalada(int codigo, long a, long b) {
+        OperacaoDecimal decimal = estado.decimal(codigo);
+        if (decimal == null) {
+            throw codigoInexistente(codigo);
+        }
+        return decimal.executarEscalado(a, b);
+    }
+    
+    /**
+     * Executa uma operação sobre matrizes ou vetores, como {@code m*} (produto)
+     * ou {@code m/} (divisão elemento a elemento).
+     * Na política {@link PoliticaErro#EXCECAO} uma falha aritmética lança exceção;
+     * nas demais, os elementos com falha recebem o valor IEEE 754 (infinito ou NaN).
+     * 
+     * @param simbolo símbolo da operação matricial
+     * @param a primeiro operando
+     * @param b segundo operando
+     * @return nova matriz com o resultado
+     * @throws IllegalArgumentException se a operação não existir ou as dimensões não forem compatíveis
+     * @throws ArithmeticException se a operação falhar (na política {@link PoliticaErro#EXCECAO})
+     */
+    public Matriz executarOperacao(String simbolo, Matriz a, Matriz b) {
+        OperacaoMatricial operacao = RegistroOperacoes.matriciais().get(simbolo);
+        if (operacao == null) {
+            throw new IllegalArgumentException("Operação matricial '" + simbolo + "' não encontrada!");
+        }
+        if (politicaErro == PoliticaErro.EXCECAO) {
+            return operacao.executar(a, b);
+        }
+        return operacao.executarIEEE(a, b);
+    }
+    
+    /**
+     * Retorna as operações sobre matrizes e vetores.
+     * 
+     * @return mapa imutável com símbolo e operação
+     */
+    public Map<String, OperacaoMatricial> getOperacoesMatriciais() {
+        return RegistroOperacoes.matriciais();
     }
     
     /**
      * Retorna todas as operações disponíveis.
+     * O mapa é um retrato imutável compartilhado, sem cópia a cada chamada.
      * 
-     * @return mapa com símbolo e operação
+     * @return mapa imutável com símbolo e operação
      */
     public Map<String, Operacao> getOperacoes() {
-        return new HashMap<>(operacoes);
+        return estado.registro.getOperacoes();
+    }
+    
+    /**
+     * Retorna a geração das operações, que muda a cada registro, remoção ou
+     * memorização. Uma expressão compilada em outra geração pode usar operações
+     * substituídas ou removidas e deve ser compilada de novo.
+     * 
+     * @return geração atual
+     */
+    public long getGeracao() {
+        return geracao;
     }
     
     /**
@@ -88,7 +681,7 @@ public class CalculadoraController {
      * @return descrição ou null se não encontrar
      */
     public String getDescricaoOperacao(String simbolo) {
-        Operacao operacao = operacoes.get(simbolo);
+        Operacao operacao = estado.registro.get(simbolo);
         return operacao != null ? operacao.getDescricao() : null;
     }
 }
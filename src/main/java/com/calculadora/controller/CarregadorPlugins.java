@@ -0,0 +1,303 @@
+package com.calculadora.controller;
+
+import com.calculadora.model.Operacao;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryNotEmptyException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarFile;
+
+/**
+ * Carrega operações de plugins: jars colocados em um diretório observado.
+ * 
+ * Cada jar é lido pelo {@link ServiceLoader} (o índice {@code META-INF/services}
+ * é gerado pelo {@code ProcessadorIndiceOperacoes} ao compilar o plugin) em um
+ * {@link URLClassLoader} próprio, a partir de uma cópia do arquivo, para que o
+ * jar original possa ser substituído ou apagado a qualquer momento. Um
+ * {@link WatchService} detecta jars novos, alterados e removidos e atualiza as
+ * operações do controller. As trocas são feitas por cópia na escrita no
+ * controller: cálculos em andamento terminam com a operação que já tinham, e
+ * um jar alterado só substitui o anterior depois de carregado por completo
+ * (se falhar, a versão anterior continua ativa).
+ * 
+ * O class loader de uma versão substituída ou removida não é fechado: uma
+ * operação antiga ainda em uso (em um lote, uma célula ou uma expressão
+ * compilada antes da troca) pode precisar carregar classes do seu jar, como
+ * uma exceção usada só em caso de falha. Ele é coletado quando deixa de ser
+ * usado; apenas os class loaders ativos são fechados, em {@link #close()}.
+ * 
+ * Um plugin não pode substituir as operações do índice da aplicação nem as de
+ * outro plugin; as operações com símbolos em conflito são ignoradas.
+ */
+public class CarregadorPlugins implements AutoCloseable {
+    
+    /** Espera após um evento do diretório, para agrupar as escritas de um mesmo jar. */
+    private static final long ESPERA_EVENTOS_MS = 200;
+    
+    private final CalculadoraController controller;
+    private final Path diretorio;
+    private final Path copias;
+    private final Set<String> simbolosDaAplicacao;
+    
+    // Jar -> plugin carregado; acessado apenas sob o monitor deste objeto
+    private final Map<Path, Plugin> plugins = new HashMap<>();
+    // Cópias das versões substituídas ou removidas, apagadas em close()
+    private final List<Path> copiasDescartadas = new ArrayList<>();
+    
+    private WatchService observador;
+    private Thread thread;
+    
+    /**
+     * @param controller controller que recebe as operações dos plugins
+     * @param diretorio diretório observado
+     * @throws IOException se o diretório temporário das cópias não puder ser criado
+     */
+    public CarregadorPlugins(CalculadoraController controller, Path diretorio) throws IOException {
+        this.controller = controller;
+        this.diretorio = diretorio;
+        this.copias = Files.createTempDirectory("calculadora-plugins");
+        this.simbolosDaAplicacao = new HashSet<>(controller.getOperacoes().keySet());
+    }
+    
+    /**
+     * Um jar carregado: o class loader e os símbolos que ele registrou.
+     */
+    private static final class Plugin {
+        
+        final FileTime modificacao;
+        final URLClassLoader carregador;
+        final Path copia;
+        final List<String> simbolos;
+        
+        Plugin(FileTime modificacao, URLClassLoader carregador, Path copia, List<String> simbolos) {
+            this.modificacao = modificacao;
+            this.carregador = carregador;
+            this.copia = copia;
+            this.simbolos = simbolos;
+        }
+    }
+    
+    /**
+     * Carrega os jars presentes e passa a observar o diretório em uma thread de fundo.
+     * 
+     * @throws IOException se o diretório não puder ser lido ou observado
+     */
+    public synchronized void iniciar() throws IOException {
+        if (observador != null) {
+            return;
+        }
+        observador = diretorio.getFileSystem().newWatchService();
+        diretorio.register(observador, StandardWatchEventKinds.ENTRY_CREATE,
+            StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+        recarregar();
+        
+        WatchService servico = observador;
+        thread = new Thread(() -> observar(servico), "plugins-" + diretorio.getFileName());
+        thread.setDaemon(true);
+        thread.start();
+    }
+    
+    private void observar(WatchService servico) {
+        try {
+            while (true) {
+                WatchKey chave = servico.take();
+                // Agrupa a rajada de eventos de uma cópia ou compilação em uma única recarga
+                do {
+                    chave.pollEvents();
+                    chave.reset();
+                } while ((chave = servico.poll(ESPERA_EVENTOS_MS, TimeUnit.MILLISECONDS)) != null);
+                recarregar();
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Encerrado por close()
+        }
+    }
+    
+    /**
+     * Sincroniza as operações com os jars do diretório: carrega os novos,
+     * recarrega os alterados e descarrega os removidos.
+     * Erros de um jar são informados e não impedem os demais.
+     */
+    public synchronized void recarregar() {
+        Map<Path, FileTime> presentes = new HashMap<>();
+        try (DirectoryStream<Path> jars = Files.newDirectoryStream(diretorio, "*.jar")) {
+            for (Path jar : jars) {
+                presentes.put(jar, Files.getLastModifiedTime(jar));
+            }
+        } catch (IOException e) {
+            System.err.println("✗ Erro ao listar os plugins em " + diretorio + ": " + e.getMessage());
+            return;
+        }
+        
+        for (Path jar : new ArrayList<>(plugins.keySet())) {
+            if (!presentes.containsKey(jar)) {
+                descarregar(jar, plugins.remove(jar));
+            }
+        }
+        for (Map.Entry<Path, FileTime> entrada : presentes.entrySet()) {
+            Path jar = entrada.getKey();
+            Plugin anterior = plugins.get(jar);
+            if (anterior != null && anterior.modificacao.equals(entrada.getValue())) {
+                continue;
+            }
+            // Os símbolos da versão anterior ficam livres para a nova
+            plugins.remove(jar);
+            try {
+                carregar(jar, entrada.getValue(), anterior);
+            } catch (IOException | RuntimeException | ServiceConfigurationError | LinkageError e) {
+                System.err.println("✗ Erro ao carregar o plugin " + jar.getFileName() + ": " + e);
+                if (anterior != null) {
+                    plugins.put(jar, anterior);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Carrega um jar e publica as suas operações no controller. As operações de
+     * mesmo símbolo da versão anterior são substituídas em uma única troca.
+     */
+    private void carregar(Path jar, FileTime modificacao, Plugin anterior) throws IOException {
+        Path copia = Files.createTempFile(copias, jar.getFileName().toString(), ".jar");
+        Files.copy(jar, copia, StandardCopyOption.REPLACE_EXISTING);
+        try (JarFile arquivo = new JarFile(copia.toFile())) {
+            // O URLClassLoader ignora jars corrompidos (ex.: ainda sendo copiados) sem erro
+            arquivo.getManifest();
+        } catch (IOException e) {
+            Files.deleteIfExists(copia);
+            throw e;
+        }
+        URLClassLoader carregador = new URLClassLoader(new URL[] {copia.toUri().toURL()},
+            Operacao.class.getClassLoader());
+        
+        List<Operacao> operacoes = new ArrayList<>();
+        Set<String> emUso = simbolosEmUso();
+        try {
+            // Apenas as classes do próprio jar; as do class loader pai já estão no controller
+            ServiceLoader.load(Operacao.class, carregador).stream()
+                .filter(provedor -> provedor.type().getClassLoader() == carregador)
+                .map(ServiceLoader.Provider::get)
+                .forEach(operacao -> {
+                    if (emUso.add(operacao.getSimbolo())) {
+                        operacoes.add(operacao);
+                    } else {
+                        System.err.println("✗ Operação '" + operacao.getSimbolo() + "' do plugin "
+                            + jar.getFileName() + " ignorada: símbolo já registrado");
+                    }
+                });
+        } catch (RuntimeException | ServiceConfigurationError | LinkageError e) {
+            fechar(carregador, copia);
+            throw e;
+        }
+        
+        List<String> simbolos = new ArrayList<>();
+        operacoes.forEach(operacao -> simbolos.add(operacao.getSimbolo()));
+        controller.registrarOperacoes(operacoes);
+        plugins.put(jar, new Plugin(modificacao, carregador, copia, Collections.unmodifiableList(simbolos)));
+        if (anterior != null) {
+            List<String> removidos = new ArrayList<>(anterior.simbolos);
+            removidos.removeAll(simbolos);
+            controller.removerOperacoes(removidos);
+            copiasDescartadas.add(anterior.copia);
+        }
+        System.out.println("✓ Plugin " + jar.getFileName() + " carregado: " + simbolos);
+    }
+    
+    private Set<String> simbolosEmUso() {
+        Set<String> emUso = new HashSet<>(simbolosDaAplicacao);
+        plugins.values().forEach(plugin -> emUso.addAll(plugin.simbolos));
+        return emUso;
+    }
+    
+    private void descarregar(Path jar, Plugin plugin) {
+        controller.removerOperacoes(plugin.simbolos);
+        copiasDescartadas.add(plugin.copia);
+        System.out.println("✓ Plugin " + jar.getFileName() + " descarregado: " + plugin.simbolos);
+    }
+    
+    /**
+     * Fecha o class loader de um plugin que não chegou a ser publicado, ou de
+     * um plugin ativo no encerramento, e apaga a sua cópia.
+     */
+    private static void fechar(URLClassLoader carregador, Path copia) {
+        try {
+            carregador.close();
+        } catch (IOException e) {
+            System.err.println("✗ Erro ao fechar o plugin " + copia + ": " + e.getMessage());
+        }
+        apagar(copia);
+    }
+    
+    private static void apagar(Path copia) {
+        try {
+            Files.deleteIfExists(copia);
+        } catch (IOException e) {
+            System.err.println("✗ Erro ao apagar a cópia do plugin " + copia + ": " + e.getMessage());
+        }
+    }
+    
+    /**
+     * @return símbolos das operações carregadas de plugins
+     */
+    public synchronized Set<String> getSimbolos() {
+        Set<String> simbolos = new HashSet<>();
+        plugins.values().forEach(plugin -> simbolos.addAll(plugin.simbolos));
+        return simbolos;
+    }
+    
+    public Path getDiretorio() {
+        return diretorio;
+    }
+    
+    /**
+     * Para de observar o diretório, descarrega todos os plugins e fecha os seus
+     * class loaders. Deve ser chamado no encerramento, quando não há mais
+     * cálculos com as operações dos plugins.
+     * 
+     * @throws IOException se o serviço de observação não puder ser fechado
+     */
+    @Override
+    public void close() throws IOException {
+        Thread observadora;
+        synchronized (this) {
+            if (observador != null) {
+                observador.close();
+            }
+            observadora = thread;
+            for (Path jar : new ArrayList<>(plugins.keySet())) {
+                Plugin plugin = plugins.remove(jar);
+                descarregar(jar, plugin);
+                fechar(plugin.carregador, plugin.copia);
+            }
+            copiasDescartadas.forEach(CarregadorPlugins::apagar);
+            copiasDescartadas.clear();
+            try {
+                Files.deleteIfExists(copias);
+            } catch (DirectoryNotEmptyException e) {
+                // Em sistemas que não apagam arquivos abertos, fica a cópia de uma versão ainda não coletada
+            }
+        }
+        if (observadora != null) {
+            observadora.interrupt();
+        }
+    }
+}
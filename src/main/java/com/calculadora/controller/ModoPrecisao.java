@@ -0,0 +1,16 @@
+package com.calculadora.controller;
+
+/**
+ * Modo de precisão do controller para as operações com double.
+ */
+public enum ModoPrecisao {
+    
+    /** Aritmética binária de ponto flutuante (IEEE 754), a mais rápida. */
+    BINARIO,
+    
+    /**
+     * Aritmética decimal: ponto fixo quando os valores cabem, {@link java.math.BigDecimal}
+     * caso contrário, com a escala e o arredondamento do contexto decimal do controller.
+     */
+    DECIMAL
+}
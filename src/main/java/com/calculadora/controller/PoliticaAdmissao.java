@@ -0,0 +1,22 @@
+package com.calculadora.controller;
+
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * O que a {@link CalculadoraAssincrona} faz com um pedido quando já há o
+ * máximo de pedidos pendentes.
+ */
+public enum PoliticaAdmissao {
+    
+    /**
+     * Recusa o pedido: o futuro devolvido já vem completo com
+     * {@link RejectedExecutionException}. Quem envia nunca é bloqueado.
+     */
+    REJEITAR,
+    
+    /**
+     * Bloqueia quem envia até que um pedido pendente termine, o que reduz a
+     * velocidade dos produtores à da calculadora (contrapressão).
+     */
+    ESPERAR
+}
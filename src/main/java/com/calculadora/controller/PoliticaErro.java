@@ -0,0 +1,32 @@
+package com.calculadora.controller;
+
+/**
+ * Como o controller trata as falhas aritméticas (ex.: divisão por zero) e as
+ * operações inexistentes nas chamadas que devolvem apenas o resultado.
+ * 
+ * As chamadas com vetor de situação ou {@link ResultadoOperacao} nunca lançam
+ * exceções por essas falhas, qualquer que seja a política: elas marcam a
+ * situação de cada cálculo, e a política define apenas o valor do resultado.
+ */
+public enum PoliticaErro {
+    
+    /**
+     * Lança {@link ArithmeticException} nas falhas aritméticas e
+     * {@link IllegalArgumentException} nas operações inexistentes. Nas chamadas
+     * com situação, os cálculos com falha resultam em NaN.
+     */
+    EXCECAO,
+    
+    /**
+     * Devolve o valor IEEE 754 da falha, sem exceções: infinito na divisão de
+     * um número por zero, NaN em 0 / 0 e nas operações inexistentes.
+     */
+    IEEE,
+    
+    /**
+     * Não lança exceções; as falhas devem ser consultadas na situação. Os
+     * cálculos com falha resultam em NaN nas chamadas com situação; nas demais,
+     * que não têm onde informar a falha, o comportamento é o de {@link #IEEE}.
+     */
+    SINALIZAR
+}
@@ -0,0 +1,256 @@
+package com.calculadora.controller;
+
+import com.calculadora.model.Adicao;
+import com.calculadora.model.AdicaoMatricial;
+import com.calculadora.model.Divisao;
+import com.calculadora.model.DivisaoMatricial;
+import com.calculadora.model.EscalaMatricial;
+import com.calculadora.model.Multiplicacao;
+import com.calculadora.model.MultiplicacaoMatricial;
+import com.calculadora.model.Operacao;
+import com.calculadora.model.OperacaoMatricial;
+import com.calculadora.model.Subtracao;
+import com.calculadora.model.SubtracaoMatricial;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+
+/**
+ * Registro imutável das operações disponíveis, indexadas pelo símbolo.
+ * 
+ * Para mudar as operações, {@link #com(Iterable)} e {@link #sem(Collection)}
+ * derivam um novo registro (cópia na escrita), que o controller publica em um
+ * campo volatile; as leituras nunca bloqueiam. Os códigos são estáveis entre
+ * registros derivados: uma operação substituída mantém o código, uma nova
+ * recebe o próximo, e o código de uma operação removida fica vago até que o
+ * mesmo símbolo volte a ser registrado.
+ * 
+ * As operações são descobertas pelo {@link ServiceLoader} a partir do índice
+ * {@code META-INF/services/com.calculadora.model.Operacao}, gerado em tempo de
+ * compilação pelo {@code ProcessadorIndiceOperacoes}. O registro padrão é
+ * carregado uma única vez e compartilhado por todos os controllers.
+ * 
+ * As operações sobre matrizes ({@link OperacaoMatricial}) vêm do índice
+ * equivalente e ficam em um mapa à parte, também carregado uma única vez
+ * ({@link #matriciais()}).
+ */
+public final class RegistroOperacoes {
+    
+    private final Map<String, Operacao> operacoes;
+    
+    // Código (índice denso) -> operação, na ordem de registro
+    private final Operacao[] porCodigo;
+    private final String[] simbolos;
+    // Símbolo -> código, só das operações registradas
+    private final Map<String, Integer> codigos;
+    
+    private RegistroOperacoes(Map<String, Operacao> operacoes) {
+        this.operacoes = Collections.unmodifiableMap(operacoes);
+        this.porCodigo = operacoes.values().toArray(new Operacao[0]);
+        this.simbolos = operacoes.keySet().toArray(new String[0]);
+        this.codigos = indexarCodigos(porCodigo, simbolos);
+    }
+    
+    // Códigos vagos têm operação null e mantêm o símbolo, para reaproveitar o código
+    private RegistroOperacoes(Operacao[] porCodigo, String[] simbolos) {
+        Map<String, Operacao> mapa = new LinkedHashMap<>();
+        for (Operacao operacao : porCodigo) {
+            if (operacao != null) {
+                mapa.put(operacao.getSimbolo(), operacao);
+            }
+        }
+        this.operacoes = Collections.unmodifiableMap(mapa);
+        this.porCodigo = porCodigo;
+        this.simbolos = simbolos;
+        this.codigos = indexarCodigos(porCodigo, simbolos);
+    }
+    
+    private static Map<String, Integer> indexarCodigos(Operacao[] porCodigo, String[] simbolos) {
+        Map<String, Integer> codigos = new HashMap<>();
+        for (int i = 0; i < simbolos.length; i++) {
+            if (porCodigo[i] != null) {
+                codigos.put(simbolos[i], i);
+            }
+        }
+        return codigos;
+    }
+    
+    /**
+     * Retorna o registro padrão, carregado na primeira chamada.
+     * 
+     * @return registro compartilhado
+     */
+    public static RegistroOperacoes padrao() {
+        return Padrao.INSTANCIA;
+    }
+    
+    /**
+     * Retorna as operações sobre matrizes, carregadas na primeira chamada.
+     * 
+     * @return mapa imutável de símbolo para operação, na ordem do índice
+     */
+    public static Map<String, OperacaoMatricial> matriciais() {
+        return Matriciais.INSTANCIA;
+    }
+    
+    /**
+     * Cria um registro com as operações informadas.
+     * Em caso de símbolos repetidos, prevalece a última operação.
+     * 
+     * @param operacoes operações a registrar
+     * @return novo registro
+     */
+    public static RegistroOperacoes de(Iterable<? extends Operacao> operacoes) {
+        Map<String, Operacao> mapa = new LinkedHashMap<>();
+        for (Operacao operacao : operacoes) {
+            mapa.put(operacao.getSimbolo(), operacao);
+        }
+        return new RegistroOperacoes(mapa);
+    }
+    
+    /**
+     * Deriva um registro com as operações informadas, que substituem as de mesmo
+     * símbolo (mantendo o código) ou são acrescentadas ao final.
+     * 
+     * @param novas operações a registrar
+     * @return novo registro; este não é alterado
+     */
+    public RegistroOperacoes com(Iterable<? extends Operacao> novas) {
+        List<Operacao> operacoesNovas = new ArrayList<>(Arrays.asList(porCodigo));
+        List<String> simbolosNovos = new ArrayList<>(Arrays.asList(simbolos));
+        for (Operacao operacao : novas) {
+            int codigo = simbolosNovos.indexOf(operacao.getSimbolo());
+            if (codigo < 0) {
+                simbolosNovos.add(operacao.getSimbolo());
+                operacoesNovas.add(operacao);
+            } else {
+                operacoesNovas.set(codigo, operacao);
+            }
+        }
+        return new RegistroOperacoes(operacoesNovas.toArray(new Operacao[0]), simbolosNovos.toArray(new String[0]));
+    }
+    
+    /**
+     * Deriva um registro sem as operações dos símbolos informados.
+     * Os códigos das demais operações não mudam.
+     * 
+     * @param removidos símbolos a remover; símbolos inexistentes são ignorados
+     * @return novo registro; este não é alterado
+     */
+    public RegistroOperacoes sem(Collection<String> removidos) {
+        Operacao[] operacoesNovas = porCodigo.clone();
+        for (int i = 0; i < simbolos.length; i++) {
+            if (removidos.contains(simbolos[i])) {
+                operacoesNovas[i] = null;
+            }
+        }
+        return new RegistroOperacoes(operacoesNovas, simbolos);
+    }
+    
+    /**
+     * Retorna a operação de um símbolo.
+     * 
+     * @param simbolo símbolo da operação
+     * @return operação ou null se não existir
+     */
+    public Operacao get(String simbolo) {
+        return operacoes.get(simbolo);
+    }
+    
+    /**
+     * Retorna o código numérico de um símbolo.
+     * Os códigos são índices densos a partir de zero, na ordem de registro.
+     * 
+     * @param simbolo símbolo da operação
+     * @return código ou -1 se o símbolo não existir
+     */
+    public int codigo(String simbolo) {
+        Integer codigo = codigos.get(simbolo);
+        return codigo != null ? codigo : -1;
+    }
+    
+    /**
+     * Retorna a operação de um código.
+     * 
+     * @param codigo código obtido por {@link #codigo(String)}
+     * @return operação ou null se o código não existir
+     */
+    public Operacao get(int codigo) {
+        return codigo >= 0 && codigo < porCodigo.length ? porCodigo[codigo] : null;
+    }
+    
+    /**
+     * Retorna o limite dos códigos: o número de operações registradas, mais os códigos vagos.
+     * 
+     * @return limite dos códigos
+     */
+    public int tamanho() {
+        return porCodigo.length;
+    }
+    
+    /**
+     * Retorna as operações na ordem dos códigos.
+     * 
+     * @return lista imutável, com null nos códigos vagos
+     */
+    public List<Operacao> porCodigo() {
+        return Collections.unmodifiableList(Arrays.asList(porCodigo));
+    }
+    
+    /**
+     * Retorna todas as operações, na ordem de registro.
+     * 
+     * @return mapa imutável de símbolo para operação
+     */
+    public Map<String, Operacao> getOperacoes() {
+        return operacoes;
+    }
+    
+    /**
+     * Holder carregado sob demanda pela JVM, sem necessidade de sincronização.
+     */
+    private static final class Padrao {
+        
+        static final RegistroOperacoes INSTANCIA = carregar();
+        
+        private static RegistroOperacoes carregar() {
+            ServiceLoader<Operacao> carregador = ServiceLoader.load(Operacao.class, Operacao.class.getClassLoader());
+            RegistroOperacoes registro = de(carregador);
+            if (registro.operacoes.isEmpty()) {
+                // Índice ausente (ex.: compilado sem o processador): usa as operações básicas
+                System.err.println("✗ Índice de operações não encontrado, usando as operações básicas");
+                registro = de(Arrays.asList(new Adicao(), new Subtracao(), new Multiplicacao(), new Divisao()));
+            }
+            return registro;
+        }
+    }
+    
+    /**
+     * Holder das operações sobre matrizes, independente do registro padrão.
+     */
+    private static final class Matriciais {
+        
+        static final Map<String, OperacaoMatricial> INSTANCIA = carregar();
+        
+        private static Map<String, OperacaoMatricial> carregar() {
+            Iterable<OperacaoMatricial> operacoes =
+                ServiceLoader.load(OperacaoMatricial.class, OperacaoMatricial.class.getClassLoader());
+            if (!operacoes.iterator().hasNext()) {
+                System.err.println("✗ Índice de operações matriciais não encontrado, usando as operações básicas");
+                operacoes = Arrays.asList(new AdicaoMatricial(), new SubtracaoMatricial(), new MultiplicacaoMatricial(),
+                    new DivisaoMatricial(), new EscalaMatricial());
+            }
+            Map<String, OperacaoMatricial> mapa = new LinkedHashMap<>();
+            for (OperacaoMatricial operacao : operacoes) {
+                mapa.put(operacao.getSimbolo(), operacao);
+            }
+            return Collections.unmodifiableMap(mapa);
+        }
+    }
+}
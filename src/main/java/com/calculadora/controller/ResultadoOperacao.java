@@ -0,0 +1,50 @@
+package com.calculadora.controller;
+
+import com.calculadora.model.Lotes;
+
+/**
+ * Resultado reutilizável de um cálculo: o valor e a situação (ver as constantes
+ * {@code SITUACAO_*} de {@link Lotes}). Um mesmo objeto pode receber
+ * quantos cálculos forem necessários, sem alocações por cálculo.
+ * 
+ * Não é thread-safe: cada thread deve usar o seu.
+ */
+public final class ResultadoOperacao {
+    
+    // Vetores de um elemento para a API em lote com situação das operações
+    final double[] a = new double[1];
+    final double[] b = new double[1];
+    final double[] valor = new double[1];
+    final byte[] situacao = new byte[1];
+    
+    /**
+     * @return resultado do último cálculo (NaN ou o valor IEEE 754 se ele falhou, conforme a política de erro)
+     */
+    public double getValor() {
+        return valor[0];
+    }
+    
+    /**
+     * @return situação do último cálculo
+     */
+    public byte getSituacao() {
+        return situacao[0];
+    }
+    
+    /**
+     * @return true se o último cálculo teve sucesso
+     */
+    public boolean isOk() {
+        return situacao[0] == Lotes.SITUACAO_OK;
+    }
+    
+    void definir(double valor, byte situacao) {
+        this.valor[0] = valor;
+        this.situacao[0] = situacao;
+    }
+    
+    @Override
+    public String toString() {
+        return isOk() ? String.valueOf(valor[0]) : "ResultadoOperacao[situação " + situacao[0] + "]";
+    }
+}
@@ -0,0 +1,205 @@
+package com.calculadora.expressao;
+
+import com.calculadora.model.Operacao;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Analisador sintático de expressões como {@code (a + b) * c / 2}.
+ * Suporta números, variáveis, parênteses, menos unário e precedência
+ * (multiplicação e divisão antes de adição e subtração).
+ * Os operadores são resolvidos pelo registro de operações recebido.
+ * 
+ * Gramática (descida recursiva):
+ * <pre>
+ * expressao := termo (('+' | '-') termo)*
+ * termo     := fator (outro operador fator)*
+ * fator     := ('-' | '+') fator | primario
+ * primario  := numero | variavel | '(' expressao ')'
+ * </pre>
+ */
+public class AnalisadorExpressao {
+    
+    private final Function<String, Operacao> resolvedor;
+    
+    // Estado da análise em andamento
+    private String texto;
+    private int posicao;
+    private List<String> variaveis;
+    
+    /**
+     * @param resolvedor função que retorna a operação de um símbolo ou null se não existir
+     */
+    public AnalisadorExpressao(Function<String, Operacao> resolvedor) {
+        this.resolvedor = resolvedor;
+    }
+    
+    /**
+     * Analisa o texto e produz a expressão compilada.
+     * 
+     * @param texto texto da expressão
+     * @return expressão imutável pronta para avaliação
+     * @throws IllegalArgumentException se o texto for inválido ou usar uma operação inexistente
+     */
+    public synchronized Expressao analisar(String texto) {
+        this.texto = texto;
+        this.posicao = 0;
+        this.variaveis = new ArrayList<>();
+        try {
+            No raiz = lerExpressao();
+            pularEspacos();
+            if (posicao < texto.length()) {
+                throw erro("Símbolo inesperado '" + texto.charAt(posicao) + "'");
+            }
+            return new Expressao(texto, raiz, variaveis.toArray(new String[0]));
+        } finally {
+            this.texto = null;
+            this.variaveis = null;
+        }
+    }
+    
+    private No lerExpressao() {
+        No no = lerTermo();
+        while (true) {
+            String simbolo = proximoOperador();
+            if (!"+".equals(simbolo) && !"-".equals(simbolo)) {
+                return no;
+            }
+            Operacao operacao = resolver(simbolo);
+            no = new NoOperacao(operacao, no, lerTermo());
+        }
+    }
+    
+    private No lerTermo() {
+        No no = lerFator();
+        while (true) {
+            String simbolo = proximoOperador();
+            if (simbolo == null || "+".equals(simbolo) || "-".equals(simbolo)) {
+                return no;
+            }
+            Operacao operacao = resolver(simbolo);
+            no = new NoOperacao(operacao, no, lerFator());
+        }
+    }
+    
+    private No lerFator() {
+        pularEspacos();
+        if (consumir('-')) {
+            return new NoNegacao(lerFator());
+        }
+        if (consumir('+')) {
+            return lerFator();
+        }
+        return lerPrimario();
+    }
+    
+    private No lerPrimario() {
+        pularEspacos();
+        if (posicao >= texto.length()) {
+            throw erro("Fim inesperado da expressão");
+        }
+        char c = texto.charAt(posicao);
+        if (c == '(') {
+            posicao++;
+            No no = lerExpressao();
+            pularEspacos();
+            if (!consumir(')')) {
+                throw erro("Esperado ')'");
+            }
+            return no;
+        }
+        if (Character.isDigit(c) || c == '.') {
+            return new NoConstante(lerNumero());
+        }
+        if (Character.isLetter(c) || c == '_') {
+            return new NoVariavel(indiceVariavel(lerIdentificador()));
+        }
+        throw erro("Símbolo inesperado '" + c + "'");
+    }
+    
+    private double lerNumero() {
+        int inicio = posicao;
+        while (posicao < texto.length() && (Character.isDigit(texto.charAt(posicao)) || texto.charAt(posicao) == '.')) {
+            posicao++;
+        }
+        if (posicao < texto.length() && (texto.charAt(posicao) == 'e' || texto.charAt(posicao) == 'E')) {
+            posicao++;
+            if (posicao < texto.length() && (texto.charAt(posicao) == '+' || texto.charAt(posicao) == '-')) {
+                posicao++;
+            }
+            while (posicao < texto.length() && Character.isDigit(texto.charAt(posicao))) {
+                posicao++;
+            }
+        }
+        String numero = texto.substring(inicio, posicao);
+        try {
+            return Double.parseDouble(numero);
+        } catch (NumberFormatException e) {
+            posicao = inicio;
+            throw erro("Número inválido '" + numero + "'");
+        }
+    }
+    
+    private String lerIdentificador() {
+        int inicio = posicao;
+        while (posicao < texto.length()
+                && (Character.isLetterOrDigit(texto.charAt(posicao)) || texto.charAt(posicao) == '_')) {
+            posicao++;
+        }
+        return texto.substring(inicio, posicao);
+    }
+    
+    private int indiceVariavel(String nome) {
+        int indice = variaveis.indexOf(nome);
+        if (indice < 0) {
+            variaveis.add(nome);
+            indice = variaveis.size() - 1;
+        }
+        return indice;
+    }
+    
+    /**
+     * Retorna o próximo operador sem consumi-lo, ou null se não houver um.
+     * Um operador é qualquer caractere que não seja dígito, letra, ponto ou parêntese.
+     * O operador só é consumido por {@link #resolver(String)}.
+     */
+    private String proximoOperador() {
+        pularEspacos();
+        if (posicao >= texto.length()) {
+            return null;
+        }
+        char c = texto.charAt(posicao);
+        if (Character.isLetterOrDigit(c) || c == '.' || c == '(' || c == ')' || c == '_') {
+            return null;
+        }
+        return String.valueOf(c);
+    }
+    
+    private Operacao resolver(String simbolo) {
+        Operacao operacao = resolvedor.apply(simbolo);
+        if (operacao == null) {
+            throw erro("Operação '" + simbolo + "' não encontrada");
+        }
+        posicao += simbolo.length();
+        return operacao;
+    }
+    
+    private boolean consumir(char esperado) {
+        if (posicao < texto.length() && texto.charAt(posicao) == esperado) {
+            posicao++;
+            return true;
+        }
+        return false;
+    }
+    
+    private void pularEspacos() {
+        while (posicao < texto.length() && Character.isWhitespace(texto.charAt(posicao))) {
+            posicao++;
+        }
+    }
+    
+    private IllegalArgumentException erro(String mensagem) {
+        return new IllegalArgumentException(mensagem + " na posição " + posicao + " de \"" + texto + "\"!");
+    }
+}
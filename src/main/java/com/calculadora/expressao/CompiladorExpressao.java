@@ -0,0 +1,397 @@
+package com.calculadora.expressao;
+
+import com.calculadora.model.Adicao;
+import com.calculadora.model.Multiplicacao;
+import com.calculadora.model.Operacao;
+import com.calculadora.model.Subtracao;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Compila a árvore de uma expressão para bytecode: uma classe gerada com um
+ * único método, que o JIT compila e otimiza como código Java escrito à mão.
+ * 
+ * Antes da geração, as subárvores com operandos constantes e operações
+ * elementares (puras, ver {@link Operacao#isElementar()}) são calculadas em
+ * tempo de compilação. Adição, subtração e multiplicação viram as instruções
+ * {@code dadd}, {@code dsub} e {@code dmul}; as demais operações são chamadas
+ * por campos finais da instância, e como cada expressão tem a sua classe, essas
+ * chamadas são monomórficas e o JIT consegue incorporá-las.
+ * 
+ * Cada classe é definida em um class loader próprio, descartado com a
+ * expressão. O código gerado não tem desvios, e por isso dispensa a tabela
+ * {@code StackMapTable} (versão 52 do formato de classe).
+ */
+final class CompiladorExpressao {
+    
+    private static final String NOME_CLASSE = "com/calculadora/expressao/gerada/Formula";
+    private static final String OPERACAO = "com/calculadora/model/Operacao";
+    private static final int LIMITE_CODIGO = 65535;
+    
+    // Instruções da JVM usadas pelo compilador
+    private static final int ICONST_0 = 0x03;
+    private static final int DCONST_0 = 0x0e;
+    private static final int DCONST_1 = 0x0f;
+    private static final int BIPUSH = 0x10;
+    private static final int SIPUSH = 0x11;
+    private static final int LDC_W = 0x13;
+    private static final int LDC2_W = 0x14;
+    private static final int ALOAD_0 = 0x2a;
+    private static final int ALOAD_1 = 0x2b;
+    private static final int ALOAD_2 = 0x2c;
+    private static final int DALOAD = 0x31;
+    private static final int AALOAD = 0x32;
+    private static final int ASTORE_2 = 0x4d;
+    private static final int DADD = 0x63;
+    private static final int DSUB = 0x67;
+    private static final int DMUL = 0x6b;
+    private static final int DNEG = 0x77;
+    private static final int DRETURN = 0xaf;
+    private static final int RETURN = 0xb1;
+    private static final int GETFIELD = 0xb4;
+    private static final int PUTFIELD = 0xb5;
+    private static final int INVOKESPECIAL = 0xb7;
+    private static final int INVOKEINTERFACE = 0xb9;
+    private static final int CHECKCAST = 0xc0;
+    
+    private CompiladorExpressao() {
+    }
+    
+    /**
+     * Calcula as subárvores constantes. Só operações elementares são chamadas
+     * em tempo de compilação; se uma delas falhar (ex.: divisão por zero), a
+     * subárvore é mantida para que o erro aconteça na avaliação.
+     * 
+     * @param no raiz da árvore
+     * @return árvore equivalente, com as constantes calculadas
+     */
+    static No dobrarConstantes(No no) {
+        if (no instanceof NoNegacao) {
+            No operando = dobrarConstantes(((NoNegacao) no).operando);
+            return operando instanceof NoConstante
+                ? new NoConstante(-((NoConstante) operando).valor)
+                : new NoNegacao(operando);
+        }
+        if (no instanceof NoOperacao) {
+            NoOperacao operacao = (NoOperacao) no;
+            No esquerdo = dobrarConstantes(operacao.esquerdo);
+            No direito = dobrarConstantes(operacao.direito);
+            if (operacao.operacao.isElementar() && esquerdo instanceof NoConstante && direito instanceof NoConstante) {
+                try {
+                    return new NoConstante(operacao.operacao.executar(((NoConstante) esquerdo).valor,
+                        ((NoConstante) direito).valor));
+                } catch (ArithmeticException e) {
+                    // Mantém a subárvore: o erro aparece na avaliação
+                }
+            }
+            return new NoOperacao(operacao.operacao, esquerdo, direito);
+        }
+        return no;
+    }
+    
+    /**
+     * Gera, carrega e instancia a classe de uma árvore.
+     * 
+     * @param raiz raiz da árvore, já com as constantes calculadas
+     * @return função que avalia a árvore
+     * @throws IllegalArgumentException se o método gerado exceder o limite da JVM
+     */
+    static ToDoubleFunction<double[]> compilar(No raiz) {
+        Gerador gerador = new Gerador();
+        byte[] classe = gerador.gerarClasse(raiz);
+        Operacao[] operacoes = gerador.operacoes.toArray(new Operacao[0]);
+        try {
+            Class<?> tipo = new Carregador(CompiladorExpressao.class.getClassLoader())
+                .definir(NOME_CLASSE.replace('/', '.'), classe);
+            @SuppressWarnings("unchecked")
+            ToDoubleFunction<double[]> funcao = (ToDoubleFunction<double[]>)
+                tipo.getConstructor(Operacao[].class).newInstance((Object) operacoes);
+            return funcao;
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Falha ao instanciar a expressão compilada: " + e, e);
+        }
+    }
+    
+    /**
+     * Class loader de uma única classe gerada; a classe é descarregada junto com ele.
+     */
+    private static final class Carregador extends ClassLoader {
+        
+        Carregador(ClassLoader pai) {
+            super(pai);
+        }
+        
+        Class<?> definir(String nome, byte[] bytes) {
+            return defineClass(nome, bytes, 0, bytes.length);
+        }
+    }
+    
+    /**
+     * Escreve o arquivo de classe: tabela de constantes, campos e os dois métodos.
+     */
+    private static final class Gerador {
+        
+        final List<Operacao> operacoes = new ArrayList<>();
+        
+        private final ByteArrayOutputStream bytesConstantes = new ByteArrayOutputStream();
+        private final DataOutputStream constantes = new DataOutputStream(bytesConstantes);
+        private final Map<String, Integer> indices = new HashMap<>();
+        private int proximaConstante = 1;
+        
+        private final ByteArrayOutputStream bytesCodigo = new ByteArrayOutputStream();
+        private final DataOutputStream codigo = new DataOutputStream(bytesCodigo);
+        
+        byte[] gerarClasse(No raiz) {
+            try {
+                int classe = classe(NOME_CLASSE);
+                int superclasse = classe("java/lang/Object");
+                int interfaceFuncao = classe(ToDoubleFunction.class.getName().replace('.', '/'));
+                int construtorObjeto = metodo(INVOKESPECIAL, "java/lang/Object", "<init>", "()V");
+                
+                // Corpo de applyAsDouble(Object): a árvore é percorrida uma vez, registrando as operações
+                codigo.writeByte(ALOAD_1);
+                codigo.writeByte(CHECKCAST);
+                codigo.writeShort(classe("[D"));
+                codigo.writeByte(ASTORE_2);
+                int pilha = Math.max(1, emitir(raiz));
+                codigo.writeByte(DRETURN);
+                byte[] corpoAvaliar = bytesCodigo.toByteArray();
+                if (corpoAvaliar.length > LIMITE_CODIGO) {
+                    throw new IllegalArgumentException("Expressão grande demais para compilar!");
+                }
+                
+                // Construtor: guarda cada operação em um campo final
+                bytesCodigo.reset();
+                codigo.writeByte(ALOAD_0);
+                codigo.writeByte(INVOKESPECIAL);
+                codigo.writeShort(construtorObjeto);
+                for (int i = 0; i < operacoes.size(); i++) {
+                    codigo.writeByte(ALOAD_0);
+                    codigo.writeByte(ALOAD_1);
+                    empilharInteiro(i);
+                    codigo.writeByte(AALOAD);
+                    codigo.writeByte(PUTFIELD);
+                    codigo.writeShort(campo(i));
+                }
+                codigo.writeByte(RETURN);
+                byte[] corpoConstrutor = bytesCodigo.toByteArray();
+                
+                int nomeCodigo = utf8("Code");
+                int nomeConstrutor = utf8("<init>");
+                int descritorConstrutor = utf8("([L" + OPERACAO + ";)V");
+                int nomeAvaliar = utf8("applyAsDouble");
+                int descritorAvaliar = utf8("(Ljava/lang/Object;)D");
+                int descritorCampo = utf8("L" + OPERACAO + ";");
+                int[] nomesCampos = new int[operacoes.size()];
+                for (int i = 0; i < nomesCampos.length; i++) {
+                    nomesCampos[i] = utf8("operacao" + i);
+                }
+                
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                DataOutputStream saida = new DataOutputStream(bytes);
+                saida.writeInt(0xCAFEBABE);
+                saida.writeShort(0);
+                saida.writeShort(52);
+                constantes.flush();
+                saida.writeShort(proximaConstante);
+                bytesConstantes.writeTo(saida);
+                saida.writeShort(0x0001 | 0x0010 | 0x0020); // public final super
+                saida.writeShort(classe);
+                saida.writeShort(superclasse);
+                saida.writeShort(1);
+                saida.writeShort(interfaceFuncao);
+                
+                saida.writeShort(nomesCampos.length);
+                for (int nome : nomesCampos) {
+                    saida.writeShort(0x0002 | 0x0010); // private final
+                    saida.writeShort(nome);
+                    saida.writeShort(descritorCampo);
+                    saida.writeShort(0);
+                }
+                
+                saida.writeShort(2);
+                escreverMetodo(saida, nomeConstrutor, descritorConstrutor, nomeCodigo, corpoConstrutor, 3, 2);
+                escreverMetodo(saida, nomeAvaliar, descritorAvaliar, nomeCodigo, corpoAvaliar, pilha, 3);
+                saida.writeShort(0);
+                return bytes.toByteArray();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        
+        private static void escreverMetodo(DataOutputStream saida, int nome, int descritor, int nomeCodigo,
+                                           byte[] corpo, int pilha, int locais) throws IOException {
+            saida.writeShort(0x0001); // public
+            saida.writeShort(nome);
+            saida.writeShort(descritor);
+            saida.writeShort(1);
+            saida.writeShort(nomeCodigo);
+            saida.writeInt(12 + corpo.length);
+            saida.writeShort(pilha);
+            saida.writeShort(locais);
+            saida.writeInt(corpo.length);
+            saida.write(corpo);
+            saida.writeShort(0); // sem tabela de exceções
+            saida.writeShort(0); // sem atributos
+        }
+        
+        /**
+         * Emite o código de um nó, que deixa um double na pilha.
+         * 
+         * @return altura máxima da pilha (em palavras) usada pelo nó
+         */
+        private int emitir(No no) throws IOException {
+            if (no instanceof NoConstante) {
+                double valor = ((NoConstante) no).valor;
+                if (Double.doubleToRawLongBits(valor) == 0) {
+                    codigo.writeByte(DCONST_0);
+                } else if (valor == 1.0) {
+                    codigo.writeByte(DCONST_1);
+                } else {
+                    codigo.writeByte(LDC2_W);
+                    codigo.writeShort(constanteDouble(valor));
+                }
+                return 2;
+            }
+            if (no instanceof NoVariavel) {
+                codigo.writeByte(ALOAD_2);
+                empilharInteiro(((NoVariavel) no).indice);
+                codigo.writeByte(DALOAD);
+                return 2;
+            }
+            if (no instanceof NoNegacao) {
+                int pilha = emitir(((NoNegacao) no).operando);
+                codigo.writeByte(DNEG);
+                return pilha;
+            }
+            if (no instanceof NoOperacao) {
+                NoOperacao operacao = (NoOperacao) no;
+                int instrucao = instrucao(operacao.operacao);
+                if (instrucao != 0) {
+                    int esquerdo = emitir(operacao.esquerdo);
+                    int direito = emitir(operacao.direito);
+                    codigo.writeByte(instrucao);
+                    return Math.max(esquerdo, 2 + direito);
+                }
+                
+                int indice = operacoes.size();
+                operacoes.add(operacao.operacao);
+                codigo.writeByte(ALOAD_0);
+                codigo.writeByte(GETFIELD);
+                codigo.writeShort(campo(indice));
+                int esquerdo = emitir(operacao.esquerdo);
+                int direito = emitir(operacao.direito);
+                codigo.writeByte(INVOKEINTERFACE);
+                codigo.writeShort(metodo(INVOKEINTERFACE, OPERACAO, "executar", "(DD)D"));
+                codigo.writeByte(5);
+                codigo.writeByte(0);
+                return Math.max(1 + esquerdo, 3 + direito);
+            }
+            // Nó desconhecido (ex.: de uma versão futura): avalia pela própria árvore
+            throw new IllegalArgumentException("Nó não suportado pelo compilador: " + no.getClass().getSimpleName());
+        }
+        
+        /**
+         * Instrução equivalente à operação, ou zero se a operação precisa ser chamada.
+         * Só vale para as classes exatas, pois subclasses podem mudar o cálculo.
+         */
+        private static int instrucao(Operacao operacao) {
+            if (operacao.getClass() == Adicao.class) {
+                return DADD;
+            }
+            if (operacao.getClass() == Subtracao.class) {
+                return DSUB;
+            }
+            if (operacao.getClass() == Multiplicacao.class) {
+                return DMUL;
+            }
+            return 0;
+        }
+        
+        private void empilharInteiro(int valor) throws IOException {
+            if (valor <= 5) {
+                codigo.writeByte(ICONST_0 + valor);
+            } else if (valor <= Byte.MAX_VALUE) {
+                codigo.writeByte(BIPUSH);
+                codigo.writeByte(valor);
+            } else if (valor <= Short.MAX_VALUE) {
+                codigo.writeByte(SIPUSH);
+                codigo.writeShort(valor);
+            } else {
+                codigo.writeByte(LDC_W);
+                codigo.writeShort(constante("I" + valor, 3, saida -> saida.writeInt(valor), 1));
+            }
+        }
+        
+        private int campo(int indice) throws IOException {
+            int classe = classe(NOME_CLASSE);
+            int nomeETipo = nomeETipo("operacao" + indice, "L" + OPERACAO + ";");
+            return constante("F" + indice, 9, saida -> {
+                saida.writeShort(classe);
+                saida.writeShort(nomeETipo);
+            }, 1);
+        }
+        
+        private int metodo(int instrucao, String dono, String nome, String descritor) throws IOException {
+            int classe = classe(dono);
+            int nomeETipo = nomeETipo(nome, descritor);
+            int marca = instrucao == INVOKEINTERFACE ? 11 : 10;
+            return constante("M" + dono + "." + nome + descritor, marca, saida -> {
+                saida.writeShort(classe);
+                saida.writeShort(nomeETipo);
+            }, 1);
+        }
+        
+        private int nomeETipo(String nome, String descritor) throws IOException {
+            int indiceNome = utf8(nome);
+            int indiceDescritor = utf8(descritor);
+            return constante("N" + nome + ":" + descritor, 12, saida -> {
+                saida.writeShort(indiceNome);
+                saida.writeShort(indiceDescritor);
+            }, 1);
+        }
+        
+        private int classe(String nome) throws IOException {
+            int indiceNome = utf8(nome);
+            return constante("C" + nome, 7, saida -> saida.writeShort(indiceNome), 1);
+        }
+        
+        private int constanteDouble(double valor) throws IOException {
+            long bits = Double.doubleToRawLongBits(valor);
+            // Doubles ocupam duas posições na tabela de constantes
+            return constante("D" + bits, 6, saida -> saida.writeLong(bits), 2);
+        }
+        
+        private int utf8(String texto) throws IOException {
+            return constante("U" + texto, 1, saida -> saida.writeUTF(texto), 1);
+        }
+        
+        private int constante(String chave, int marca, Escrita escrita, int posicoes) throws IOException {
+            Integer existente = indices.get(chave);
+            if (existente != null) {
+                return existente;
+            }
+            int indice = proximaConstante;
+            constantes.writeByte(marca);
+            escrita.escrever(constantes);
+            proximaConstante += posicoes;
+            if (proximaConstante > 0xFFFF) {
+                throw new IllegalArgumentException("Expressão grande demais para compilar!");
+            }
+            indices.put(chave, indice);
+            return indice;
+        }
+    }
+    
+    private interface Escrita {
+        
+        void escrever(DataOutputStream saida) throws IOException;
+    }
+}
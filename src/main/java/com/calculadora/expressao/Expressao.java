@@ -0,0 +1,125 @@
+package com.calculadora.expressao;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Expressão compilada e imutável.
+ * A análise do texto acontece uma única vez; a avaliação apenas percorre
+ * a árvore e não aloca memória, podendo ser repetida com valores diferentes
+ * e compartilhada entre threads.
+ * 
+ * A avaliação padrão interpreta a árvore, com uma chamada virtual por nó.
+ * Para fórmulas avaliadas muitas vezes, {@link #compilar()} gera bytecode
+ * equivalente, com as subexpressões constantes já calculadas; se a geração
+ * não for possível, a expressão continua interpretada.
+ */
+public final class Expressao {
+    
+    private final String texto;
+    private final No raiz;
+    private final List<String> variaveis;
+    private final boolean gerada;
+    
+    // Versão compilada, criada na primeira chamada a compilar(); a própria expressão se já for compilada
+    private volatile Expressao compilada;
+    
+    Expressao(String texto, No raiz, String[] variaveis) {
+        this.texto = texto;
+        this.raiz = raiz;
+        this.variaveis = Collections.unmodifiableList(Arrays.asList(variaveis));
+        this.gerada = false;
+    }
+    
+    private Expressao(Expressao interpretada, No raiz) {
+        this.texto = interpretada.texto;
+        this.raiz = raiz;
+        this.variaveis = interpretada.variaveis;
+        this.gerada = true;
+        this.compilada = this;
+    }
+    
+    /**
+     * Retorna esta expressão compilada para bytecode. O resultado é guardado,
+     * de modo que a geração acontece uma única vez por expressão.
+     * 
+     * @return expressão compilada, ou esta mesma expressão (interpretada) se a compilação não for possível
+     */
+    public Expressao compilar() {
+        Expressao resultado = compilada;
+        if (resultado == null) {
+            try {
+                No otimizada = CompiladorExpressao.dobrarConstantes(raiz);
+                resultado = new Expressao(this, otimizada instanceof NoConstante
+                    ? otimizada
+                    : new NoCompilado(CompiladorExpressao.compilar(otimizada)));
+            } catch (RuntimeException | LinkageError e) {
+                // Fica no interpretador (ex.: expressão grande demais para um método)
+                resultado = this;
+            }
+            compilada = resultado;
+        }
+        return resultado;
+    }
+    
+    /**
+     * @return true se esta expressão foi gerada por {@link #compilar()}
+     */
+    public boolean isCompilada() {
+        return gerada;
+    }
+    
+    /**
+     * Avalia a expressão.
+     * 
+     * @param valores valores das variáveis, na ordem de {@link #getVariaveis()}
+     * @return resultado da expressão
+     * @throws IllegalArgumentException se faltarem valores para as variáveis
+     * @throws ArithmeticException se alguma operação falhar (ex.: divisão por zero)
+     */
+    public double avaliar(double[] valores) {
+        if (valores.length < variaveis.size()) {
+            throw new IllegalArgumentException(
+                "A expressão espera " + variaveis.size() + " valores, recebeu " + valores.length + "!");
+        }
+        return raiz.avaliar(valores);
+    }
+    
+    /**
+     * Retorna a posição de uma variável no vetor de valores.
+     * 
+     * @param nome nome da variável
+     * @return posição ou -1 se a variável não existir
+     */
+    public int indiceVariavel(String nome) {
+        return variaveis.indexOf(nome);
+    }
+    
+    /**
+     * Retorna os nomes das variáveis na ordem em que aparecem no texto.
+     * 
+     * @return lista imutável de nomes
+     */
+    public List<String> getVariaveis() {
+        return variaveis;
+    }
+    
+    /**
+     * Retorna o texto original da expressão.
+     * 
+     * @return texto da expressão
+     */
+    public String getTexto() {
+        return texto;
+    }
+    
+    No getRaiz() {
+        return raiz;
+    }
+    
+    @Override
+    public String toString() {
+        return texto;
+    }
+}
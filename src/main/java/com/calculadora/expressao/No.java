@@ -0,0 +1,15 @@
+package com.calculadora.expressao;
+
+/**
+ * Nó imutável da árvore de uma expressão compilada.
+ */
+interface No {
+    
+    /**
+     * Avalia o nó com os valores das variáveis.
+     * 
+     * @param valores valores das variáveis, na ordem de {@link Expressao#getVariaveis()}
+     * @return resultado do nó
+     */
+    double avaliar(double[] valores);
+}
@@ -0,0 +1,20 @@
+package com.calculadora.expressao;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Nó que avalia a árvore inteira pela classe gerada pelo {@link CompiladorExpressao}.
+ */
+final class NoCompilado implements No {
+    
+    final ToDoubleFunction<double[]> funcao;
+    
+    NoCompilado(ToDoubleFunction<double[]> funcao) {
+        this.funcao = funcao;
+    }
+    
+    @Override
+    public double avaliar(double[] valores) {
+        return funcao.applyAsDouble(valores);
+    }
+}
@@ -0,0 +1,18 @@
+package com.calculadora.expressao;
+
+/**
+ * Nó que representa um número literal.
+ */
+final class NoConstante implements No {
+    
+    final double valor;
+    
+    NoConstante(double valor) {
+        this.valor = valor;
+    }
+    
+    @Override
+    public double avaliar(double[] valores) {
+        return valor;
+    }
+}
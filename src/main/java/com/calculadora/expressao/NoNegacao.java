@@ -0,0 +1,18 @@
+package com.calculadora.expressao;
+
+/**
+ * Nó que representa o menos unário.
+ */
+final class NoNegacao implements No {
+    
+    final No operando;
+    
+    NoNegacao(No operando) {
+        this.operando = operando;
+    }
+    
+    @Override
+    public double avaliar(double[] valores) {
+        return -operando.avaliar(valores);
+    }
+}
@@ -0,0 +1,24 @@
+package com.calculadora.expressao;
+
+import com.calculadora.model.Operacao;
+
+/**
+ * Nó que aplica uma {@link Operacao} binária aos seus dois filhos.
+ */
+final class NoOperacao implements No {
+    
+    final Operacao operacao;
+    final No esquerdo;
+    final No direito;
+    
+    NoOperacao(Operacao operacao, No esquerdo, No direito) {
+        this.operacao = operacao;
+        this.esquerdo = esquerdo;
+        this.direito = direito;
+    }
+    
+    @Override
+    public double avaliar(double[] valores) {
+        return operacao.executar(esquerdo.avaliar(valores), direito.avaliar(valores));
+    }
+}
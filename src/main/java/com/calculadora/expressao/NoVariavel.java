@@ -0,0 +1,18 @@
+package com.calculadora.expressao;
+
+/**
+ * Nó que lê uma variável pela sua posição no vetor de valores.
+ */
+final class NoVariavel implements No {
+    
+    final int indice;
+    
+    NoVariavel(int indice) {
+        this.indice = indice;
+    }
+    
+    @Override
+    public double avaliar(double[] valores) {
+        return valores[indice];
+    }
+}
@@ -0,0 +1,54 @@
+package com.calculadora.historico;
+
+/**
+ * Um cálculo do histórico: operação, operandos, resultado e instante.
+ * Objeto imutável, criado apenas nas consultas.
+ */
+public final class Calculo {
+    
+    private final String simbolo;
+    private final double a;
+    private final double b;
+    private final double resultado;
+    private final long instante;
+    
+    /**
+     * @param simbolo símbolo da operação
+     * @param a primeiro operando
+     * @param b segundo operando
+     * @param resultado resultado do cálculo
+     * @param instante momento do cálculo, em milissegundos desde a época
+     */
+    public Calculo(String simbolo, double a, double b, double resultado, long instante) {
+        this.simbolo = simbolo;
+        this.a = a;
+        this.b = b;
+        this.resultado = resultado;
+        this.instante = instante;
+    }
+    
+    public String getSimbolo() {
+        return simbolo;
+    }
+    
+    public double getA() {
+        return a;
+    }
+    
+    public double getB() {
+        return b;
+    }
+    
+    public double getResultado() {
+        return resultado;
+    }
+    
+    public long getInstante() {
+        return instante;
+    }
+    
+    @Override
+    public String toString() {
+        return a + " " + simbolo + " " + b + " = " + resultado;
+    }
+}
@@ -0,0 +1,424 @@
+package com.calculadora.historico;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32C;
+
+/**
+ * Histórico de cálculos com um buffer circular fora do heap e um diário em disco.
+ * 
+ * Os registros mais recentes ficam em um buffer direto de tamanho fixo, de
+ * modo que registrar um cálculo não aloca objetos nem pressiona o GC. Cada
+ * registro também é acrescentado a um diário mapeado em memória
+ * ({@link FileChannel#map}), em segmentos que são mapeados à medida que o
+ * arquivo cresce. Uma thread de fundo grava os segmentos alterados em disco
+ * a cada intervalo de commit (commit em grupo); registros posteriores ao
+ * último commit podem ser perdidos em caso de queda do sistema.
+ * 
+ * Formato do diário (little-endian), em blocos de {@value #TAMANHO_REGISTRO} bytes:
+ * <pre>
+ * cabeçalho  "CALH", u16 versão, u16 tamanho do registro, resto zerado
+ * registro   i64 instante (ms), f64 a, f64 b, f64 resultado,
+ *            i32 símbolo (até 4 bytes UTF-8), i32 CRC32C dos 36 bytes anteriores
+ * </pre>
+ * Os registros são contíguos e o espaço ainda não usado fica zerado. Na
+ * abertura, o fim do diário é achado por busca binária pelo primeiro registro
+ * vazio, e só os registros finais têm o CRC verificado, descartando uma
+ * escrita incompleta; assim a recuperação não depende do tamanho do histórico.
+ * Como os instantes nunca decrescem, as consultas por intervalo de tempo
+ * também começam por busca binária.
+ */
+public class HistoricoCalculos implements AutoCloseable {
+    
+    /** Versão atual do formato do diário. */
+    public static final int VERSAO = 1;
+    
+    /** Tamanho de cada registro (e do cabeçalho), em bytes. */
+    public static final int TAMANHO_REGISTRO = 40;
+    
+    /** Número padrão de registros mantidos no buffer circular. */
+    public static final int CAPACIDADE_PADRAO = 1 << 16;
+    
+    /** Número padrão de registros por segmento mapeado (40 MiB). */
+    public static final int REGISTROS_POR_SEGMENTO_PADRAO = 1 << 20;
+    
+    /** Intervalo padrão do commit em grupo. */
+    public static final long INTERVALO_COMMIT_PADRAO_MS = 200;
+    
+    private static final int ASSINATURA = 0x484C4143; // "CALH" em little-endian
+    private static final int TAMANHO_DADOS = TAMANHO_REGISTRO - Integer.BYTES;
+    private static final int REGISTROS_VERIFICADOS_NA_ABERTURA = 64;
+    
+    private final FileChannel canal;
+    private final int registrosPorSegmento;
+    private final List<MappedByteBuffer> segmentos = new ArrayList<>();
+    
+    private final ByteBuffer anel;
+    private final int capacidade;
+    
+    private final ByteBuffer rascunho = ByteBuffer.allocateDirect(TAMANHO_REGISTRO).order(ByteOrder.LITTLE_ENDIAN);
+    private final CRC32C crc = new CRC32C();
+    private final ScheduledExecutorService commit;
+    
+    // Número de registros no diário; o registro i ocupa o bloco i + 1
+    private long total;
+    private long ultimoInstante;
+    private int primeiroSegmentoSujo = -1;
+    private boolean fechado;
+    
+    /**
+     * Abre o histórico com os parâmetros padrão.
+     * 
+     * @param arquivo arquivo do diário (criado se não existir)
+     * @throws IOException se o arquivo não puder ser aberto ou não for um diário válido
+     */
+    public HistoricoCalculos(Path arquivo) throws IOException {
+        this(arquivo, CAPACIDADE_PADRAO, REGISTROS_POR_SEGMENTO_PADRAO, INTERVALO_COMMIT_PADRAO_MS);
+    }
+    
+    /**
+     * @param arquivo arquivo do diário (criado se não existir)
+     * @param capacidade número de registros recentes mantidos fora do heap
+     * @param registrosPorSegmento número de registros em cada região mapeada do diário
+     * @param intervaloCommitMs intervalo do commit em grupo; zero grava apenas em {@link #sincronizar()}
+     * @throws IOException se o arquivo não puder ser aberto ou não for um diário válido
+     */
+    public HistoricoCalculos(Path arquivo, int capacidade, int registrosPorSegmento, long intervaloCommitMs)
+            throws IOException {
+        if (capacidade <= 0 || registrosPorSegmento <= 1) {
+            throw new IllegalArgumentException("Capacidade e registros por segmento devem ser positivos!");
+        }
+        this.capacidade = capacidade;
+        this.registrosPorSegmento = registrosPorSegmento;
+        this.anel = ByteBuffer.allocateDirect(capacidade * TAMANHO_REGISTRO).order(ByteOrder.LITTLE_ENDIAN);
+        this.canal = FileChannel.open(arquivo, StandardOpenOption.CREATE, StandardOpenOption.READ,
+            StandardOpenOption.WRITE);
+        try {
+            recuperar();
+        } catch (IOException | RuntimeException e) {
+            canal.close();
+            throw e;
+        }
+        
+        if (intervaloCommitMs > 0) {
+            commit = Executors.newSingleThreadScheduledExecutor(tarefa -> {
+                Thread thread = new Thread(tarefa, "historico-commit");
+                thread.setDaemon(true);
+                return thread;
+            });
+            commit.scheduleWithFixedDelay(this::sincronizar, intervaloCommitMs, intervaloCommitMs,
+                TimeUnit.MILLISECONDS);
+        } else {
+            commit = null;
+        }
+    }
+    
+    private void recuperar() throws IOException {
+        long tamanhoSegmento = (long) registrosPorSegmento * TAMANHO_REGISTRO;
+        long segmentosExistentes = (canal.size() + tamanhoSegmento - 1) / tamanhoSegmento;
+        for (int i = 0; i < Math.max(segmentosExistentes, 1); i++) {
+            mapearSegmento();
+        }
+        
+        MappedByteBuffer primeiro = segmentos.get(0);
+        if (primeiro.getInt(0) == 0) {
+            primeiro.putInt(0, ASSINATURA);
+            primeiro.putShort(4, (short) VERSAO);
+            primeiro.putShort(6, (short) TAMANHO_REGISTRO);
+            primeiro.force();
+        } else {
+            if (primeiro.getInt(0) != ASSINATURA) {
+                throw new IOException("Arquivo não é um diário de histórico da calculadora!");
+            }
+            int versao = Short.toUnsignedInt(primeiro.getShort(4));
+            if (versao > VERSAO || primeiro.getShort(6) != TAMANHO_REGISTRO) {
+                throw new IOException("Versão " + versao + " do diário não suportada (máxima: " + VERSAO + ")!");
+            }
+        }
+        
+        // Busca binária pelo primeiro bloco vazio
+        long inicio = 0;
+        long fim = (long) segmentos.size() * registrosPorSegmento - 1;
+        while (inicio < fim) {
+            long meio = (inicio + fim) >>> 1;
+            if (instante(meio) != 0) {
+                inicio = meio + 1;
+            } else {
+                fim = meio;
+            }
+        }
+        total = inicio;
+        
+        // Descarta registros finais incompletos (escrita interrompida)
+        long limite = Math.max(0, total - REGISTROS_VERIFICADOS_NA_ABERTURA);
+        for (long i = total - 1; i >= limite; i--) {
+            if (!valido(i)) {
+                total = i;
+            }
+        }
+        ultimoInstante = total > 0 ? instante(total - 1) : 0;
+        
+        // Carrega os registros mais recentes no buffer circular
+        for (long i = Math.max(0, total - capacidade); i < total; i++) {
+            ByteBuffer origem = segmento(i).duplicate();
+            int posicao = posicaoNoSegmento(i);
+            origem.position(posicao).limit(posicao + TAMANHO_REGISTRO);
+            anel.position(posicaoNoAnel(i));
+            anel.put(origem);
+        }
+    }
+    
+    private void mapearSegmento() throws IOException {
+        long tamanhoSegmento = (long) registrosPorSegmento * TAMANHO_REGISTRO;
+        MappedByteBuffer segmento = canal.map(FileChannel.MapMode.READ_WRITE, segmentos.size() * tamanhoSegmento,
+            tamanhoSegmento);
+        segmento.order(ByteOrder.LITTLE_ENDIAN);
+        segmentos.add(segmento);
+    }
+    
+    /**
+     * Registra um cálculo com o instante atual. Não aloca objetos para símbolos ASCII de até 4 caracteres.
+     * 
+     * @param simbolo símbolo da operação (apenas os 4 primeiros bytes UTF-8 são guardados)
+     * @param a primeiro operando
+     * @param b segundo operando
+     * @param resultado resultado do cálculo
+     * @throws IOException se o diário não puder crescer
+     */
+    public void registrar(String simbolo, double a, double b, double resultado) throws IOException {
+        registrar(compactarSimbolo(simbolo), a, b, resultado, System.currentTimeMillis());
+    }
+    
+    /**
+     * Registra um cálculo.
+     * 
+     * @param simboloCompactado símbolo obtido por {@link #compactarSimbolo(String)}
+     * @param a primeiro operando
+     * @param b segundo operando
+     * @param resultado resultado do cálculo
+     * @param instante instante em milissegundos; instantes menores que o último registrado são ajustados para ele
+     * @throws IOException se o diário não puder crescer
+     */
+    public synchronized void registrar(int simboloCompactado, double a, double b, double resultado, long instante)
+            throws IOException {
+        if (fechado) {
+            throw new IllegalStateException("O histórico está fechado!");
+        }
+        // O instante zero marca bloco vazio; os instantes nunca decrescem
+        instante = Math.max(Math.max(instante, ultimoInstante), 1);
+        
+        rascunho.clear();
+        rascunho.putLong(instante).putDouble(a).putDouble(b).putDouble(resultado).putInt(simboloCompactado);
+        rascunho.flip();
+        crc.reset();
+        crc.update(rascunho);
+        rascunho.limit(TAMANHO_REGISTRO);
+        rascunho.putInt(TAMANHO_DADOS, (int) crc.getValue());
+        
+        int indiceSegmento = (int) ((total + 1) / registrosPorSegmento);
+        if (indiceSegmento == segmentos.size()) {
+            mapearSegmento();
+        }
+        MappedByteBuffer segmento = segmentos.get(indiceSegmento);
+        rascunho.position(0);
+        segmento.position(posicaoNoSegmento(total));
+        segmento.put(rascunho);
+        
+        rascunho.position(0);
+        anel.position(posicaoNoAnel(total));
+        anel.put(rascunho);
+        
+        if (primeiroSegmentoSujo < 0) {
+            primeiroSegmentoSujo = indiceSegmento;
+        }
+        ultimoInstante = instante;
+        total++;
+    }
+    
+    /**
+     * Grava em disco os segmentos alterados desde o último commit.
+     * Chamado periodicamente pela thread de commit em grupo.
+     */
+    public void sincronizar() {
+        List<MappedByteBuffer> sujos;
+        synchronized (this) {
+            if (primeiroSegmentoSujo < 0) {
+                return;
+            }
+            sujos = new ArrayList<>(segmentos.subList(primeiroSegmentoSujo, segmentos.size()));
+            primeiroSegmentoSujo = -1;
+        }
+        for (MappedByteBuffer segmento : sujos) {
+            segmento.force();
+        }
+    }
+    
+    /**
+     * Retorna os cálculos mais recentes, do buffer circular, sem acessar o diário.
+     * 
+     * @param limite número máximo de cálculos
+     * @return cálculos do mais recente para o mais antigo
+     */
+    public synchronized List<Calculo> recentes(int limite) {
+        int quantidade = (int) Math.min(Math.min(limite, capacidade), total);
+        List<Calculo> calculos = new ArrayList<>(quantidade);
+        for (long i = total - 1; i >= total - quantidade; i--) {
+            calculos.add(ler(anel, posicaoNoAnel(i)));
+        }
+        return calculos;
+    }
+    
+    /**
+     * Consulta o diário por intervalo de tempo e, opcionalmente, por operação.
+     * Registros com CRC inválido são ignorados.
+     * 
+     * @param inicio instante inicial (inclusivo), em milissegundos
+     * @param fim instante final (inclusivo), em milissegundos
+     * @param simbolo símbolo da operação, ou null para todas
+     * @param limite número máximo de cálculos
+     * @return cálculos em ordem cronológica
+     */
+    public synchronized List<Calculo> consultar(long inicio, long fim, String simbolo, int limite) {
+        int filtro = simbolo != null ? compactarSimbolo(simbolo) : 0;
+        
+        long primeiro = 0;
+        long ultimo = total;
+        while (primeiro < ultimo) {
+            long meio = (primeiro + ultimo) >>> 1;
+            if (instante(meio) < inicio) {
+                primeiro = meio + 1;
+            } else {
+                ultimo = meio;
+            }
+        }
+        
+        List<Calculo> calculos = new ArrayList<>();
+        for (long i = primeiro; i < total && calculos.size() < limite; i++) {
+            ByteBuffer segmento = segmento(i);
+            int posicao = posicaoNoSegmento(i);
+            if (segmento.getLong(posicao) > fim) {
+                break;
+            }
+            if ((simbolo == null || segmento.getInt(posicao + 32) == filtro) && valido(i)) {
+                calculos.add(ler(segmento, posicao));
+            }
+        }
+        return calculos;
+    }
+    
+    /**
+     * @return número de cálculos no diário
+     */
+    public synchronized long getTotal() {
+        return total;
+    }
+    
+    public int getCapacidade() {
+        return capacidade;
+    }
+    
+    private static Calculo ler(ByteBuffer origem, int posicao) {
+        return new Calculo(expandirSimbolo(origem.getInt(posicao + 32)), origem.getDouble(posicao + 8),
+            origem.getDouble(posicao + 16), origem.getDouble(posicao + 24), origem.getLong(posicao));
+    }
+    
+    private boolean valido(long indice) {
+        MappedByteBuffer segmento = segmento(indice);
+        int posicao = posicaoNoSegmento(indice);
+        if (segmento.getLong(posicao) == 0) {
+            return false;
+        }
+        ByteBuffer dados = segmento.duplicate();
+        dados.position(posicao).limit(posicao + TAMANHO_DADOS);
+        crc.reset();
+        crc.update(dados);
+        return segmento.getInt(posicao + TAMANHO_DADOS) == (int) crc.getValue();
+    }
+    
+    private long instante(long indice) {
+        return segmento(indice).getLong(posicaoNoSegmento(indice));
+    }
+    
+    private MappedByteBuffer segmento(long indice) {
+        return segmentos.get((int) ((indice + 1) / registrosPorSegmento));
+    }
+    
+    private int posicaoNoSegmento(long indice) {
+        return (int) ((indice + 1) % registrosPorSegmento) * TAMANHO_REGISTRO;
+    }
+    
+    private int posicaoNoAnel(long indice) {
+        return (int) (indice % capacidade) * TAMANHO_REGISTRO;
+    }
+    
+    /**
+     * Compacta os 4 primeiros bytes UTF-8 de um símbolo em um int.
+     * 
+     * @param simbolo símbolo da operação
+     * @return símbolo compactado
+     */
+    public static int compactarSimbolo(String simbolo) {
+        int compactado = 0;
+        int tamanho = simbolo.length();
+        boolean ascii = tamanho <= Integer.BYTES;
+        for (int i = 0; i < tamanho && ascii; i++) {
+            char caractere = simbolo.charAt(i);
+            ascii = caractere < 0x80;
+            compactado |= caractere << (8 * i);
+        }
+        if (ascii) {
+            return compactado;
+        }
+        byte[] bytes = simbolo.getBytes(StandardCharsets.UTF_8);
+        compactado = 0;
+        for (int i = 0; i < Math.min(bytes.length, Integer.BYTES); i++) {
+            compactado |= (bytes[i] & 0xFF) << (8 * i);
+        }
+        return compactado;
+    }
+    
+    /**
+     * @param compactado símbolo obtido por {@link #compactarSimbolo(String)}
+     * @return símbolo original (truncado em 4 bytes UTF-8)
+     */
+    public static String expandirSimbolo(int compactado) {
+        byte[] bytes = new byte[Integer.BYTES];
+        int tamanho = 0;
+        while (tamanho < Integer.BYTES && (compactado >>> (8 * tamanho) & 0xFF) != 0) {
+            bytes[tamanho] = (byte) (compactado >>> (8 * tamanho));
+            tamanho++;
+        }
+        return new String(bytes, 0, tamanho, StandardCharsets.UTF_8);
+    }
+    
+    /**
+     * Grava os registros pendentes e fecha o diário.
+     * 
+     * @throws IOException se o arquivo não puder ser fechado
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            if (fechado) {
+                return;
+            }
+            fechado = true;
+        }
+        if (commit != null) {
+            commit.shutdown();
+        }
+        sincronizar();
+        canal.close();
+    }
+}
@@ -0,0 +1,706 @@
+package com.calculadora.io;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Conversão entre texto decimal e {@code double}, sem criar uma {@link String}
+ * por número no caso comum.
+ * Os resultados são sempre idênticos aos de {@link Double#parseDouble(String)}
+ * e aos de {@link Double#toString(double)} a partir do Java 19, que escreve
+ * o menor número de dígitos que identifica o valor.
+ * 
+ * A leitura usa multiplicações exatas quando a mantissa e a potência de 10
+ * cabem em um double (Clinger) e, nos demais casos, o algoritmo de
+ * Eisel-Lemire, com uma aproximação de 128 bits de 5^q. A escrita usa o
+ * algoritmo Schubfach, o mesmo do JDK 19, e escreve direto no vetor de destino.
+ * As tabelas de potências são calculadas no primeiro uso de cada algoritmo.
+ */
+public final class CodecNumerico {
+    
+    /** Espaço máximo ocupado por um double escrito por {@link #escreverDouble}. */
+    public static final int MAXIMO_CARACTERES = 24;
+    
+    /** Maior inteiro representado exatamente por um double (2^53). */
+    private static final long MAIOR_INTEIRO_EXATO = 1L << 53;
+    
+    /** Potências de 10 representadas exatamente por um double. */
+    private static final double[] POTENCIAS_EXATAS = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+    
+    // Eisel-Lemire: expoentes decimais fora deste intervalo dão zero ou infinito
+    private static final int MENOR_POTENCIA_DEZ = -342;
+    private static final int MAIOR_POTENCIA_DEZ = 308;
+    
+    // Schubfach (nomes como no artigo e no JDK)
+    private static final int P = 53;
+    private static final int Q_MIN = -1074;
+    private static final long C_MIN = 1L << (P - 1);
+    private static final long C_TINY = 3;
+    private static final int K_MIN = -324;
+    private static final int K_MAX = 292;
+    private static final int H = 17;
+    private static final long T_MASK = C_MIN - 1;
+    private static final long MASK_63 = (1L << 63) - 1;
+    private static final int MASK_28 = (1 << 28) - 1;
+    
+    private static final long[] POTENCIAS_DEZ_LONG = new long[H + 2];
+    
+    static {
+        POTENCIAS_DEZ_LONG[0] = 1;
+        for (int i = 1; i < POTENCIAS_DEZ_LONG.length; i++) {
+            POTENCIAS_DEZ_LONG[i] = POTENCIAS_DEZ_LONG[i - 1] * 10;
+        }
+    }
+    
+    private static final byte[] NAN = "NaN".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] INFINITO = "Infinity".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] MENOS_INFINITO = "-Infinity".getBytes(StandardCharsets.US_ASCII);
+    
+    private CodecNumerico() {
+    }
+    
+    /**
+     * Retorna o fim do número que começa em {@code inicio}: sinal opcional,
+     * dígitos, ponto decimal e expoente ({@code e}/{@code E}).
+     * 
+     * @param dados bytes de entrada
+     * @param inicio posição inicial
+     * @param fim limite de leitura (exclusivo)
+     * @return posição logo após o último byte do número
+     */
+    public static int fimNumero(byte[] dados, int inicio, int fim) {
+        int i = inicio;
+        if (i < fim && (dados[i] == '-' || dados[i] == '+')) {
+            i++;
+        }
+        while (i < fim && (ehDigito(dados[i]) || dados[i] == '.')) {
+            i++;
+        }
+        if (i < fim && (dados[i] == 'e' || dados[i] == 'E')) {
+            int j = i + 1;
+            if (j < fim && (dados[j] == '-' || dados[j] == '+')) {
+                j++;
+            }
+            if (j < fim && ehDigito(dados[j])) {
+                i = j;
+                while (i < fim && ehDigito(dados[i])) {
+                    i++;
+                }
+            }
+        }
+        return i;
+    }
+    
+    /**
+     * Converte o texto em {@code dados[inicio, fim)} para double.
+     * Números decimais são convertidos diretamente; apenas números com mais de
+     * 19 dígitos significativos muito próximos de um empate e as formas
+     * especiais ({@code NaN}, {@code Infinity}, hexadecimal, sufixos) usam
+     * {@link Double#parseDouble(String)}.
+     * 
+     * @param dados bytes de entrada
+     * @param inicio posição inicial
+     * @param fim limite de leitura (exclusivo)
+     * @return valor convertido
+     * @throws NumberFormatException se o texto não for um número válido
+     */
+    public static double lerDouble(byte[] dados, int inicio, int fim) {
+        int i = inicio;
+        boolean negativo = false;
+        if (i < fim && (dados[i] == '-' || dados[i] == '+')) {
+            negativo = dados[i] == '-';
+            i++;
+        }
+        
+        long mantissa = 0;
+        int digitosSignificativos = 0;
+        int expoente = 0;
+        boolean possuiDigitos = false;
+        boolean truncado = false;
+        
+        // Parte inteira
+        while (i < fim && ehDigito(dados[i])) {
+            int digito = dados[i] - '0';
+            if (digitosSignificativos < 19) {
+                mantissa = mantissa * 10 + digito;
+                if (mantissa != 0) {
+                    digitosSignificativos++;
+                }
+            } else {
+                expoente++;
+                truncado |= digito != 0;
+            }
+            possuiDigitos = true;
+            i++;
+        }
+        
+        // Parte fracionária
+        if (i < fim && dados[i] == '.') {
+            i++;
+            while (i < fim && ehDigito(dados[i])) {
+                int digito = dados[i] - '0';
+                if (digitosSignificativos < 19) {
+                    mantissa = mantissa * 10 + digito;
+                    if (mantissa != 0) {
+                        digitosSignificativos++;
+                    }
+                    expoente--;
+                } else {
+                    truncado |= digito != 0;
+                }
+                possuiDigitos = true;
+                i++;
+            }
+        }
+        
+        // Expoente
+        if (possuiDigitos && i < fim && (dados[i] == 'e' || dados[i] == 'E')) {
+            i++;
+            boolean expoenteNegativo = false;
+            if (i < fim && (dados[i] == '-' || dados[i] == '+')) {
+                expoenteNegativo = dados[i] == '-';
+                i++;
+            }
+            if (i == fim || !ehDigito(dados[i])) {
+                return lerComJdk(dados, inicio, fim);
+            }
+            int valorExpoente = 0;
+            while (i < fim && ehDigito(dados[i])) {
+                if (valorExpoente < 100_000) {
+                    valorExpoente = valorExpoente * 10 + (dados[i] - '0');
+                }
+                i++;
+            }
+            expoente += expoenteNegativo ? -valorExpoente : valorExpoente;
+        }
+        
+        if (!possuiDigitos || i != fim) {
+            // Formas aceitas apenas pelo JDK (NaN, Infinity, hexadecimal, sufixos) ou inválidas
+            return lerComJdk(dados, inicio, fim);
+        }
+        
+        double valor = converter(mantissa, expoente, truncado);
+        if (valor < 0) {
+            return lerComJdk(dados, inicio, fim);
+        }
+        return negativo ? -valor : valor;
+    }
+    
+    /**
+     * Converte um texto inteiro para double.
+     * 
+     * @param texto texto do número
+     * @return valor convertido
+     * @throws NumberFormatException se o texto não for um número válido
+     * @see #lerDouble(CharSequence, int, int)
+     */
+    public static double lerDouble(CharSequence texto) {
+        return lerDouble(texto, 0, texto.length());
+    }
+    
+    /**
+     * Converte o texto em {@code texto[inicio, fim)} para double, lendo os
+     * caracteres diretamente de um {@link StringBuilder}, {@link java.nio.CharBuffer}
+     * ou qualquer outra sequência. Mesmas regras de {@link #lerDouble(byte[], int, int)}.
+     * 
+     * @param texto caracteres de entrada
+     * @param inicio posição inicial
+     * @param fim limite de leitura (exclusivo)
+     * @return valor convertido
+     * @throws NumberFormatException se o texto não for um número válido
+     */
+    public static double lerDouble(CharSequence texto, int inicio, int fim) {
+        int i = inicio;
+        boolean negativo = false;
+        if (i < fim && (texto.charAt(i) == '-' || texto.charAt(i) == '+')) {
+            negativo = texto.charAt(i) == '-';
+            i++;
+        }
+        
+        long mantissa = 0;
+        int digitosSignificativos = 0;
+        int expoente = 0;
+        boolean possuiDigitos = false;
+        boolean truncado = false;
+        
+        char c;
+        while (i < fim && ehDigito(c = texto.charAt(i))) {
+            int digito = c - '0';
+            if (digitosSignificativos < 19) {
+                mantissa = mantissa * 10 + digito;
+                if (mantissa != 0) {
+                    digitosSignificativos++;
+                }
+            } else {
+                expoente++;
+                truncado |= digito != 0;
+            }
+            possuiDigitos = true;
+            i++;
+        }
+        
+        if (i < fim && texto.charAt(i) == '.') {
+            i++;
+            while (i < fim && ehDigito(c = texto.charAt(i))) {
+                int digito = c - '0';
+                if (digitosSignificativos < 19) {
+                    mantissa = mantissa * 10 + digito;
+                    if (mantissa != 0) {
+                        digitosSignificativos++;
+                    }
+                    expoente--;
+                } else {
+                    truncado |= digito != 0;
+                }
+                possuiDigitos = true;
+                i++;
+            }
+        }
+        
+        if (possuiDigitos && i < fim && (texto.charAt(i) == 'e' || texto.charAt(i) == 'E')) {
+            i++;
+            boolean expoenteNegativo = false;
+            if (i < fim && (texto.charAt(i) == '-' || texto.charAt(i) == '+')) {
+                expoenteNegativo = texto.charAt(i) == '-';
+                i++;
+            }
+            if (i == fim || !ehDigito(texto.charAt(i))) {
+                return Double.parseDouble(texto.subSequence(inicio, fim).toString());
+            }
+            int valorExpoente = 0;
+            while (i < fim && ehDigito(c = texto.charAt(i))) {
+                if (valorExpoente < 100_000) {
+                    valorExpoente = valorExpoente * 10 + (c - '0');
+                }
+                i++;
+            }
+            expoente += expoenteNegativo ? -valorExpoente : valorExpoente;
+        }
+        
+        if (!possuiDigitos || i != fim) {
+            return Double.parseDouble(texto.subSequence(inicio, fim).toString());
+        }
+        
+        double valor = converter(mantissa, expoente, truncado);
+        if (valor < 0) {
+            return Double.parseDouble(texto.subSequence(inicio, fim).toString());
+        }
+        return negativo ? -valor : valor;
+    }
+    
+    /**
+     * Converte mantissa × 10^expoente, sem sinal, para double.
+     * 
+     * @param mantissa até 19 dígitos decimais, sem sinal
+     * @param expoente expoente decimal
+     * @param truncado se havia dígitos não nulos além dos da mantissa
+     * @return valor convertido, ou -1 se só uma conversão exata pode decidir o arredondamento
+     */
+    private static double converter(long mantissa, int expoente, boolean truncado) {
+        if (mantissa == 0 && !truncado) {
+            return 0.0;
+        }
+        
+        // Caminho rápido: mantissa e 10^|expoente| exatos, logo uma única operação arredondada
+        if (!truncado && mantissa >= 0 && mantissa <= MAIOR_INTEIRO_EXATO && expoente >= -22 && expoente <= 22) {
+            return expoente < 0
+                ? mantissa / POTENCIAS_EXATAS[-expoente]
+                : mantissa * POTENCIAS_EXATAS[expoente];
+        }
+        
+        long bits = eiselLemire(mantissa, expoente);
+        if (truncado && bits != eiselLemire(mantissa + 1, expoente)) {
+            // O valor real está entre mantissa e mantissa + 1, que arredondam de formas diferentes
+            return -1;
+        }
+        return Double.longBitsToDouble(bits);
+    }
+    
+    /**
+     * Algoritmo de Eisel-Lemire (como na biblioteca fast_float): w × 10^q
+     * arredondado para o double mais próximo, com empates para o par.
+     * 
+     * @param w mantissa decimal, sem sinal, diferente de zero
+     * @param q expoente decimal
+     * @return bits do double positivo
+     */
+    private static long eiselLemire(long w, int q) {
+        if (q < MENOR_POTENCIA_DEZ) {
+            return 0;
+        }
+        if (q > MAIOR_POTENCIA_DEZ) {
+            return Double.doubleToRawLongBits(Double.POSITIVE_INFINITY);
+        }
+        
+        int zerosEsquerda = Long.numberOfLeadingZeros(w);
+        w <<= zerosEsquerda;
+        
+        // Produto de w pela aproximação de 128 bits de 5^q; a segunda metade só é necessária se
+        // os bits abaixo dos 55 mais significativos forem todos 1
+        int indice = 2 * (q - MENOR_POTENCIA_DEZ);
+        long[] cinco = TabelaEiselLemire.POTENCIAS_CINCO;
+        long alto = multiplicarAlto(w, cinco[indice]);
+        long baixo = w * cinco[indice];
+        long mascaraPrecisao = -1L >>> 55;
+        if ((alto & mascaraPrecisao) == mascaraPrecisao) {
+            long segundoAlto = multiplicarAlto(w, cinco[indice + 1]);
+            baixo += segundoAlto;
+            if (Long.compareUnsigned(segundoAlto, baixo) > 0) {
+                alto++;
+            }
+        }
+        
+        int bitSuperior = (int) (alto >>> 63);
+        int deslocamento = bitSuperior + 64 - 52 - 3;
+        long mantissa = alto >>> deslocamento;
+        int expoente2 = (((152170 + 65536) * q) >> 16) + 63 + bitSuperior - zerosEsquerda + 1023;
+        
+        if (expoente2 <= 0) {
+            // Subnormal (ou zero)
+            if (-expoente2 + 1 >= 64) {
+                return 0;
+            }
+            mantissa >>>= -expoente2 + 1;
+            mantissa += mantissa & 1;
+            mantissa >>>= 1;
+            // O arredondamento pode ter levado ao menor normal, cujo bit implícito fica no expoente
+            return mantissa;
+        }
+        
+        // Empate exato entre dois doubles: só ocorre quando 5^q cabe em 64 bits
+        if (Long.compareUnsigned(baixo, 1) <= 0 && q >= -4 && q <= 23 && (mantissa & 3) == 1
+            && (mantissa << deslocamento) == alto) {
+            mantissa &= ~1L;
+        }
+        mantissa += mantissa & 1;
+        mantissa >>>= 1;
+        if (mantissa >= (2L << 52)) {
+            mantissa = 1L << 52;
+            expoente2++;
+        }
+        mantissa &= ~(1L << 52);
+        if (expoente2 >= 0x7FF) {
+            return Double.doubleToRawLongBits(Double.POSITIVE_INFINITY);
+        }
+        return mantissa | ((long) expoente2 << 52);
+    }
+    
+    /**
+     * Escreve a representação de {@link Double#toString(double)} em bytes ASCII.
+     * O resultado é o mesmo do Java 19 ou mais recente: o menor número de
+     * dígitos que, lido de volta, resulta no mesmo double. Versões anteriores
+     * do JDK escrevem, em casos raros, um dígito a mais.
+     * 
+     * @param valor valor a formatar
+     * @param destino vetor de saída; deve ter ao menos {@link #MAXIMO_CARACTERES} bytes livres a partir de {@code posicao}
+     * @param posicao posição inicial de escrita
+     * @return posição logo após o último byte escrito
+     */
+    public static int escreverDouble(double valor, byte[] destino, int posicao) {
+        long bits = Double.doubleToRawLongBits(valor);
+        long t = bits & T_MASK;
+        int bq = (int) (bits >>> (P - 1)) & 0x7FF;
+        
+        if (bq == 0x7FF) {
+            byte[] texto = t != 0 ? NAN : bits > 0 ? INFINITO : MENOS_INFINITO;
+            System.arraycopy(texto, 0, destino, posicao, texto.length);
+            return posicao + texto.length;
+        }
+        if (bits < 0) {
+            destino[posicao++] = '-';
+        }
+        if (bq != 0) {
+            // Normal: valor = c × 2^q, com q = -mq
+            int mq = -Q_MIN + 1 - bq;
+            long c = C_MIN | t;
+            // Inteiros pequenos não precisam do algoritmo
+            if (0 < mq && mq < P) {
+                long f = c >> mq;
+                if (f << mq == c) {
+                    return escreverDecimal(f, 0, destino, posicao);
+                }
+            }
+            return schubfach(-mq, c, 0, destino, posicao);
+        }
+        if (t != 0) {
+            return t < C_TINY
+                ? schubfach(Q_MIN, 10 * t, -1, destino, posicao)
+                : schubfach(Q_MIN, t, 0, destino, posicao);
+        }
+        destino[posicao++] = '0';
+        destino[posicao++] = '.';
+        destino[posicao++] = '0';
+        return posicao;
+    }
+    
+    /**
+     * Algoritmo Schubfach (Raffaello Giulietti): acha o decimal mais curto no
+     * intervalo de arredondamento de c × 2^q e o escreve.
+     */
+    private static int schubfach(int q, long c, int dk, byte[] destino, int posicao) {
+        int out = (int) c & 0x1;
+        long cb = c << 2;
+        long cbr = cb + 2;
+        long cbl;
+        int k;
+        if (c != C_MIN || q == Q_MIN) {
+            cbl = cb - 2;
+            k = flog10pow2(q);
+        } else {
+            cbl = cb - 1;
+            k = flog10threeQuartersPow2(q);
+        }
+        int h = q + flog2pow10(-k) + 2;
+        
+        long[] g = TabelaSchubfach.G;
+        long g1 = g[(k - K_MIN) << 1];
+        long g0 = g[(k - K_MIN) << 1 | 1];
+        
+        long vb = rop(g1, g0, cb << h);
+        long vbl = rop(g1, g0, cbl << h);
+        long vbr = rop(g1, g0, cbr << h);
+        
+        long s = vb >> 2;
+        if (s >= 100) {
+            // Tenta um dígito a menos: sp10 = 10 × floor(s / 10)
+            long sp10 = 10 * Math.multiplyHigh(s, 115_292_150_460_684_698L << 4);
+            long tp10 = sp10 + 10;
+            boolean upin = vbl + out <= sp10 << 2;
+            boolean wpin = (tp10 << 2) + out <= vbr;
+            if (upin != wpin) {
+                return escreverDecimal(upin ? sp10 : tp10, k, destino, posicao);
+            }
+        }
+        
+        long t = s + 1;
+        boolean uin = vbl + out <= s << 2;
+        boolean win = (t << 2) + out <= vbr;
+        if (uin != win) {
+            return escreverDecimal(uin ? s : t, k + dk, destino, posicao);
+        }
+        long cmp = vb - ((s + t) << 1);
+        return escreverDecimal(cmp < 0 || cmp == 0 && (s & 0x1) == 0 ? s : t, k + dk, destino, posicao);
+    }
+    
+    /**
+     * Arredonda para ímpar o produto de g (126 bits) por cp, deslocado de 127 bits.
+     */
+    private static long rop(long g1, long g0, long cp) {
+        long x1 = Math.multiplyHigh(g0, cp);
+        long y0 = g1 * cp;
+        long y1 = Math.multiplyHigh(g1, cp);
+        long z = (y0 >>> 1) + x1;
+        long vbp = y1 + (z >>> 63);
+        return vbp | ((z & MASK_63) + MASK_63) >>> 63;
+    }
+    
+    /**
+     * Escreve f × 10^e no formato de {@link Double#toString(double)}: notação
+     * comum entre 10^-3 e 10^7, científica fora disso, sempre com ao menos um
+     * dígito após o ponto.
+     */
+    private static int escreverDecimal(long f, int e, byte[] destino, int posicao) {
+        // Normaliza para 10^(H-1) <= f < 10^H, com valor = 0.f × 10^e
+        int tamanho = flog10pow2(Long.SIZE - Long.numberOfLeadingZeros(f));
+        if (f >= POTENCIAS_DEZ_LONG[tamanho]) {
+            tamanho++;
+        }
+        f *= POTENCIAS_DEZ_LONG[H - tamanho];
+        e += tamanho;
+        
+        // h: dígito mais significativo; m: os 8 seguintes; l: os 8 últimos
+        long hm = Math.multiplyHigh(f, 193_428_131_138_340_668L) >>> 20;
+        int l = (int) (f - 100_000_000L * hm);
+        int h = (int) (hm * 1_441_151_881L >>> 57);
+        int m = (int) (hm - 100_000_000 * h);
+        
+        if (0 < e && e <= 7) {
+            // Notação comum, sem zeros à esquerda
+            destino[posicao++] = (byte) ('0' + h);
+            int y = y(m);
+            int i = 1;
+            for (; i < e; i++) {
+                int t = 10 * y;
+                destino[posicao++] = (byte) ('0' + (t >>> 28));
+                y = t & MASK_28;
+            }
+            destino[posicao++] = '.';
+            for (; i <= 8; i++) {
+                int t = 10 * y;
+                destino[posicao++] = (byte) ('0' + (t >>> 28));
+                y = t & MASK_28;
+            }
+            return digitosFinais(l, destino, posicao);
+        }
+        if (-3 < e && e <= 0) {
+            // Notação comum, com zeros à esquerda
+            destino[posicao++] = '0';
+            destino[posicao++] = '.';
+            for (; e < 0; e++) {
+                destino[posicao++] = '0';
+            }
+            destino[posicao++] = (byte) ('0' + h);
+            posicao = escrever8Digitos(m, destino, posicao);
+            return digitosFinais(l, destino, posicao);
+        }
+        // Notação científica
+        destino[posicao++] = (byte) ('0' + h);
+        destino[posicao++] = '.';
+        posicao = escrever8Digitos(m, destino, posicao);
+        posicao = digitosFinais(l, destino, posicao);
+        return escreverExpoente(e - 1, destino, posicao);
+    }
+    
+    private static int digitosFinais(int l, byte[] destino, int posicao) {
+        if (l != 0) {
+            posicao = escrever8Digitos(l, destino, posicao);
+        }
+        // Remove os zeros à direita, mas mantém um dígito após o ponto
+        while (destino[posicao - 1] == '0') {
+            posicao--;
+        }
+        if (destino[posicao - 1] == '.') {
+            posicao++;
+        }
+        return posicao;
+    }
+    
+    /**
+     * Escreve os 8 dígitos de m, da esquerda para a direita, com uma multiplicação por dígito.
+     */
+    private static int escrever8Digitos(int m, byte[] destino, int posicao) {
+        int y = y(m);
+        for (int i = 0; i < 8; i++) {
+            int t = 10 * y;
+            destino[posicao++] = (byte) ('0' + (t >>> 28));
+            y = t & MASK_28;
+        }
+        return posicao;
+    }
+    
+    /**
+     * @return floor((a + 1) × 2^28 / 10^8) - 1, o ponto de partida da extração de dígitos
+     */
+    private static int y(int a) {
+        return (int) (Math.multiplyHigh((long) (a + 1) << 28, 193_428_131_138_340_668L) >>> 20) - 1;
+    }
+    
+    private static int escreverExpoente(int e, byte[] destino, int posicao) {
+        destino[posicao++] = 'E';
+        if (e < 0) {
+            destino[posicao++] = '-';
+            e = -e;
+        }
+        if (e < 10) {
+            destino[posicao++] = (byte) ('0' + e);
+            return posicao;
+        }
+        int d;
+        if (e >= 100) {
+            d = e * 1_311 >>> 17;
+            destino[posicao++] = (byte) ('0' + d);
+            e -= 100 * d;
+        }
+        d = e * 103 >>> 10;
+        destino[posicao++] = (byte) ('0' + d);
+        destino[posicao++] = (byte) ('0' + e - 10 * d);
+        return posicao;
+    }
+    
+    /** floor(log10(2^e)) */
+    private static int flog10pow2(int e) {
+        return (int) (e * 661_971_961_083L >> 41);
+    }
+    
+    /** floor(log10(3/4 × 2^e)) */
+    private static int flog10threeQuartersPow2(int e) {
+        return (int) (e * 661_971_961_083L + -274_743_187_321L >> 41);
+    }
+    
+    /** floor(log2(10^e)) */
+    private static int flog2pow10(int e) {
+        return (int) (e * 913_124_641_741L >> 38);
+    }
+    
+    /**
+     * @return 64 bits mais altos do produto sem sinal de a e b
+     */
+    private static long multiplicarAlto(long a, long b) {
+        return Math.multiplyHigh(a, b) + ((a >> 63) & b) + ((b >> 63) & a);
+    }
+    
+    private static double lerComJdk(byte[] dados, int inicio, int fim) {
+        return Double.parseDouble(new String(dados, inicio, fim - inicio, StandardCharsets.ISO_8859_1));
+    }
+    
+    private static boolean ehDigito(byte b) {
+        return b >= '0' && b <= '9';
+    }
+    
+    private static boolean ehDigito(char c) {
+        return c >= '0' && c <= '9';
+    }
+    
+    /**
+     * Aproximações de 128 bits de 5^q, q em [-342, 308], normalizadas com o bit
+     * mais alto ligado: truncadas para q >= 0 e arredondadas para cima para q < 0,
+     * como na tabela da fast_float. Dois longs (alto, baixo) por potência.
+     */
+    private static final class TabelaEiselLemire {
+        
+        static final long[] POTENCIAS_CINCO = new long[2 * (MAIOR_POTENCIA_DEZ - MENOR_POTENCIA_DEZ + 1)];
+        
+        static {
+            BigInteger cinco = BigInteger.valueOf(5);
+            for (int q = MENOR_POTENCIA_DEZ; q <= MAIOR_POTENCIA_DEZ; q++) {
+                BigInteger valor;
+                if (q >= 0) {
+                    valor = normalizar(cinco.pow(q), 128);
+                } else {
+                    BigInteger potencia = cinco.pow(-q);
+                    int z = potencia.bitLength();
+                    int b = q >= -27 ? z + 127 : 2 * z + 128;
+                    valor = normalizar(BigInteger.ONE.shiftLeft(b).divide(potencia).add(BigInteger.ONE), 128);
+                }
+                int indice = 2 * (q - MENOR_POTENCIA_DEZ);
+                POTENCIAS_CINCO[indice] = valor.shiftRight(64).longValue();
+                POTENCIAS_CINCO[indice + 1] = valor.longValue();
+            }
+        }
+        
+        /**
+         * Desloca o valor para que ele tenha exatamente o número de bits informado (truncando).
+         */
+        private static BigInteger normalizar(BigInteger valor, int bits) {
+            int excesso = valor.bitLength() - bits;
+            return excesso >= 0 ? valor.shiftRight(excesso) : valor.shiftLeft(-excesso);
+        }
+    }
+    
+    /**
+     * Para k em [K_MIN, K_MAX], g = floor(10^-k × 2^-r) + 1, com r tal que
+     * 2^125 <= 10^-k × 2^-r < 2^126; guardado como g1 = g / 2^63 e g0 = g mod 2^63.
+     */
+    private static final class TabelaSchubfach {
+        
+        static final long[] G = new long[2 * (K_MAX - K_MIN + 1)];
+        
+        static {
+            BigInteger dez = BigInteger.TEN;
+            BigInteger mascara63 = BigInteger.ONE.shiftLeft(63).subtract(BigInteger.ONE);
+            for (int k = K_MIN; k <= K_MAX; k++) {
+                // -r = 125 - floor(log2(10^-k))
+                int menosR = 125 - flog2pow10(-k);
+                BigInteger beta = k <= 0
+                    ? dez.pow(-k).shiftLeft(menosR)
+                    : BigInteger.ONE.shiftLeft(menosR).divide(dez.pow(k));
+                BigInteger g = beta.add(BigInteger.ONE);
+                G[(k - K_MIN) << 1] = g.shiftRight(63).longValue();
+                G[(k - K_MIN) << 1 | 1] = g.and(mascara63).longValue();
+            }
+        }
+    }
+}
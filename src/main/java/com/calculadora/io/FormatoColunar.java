@@ -0,0 +1,246 @@
+package com.calculadora.io;
+
+import com.calculadora.model.Lotes;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Formato binário colunar para lotes de operandos e resultados.
+ * Todos os números são little-endian e as colunas começam em posições múltiplas de 8.
+ * 
+ * Arquivo de entrada:
+ * <pre>
+ * 0   4 bytes  assinatura "CALB"
+ * 4   u16      versão do formato
+ * 6   u16      número de símbolos
+ * 8   i64      número de linhas
+ * 16  ...      tabela de símbolos: para cada um, u8 tamanho + bytes UTF-8
+ *     ...      coluna de códigos: u8 por linha, índice na tabela de símbolos
+ *     ...      coluna A: f64 por linha
+ *     ...      coluna B: f64 por linha
+ * </pre>
+ * 
+ * Arquivo de resultados:
+ * <pre>
+ * 0   4 bytes  assinatura "CALR"
+ * 4   u16      versão do formato
+ * 6   u16      reservado
+ * 8   i64      número de linhas
+ * 16  ...      coluna de resultados: f64 por linha
+ *     ...      coluna de situação: u8 por linha (ver constantes SITUACAO_*)
+ * </pre>
+ */
+public final class FormatoColunar {
+    
+    /** Versão atual do formato. Leitores recusam versões mais novas que a sua. */
+    public static final int VERSAO = 1;
+    
+    static final int ASSINATURA_ENTRADA = 0x424C4143; // "CALB" em little-endian
+    static final int ASSINATURA_RESULTADO = 0x524C4143; // "CALR" em little-endian
+    static final int TAMANHO_CABECALHO_RESULTADO = 16;
+    
+    /** Situação de uma linha calculada com sucesso. */
+    public static final byte SITUACAO_OK = Lotes.SITUACAO_OK;
+    /** Situação de uma linha cujo cálculo falhou (ex.: divisão por zero). */
+    public static final byte SITUACAO_ERRO_ARITMETICO = Lotes.SITUACAO_ERRO_ARITMETICO;
+    /** Situação de uma linha cujo símbolo não existe no registro. */
+    public static final byte SITUACAO_OPERACAO_INVALIDA = Lotes.SITUACAO_OPERACAO_INVALIDA;
+    
+    private FormatoColunar() {
+    }
+    
+    /**
+     * Cabeçalho lido de um arquivo de entrada, com as posições de cada coluna.
+     */
+    public static final class Cabecalho {
+        
+        private final int versao;
+        private final String[] simbolos;
+        private final long linhas;
+        private final long posicaoCodigos;
+        private final long posicaoA;
+        private final long posicaoB;
+        
+        Cabecalho(int versao, String[] simbolos, long linhas, long posicaoCodigos) {
+            this.versao = versao;
+            this.simbolos = simbolos;
+            this.linhas = linhas;
+            this.posicaoCodigos = posicaoCodigos;
+            this.posicaoA = alinhar(posicaoCodigos + linhas);
+            this.posicaoB = posicaoA + linhas * Double.BYTES;
+        }
+        
+        public int getVersao() {
+            return versao;
+        }
+        
+        public String[] getSimbolos() {
+            return simbolos.clone();
+        }
+        
+        public long getLinhas() {
+            return linhas;
+        }
+        
+        long getPosicaoCodigos() {
+            return posicaoCodigos;
+        }
+        
+        long getPosicaoA() {
+            return posicaoA;
+        }
+        
+        long getPosicaoB() {
+            return posicaoB;
+        }
+        
+        long getTamanhoArquivo() {
+            return posicaoB + linhas * Double.BYTES;
+        }
+    }
+    
+    /**
+     * Lê e valida o cabeçalho de um arquivo de entrada.
+     * 
+     * @param canal canal do arquivo
+     * @return cabeçalho com as posições das colunas
+     * @throws IOException se o arquivo não estiver no formato ou usar uma versão não suportada
+     */
+    public static Cabecalho lerCabecalho(FileChannel canal) throws IOException {
+        ByteBuffer fixo = ByteBuffer.allocate(16).order(ByteOrder.LITTLE_ENDIAN);
+        lerCompleto(canal, fixo, 0);
+        if (fixo.getInt(0) != ASSINATURA_ENTRADA) {
+            throw new IOException("Arquivo não está no formato colunar da calculadora!");
+        }
+        int versao = Short.toUnsignedInt(fixo.getShort(4));
+        if (versao > VERSAO) {
+            throw new IOException("Versão " + versao + " do formato não suportada (máxima: " + VERSAO + ")!");
+        }
+        int numeroSimbolos = Short.toUnsignedInt(fixo.getShort(6));
+        if (numeroSimbolos > 256) {
+            throw new IOException("Número de símbolos inválido: " + numeroSimbolos);
+        }
+        long linhas = fixo.getLong(8);
+        if (linhas < 0) {
+            throw new IOException("Número de linhas inválido: " + linhas);
+        }
+        
+        String[] simbolos = new String[numeroSimbolos];
+        long posicao = 16;
+        ByteBuffer tamanho = ByteBuffer.allocate(1);
+        for (int i = 0; i < numeroSimbolos; i++) {
+            tamanho.clear();
+            lerCompleto(canal, tamanho, posicao);
+            int bytes = Byte.toUnsignedInt(tamanho.get(0));
+            ByteBuffer simbolo = ByteBuffer.allocate(bytes);
+            lerCompleto(canal, simbolo, posicao + 1);
+            simbolos[i] = new String(simbolo.array(), StandardCharsets.UTF_8);
+            posicao += 1 + bytes;
+        }
+        
+        // Cada linha ocupa um código e dois doubles, mais até 7 bytes de alinhamento da coluna A;
+        // um valor maior que isso estouraria o cálculo do tamanho esperado do arquivo
+        long posicaoCodigos = alinhar(posicao);
+        if (linhas > (Long.MAX_VALUE - posicaoCodigos - 7) / (1 + 2 * Double.BYTES)) {
+            throw new IOException("Número de linhas inválido: " + linhas);
+        }
+        Cabecalho cabecalho = new Cabecalho(versao, simbolos, linhas, posicaoCodigos);
+        if (canal.size() < cabecalho.getTamanhoArquivo()) {
+            throw new IOException("Arquivo truncado: esperados " + cabecalho.getTamanhoArquivo()
+                + " bytes, encontrados " + canal.size());
+        }
+        return cabecalho;
+    }
+    
+    /**
+     * Escreve um arquivo de entrada a partir de vetores em memória.
+     * 
+     * @param arquivo caminho do arquivo (sobrescrito se existir)
+     * @param simbolos tabela de símbolos (no máximo 256)
+     * @param codigos índice na tabela de símbolos, por linha
+     * @param a coluna A
+     * @param b coluna B
+     * @throws IOException em caso de erro de escrita
+     */
+    public static void escreverEntrada(Path arquivo, String[] simbolos, byte[] codigos, double[] a, double[] b)
+            throws IOException {
+        if (simbolos.length > 256) {
+            throw new IllegalArgumentException("O formato aceita no máximo 256 símbolos!");
+        }
+        if (codigos.length != a.length || a.length != b.length) {
+            throw new IllegalArgumentException("As colunas devem ter o mesmo tamanho!");
+        }
+        
+        ByteBuffer cabecalho = ByteBuffer.allocate(16 + simbolos.length * 256).order(ByteOrder.LITTLE_ENDIAN);
+        cabecalho.putInt(ASSINATURA_ENTRADA);
+        cabecalho.putShort((short) VERSAO);
+        cabecalho.putShort((short) simbolos.length);
+        cabecalho.putLong(codigos.length);
+        for (String simbolo : simbolos) {
+            byte[] bytes = simbolo.getBytes(StandardCharsets.UTF_8);
+            if (bytes.length > 255) {
+                throw new IllegalArgumentException("Símbolo muito longo: " + simbolo);
+            }
+            cabecalho.put((byte) bytes.length);
+            cabecalho.put(bytes);
+        }
+        cabecalho.position((int) alinhar(cabecalho.position()));
+        cabecalho.flip();
+        
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            escreverCompleto(canal, cabecalho);
+            ByteBuffer colunaCodigos = ByteBuffer.allocate((int) alinhar(codigos.length));
+            colunaCodigos.put(codigos).clear();
+            escreverCompleto(canal, colunaCodigos);
+            escreverCompleto(canal, colunaDoubles(a));
+            escreverCompleto(canal, colunaDoubles(b));
+        }
+    }
+    
+    private static ByteBuffer colunaDoubles(double[] valores) {
+        ByteBuffer coluna = ByteBuffer.allocate(valores.length * Double.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        coluna.asDoubleBuffer().put(valores);
+        return coluna;
+    }
+    
+    static ByteBuffer cabecalhoResultado(long linhas) {
+        ByteBuffer cabecalho = ByteBuffer.allocate(TAMANHO_CABECALHO_RESULTADO).order(ByteOrder.LITTLE_ENDIAN);
+        cabecalho.putInt(ASSINATURA_RESULTADO);
+        cabecalho.putShort((short) VERSAO);
+        cabecalho.putShort((short) 0);
+        cabecalho.putLong(linhas);
+        cabecalho.flip();
+        return cabecalho;
+    }
+    
+    /**
+     * @return posição da coluna de situação em um arquivo de resultados
+     */
+    static long posicaoSituacao(long linhas) {
+        return TAMANHO_CABECALHO_RESULTADO + linhas * Double.BYTES;
+    }
+    
+    static long alinhar(long posicao) {
+        return (posicao + 7) & ~7L;
+    }
+    
+    private static void lerCompleto(FileChannel canal, ByteBuffer destino, long posicao) throws IOException {
+        while (destino.hasRemaining()) {
+            if (canal.read(destino, posicao + destino.position()) < 0) {
+                throw new IOException("Fim inesperado do arquivo!");
+            }
+        }
+    }
+    
+    private static void escreverCompleto(FileChannel canal, ByteBuffer origem) throws IOException {
+        while (origem.hasRemaining()) {
+            canal.write(origem);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.calculadora.io;
+
+import com.calculadora.controller.CalculadoraController;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Avalia arquivos no {@link FormatoColunar} usando {@link FileChannel#map}.
+ * 
+ * O arquivo é percorrido em janelas de tamanho fixo, de modo que arquivos
+ * maiores que o heap possam ser processados. Em cada janela, sequências de
+ * linhas com a mesma operação são calculadas de uma vez pela API em lote com
+ * situação do controller, que marca as linhas com falha sem lançar exceções.
+ */
+public class ProcessadorColunar {
+    
+    /** Número padrão de linhas por janela mapeada. */
+    public static final int LINHAS_POR_JANELA_PADRAO = 1 << 20;
+    
+    private final CalculadoraController controller;
+    private final int linhasPorJanela;
+    
+    private long erros;
+    
+    public ProcessadorColunar(CalculadoraController controller) {
+        this(controller, LINHAS_POR_JANELA_PADRAO);
+    }
+    
+    /**
+     * @param controller controller que executa as operações
+     * @param linhasPorJanela número de linhas mapeadas e copiadas por vez
+     */
+    public ProcessadorColunar(CalculadoraController controller, int linhasPorJanela) {
+        if (linhasPorJanela <= 0) {
+            throw new IllegalArgumentException("A janela deve ter ao menos uma linha!");
+        }
+        this.controller = controller;
+        this.linhasPorJanela = linhasPorJanela;
+    }
+    
+    /**
+     * Avalia o arquivo de entrada e grava o arquivo de resultados.
+     * 
+     * @param arquivoEntrada arquivo no formato colunar
+     * @param arquivoResultado arquivo de resultados (sobrescrito se existir)
+     * @return número de linhas processadas
+     * @throws IOException em caso de erro de leitura, escrita ou formato
+     */
+    public long processar(Path arquivoEntrada, Path arquivoResultado) throws IOException {
+        try (FileChannel entrada = FileChannel.open(arquivoEntrada, StandardOpenOption.READ);
+             FileChannel saida = FileChannel.open(arquivoResultado, StandardOpenOption.CREATE,
+                 StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            
+            erros = 0;
+            FormatoColunar.Cabecalho cabecalho = FormatoColunar.lerCabecalho(entrada);
+            long linhas = cabecalho.getLinhas();
+            int[] codigosOperacao = resolverSimbolos(cabecalho.getSimbolos());
+            
+            saida.write(FormatoColunar.cabecalhoResultado(linhas), 0);
+            long posicaoSituacao = FormatoColunar.posicaoSituacao(linhas);
+            
+            int tamanhoJanela = (int) Math.min(linhasPorJanela, Math.max(linhas, 1));
+            byte[] codigos = new byte[tamanhoJanela];
+            double[] a = new double[tamanhoJanela];
+            double[] b = new double[tamanhoJanela];
+            double[] resultado = new double[tamanhoJanela];
+            byte[] situacao = new byte[tamanhoJanela];
+            
+            for (long inicio = 0; inicio < linhas; inicio += tamanhoJanela) {
+                int n = (int) Math.min(tamanhoJanela, linhas - inicio);
+                
+                entrada.map(FileChannel.MapMode.READ_ONLY, cabecalho.getPosicaoCodigos() + inicio, n)
+                    .get(codigos, 0, n);
+                mapearDoubles(entrada, FileChannel.MapMode.READ_ONLY, cabecalho.getPosicaoA() + inicio * Double.BYTES, n)
+                    .asDoubleBuffer().get(a, 0, n);
+                mapearDoubles(entrada, FileChannel.MapMode.READ_ONLY, cabecalho.getPosicaoB() + inicio * Double.BYTES, n)
+                    .asDoubleBuffer().get(b, 0, n);
+                
+                avaliarJanela(codigosOperacao, codigos, a, b, resultado, situacao, n);
+                
+                mapearDoubles(saida, FileChannel.MapMode.READ_WRITE,
+                    FormatoColunar.TAMANHO_CABECALHO_RESULTADO + inicio * Double.BYTES, n)
+                    .asDoubleBuffer().put(resultado, 0, n);
+                saida.map(FileChannel.MapMode.READ_WRITE, posicaoSituacao + inicio, n)
+                    .put(situacao, 0, n);
+            }
+            return linhas;
+        }
+    }
+    
+    private static MappedByteBuffer mapearDoubles(FileChannel canal, FileChannel.MapMode modo, long posicao, int n)
+            throws IOException {
+        MappedByteBuffer mapa = canal.map(modo, posicao, (long) n * Double.BYTES);
+        mapa.order(ByteOrder.LITTLE_ENDIAN);
+        return mapa;
+    }
+    
+    /**
+     * Converte a tabela de símbolos do arquivo em códigos do controller (-1 se o símbolo não existir).
+     */
+    private int[] resolverSimbolos(String[] simbolos) {
+        int[] codigos = new int[256];
+        Arrays.fill(codigos, -1);
+        for (int i = 0; i < simbolos.length; i++) {
+            try {
+                codigos[i] = controller.resolverCodigo(simbolos[i]);
+            } catch (IllegalArgumentException e) {
+                // símbolo sem operação: as linhas que o usam ficam como operação inválida
+            }
+        }
+        return codigos;
+    }
+    
+    private void avaliarJanela(int[] codigosOperacao, byte[] codigos, double[] a, double[] b,
+                               double[] resultado, byte[] situacao, int n) {
+        int inicio = 0;
+        while (inicio < n) {
+            // Sequência de linhas com o mesmo código
+            int fim = inicio + 1;
+            while (fim < n && codigos[fim] == codigos[inicio]) {
+                fim++;
+            }
+            
+            int codigo = codigosOperacao[Byte.toUnsignedInt(codigos[inicio])];
+            if (codigo < 0) {
+                Arrays.fill(resultado, inicio, fim, Double.NaN);
+                Arrays.fill(situacao, inicio, fim, FormatoColunar.SITUACAO_OPERACAO_INVALIDA);
+                erros += fim - inicio;
+            } else {
+                erros += controller.executarOperacao(codigo, a, b, resultado, situacao, inicio, fim - inicio);
+            }
+            inicio = fim;
+        }
+    }
+    
+    /**
+     * @return número de linhas que resultaram em erro no último processamento
+     */
+    public long getErros() {
+        return erros;
+    }
+}
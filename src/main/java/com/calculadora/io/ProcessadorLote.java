@@ -0,0 +1,248 @@
+package com.calculadora.io;
+
+import com.calculadora.controller.CalculadoraController;
+import com.calculadora.controller.PoliticaErro;
+import com.calculadora.controller.ResultadoOperacao;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Processa, em fluxo, linhas no formato {@code 12.5 * 3} (ou colunas CSV como
+ * {@code 12.5,*,3}) usando o controller, e escreve um resultado por linha.
+ * 
+ * A entrada é lida em blocos grandes e analisada diretamente nos bytes, sem
+ * criar uma String por campo; a saída é acumulada em um buffer e escrita em
+ * blocos. A memória usada é fixa, independente do tamanho da entrada.
+ * Linhas inválidas ou com erro de cálculo geram uma linha {@code ERRO: ...}
+ * e não interrompem o processamento. Linhas em branco são repetidas em branco.
+ */
+public class ProcessadorLote {
+    
+    /** Tamanho padrão dos buffers de leitura e escrita (1 MiB). */
+    public static final int TAMANHO_BUFFER_PADRAO = 1 << 20;
+    
+    /** Espaço máximo ocupado por um resultado ou mensagem de erro na saída. */
+    public static final int MAXIMO_POR_LINHA = 256;
+    
+    private static final byte[] ERRO_NUMERO_INVALIDO = "ERRO: número inválido".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] ERRO_CONTEUDO_INESPERADO =
+        "ERRO: conteúdo inesperado após o segundo operando".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] ERRO_ARITMETICO = "ERRO: falha aritmética".getBytes(StandardCharsets.UTF_8);
+    
+    private final CalculadoraController controller;
+    private final int tamanhoBuffer;
+    
+    private final TabelaSimbolos simbolos;
+    private final ResultadoOperacao resultado = new ResultadoOperacao();
+    
+    private long linhas;
+    private long erros;
+    
+    public ProcessadorLote(CalculadoraController controller) {
+        this(controller, TAMANHO_BUFFER_PADRAO);
+    }
+    
+    /**
+     * @param controller controller que executa as operações
+     * @param tamanhoBuffer tamanho dos buffers de leitura e escrita, que limita também o tamanho de uma linha
+     */
+    public ProcessadorLote(CalculadoraController controller, int tamanhoBuffer) {
+        if (tamanhoBuffer < MAXIMO_POR_LINHA) {
+            throw new IllegalArgumentException("O buffer deve ter ao menos " + MAXIMO_POR_LINHA + " bytes!");
+        }
+        this.controller = controller;
+        this.tamanhoBuffer = tamanhoBuffer;
+        this.simbolos = new TabelaSimbolos(controller);
+    }
+    
+    /**
+     * Processa toda a entrada, até o fim do canal.
+     * 
+     * @param entrada canal de leitura
+     * @param saida canal de escrita
+     * @throws IOException em caso de erro de leitura ou escrita
+     */
+    public void processar(ReadableByteChannel entrada, WritableByteChannel saida) throws IOException {
+        ByteBuffer leitura = ByteBuffer.allocate(tamanhoBuffer);
+        ByteBuffer escrita = ByteBuffer.allocate(tamanhoBuffer);
+        byte[] dados = leitura.array();
+        byte[] destino = escrita.array();
+        boolean descartandoLinhaLonga = false;
+        boolean fimDaEntrada = false;
+        
+        while (!fimDaEntrada) {
+            fimDaEntrada = entrada.read(leitura) < 0;
+            int limite = leitura.position();
+            int inicioLinha = 0;
+            
+            for (int i = 0; i < limite; i++) {
+                if (dados[i] != '\n') {
+                    continue;
+                }
+                if (descartandoLinhaLonga) {
+                    descartandoLinhaLonga = false;
+                } else {
+                    garantirEspaco(escrita, saida);
+                    escrita.position(processarLinha(dados, inicioLinha, i, destino, escrita.position()));
+                }
+                inicioLinha = i + 1;
+            }
+            
+            if (fimDaEntrada && inicioLinha < limite && !descartandoLinhaLonga) {
+                // Última linha sem quebra de linha
+                garantirEspaco(escrita, saida);
+                escrita.position(processarLinha(dados, inicioLinha, limite, destino, escrita.position()));
+                inicioLinha = limite;
+            }
+            
+            if (inicioLinha == 0 && limite == dados.length) {
+                // A linha não cabe no buffer: reporta o erro e descarta até a próxima quebra
+                if (!descartandoLinhaLonga) {
+                    garantirEspaco(escrita, saida);
+                    escrita.position(escreverErro("linha maior que " + tamanhoBuffer + " bytes",
+                        destino, escrita.position()));
+                    descartandoLinhaLonga = true;
+                }
+                inicioLinha = limite;
+            }
+            
+            // Move o resto da linha incompleta para o início do buffer
+            leitura.position(inicioLinha);
+            leitura.limit(limite);
+            leitura.compact();
+        }
+        
+        escrita.flip();
+        while (escrita.hasRemaining()) {
+            saida.write(escrita);
+        }
+    }
+    
+    /**
+     * Analisa e calcula uma linha, escrevendo o resultado seguido de quebra de linha.
+     * 
+     * @param dados bytes de entrada
+     * @param inicio início da linha
+     * @param fim fim da linha, sem a quebra de linha
+     * @param destino vetor de saída, com ao menos {@link #MAXIMO_POR_LINHA} bytes livres
+     * @param posicao posição de escrita
+     * @return nova posição de escrita
+     */
+    public int processarLinha(byte[] dados, int inicio, int fim, byte[] destino, int posicao) {
+        if (fim > inicio && dados[fim - 1] == '\r') {
+            fim--;
+        }
+        linhas++;
+        
+        int i = pularSeparadores(dados, inicio, fim);
+        if (i == fim) {
+            destino[posicao++] = '\n';
+            return posicao;
+        }
+        
+        try {
+            int fimA = CodecNumerico.fimNumero(dados, i, fim);
+            double a = CodecNumerico.lerDouble(dados, i, fimA);
+            
+            i = pularSeparadores(dados, fimA, fim);
+            int fimSimbolo = i;
+            while (fimSimbolo < fim && !ehSeparador(dados[fimSimbolo])
+                    && !(fimSimbolo > i && ehInicioNumero(dados[fimSimbolo]))) {
+                fimSimbolo++;
+            }
+            int codigo = simbolos.resolver(dados, i, fimSimbolo);
+            if (codigo < 0) {
+                return escreverErro("Operação '" + new String(dados, i, fimSimbolo - i, StandardCharsets.UTF_8)
+                    + "' não encontrada!", destino, posicao);
+            }
+            
+            i = pularSeparadores(dados, fimSimbolo, fim);
+            int fimB = CodecNumerico.fimNumero(dados, i, fim);
+            double b = CodecNumerico.lerDouble(dados, i, fimB);
+            if (pularSeparadores(dados, fimB, fim) != fim) {
+                return escreverErro(ERRO_CONTEUDO_INESPERADO, destino, posicao);
+            }
+            
+            // Sem exceções: linhas com falha aritmética são comuns em alguns lotes
+            if (!controller.executarOperacao(codigo, a, b, resultado)) {
+                return escreverFalha(codigo, a, b, destino, posicao);
+            }
+            posicao = CodecNumerico.escreverDouble(resultado.getValor(), destino, posicao);
+            destino[posicao++] = '\n';
+            return posicao;
+        } catch (NumberFormatException e) {
+            return escreverErro(ERRO_NUMERO_INVALIDO, destino, posicao);
+        }
+    }
+    
+    /**
+     * Na política {@link PoliticaErro#EXCECAO} a linha mostra a mensagem da exceção da
+     * operação, refazendo o cálculo com exceções; só as linhas com falha pagam por isso.
+     * Nas demais políticas, a mensagem é genérica.
+     */
+    private int escreverFalha(int codigo, double a, double b, byte[] destino, int posicao) {
+        if (controller.getPoliticaErro() == PoliticaErro.EXCECAO) {
+            try {
+                controller.executarOperacao(codigo, a, b);
+            } catch (ArithmeticException e) {
+                return escreverErro(e.getMessage(), destino, posicao);
+            }
+        }
+        return escreverErro(ERRO_ARITMETICO, destino, posicao);
+    }
+    
+    private int escreverErro(String mensagem, byte[] destino, int posicao) {
+        return escreverErro(("ERRO: " + mensagem).getBytes(StandardCharsets.UTF_8), destino, posicao);
+    }
+    
+    private int escreverErro(byte[] texto, byte[] destino, int posicao) {
+        erros++;
+        int tamanho = Math.min(texto.length, MAXIMO_POR_LINHA - 1);
+        System.arraycopy(texto, 0, destino, posicao, tamanho);
+        posicao += tamanho;
+        destino[posicao++] = '\n';
+        return posicao;
+    }
+    
+    private void garantirEspaco(ByteBuffer escrita, WritableByteChannel saida) throws IOException {
+        if (escrita.remaining() < MAXIMO_POR_LINHA) {
+            escrita.flip();
+            while (escrita.hasRemaining()) {
+                saida.write(escrita);
+            }
+            escrita.clear();
+        }
+    }
+    
+    private static int pularSeparadores(byte[] dados, int inicio, int fim) {
+        while (inicio < fim && ehSeparador(dados[inicio])) {
+            inicio++;
+        }
+        return inicio;
+    }
+    
+    private static boolean ehSeparador(byte b) {
+        return b == ' ' || b == '\t' || b == ',' || b == ';';
+    }
+    
+    private static boolean ehInicioNumero(byte b) {
+        return (b >= '0' && b <= '9') || b == '.';
+    }
+    
+    /**
+     * @return número de linhas processadas
+     */
+    public long getLinhas() {
+        return linhas;
+    }
+    
+    /**
+     * @return número de linhas que resultaram em erro
+     */
+    public long getErros() {
+        return erros;
+    }
+}
@@ -0,0 +1,95 @@
+package com.calculadora.io;
+
+import com.calculadora.controller.CalculadoraController;
+import com.calculadora.model.Operacao;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * Tabela que resolve símbolos de operação escritos em bytes UTF-8 para os
+ * códigos do controller, sem criar uma String por consulta.
+ * 
+ * A tabela acompanha o registro do controller: quando operações são
+ * registradas ou removidas (ex.: por plugins), ela é remontada na consulta
+ * seguinte. Enquanto o registro não muda, a verificação custa uma comparação
+ * de referências.
+ */
+public final class TabelaSimbolos {
+    
+    private final CalculadoraController controller;
+    private volatile Indice indice;
+    
+    public TabelaSimbolos(CalculadoraController controller) {
+        this.controller = controller;
+        this.indice = new Indice(controller);
+    }
+    
+    /**
+     * Resolve o símbolo em {@code dados[inicio, fim)}.
+     * 
+     * @param dados bytes de entrada
+     * @param inicio posição inicial
+     * @param fim limite (exclusivo)
+     * @return código da operação ou -1 se o símbolo não existir
+     */
+    public int resolver(byte[] dados, int inicio, int fim) {
+        Indice atual = indice;
+        if (atual.operacoes != controller.getOperacoes()) {
+            // Corrida benigna: duas threads montam índices equivalentes
+            atual = new Indice(controller);
+            indice = atual;
+        }
+        return atual.resolver(dados, inicio, fim);
+    }
+    
+    /**
+     * Retrato imutável dos símbolos de um registro.
+     */
+    private static final class Indice {
+        
+        // Mapa do registro de origem, comparado por referência para detectar mudanças
+        final Map<String, Operacao> operacoes;
+        // Símbolos do registro em bytes UTF-8 e, na mesma posição, o código da operação
+        final byte[][] simbolos;
+        final int[] codigos;
+        
+        Indice(CalculadoraController controller) {
+            this.operacoes = controller.getOperacoes();
+            String[] nomes = operacoes.keySet().toArray(new String[0]);
+            this.simbolos = new byte[nomes.length][];
+            this.codigos = new int[nomes.length];
+            for (int i = 0; i < nomes.length; i++) {
+                simbolos[i] = nomes[i].getBytes(StandardCharsets.UTF_8);
+                codigos[i] = codigo(controller, nomes[i]);
+            }
+        }
+        
+        // Um símbolo removido depois da leitura do mapa fica sem código; o índice
+        // já está desatualizado e será remontado na próxima consulta
+        private static int codigo(CalculadoraController controller, String simbolo) {
+            try {
+                return controller.resolverCodigo(simbolo);
+            } catch (IllegalArgumentException e) {
+                return -1;
+            }
+        }
+        
+        int resolver(byte[] dados, int inicio, int fim) {
+            int tamanho = fim - inicio;
+            for (int s = 0; s < simbolos.length; s++) {
+                byte[] simbolo = simbolos[s];
+                if (simbolo.length != tamanho) {
+                    continue;
+                }
+                int k = 0;
+                while (k < tamanho && simbolo[k] == dados[inicio + k]) {
+                    k++;
+                }
+                if (k == tamanho) {
+                    return codigos[s];
+                }
+            }
+            return -1;
+        }
+    }
+}
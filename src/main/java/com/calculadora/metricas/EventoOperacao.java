@@ -0,0 +1,33 @@
+package com.calculadora.metricas;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento do JDK Flight Recorder emitido para cada chamada medida de uma operação.
+ * Desativado por padrão; habilite com uma configuração do JFR, por exemplo:
+ * <pre>
+ * java -XX:StartFlightRecording:filename=calc.jfr,+com.calculadora.Operacao#enabled=true ...
+ * </pre>
+ */
+@Name("com.calculadora.Operacao")
+@Label("Operação da Calculadora")
+@Category("Calculadora")
+@Description("Execução de uma operação, individual ou em lote")
+@StackTrace(false)
+class EventoOperacao extends Event {
+    
+    @Label("Símbolo")
+    String simbolo;
+    
+    @Label("Quantidade")
+    @Description("Número de elementos calculados (1 fora do modo em lote)")
+    int quantidade;
+    
+    @Label("Erro")
+    boolean erro;
+}
@@ -0,0 +1,148 @@
+package com.calculadora.metricas;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histograma de latências sem bloqueios, com baldes log-lineares.
+ * Valores até 63 ns são exatos; acima disso cada potência de 2 é dividida em
+ * 32 baldes, o que limita o erro relativo dos percentis a cerca de 3%.
+ * Registrar um valor é um único incremento atômico, seguro entre threads.
+ */
+public class HistogramaLatencia {
+    
+    private static final int BITS_SUB_BALDE = 5;
+    private static final int SUB_BALDES = 1 << BITS_SUB_BALDE;
+    private static final int LIMITE_EXATO = 2 * SUB_BALDES;
+    private static final int BALDES = LIMITE_EXATO + (63 - BITS_SUB_BALDE - 1) * SUB_BALDES;
+    
+    private final AtomicLongArray contagens = new AtomicLongArray(BALDES);
+    
+    /**
+     * Registra uma latência.
+     * 
+     * @param nanos latência em nanossegundos (valores negativos contam como zero)
+     */
+    public void registrar(long nanos) {
+        contagens.incrementAndGet(balde(Math.max(nanos, 0)));
+    }
+    
+    /**
+     * Registra uma latência várias vezes.
+     * 
+     * @param nanos latência em nanossegundos
+     * @param vezes número de ocorrências
+     */
+    public void registrar(long nanos, long vezes) {
+        contagens.addAndGet(balde(Math.max(nanos, 0)), vezes);
+    }
+    
+    /**
+     * Soma as contagens de outro histograma a este.
+     * 
+     * @param outro histograma de origem
+     */
+    public void somar(HistogramaLatencia outro) {
+        for (int i = 0; i < BALDES; i++) {
+            long contagem = outro.contagens.get(i);
+            if (contagem != 0) {
+                contagens.addAndGet(i, contagem);
+            }
+        }
+    }
+    
+    /**
+     * @return número total de valores registrados
+     */
+    public long getTotal() {
+        long total = 0;
+        for (int i = 0; i < BALDES; i++) {
+            total += contagens.get(i);
+        }
+        return total;
+    }
+    
+    /**
+     * Retorna o percentil informado.
+     * 
+     * @param percentil entre 0 e 100
+     * @return limite superior do balde que contém o percentil, em nanossegundos; zero se vazio
+     */
+    public long percentil(double percentil) {
+        long total = getTotal();
+        if (total == 0) {
+            return 0;
+        }
+        long alvo = Math.max(1, (long) Math.ceil(total * percentil / 100.0));
+        long acumulado = 0;
+        for (int i = 0; i < BALDES; i++) {
+            acumulado += contagens.get(i);
+            if (acumulado >= alvo) {
+                return limiteSuperior(i);
+            }
+        }
+        return limiteSuperior(BALDES - 1);
+    }
+    
+    /**
+     * @return média aproximada (pelo ponto médio dos baldes), em nanossegundos
+     */
+    public double media() {
+        long total = 0;
+        double soma = 0;
+        for (int i = 0; i < BALDES; i++) {
+            long contagem = contagens.get(i);
+            if (contagem != 0) {
+                total += contagem;
+                soma += contagem * ((limiteInferior(i) + limiteSuperior(i)) / 2.0);
+            }
+        }
+        return total == 0 ? 0 : soma / total;
+    }
+    
+    /**
+     * @return maior latência registrada (limite superior do seu balde), em nanossegundos
+     */
+    public long maximo() {
+        for (int i = BALDES - 1; i >= 0; i--) {
+            if (contagens.get(i) != 0) {
+                return limiteSuperior(i);
+            }
+        }
+        return 0;
+    }
+    
+    /**
+     * Zera todas as contagens.
+     */
+    public void zerar() {
+        for (int i = 0; i < BALDES; i++) {
+            contagens.set(i, 0);
+        }
+    }
+    
+    static int balde(long valor) {
+        if (valor < LIMITE_EXATO) {
+            return (int) valor;
+        }
+        int expoente = 63 - Long.numberOfLeadingZeros(valor);
+        int subBalde = (int) (valor >>> (expoente - BITS_SUB_BALDE)) & (SUB_BALDES - 1);
+        return LIMITE_EXATO + (expoente - BITS_SUB_BALDE - 1) * SUB_BALDES + subBalde;
+    }
+    
+    static long limiteInferior(int balde) {
+        if (balde < LIMITE_EXATO) {
+            return balde;
+        }
+        int expoente = (balde - LIMITE_EXATO) / SUB_BALDES + BITS_SUB_BALDE + 1;
+        int subBalde = (balde - LIMITE_EXATO) % SUB_BALDES;
+        return (1L << expoente) | ((long) subBalde << (expoente - BITS_SUB_BALDE));
+    }
+    
+    static long limiteSuperior(int balde) {
+        if (balde < LIMITE_EXATO) {
+            return balde;
+        }
+        int expoente = (balde - LIMITE_EXATO) / SUB_BALDES + BITS_SUB_BALDE + 1;
+        return limiteInferior(balde) + (1L << (expoente - BITS_SUB_BALDE)) - 1;
+    }
+}
@@ -0,0 +1,403 @@
+package com.calculadora.metricas;
+
+import com.calculadora.model.Operacao;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToDoubleFunction;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Métricas por operação: chamadas, erros e histograma de latência, indexados
+ * pelo código da operação no registro.
+ * 
+ * Os contadores são {@link LongAdder}s, que espalham os incrementos entre
+ * células para não disputar a mesma linha de cache entre threads. Quando as
+ * métricas estão desativadas o custo no caminho quente é a leitura de um
+ * campo volatile em {@link #isAtiva()}; o controller só chama os métodos de
+ * medição quando ela retorna true. Cada chamada medida também emite um
+ * {@link EventoOperacao} do JFR, se o evento estiver habilitado na gravação.
+ * 
+ * A ativação inicial vem da propriedade {@code calculadora.metricas}
+ * ({@code -Dcalculadora.metricas=true}); depois pode ser trocada em tempo de
+ * execução por {@link #setAtiva(boolean)}, inclusive via JMX.
+ * 
+ * Os erros são contados por elemento, do mesmo modo em todas as políticas de
+ * erro: um elemento falha quando {@link Operacao#executar(double, double)}
+ * lança {@link ArithmeticException} para os seus operandos, como na situação
+ * {@code SITUACAO_ERRO_ARITMETICO} dos lotes. Nos caminhos sem exceções, só os
+ * resultados não finitos (o valor IEEE 754 de uma falha) são verificados.
+ * 
+ * Quando o registro de operações muda, {@link #atualizar(Collection)} troca os
+ * vetores por cópias ampliadas que reaproveitam os contadores existentes, de
+ * modo que nenhuma contagem se perde e as medições em andamento não esperam.
+ */
+public class MetricasOperacoes implements MetricasOperacoesMXBean {
+    
+    /** Propriedade de sistema que ativa as métricas na criação. */
+    public static final String PROPRIEDADE_ATIVA = "calculadora.metricas";
+    
+    // Vetores indexados pelo código; trocados inteiros em atualizar(), com null nos códigos vagos
+    private volatile Operacao[] operacoes;
+    private volatile LongAdder[] chamadas;
+    private volatile LongAdder[] erros;
+    
+    // Criados na primeira ativação: cada histograma ocupa alguns KiB
+    private volatile HistogramaLatencia[] latencias;
+    
+    private volatile boolean ativa;
+    
+    /**
+     * @param operacoes operações registradas, na ordem dos códigos
+     */
+    public MetricasOperacoes(Collection<? extends Operacao> operacoes) {
+        this.operacoes = operacoes.toArray(new Operacao[0]);
+        this.chamadas = ampliar(new LongAdder[0], this.operacoes.length);
+        this.erros = ampliar(new LongAdder[0], this.operacoes.length);
+        setAtiva(Boolean.getBoolean(PROPRIEDADE_ATIVA));
+    }
+    
+    private static LongAdder[] ampliar(LongAdder[] contadores, int quantidade) {
+        LongAdder[] novos = Arrays.copyOf(contadores, Math.max(quantidade, contadores.length));
+        for (int i = contadores.length; i < novos.length; i++) {
+            novos[i] = new LongAdder();
+        }
+        return novos;
+    }
+    
+    /**
+     * Acompanha um novo conjunto de operações, mantendo os contadores dos códigos existentes.
+     * 
+     * @param operacoes operações na ordem dos códigos, com null nos códigos vagos
+     */
+    public synchronized void atualizar(Collection<? extends Operacao> operacoes) {
+        Operacao[] novas = operacoes.toArray(new Operacao[0]);
+        HistogramaLatencia[] histogramas = latencias;
+        if (histogramas != null && histogramas.length < novas.length) {
+            HistogramaLatencia[] ampliados = Arrays.copyOf(histogramas, novas.length);
+            for (int i = histogramas.length; i < ampliados.length; i++) {
+                ampliados[i] = new HistogramaLatencia();
+            }
+            latencias = ampliados;
+        }
+        chamadas = ampliar(chamadas, novas.length);
+        erros = ampliar(erros, novas.length);
+        this.operacoes = novas;
+    }
+    
+    @Override
+    public boolean isAtiva() {
+        return ativa;
+    }
+    
+    @Override
+    public synchronized void setAtiva(boolean ativa) {
+        if (ativa && latencias == null) {
+            HistogramaLatencia[] novos = new HistogramaLatencia[chamadas.length];
+            for (int i = 0; i < novos.length; i++) {
+                novos[i] = new HistogramaLatencia();
+            }
+            latencias = novos;
+        }
+        // A escrita volatile publica os histogramas para as threads que virem ativa == true
+        this.ativa = ativa;
+    }
+    
+    /**
+     * Executa e mede uma operação.
+     * 
+     * @param codigo código da operação no registro
+     * @param operacao operação a executar
+     * @param a primeiro operando
+     * @param b segundo operando
+     * @return resultado da operação
+     */
+    public double executar(int codigo, Operacao operacao, double a, double b) {
+        EventoOperacao evento = new EventoOperacao();
+        evento.begin();
+        long inicio = System.nanoTime();
+        int falhas = 1;
+        try {
+            double resultado = operacao.executar(a, b);
+            falhas = 0;
+            return resultado;
+        } finally {
+            registrar(codigo, System.nanoTime() - inicio, 1, falhas, evento);
+        }
+    }
+    
+    /**
+     * Executa e mede uma operação em lote. A latência registrada é a média por elemento.
+     * Se o lote falhar, os elementos são verificados um a um para contar as falhas.
+     * 
+     * @param codigo código da operação no registro
+     * @param operacao operação a executar
+     * @param a primeiros operandos
+     * @param b segundos operandos
+     * @param resultado vetor que recebe os resultados
+     * @param inicio índice inicial
+     * @param quantidade número de elementos
+     */
+    public void executar(int codigo, Operacao operacao, double[] a, double[] b, double[] resultado,
+                         int inicio, int quantidade) {
+        EventoOperacao evento = new EventoOperacao();
+        evento.begin();
+        double[] operandosA = operandos(a, resultado, inicio, quantidade);
+        double[] operandosB = operandos(b, resultado, inicio, quantidade);
+        long comeco = System.nanoTime();
+        int falhas = 1;
+        try {
+            operacao.executar(a, b, resultado, inicio, quantidade);
+            falhas = 0;
+        } catch (ArithmeticException e) {
+            falhas = Math.max(1, contarFalhas(operacao, operandosA, operandosB, null, inicio, quantidade));
+            throw e;
+        } finally {
+            registrar(codigo, System.nanoTime() - comeco, quantidade, falhas, evento);
+        }
+    }
+    
+    /**
+     * Executa e mede uma operação sem exceções por falhas aritméticas
+     * (ver {@link Operacao#executarIEEE(double, double)}). Um resultado não
+     * finito conta como erro se o cálculo com exceções falhar.
+     * 
+     * @param codigo código da operação no registro
+     * @param operacao operação a executar
+     * @param a primeiro operando
+     * @param b segundo operando
+     * @return resultado da operação, ou o valor IEEE 754 da falha
+     */
+    public double executarIEEE(int codigo, Operacao operacao, double a, double b) {
+        EventoOperacao evento = new EventoOperacao();
+        evento.begin();
+        long inicio = System.nanoTime();
+        double resultado = operacao.executarIEEE(a, b);
+        long nanos = System.nanoTime() - inicio;
+        registrar(codigo, nanos, 1, !Double.isFinite(resultado) && falha(operacao, a, b) ? 1 : 0, evento);
+        return resultado;
+    }
+    
+    /**
+     * Executa e mede uma operação em lote sem exceções por falhas aritméticas.
+     * Cada resultado não finito conta como erro se o cálculo com exceções falhar.
+     * 
+     * @param codigo código da operação no registro
+     * @param operacao operação a executar
+     * @param a primeiros operandos
+     * @param b segundos operandos
+     * @param resultado vetor que recebe os resultados
+     * @param inicio índice inicial
+     * @param quantidade número de elementos
+     */
+    public void executarIEEE(int codigo, Operacao operacao, double[] a, double[] b, double[] resultado,
+                             int inicio, int quantidade) {
+        EventoOperacao evento = new EventoOperacao();
+        evento.begin();
+        double[] operandosA = operandos(a, resultado, inicio, quantidade);
+        double[] operandosB = operandos(b, resultado, inicio, quantidade);
+        long comeco = System.nanoTime();
+        operacao.executarIEEE(a, b, resultado, inicio, quantidade);
+        long nanos = System.nanoTime() - comeco;
+        registrar(codigo, nanos, quantidade,
+            contarFalhas(operacao, operandosA, operandosB, resultado, inicio, quantidade), evento);
+    }
+    
+    /**
+     * Executa e mede uma operação em lote com a situação de cada índice.
+     * Cada índice com falha conta como um erro.
+     * 
+     * @param codigo código da operação no registro
+     * @param operacao operação a executar
+     * @param a primeiros operandos
+     * @param b segundos operandos
+     * @param resultado vetor que recebe os resultados
+     * @param situacao vetor que recebe a situação de cada índice
+     * @param inicio índice inicial
+     * @param quantidade número de elementos
+     * @return número de índices com falha
+     */
+    public int executar(int codigo, Operacao operacao, double[] a, double[] b, double[] resultado, byte[] situacao,
+                        int inicio, int quantidade) {
+        EventoOperacao evento = new EventoOperacao();
+        evento.begin();
+        long comeco = System.nanoTime();
+        int falhas = operacao.executar(a, b, resultado, situacao, inicio, quantidade);
+        registrar(codigo, System.nanoTime() - comeco, quantidade, falhas, evento);
+        return falhas;
+    }
+    
+    /**
+     * Operandos guardados para a contagem das falhas: o próprio vetor ou, se o
+     * resultado for gravado sobre ele, uma cópia do intervalo nos mesmos índices.
+     */
+    private static double[] operandos(double[] operandos, double[] resultado, int inicio, int quantidade) {
+        if (operandos != resultado) {
+            return operandos;
+        }
+        Objects.checkFromIndexSize(inicio, quantidade, operandos.length);
+        double[] copia = new double[inicio + quantidade];
+        System.arraycopy(operandos, inicio, copia, inicio, quantidade);
+        return copia;
+    }
+    
+    /**
+     * Conta os elementos de um lote em que o cálculo com exceções falha. Com um
+     * vetor de resultados, só os índices com resultado não finito são verificados.
+     */
+    private static int contarFalhas(Operacao operacao, double[] a, double[] b, double[] resultado,
+                                    int inicio, int quantidade) {
+        int falhas = 0;
+        for (int i = inicio, fim = inicio + quantidade; i < fim; i++) {
+            if ((resultado == null || !Double.isFinite(resultado[i])) && falha(operacao, a[i], b[i])) {
+                falhas++;
+            }
+        }
+        return falhas;
+    }
+    
+    private static boolean falha(Operacao operacao, double a, double b) {
+        try {
+            operacao.executar(a, b);
+            return false;
+        } catch (RuntimeException e) {
+            // Como no caminho com exceções, em que qualquer exceção conta como erro
+            return true;
+        }
+    }
+    
+    private void registrar(int codigo, long nanos, int quantidade, int falhas, EventoOperacao evento) {
+        HistogramaLatencia[] histogramas = latencias;
+        LongAdder[] contadores = chamadas;
+        LongAdder[] contadoresErros = erros;
+        if (codigo >= 0 && histogramas != null && codigo < histogramas.length
+                && codigo < contadores.length && codigo < contadoresErros.length) {
+            contadores[codigo].add(quantidade);
+            if (falhas > 0) {
+                contadoresErros[codigo].add(falhas);
+            }
+            if (quantidade > 0) {
+                histogramas[codigo].registrar(nanos / quantidade, quantidade);
+            }
+        }
+        evento.end();
+        if (evento.shouldCommit()) {
+            Operacao[] registradas = operacoes;
+            evento.simbolo = codigo >= 0 && codigo < registradas.length && registradas[codigo] != null
+                ? registradas[codigo].getSimbolo() : null;
+            evento.quantidade = quantidade;
+            evento.erro = falhas > 0;
+            evento.commit();
+        }
+    }
+    
+    /**
+     * @param codigo código da operação
+     * @return histograma de latência por elemento, ou null se as métricas nunca foram ativadas
+     */
+    public HistogramaLatencia getLatencias(int codigo) {
+        HistogramaLatencia[] histogramas = latencias;
+        return histogramas != null && codigo < histogramas.length ? histogramas[codigo] : null;
+    }
+    
+    @Override
+    public Map<String, String> getOperacoes() {
+        Map<String, String> mapa = new LinkedHashMap<>();
+        for (Operacao operacao : operacoes) {
+            if (operacao != null) {
+                mapa.put(operacao.getSimbolo(), operacao.getDescricao());
+            }
+        }
+        return mapa;
+    }
+    
+    @Override
+    public Map<String, Long> getChamadas() {
+        return porContador(chamadas);
+    }
+    
+    @Override
+    public Map<String, Long> getErros() {
+        return porContador(erros);
+    }
+    
+    private Map<String, Long> porContador(LongAdder[] contadores) {
+        Operacao[] registradas = operacoes;
+        Map<String, Long> mapa = new LinkedHashMap<>();
+        for (int i = 0; i < registradas.length && i < contadores.length; i++) {
+            if (registradas[i] != null) {
+                mapa.put(registradas[i].getSimbolo(), contadores[i].sum());
+            }
+        }
+        return mapa;
+    }
+    
+    @Override
+    public Map<String, Double> getLatenciaMedia() {
+        return porHistograma(HistogramaLatencia::media);
+    }
+    
+    @Override
+    public Map<String, Long> getLatenciaP99() {
+        Map<String, Long> mapa = new LinkedHashMap<>();
+        porHistograma(h -> h.percentil(99)).forEach((simbolo, valor) -> mapa.put(simbolo, valor.longValue()));
+        return mapa;
+    }
+    
+    private Map<String, Double> porHistograma(ToDoubleFunction<HistogramaLatencia> funcao) {
+        HistogramaLatencia[] histogramas = latencias;
+        Operacao[] registradas = operacoes;
+        Map<String, Double> mapa = new LinkedHashMap<>();
+        for (int i = 0; i < registradas.length; i++) {
+            if (registradas[i] != null) {
+                mapa.put(registradas[i].getSimbolo(),
+                    histogramas != null && i < histogramas.length ? funcao.applyAsDouble(histogramas[i]) : 0.0);
+            }
+        }
+        return mapa;
+    }
+    
+    @Override
+    public void zerar() {
+        HistogramaLatencia[] histogramas = latencias;
+        for (LongAdder contador : chamadas) {
+            contador.reset();
+        }
+        for (LongAdder contador : erros) {
+            contador.reset();
+        }
+        if (histogramas != null) {
+            for (HistogramaLatencia histograma : histogramas) {
+                histograma.zerar();
+            }
+        }
+    }
+    
+    /**
+     * Publica estas métricas no servidor de MBeans da plataforma, substituindo
+     * um registro anterior com o mesmo nome.
+     * 
+     * @param nome valor da chave {@code name} do ObjectName
+     * @return nome sob o qual as métricas foram registradas
+     * @throws IllegalStateException se o registro falhar
+     */
+    public ObjectName registrarMBean(String nome) {
+        try {
+            ObjectName objectName = new ObjectName("com.calculadora:type=MetricasOperacoes,name=" + ObjectName.quote(nome));
+            MBeanServer servidor = ManagementFactory.getPlatformMBeanServer();
+            if (servidor.isRegistered(objectName)) {
+                servidor.unregisterMBean(objectName);
+            }
+            servidor.registerMBean(this, objectName);
+            return objectName;
+        } catch (JMException e) {
+            throw new IllegalStateException("Não foi possível registrar as métricas via JMX: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.calculadora.metricas;
+
+import java.util.Map;
+
+/**
+ * Interface de gerenciamento das {@link MetricasOperacoes}, publicada via JMX
+ * (ex.: no JConsole, em {@code com.calculadora:type=MetricasOperacoes}).
+ * Os mapas são indexados pelo símbolo da operação.
+ */
+public interface MetricasOperacoesMXBean {
+    
+    boolean isAtiva();
+    
+    void setAtiva(boolean ativa);
+    
+    /**
+     * @return símbolo e descrição das operações registradas
+     */
+    Map<String, String> getOperacoes();
+    
+    /**
+     * @return número de elementos calculados por operação
+     */
+    Map<String, Long> getChamadas();
+    
+    /**
+     * @return número de chamadas que lançaram exceção, por operação
+     */
+    Map<String, Long> getErros();
+    
+    /**
+     * @return latência média por elemento, em nanossegundos
+     */
+    Map<String, Double> getLatenciaMedia();
+    
+    /**
+     * @return percentil 99 da latência por elemento, em nanossegundos
+     */
+    Map<String, Long> getLatenciaP99();
+    
+    /**
+     * Zera contadores e histogramas.
+     */
+    void zerar();
+}
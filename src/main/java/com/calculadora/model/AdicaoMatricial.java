@@ -0,0 +1,11 @@
+package com.calculadora.model;
+
+/**
+ * Adição elemento a elemento de matrizes e vetores de mesmas dimensões.
+ */
+public class AdicaoMatricial extends OperacaoMatricialElemento {
+    
+    public AdicaoMatricial() {
+        super("m+", "Adição de matrizes", new Adicao());
+    }
+}
@@ -0,0 +1,329 @@
+package com.calculadora.model;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.Objects;
+
+/**
+ * Parâmetros da aritmética decimal: número de casas decimais e modo de arredondamento.
+ * 
+ * No caminho rápido os valores são representados em ponto fixo, como um
+ * {@code long} escalado por 10^escala (com escala 2, 12.34 vira 1234). Quando
+ * um valor ou resultado não cabe nessa representação, as operações usam
+ * {@link BigDecimal} com o {@link MathContext} guardado aqui, criado uma única vez.
+ * Instâncias são imutáveis e podem ser compartilhadas entre threads.
+ */
+public final class ContextoDecimal {
+    
+    /** Valor devolvido pelo caminho em ponto fixo quando o resultado não cabe em um long escalado. */
+    public static final long FORA_DO_INTERVALO = Long.MIN_VALUE;
+    
+    /** Maior escala suportada: 10^18 é a maior potência de 10 que cabe em um long. */
+    public static final int ESCALA_MAXIMA = 18;
+    
+    /** Contexto padrão: 10 casas decimais, arredondamento bancário (HALF_EVEN). */
+    public static final ContextoDecimal PADRAO = new ContextoDecimal(10, RoundingMode.HALF_EVEN);
+    
+    // Doubles inteiros até 2^53 são exatos
+    private static final double LIMITE_EXATO_DOUBLE = 0x1p53;
+    // Abaixo de 2^48 a ulp é no máximo 1/16, menor que uma casa decimal além da escala
+    private static final double LIMITE_ESCALAR = 0x1p48;
+    private static final BigDecimal MAXIMO_ESCALADO = BigDecimal.valueOf(Long.MAX_VALUE);
+    
+    private final int escala;
+    private final RoundingMode arredondamento;
+    private final MathContext mathContext;
+    private final long fator;
+    private final double fatorDouble;
+    
+    /**
+     * @param escala número de casas decimais, de 0 a {@link #ESCALA_MAXIMA}
+     * @param arredondamento modo de arredondamento dos resultados
+     */
+    public ContextoDecimal(int escala, RoundingMode arredondamento) {
+        if (escala < 0 || escala > ESCALA_MAXIMA) {
+            throw new IllegalArgumentException("A escala deve estar entre 0 e " + ESCALA_MAXIMA + "!");
+        }
+        this.escala = escala;
+        this.arredondamento = Objects.requireNonNull(arredondamento);
+        this.mathContext = new MathContext(MathContext.DECIMAL128.getPrecision(), arredondamento);
+        long potencia = 1;
+        for (int i = 0; i < escala; i++) {
+            potencia *= 10;
+        }
+        this.fator = potencia;
+        this.fatorDouble = potencia;
+    }
+    
+    public int getEscala() {
+        return escala;
+    }
+    
+    public RoundingMode getArredondamento() {
+        return arredondamento;
+    }
+    
+    /**
+     * @return contexto de 34 dígitos (como o DECIMAL128) com o arredondamento deste contexto
+     */
+    public MathContext getMathContext() {
+        return mathContext;
+    }
+    
+    /**
+     * @return 10^escala, o valor de 1 em ponto fixo
+     */
+    public long getFator() {
+        return fator;
+    }
+    
+    /**
+     * Converte um double para ponto fixo, sem alocação.
+     * Só converte valores com no máximo {@link #getEscala()} casas decimais
+     * cujo valor escalado seja menor que 2^48 em módulo.
+     * 
+     * @param valor valor a converter
+     * @return valor escalado ou {@link #FORA_DO_INTERVALO}
+     */
+    public long escalar(double valor) {
+        double escalado = valor * fatorDouble;
+        if (!(Math.abs(escalado) < LIMITE_ESCALAR)) {
+            return FORA_DO_INTERVALO;
+        }
+        double inteiro = Math.rint(escalado);
+        // Conversão e multiplicação erram até uma ulp; diferenças maiores indicam mais casas que a escala
+        if (Math.abs(escalado - inteiro) > Math.ulp(escalado)) {
+            return FORA_DO_INTERVALO;
+        }
+        return (long) inteiro;
+    }
+    
+    /**
+     * Converte um valor em ponto fixo para double, sem alocação quando o valor cabe exato em um double.
+     * 
+     * @param escalado valor escalado
+     * @return double mais próximo do valor decimal
+     */
+    public double paraDouble(long escalado) {
+        if (Math.abs(escalado) <= (long) LIMITE_EXATO_DOUBLE) {
+            // Numerador e denominador exatos: a divisão arredonda corretamente
+            return escalado / fatorDouble;
+        }
+        return BigDecimal.valueOf(escalado, escala).doubleValue();
+    }
+    
+    /**
+     * Converte um {@link BigDecimal} para ponto fixo.
+     * 
+     * @param valor valor a converter
+     * @return valor escalado ou {@link #FORA_DO_INTERVALO} se tiver mais casas que a escala ou não couber
+     */
+    public long escalar(BigDecimal valor) {
+        int digitos = valor.precision() - valor.scale() + escala;
+        if (valor.scale() > escala || digitos > 19) {
+            return FORA_DO_INTERVALO;
+        }
+        BigDecimal escalado = valor.movePointRight(escala);
+        if (digitos == 19 && escalado.abs().compareTo(MAXIMO_ESCALADO) > 0) {
+            return FORA_DO_INTERVALO;
+        }
+        return escalado.longValue();
+    }
+    
+    /**
+     * @param escalado valor em ponto fixo
+     * @return o mesmo valor como {@link BigDecimal}, na escala deste contexto
+     */
+    public BigDecimal paraBigDecimal(long escalado) {
+        return BigDecimal.valueOf(escalado, escala);
+    }
+    
+    /**
+     * Limita um resultado do caminho {@link BigDecimal} à escala deste contexto.
+     * 
+     * @param valor resultado a ajustar
+     * @return valor arredondado para no máximo {@link #getEscala()} casas
+     */
+    public BigDecimal ajustar(BigDecimal valor) {
+        return valor.scale() > escala ? valor.setScale(escala, arredondamento) : valor;
+    }
+    
+    /**
+     * Divide dois longs arredondando o quociente conforme o modo deste contexto.
+     * 
+     * @param dividendo dividendo
+     * @param divisor divisor diferente de zero
+     * @return quociente arredondado, ou {@link #FORA_DO_INTERVALO} se não couber ou se
+     *         o modo for UNNECESSARY e a divisão não for exata
+     */
+    public long dividir(long dividendo, long divisor) {
+        if (dividendo == Long.MIN_VALUE || divisor == Long.MIN_VALUE) {
+            return FORA_DO_INTERVALO;
+        }
+        return multiplicarDividir(Math.abs(dividendo), 1, Math.abs(divisor), (dividendo ^ divisor) < 0);
+    }
+    
+    /**
+     * Multiplica dois valores escalados: a * b / 10^escala, arredondado.
+     * 
+     * @param a primeiro fator escalado
+     * @param b segundo fator escalado
+     * @return produto escalado ou {@link #FORA_DO_INTERVALO}
+     */
+    public long multiplicarEscalado(long a, long b) {
+        if (a == Long.MIN_VALUE || b == Long.MIN_VALUE) {
+            return FORA_DO_INTERVALO;
+        }
+        return multiplicarDividir(Math.abs(a), Math.abs(b), fator, (a ^ b) < 0);
+    }
+    
+    /**
+     * Divide dois valores escalados: a * 10^escala / b, arredondado.
+     * 
+     * @param a dividendo escalado
+     * @param b divisor escalado, diferente de zero
+     * @return quociente escalado ou {@link #FORA_DO_INTERVALO}
+     */
+    public long dividirEscalado(long a, long b) {
+        if (a == Long.MIN_VALUE || b == Long.MIN_VALUE) {
+            return FORA_DO_INTERVALO;
+        }
+        return multiplicarDividir(Math.abs(a), fator, Math.abs(b), (a ^ b) < 0);
+    }
+    
+    /**
+     * Calcula x * y / divisor com o produto intermediário em 128 bits, arredondado
+     * pelo modo deste contexto, sem alocação.
+     * 
+     * @param x fator não negativo
+     * @param y fator não negativo
+     * @param divisor divisor positivo
+     * @param negativo sinal do resultado
+     * @return resultado com sinal, ou {@link #FORA_DO_INTERVALO} se não couber em um long
+     */
+    private long multiplicarDividir(long x, long y, long divisor, boolean negativo) {
+        long alto = Math.multiplyHigh(x, y);
+        long baixo = x * y;
+        if (alto >= divisor) {
+            // O quociente teria mais de 64 bits
+            return FORA_DO_INTERVALO;
+        }
+        long quociente = alto == 0 && baixo >= 0 ? baixo / divisor : dividir128(alto, baixo, divisor);
+        if (quociente < 0) {
+            return FORA_DO_INTERVALO;
+        }
+        // O resto é menor que o divisor, então os 64 bits baixos bastam para calculá-lo
+        long resto = baixo - quociente * divisor;
+        if (resto != 0) {
+            quociente = arredondar(quociente, resto, divisor, negativo);
+            if (quociente == FORA_DO_INTERVALO) {
+                return FORA_DO_INTERVALO;
+            }
+        }
+        return negativo ? -quociente : quociente;
+    }
+    
+    /**
+     * Divide o valor sem sinal de 128 bits (alto:baixo) por um divisor de 64 bits,
+     * com alto menor que o divisor (algoritmo divlu de Hacker's Delight, seção 9-4).
+     */
+    static long dividir128(long alto, long baixo, long divisor) {
+        final long mascara = 0xFFFFFFFFL;
+        int deslocamento = Long.numberOfLeadingZeros(divisor);
+        long v = divisor << deslocamento;
+        long vn1 = v >>> 32;
+        long vn0 = v & mascara;
+        long un32 = deslocamento == 0 ? alto : (alto << deslocamento) | (baixo >>> (64 - deslocamento));
+        long un10 = baixo << deslocamento;
+        long un1 = un10 >>> 32;
+        long un0 = un10 & mascara;
+        
+        long q1 = Long.divideUnsigned(un32, vn1);
+        long rhat = un32 - q1 * vn1;
+        while (Long.compareUnsigned(q1, mascara) > 0 || Long.compareUnsigned(q1 * vn0, (rhat << 32) | un1) > 0) {
+            q1--;
+            rhat += vn1;
+            if (Long.compareUnsigned(rhat, mascara) > 0) {
+                break;
+            }
+        }
+        
+        long un21 = (un32 << 32) + un1 - q1 * v;
+        long q0 = Long.divideUnsigned(un21, vn1);
+        rhat = un21 - q0 * vn1;
+        while (Long.compareUnsigned(q0, mascara) > 0 || Long.compareUnsigned(q0 * vn0, (rhat << 32) | un0) > 0) {
+            q0--;
+            rhat += vn1;
+            if (Long.compareUnsigned(rhat, mascara) > 0) {
+                break;
+            }
+        }
+        return (q1 << 32) | q0;
+    }
+    
+    /**
+     * Arredonda a magnitude de um quociente inexato conforme o modo deste contexto.
+     * 
+     * @param magnitude módulo do quociente truncado
+     * @param resto módulo do resto, diferente de zero
+     * @param divisor módulo do divisor
+     * @param negativo se o quociente exato é negativo
+     * @return magnitude arredondada ou {@link #FORA_DO_INTERVALO}
+     */
+    private long arredondar(long magnitude, long resto, long divisor, boolean negativo) {
+        // Compara o resto com a metade do divisor sem risco de overflow
+        int metade = Long.compare(resto, divisor - resto);
+        
+        boolean incrementar;
+        switch (arredondamento) {
+            case UP:
+                incrementar = true;
+                break;
+            case DOWN:
+                incrementar = false;
+                break;
+            case CEILING:
+                incrementar = !negativo;
+                break;
+            case FLOOR:
+                incrementar = negativo;
+                break;
+            case HALF_UP:
+                incrementar = metade >= 0;
+                break;
+            case HALF_DOWN:
+                incrementar = metade > 0;
+                break;
+            case HALF_EVEN:
+                incrementar = metade > 0 || (metade == 0 && (magnitude & 1) != 0);
+                break;
+            default:
+                // UNNECESSARY: deixa o caminho BigDecimal lançar a exceção
+                return FORA_DO_INTERVALO;
+        }
+        if (!incrementar) {
+            return magnitude;
+        }
+        return magnitude == Long.MAX_VALUE ? FORA_DO_INTERVALO : magnitude + 1;
+    }
+    
+    @Override
+    public boolean equals(Object outro) {
+        if (!(outro instanceof ContextoDecimal)) {
+            return false;
+        }
+        ContextoDecimal contexto = (ContextoDecimal) outro;
+        return escala == contexto.escala && arredondamento == contexto.arredondamento;
+    }
+    
+    @Override
+    public int hashCode() {
+        return 31 * escala + arredondamento.hashCode();
+    }
+    
+    @Override
+    public String toString() {
+        return "ContextoDecimal[escala=" + escala + ", arredondamento=" + arredondamento + "]";
+    }
+}
@@ -1,5 +1,8 @@
 package com.calculadora.model;
 
+import java.math.BigDecimal;
+import java.util.Objects;
+
 /**
  * Implementação concreta da operação de Divisão.
  */
@@ -16,4 +19,82 @@ public class Divisao extends OperacaoAbstrata {
         }
         return a / b;
     }
+    
+    /**
+     * Verifica todos os divisores antes de dividir, mantendo o laço
+     * de divisão sem desvios para que possa ser vetorizado.
+     */
+    @Override
+    public void executar(double[] a, double[] b, double[] resultado, int inicio, int quantidade) {
+        Lotes.validarIntervalo(a, b, resultado, inicio, quantidade);
+        int fim = inicio + quantidade;
+        for (int i = inicio; i < fim; i++) {
+            if (b[i] == 0) {
+                throw new ArithmeticException("Divisão por zero não é permitida!");
+            }
+        }
+        for (int i = inicio; i < fim; i++) {
+            resultado[i] = a[i] / b[i];
+        }
+    }
+    
+    /**
+     * Divisão IEEE 754: por zero resulta em infinito (ou NaN para 0 / 0), sem exceção.
+     */
+    @Override
+    public double executarIEEE(double a, double b) {
+        return a / b;
+    }
+    
+    @Override
+    public void executarIEEE(double[] a, double[] b, double[] resultado, int inicio, int quantidade) {
+        Lotes.validarIntervalo(a, b, resultado, inicio, quantidade);
+        for (int i = inicio, fim = inicio + quantidade; i < fim; i++) {
+            resultado[i] = a[i] / b[i];
+        }
+    }
+    
+    /**
+     * Divide sem desvios e marca os divisores zero, sem exceções.
+     */
+    @Override
+    public int executar(double[] a, double[] b, double[] resultado, byte[] situacao, int inicio, int quantidade) {
+        Lotes.validarIntervalo(a, b, resultado, inicio, quantidade);
+        Objects.checkFromIndexSize(inicio, quantidade, situacao.length);
+        int falhas = 0;
+        for (int i = inicio, fim = inicio + quantidade; i < fim; i++) {
+            resultado[i] = a[i] / b[i];
+            int zero = b[i] == 0 ? 1 : 0;
+            situacao[i] = (byte) (zero * Lotes.SITUACAO_ERRO_ARITMETICO);
+            falhas += zero;
+        }
+        return falhas;
+    }
+    
+    /**
+     * Divide em ponto fixo, arredondando o quociente pelo modo do contexto.
+     */
+    @Override
+    public long executarEscalado(long a, long b, ContextoDecimal contexto) {
+        if (b == 0) {
+            throw new ArithmeticException("Divisão por zero não é permitida!");
+        }
+        return contexto.dividirEscalado(a, b);
+    }
+    
+    /**
+     * Divide com o número de casas e o arredondamento do contexto.
+     */
+    @Override
+    public BigDecimal executar(BigDecimal a, BigDecimal b, ContextoDecimal contexto) {
+        if (b.signum() == 0) {
+            throw new ArithmeticException("Divisão por zero não é permitida!");
+        }
+        return a.divide(b, contexto.getEscala(), contexto.getArredondamento());
+    }
+    
+    @Override
+    public boolean isElementar() {
+        return true;
+    }
 }
@@ -0,0 +1,13 @@
+package com.calculadora.model;
+
+/**
+ * Divisão elemento a elemento de matrizes e vetores de mesmas dimensões.
+ * Como na {@link Divisao}, um divisor zero lança {@link ArithmeticException}
+ * no caminho com exceções e resulta em infinito ou NaN no caminho IEEE 754.
+ */
+public class DivisaoMatricial extends OperacaoMatricialElemento {
+    
+    public DivisaoMatricial() {
+        super("m/", "Divisão elemento a elemento", new Divisao());
+    }
+}
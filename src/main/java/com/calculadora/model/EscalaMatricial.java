@@ -0,0 +1,47 @@
+package com.calculadora.model;
+
+/**
+ * Multiplicação de uma matriz ou vetor por um escalar, informado como
+ * segundo operando na forma de uma matriz 1 x 1 ({@link Matriz#escalar(double)}).
+ */
+public class EscalaMatricial implements OperacaoMatricial {
+    
+    @Override
+    public Matriz criarResultado(Matriz a, Matriz b) {
+        validarEscalar(b);
+        return new Matriz(a.getLinhas(), a.getColunas());
+    }
+    
+    /**
+     * O resultado pode ser a própria matriz escalada.
+     */
+    @Override
+    public void executar(Matriz a, Matriz b, Matriz resultado) {
+        validarEscalar(b);
+        if (!a.mesmasDimensoes(resultado)) {
+            throw new IllegalArgumentException("As matrizes devem ter as mesmas dimensões!");
+        }
+        double[] dados = a.getDados();
+        double[] destino = resultado.getDados();
+        double fator = b.getDados()[0];
+        for (int i = 0; i < dados.length; i++) {
+            destino[i] = dados[i] * fator;
+        }
+    }
+    
+    private static void validarEscalar(Matriz b) {
+        if (b.getLinhas() != 1 || b.getColunas() != 1) {
+            throw new IllegalArgumentException("O segundo operando deve ser um escalar (matriz 1 x 1)!");
+        }
+    }
+    
+    @Override
+    public String getSimbolo() {
+        return "mk";
+    }
+    
+    @Override
+    public String getDescricao() {
+        return "Multiplicação por escalar";
+    }
+}
@@ -0,0 +1,35 @@
+package com.calculadora.model;
+
+import java.util.Objects;
+
+/**
+ * Utilitários para as operações em lote.
+ */
+public final class Lotes {
+    
+    /** Situação de um índice calculado com sucesso. */
+    public static final byte SITUACAO_OK = 0;
+    /** Situação de um índice cujo cálculo falhou (ex.: divisão por zero). */
+    public static final byte SITUACAO_ERRO_ARITMETICO = 1;
+    /** Situação de um índice cuja operação não existe. */
+    public static final byte SITUACAO_OPERACAO_INVALIDA = 2;
+    
+    private Lotes() {
+    }
+    
+    /**
+     * Verifica se o intervalo [inicio, inicio + quantidade) é válido para os três vetores.
+     * 
+     * @param a primeiros operandos
+     * @param b segundos operandos
+     * @param resultado vetor de saída
+     * @param inicio índice inicial
+     * @param quantidade número de elementos
+     * @throws IndexOutOfBoundsException se o intervalo exceder algum vetor
+     */
+    public static void validarIntervalo(double[] a, double[] b, double[] resultado, int inicio, int quantidade) {
+        Objects.checkFromIndexSize(inicio, quantidade, a.length);
+        Objects.checkFromIndexSize(inicio, quantidade, b.length);
+        Objects.checkFromIndexSize(inicio, quantidade, resultado.length);
+    }
+}
@@ -0,0 +1,210 @@
+package com.calculadora.model;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Matriz de doubles guardada em um único vetor, linha após linha.
+ * O elemento (i, j) fica na posição {@code i * colunas + j} de {@link #getDados()}.
+ * 
+ * Um vetor é uma matriz de uma coluna ({@link #vetor(double...)}) e um escalar,
+ * uma matriz 1 x 1 ({@link #escalar(double)}). O vetor de dados não é copiado:
+ * alterações nele aparecem na matriz, e vice-versa.
+ */
+public final class Matriz {
+    
+    private final int linhas;
+    private final int colunas;
+    private final double[] dados;
+    
+    /**
+     * Cria uma matriz de zeros.
+     * 
+     * @param linhas número de linhas
+     * @param colunas número de colunas
+     * @throws IllegalArgumentException se alguma dimensão for negativa ou a matriz não couber em um vetor
+     */
+    public Matriz(int linhas, int colunas) {
+        this(linhas, colunas, new double[tamanho(linhas, colunas)]);
+    }
+    
+    /**
+     * Cria uma matriz sobre um vetor de dados existente, sem copiá-lo.
+     * 
+     * @param linhas número de linhas
+     * @param colunas número de colunas
+     * @param dados elementos, linha após linha
+     * @throws IllegalArgumentException se o tamanho do vetor não for linhas x colunas
+     */
+    public Matriz(int linhas, int colunas, double[] dados) {
+        if (dados.length != tamanho(linhas, colunas)) {
+            throw new IllegalArgumentException("O vetor de dados deve ter " + linhas + " x " + colunas + " elementos!");
+        }
+        this.linhas = linhas;
+        this.colunas = colunas;
+        this.dados = dados;
+    }
+    
+    private static int tamanho(int linhas, int colunas) {
+        if (linhas < 0 || colunas < 0) {
+            throw new IllegalArgumentException("As dimensões da matriz não podem ser negativas!");
+        }
+        long tamanho = (long) linhas * colunas;
+        if (tamanho > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Matriz grande demais: " + linhas + " x " + colunas);
+        }
+        return (int) tamanho;
+    }
+    
+    /**
+     * Cria um vetor coluna (matriz n x 1) sobre os valores, sem copiá-los.
+     * 
+     * @param valores elementos do vetor
+     * @return vetor coluna
+     */
+    public static Matriz vetor(double... valores) {
+        return new Matriz(valores.length, 1, valores);
+    }
+    
+    /**
+     * Cria uma matriz 1 x 1, usada como operando escalar.
+     * 
+     * @param valor valor do escalar
+     * @return matriz 1 x 1
+     */
+    public static Matriz escalar(double valor) {
+        return new Matriz(1, 1, new double[] {valor});
+    }
+    
+    /**
+     * Cria a matriz identidade.
+     * 
+     * @param ordem número de linhas e de colunas
+     * @return matriz identidade
+     */
+    public static Matriz identidade(int ordem) {
+        Matriz identidade = new Matriz(ordem, ordem);
+        for (int i = 0; i < ordem; i++) {
+            identidade.dados[i * ordem + i] = 1;
+        }
+        return identidade;
+    }
+    
+    public int getLinhas() {
+        return linhas;
+    }
+    
+    public int getColunas() {
+        return colunas;
+    }
+    
+    /**
+     * Retorna o vetor de dados, linha após linha, sem cópia.
+     * 
+     * @return vetor compartilhado com a matriz
+     */
+    public double[] getDados() {
+        return dados;
+    }
+    
+    /**
+     * @return número de elementos (linhas x colunas)
+     */
+    public int tamanho() {
+        return dados.length;
+    }
+    
+    /**
+     * @param linha índice da linha
+     * @param coluna índice da coluna
+     * @return elemento (linha, coluna)
+     * @throws IndexOutOfBoundsException se o índice estiver fora da matriz
+     */
+    public double get(int linha, int coluna) {
+        return dados[indice(linha, coluna)];
+    }
+    
+    /**
+     * @param linha índice da linha
+     * @param coluna índice da coluna
+     * @param valor novo valor do elemento
+     * @throws IndexOutOfBoundsException se o índice estiver fora da matriz
+     */
+    public void set(int linha, int coluna, double valor) {
+        dados[indice(linha, coluna)] = valor;
+    }
+    
+    private int indice(int linha, int coluna) {
+        Objects.checkIndex(linha, linhas);
+        Objects.checkIndex(coluna, colunas);
+        return linha * colunas + coluna;
+    }
+    
+    /**
+     * Indica se as duas matrizes têm as mesmas dimensões.
+     * 
+     * @param outra outra matriz
+     * @return true se o número de linhas e o de colunas forem iguais
+     */
+    public boolean mesmasDimensoes(Matriz outra) {
+        return linhas == outra.linhas && colunas == outra.colunas;
+    }
+    
+    /**
+     * Cria a matriz transposta, com dados próprios.
+     * 
+     * @return nova matriz colunas x linhas
+     */
+    public Matriz transposta() {
+        Matriz transposta = new Matriz(colunas, linhas);
+        for (int i = 0; i < linhas; i++) {
+            for (int j = 0; j < colunas; j++) {
+                transposta.dados[j * linhas + i] = dados[i * colunas + j];
+            }
+        }
+        return transposta;
+    }
+    
+    /**
+     * Cria uma cópia da matriz, com dados próprios.
+     * 
+     * @return nova matriz igual a esta
+     */
+    public Matriz copia() {
+        return new Matriz(linhas, colunas, dados.clone());
+    }
+    
+    @Override
+    public boolean equals(Object objeto) {
+        if (this == objeto) {
+            return true;
+        }
+        if (!(objeto instanceof Matriz)) {
+            return false;
+        }
+        Matriz outra = (Matriz) objeto;
+        return mesmasDimensoes(outra) && Arrays.equals(dados, outra.dados);
+    }
+    
+    @Override
+    public int hashCode() {
+        return 31 * (31 * linhas + colunas) + Arrays.hashCode(dados);
+    }
+    
+    @Override
+    public String toString() {
+        StringBuilder texto = new StringBuilder("[");
+        for (int i = 0; i < linhas; i++) {
+            if (i > 0) {
+                texto.append("; ");
+            }
+            for (int j = 0; j < colunas; j++) {
+                if (j > 0) {
+                    texto.append(' ');
+                }
+                texto.append(dados[i * colunas + j]);
+            }
+        }
+        return texto.append(']').toString();
+    }
+}
@@ -1,5 +1,7 @@
 package com.calculadora.model;
 
+import java.math.BigDecimal;
+
 /**
  * Implementação concreta da operação de Multiplicação.
  */
@@ -13,4 +15,35 @@ public class Multiplicacao extends OperacaoAbstrata {
     public double executar(double a, double b) {
         return a * b;
     }
+    
+    @Override
+    public void executar(double[] a, double[] b, double[] resultado, int inicio, int quantidade) {
+        Lotes.validarIntervalo(a, b, resultado, inicio, quantidade);
+        for (int i = inicio, fim = inicio + quantidade; i < fim; i++) {
+            resultado[i] = a[i] * b[i];
+        }
+    }
+    
+    /**
+     * Multiplica em ponto fixo, com o produto intermediário em 128 bits.
+     */
+    @Override
+    public long executarEscalado(long a, long b, ContextoDecimal contexto) {
+        return contexto.multiplicarEscalado(a, b);
+    }
+    
+    @Override
+    public BigDecimal executar(BigDecimal a, BigDecimal b, ContextoDecimal contexto) {
+        return contexto.ajustar(a.multiply(b, contexto.getMathContext()));
+    }
+    
+    @Override
+    public boolean isElementar() {
+        return true;
+    }
+    
+    @Override
+    public boolean isAssociativa() {
+        return true;
+    }
 }
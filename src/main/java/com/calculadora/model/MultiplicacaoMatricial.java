@@ -0,0 +1,172 @@
+package com.calculadora.model;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Produto de matrizes (inclusive matriz por vetor), em blocos e em paralelo.
+ * 
+ * A matriz de resultado é dividida ao meio, por linhas ou por colunas, até
+ * que cada parte tenha no máximo {@link #LIMITE_SEQUENCIAL} multiplicações;
+ * as partes são calculadas em um {@link ForkJoinPool}. Cada parte percorre o
+ * produto em blocos de {@link #BLOCO_K} x {@link #BLOCO_J} elementos do segundo
+ * operando, que ficam na cache enquanto são usados por todas as linhas da parte,
+ * e o laço interno percorre linhas contíguas, que o JIT consegue vetorizar.
+ * 
+ * Cada elemento do resultado soma os produtos na ordem dos índices, como o
+ * laço ingênuo: o resultado é idêntico bit a bit ao sequencial, qualquer que
+ * seja a divisão em partes.
+ */
+public class MultiplicacaoMatricial implements OperacaoMatricial {
+    
+    /** Linhas do segundo operando por bloco: 256 linhas de um bloco somam 512 KiB. */
+    public static final int BLOCO_K = 256;
+    /** Colunas do segundo operando por bloco. */
+    public static final int BLOCO_J = 256;
+    /** Número máximo de multiplicações calculadas por uma única tarefa. */
+    public static final long LIMITE_SEQUENCIAL = 1L << 21;
+    
+    private final ForkJoinPool pool;
+    
+    /**
+     * Cria a operação sobre o pool comum da JVM.
+     */
+    public MultiplicacaoMatricial() {
+        this(ForkJoinPool.commonPool());
+    }
+    
+    /**
+     * @param pool pool em que as partes do produto são calculadas
+     */
+    public MultiplicacaoMatricial(ForkJoinPool pool) {
+        this.pool = Objects.requireNonNull(pool);
+    }
+    
+    @Override
+    public Matriz criarResultado(Matriz a, Matriz b) {
+        validarDimensoes(a, b);
+        return new Matriz(a.getLinhas(), b.getColunas());
+    }
+    
+    /**
+     * O resultado não pode compartilhar os dados com nenhum dos operandos.
+     */
+    @Override
+    public void executar(Matriz a, Matriz b, Matriz resultado) {
+        validarDimensoes(a, b);
+        if (resultado.getLinhas() != a.getLinhas() || resultado.getColunas() != b.getColunas()) {
+            throw new IllegalArgumentException("O resultado deve ter " + a.getLinhas() + " x " + b.getColunas()
+                + " elementos!");
+        }
+        if (resultado.getDados() == a.getDados() || resultado.getDados() == b.getDados()) {
+            throw new IllegalArgumentException("O resultado não pode ser um dos operandos!");
+        }
+        
+        Arrays.fill(resultado.getDados(), 0);
+        Parte parte = new Parte(a, b, resultado, 0, a.getLinhas(), 0, b.getColunas());
+        if (parte.trabalho() <= LIMITE_SEQUENCIAL) {
+            parte.calcular();
+        } else {
+            pool.invoke(parte);
+        }
+    }
+    
+    private static void validarDimensoes(Matriz a, Matriz b) {
+        if (a.getColunas() != b.getLinhas()) {
+            throw new IllegalArgumentException("O número de colunas do primeiro operando (" + a.getColunas()
+                + ") deve ser igual ao de linhas do segundo (" + b.getLinhas() + ")!");
+        }
+    }
+    
+    @Override
+    public String getSimbolo() {
+        return "m*";
+    }
+    
+    @Override
+    public String getDescricao() {
+        return "Produto de matrizes";
+    }
+    
+    /**
+     * Tarefa que calcula as linhas [inicioLinha, fimLinha) e as colunas
+     * [inicioColuna, fimColuna) do resultado.
+     */
+    private static final class Parte extends RecursiveAction {
+        
+        private static final long serialVersionUID = 1L;
+        
+        private final Matriz a;
+        private final Matriz b;
+        private final Matriz resultado;
+        private final int inicioLinha;
+        private final int fimLinha;
+        private final int inicioColuna;
+        private final int fimColuna;
+        
+        Parte(Matriz a, Matriz b, Matriz resultado, int inicioLinha, int fimLinha, int inicioColuna, int fimColuna) {
+            this.a = a;
+            this.b = b;
+            this.resultado = resultado;
+            this.inicioLinha = inicioLinha;
+            this.fimLinha = fimLinha;
+            this.inicioColuna = inicioColuna;
+            this.fimColuna = fimColuna;
+        }
+        
+        long trabalho() {
+            return (long) (fimLinha - inicioLinha) * (fimColuna - inicioColuna) * a.getColunas();
+        }
+        
+        @Override
+        protected void compute() {
+            int linhas = fimLinha - inicioLinha;
+            int colunas = fimColuna - inicioColuna;
+            if (trabalho() <= LIMITE_SEQUENCIAL || (linhas == 1 && colunas <= BLOCO_J)) {
+                calcular();
+                return;
+            }
+            // Divide por linhas enquanto possível; por colunas só as partes com poucas linhas
+            if (linhas > 1 && (linhas >= 8 || colunas <= BLOCO_J)) {
+                int meio = inicioLinha + linhas / 2;
+                invokeAll(new Parte(a, b, resultado, inicioLinha, meio, inicioColuna, fimColuna),
+                    new Parte(a, b, resultado, meio, fimLinha, inicioColuna, fimColuna));
+            } else {
+                int meio = inicioColuna + colunas / 2;
+                invokeAll(new Parte(a, b, resultado, inicioLinha, fimLinha, inicioColuna, meio),
+                    new Parte(a, b, resultado, inicioLinha, fimLinha, meio, fimColuna));
+            }
+        }
+        
+        /**
+         * Acumula no resultado, bloco a bloco do segundo operando, em ordem crescente de k.
+         */
+        void calcular() {
+            double[] dadosA = a.getDados();
+            double[] dadosB = b.getDados();
+            double[] dadosR = resultado.getDados();
+            int n = a.getColunas();
+            int p = b.getColunas();
+            
+            for (int inicioK = 0; inicioK < n; inicioK += BLOCO_K) {
+                int fimK = Math.min(inicioK + BLOCO_K, n);
+                for (int inicioJ = inicioColuna; inicioJ < fimColuna; inicioJ += BLOCO_J) {
+                    int fimJ = Math.min(inicioJ + BLOCO_J, fimColuna);
+                    for (int i = inicioLinha; i < fimLinha; i++) {
+                        int linhaA = i * n;
+                        int linhaR = i * p;
+                        for (int k = inicioK; k < fimK; k++) {
+                            double aik = dadosA[linhaA + k];
+                            int linhaB = k * p;
+                            for (int j = inicioJ; j < fimJ; j++) {
+                                dadosR[linhaR + j] += aik * dadosB[linhaB + j];
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+}
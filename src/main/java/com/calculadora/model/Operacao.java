@@ -1,5 +1,9 @@
 package com.calculadora.model;
 
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Objects;
+
 /**
  * Interface que define o contrato para todas as operações matemáticas.
  * Utiliza o conceito de Polimorfismo através da interface.
@@ -14,6 +18,164 @@ public interface Operacao {
      */
     double executar(double a, double b);
     
+    /**
+     * Executa a operação sobre lotes de operandos.
+     * Para cada índice i em [inicio, inicio + quantidade), calcula
+     * resultado[i] = executar(a[i], b[i]).
+     * 
+     * A implementação padrão delega para {@link #executar(double, double)};
+     * as operações concretas sobrescrevem com laços simples que o JIT
+     * consegue vetorizar.
+     * 
+     * @param a primeiros operandos
+     * @param b segundos operandos
+     * @param resultado vetor de saída
+     * @param inicio índice inicial
+     * @param quantidade número de elementos
+     * @throws IndexOutOfBoundsException se o intervalo exceder algum vetor
+     */
+    default void executar(double[] a, double[] b, double[] resultado, int inicio, int quantidade) {
+        Lotes.validarIntervalo(a, b, resultado, inicio, quantidade);
+        for (int i = inicio, fim = inicio + quantidade; i < fim; i++) {
+            resultado[i] = executar(a[i], b[i]);
+        }
+    }
+    
+    /**
+     * Executa a operação sem lançar exceções por falhas aritméticas: uma falha
+     * resulta no valor IEEE 754 correspondente (ex.: infinito na divisão por zero).
+     * 
+     * A implementação padrão captura a {@link ArithmeticException} de
+     * {@link #executar(double, double)} e devolve NaN; operações com falhas
+     * previsíveis, como a divisão, sobrescrevem sem usar exceções.
+     * 
+     * @param a primeiro operando
+     * @param b segundo operando
+     * @return resultado, ou o valor IEEE 754 da falha
+     */
+    default double executarIEEE(double a, double b) {
+        try {
+            return executar(a, b);
+        } catch (ArithmeticException e) {
+            return Double.NaN;
+        }
+    }
+    
+    /**
+     * Executa sobre lotes de operandos sem lançar exceções por falhas
+     * aritméticas, como {@link #executarIEEE(double, double)}.
+     * 
+     * @param a primeiros operandos
+     * @param b segundos operandos
+     * @param resultado vetor de saída
+     * @param inicio índice inicial
+     * @param quantidade número de elementos
+     * @throws IndexOutOfBoundsException se o intervalo exceder algum vetor
+     */
+    default void executarIEEE(double[] a, double[] b, double[] resultado, int inicio, int quantidade) {
+        Lotes.validarIntervalo(a, b, resultado, inicio, quantidade);
+        for (int i = inicio, fim = inicio + quantidade; i < fim; i++) {
+            resultado[i] = executarIEEE(a[i], b[i]);
+        }
+    }
+    
+    /**
+     * Executa sobre lotes de operandos informando a situação de cada índice em
+     * vez de lançar exceções: os índices com falha recebem o valor de
+     * {@link #executarIEEE(double, double)} e a situação
+     * {@link Lotes#SITUACAO_ERRO_ARITMETICO}; os demais, {@link Lotes#SITUACAO_OK}.
+     * 
+     * A implementação padrão tenta o lote inteiro e, se ele falhar, refaz elemento
+     * a elemento; operações com falhas previsíveis sobrescrevem sem usar exceções.
+     * 
+     * @param a primeiros operandos
+     * @param b segundos operandos
+     * @param resultado vetor de saída
+     * @param situacao vetor que recebe a situação de cada índice
+     * @param inicio índice inicial
+     * @param quantidade número de elementos
+     * @return número de índices com falha
+     * @throws IndexOutOfBoundsException se o intervalo exceder algum vetor
+     */
+    default int executar(double[] a, double[] b, double[] resultado, byte[] situacao, int inicio, int quantidade) {
+        Objects.checkFromIndexSize(inicio, quantidade, situacao.length);
+        int fim = inicio + quantidade;
+        try {
+            executar(a, b, resultado, inicio, quantidade);
+            Arrays.fill(situacao, inicio, fim, Lotes.SITUACAO_OK);
+            return 0;
+        } catch (ArithmeticException e) {
+            int falhas = 0;
+            for (int i = inicio; i < fim; i++) {
+                try {
+                    resultado[i] = executar(a[i], b[i]);
+                    situacao[i] = Lotes.SITUACAO_OK;
+                } catch (ArithmeticException falha) {
+                    resultado[i] = Double.NaN;
+                    situacao[i] = Lotes.SITUACAO_ERRO_ARITMETICO;
+                    falhas++;
+                }
+            }
+            return falhas;
+        }
+    }
+    
+    /**
+     * Executa a operação em ponto fixo: os operandos e o resultado são longs
+     * escalados por 10^escala do contexto (ver {@link ContextoDecimal}).
+     * 
+     * A implementação padrão não tem caminho em ponto fixo e devolve
+     * {@link ContextoDecimal#FORA_DO_INTERVALO}, o que leva o chamador ao
+     * caminho {@link BigDecimal}. O mesmo valor deve ser devolvido sempre que o
+     * resultado não couber em um long.
+     * 
+     * @param a primeiro operando escalado
+     * @param b segundo operando escalado
+     * @param contexto escala e arredondamento
+     * @return resultado escalado ou {@link ContextoDecimal#FORA_DO_INTERVALO}
+     */
+    default long executarEscalado(long a, long b, ContextoDecimal contexto) {
+        return ContextoDecimal.FORA_DO_INTERVALO;
+    }
+    
+    /**
+     * Executa a operação em {@link BigDecimal}, arredondando conforme o contexto.
+     * 
+     * A implementação padrão calcula em double e converte o resultado pela sua
+     * representação decimal mais curta; operações que precisam de exatidão
+     * decimal devem sobrescrever este método.
+     * 
+     * @param a primeiro operando
+     * @param b segundo operando
+     * @param contexto escala e arredondamento
+     * @return resultado com no máximo {@link ContextoDecimal#getEscala()} casas
+     */
+    default BigDecimal executar(BigDecimal a, BigDecimal b, ContextoDecimal contexto) {
+        return contexto.ajustar(BigDecimal.valueOf(executar(a.doubleValue(), b.doubleValue())));
+    }
+    
+    /**
+     * Indica se a operação é elementar: pura e tão barata que consultar uma
+     * cache custaria mais que recalcular. Operações elementares nunca são
+     * envolvidas por {@link OperacaoMemorizada}.
+     * 
+     * @return true para as operações aritméticas básicas; false por padrão
+     */
+    default boolean isElementar() {
+        return false;
+    }
+    
+    /**
+     * Indica se a operação é associativa, isto é, se (a op b) op c = a op (b op c)
+     * a menos de arredondamento. Reduções de operações associativas podem ser
+     * divididas em partes calculadas em paralelo e combinadas pela própria operação.
+     * 
+     * @return true para a adição e a multiplicação; false por padrão
+     */
+    default boolean isAssociativa() {
+        return false;
+    }
+    
     /**
      * Retorna o símbolo da operação.
      * 
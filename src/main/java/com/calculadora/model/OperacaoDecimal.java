@@ -0,0 +1,127 @@
+package com.calculadora.model;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+
+/**
+ * Adapta uma operação para a aritmética decimal de um {@link ContextoDecimal}.
+ * 
+ * Em {@link #executar(double, double)} os operandos são convertidos para ponto
+ * fixo e calculados por {@link Operacao#executarEscalado}, sem alocação. Só
+ * quando um operando tem mais casas que a escala, ou o resultado não cabe em
+ * um long, o cálculo é refeito em {@link BigDecimal}. Assim {@code 0.1 + 0.2}
+ * resulta em {@code 0.3}, e não em {@code 0.30000000000000004}.
+ */
+public final class OperacaoDecimal implements Operacao {
+    
+    private final Operacao operacao;
+    private final ContextoDecimal contexto;
+    
+    /**
+     * @param operacao operação original
+     * @param contexto escala e arredondamento
+     */
+    public OperacaoDecimal(Operacao operacao, ContextoDecimal contexto) {
+        this.operacao = Objects.requireNonNull(operacao);
+        this.contexto = Objects.requireNonNull(contexto);
+    }
+    
+    @Override
+    public double executar(double a, double b) {
+        long escaladoA = contexto.escalar(a);
+        long escaladoB = contexto.escalar(b);
+        if (escaladoA != ContextoDecimal.FORA_DO_INTERVALO && escaladoB != ContextoDecimal.FORA_DO_INTERVALO) {
+            long resultado = operacao.executarEscalado(escaladoA, escaladoB, contexto);
+            if (resultado != ContextoDecimal.FORA_DO_INTERVALO) {
+                return contexto.paraDouble(resultado);
+            }
+        }
+        if (!Double.isFinite(a) || !Double.isFinite(b)) {
+            // Infinito e NaN não têm representação decimal
+            return operacao.executar(a, b);
+        }
+        return operacao.executar(BigDecimal.valueOf(a), BigDecimal.valueOf(b), contexto).doubleValue();
+    }
+    
+    /**
+     * Executa a operação com operandos decimais, pelo ponto fixo quando possível.
+     * 
+     * @param a primeiro operando
+     * @param b segundo operando
+     * @return resultado com no máximo {@link ContextoDecimal#getEscala()} casas
+     */
+    public BigDecimal executar(BigDecimal a, BigDecimal b) {
+        long escaladoA = contexto.escalar(a);
+        long escaladoB = contexto.escalar(b);
+        if (escaladoA != ContextoDecimal.FORA_DO_INTERVALO && escaladoB != ContextoDecimal.FORA_DO_INTERVALO) {
+            long resultado = operacao.executarEscalado(escaladoA, escaladoB, contexto);
+            if (resultado != ContextoDecimal.FORA_DO_INTERVALO) {
+                return contexto.paraBigDecimal(resultado);
+            }
+        }
+        return operacao.executar(a, b, contexto);
+    }
+    
+    /**
+     * Executa a operação em ponto fixo, recorrendo ao {@link BigDecimal} se o
+     * resultado intermediário não couber em um long.
+     * 
+     * @param a primeiro operando escalado
+     * @param b segundo operando escalado
+     * @return resultado escalado
+     * @throws ArithmeticException se o resultado final não couber em um long escalado
+     */
+    public long executarEscalado(long a, long b) {
+        long resultado = operacao.executarEscalado(a, b, contexto);
+        if (resultado != ContextoDecimal.FORA_DO_INTERVALO) {
+            return resultado;
+        }
+        BigDecimal exato = operacao.executar(contexto.paraBigDecimal(a), contexto.paraBigDecimal(b), contexto);
+        resultado = contexto.escalar(exato);
+        if (resultado == ContextoDecimal.FORA_DO_INTERVALO) {
+            throw new ArithmeticException("Resultado " + exato + " fora do intervalo do ponto fixo!");
+        }
+        return resultado;
+    }
+    
+    @Override
+    public long executarEscalado(long a, long b, ContextoDecimal contexto) {
+        return operacao.executarEscalado(a, b, contexto);
+    }
+    
+    @Override
+    public BigDecimal executar(BigDecimal a, BigDecimal b, ContextoDecimal contexto) {
+        return operacao.executar(a, b, contexto);
+    }
+    
+    @Override
+    public boolean isElementar() {
+        return operacao.isElementar();
+    }
+    
+    @Override
+    public boolean isAssociativa() {
+        return operacao.isAssociativa();
+    }
+    
+    @Override
+    public String getSimbolo() {
+        return operacao.getSimbolo();
+    }
+    
+    @Override
+    public String getDescricao() {
+        return operacao.getDescricao();
+    }
+    
+    /**
+     * @return operação original
+     */
+    public Operacao getOperacao() {
+        return operacao;
+    }
+    
+    public ContextoDecimal getContexto() {
+        return contexto;
+    }
+}
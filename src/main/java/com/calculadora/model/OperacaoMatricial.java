@@ -0,0 +1,90 @@
+package com.calculadora.model;
+
+/**
+ * Interface que define o contrato das operações sobre matrizes e vetores.
+ * As implementações públicas com construtor sem parâmetros são indexadas em
+ * tempo de compilação, como as de {@link Operacao}.
+ */
+public interface OperacaoMatricial {
+    
+    /**
+     * Cria a matriz de resultado da operação, com as dimensões adequadas aos operandos.
+     * 
+     * @param a primeiro operando
+     * @param b segundo operando
+     * @return matriz de zeros que recebe o resultado
+     * @throws IllegalArgumentException se as dimensões dos operandos não forem compatíveis
+     */
+    Matriz criarResultado(Matriz a, Matriz b);
+    
+    /**
+     * Executa a operação, gravando em uma matriz existente.
+     * 
+     * @param a primeiro operando
+     * @param b segundo operando
+     * @param resultado matriz que recebe o resultado
+     * @throws IllegalArgumentException se as dimensões das matrizes não forem compatíveis
+     * @throws ArithmeticException se a operação falhar (ex.: divisão por zero)
+     */
+    void executar(Matriz a, Matriz b, Matriz resultado);
+    
+    /**
+     * Executa a operação sem lançar exceções por falhas aritméticas: cada falha
+     * resulta no valor IEEE 754 correspondente, como em
+     * {@link Operacao#executarIEEE(double, double)}.
+     * 
+     * A implementação padrão delega para {@link #executar(Matriz, Matriz, Matriz)},
+     * o que basta para as operações que não falham.
+     * 
+     * @param a primeiro operando
+     * @param b segundo operando
+     * @param resultado matriz que recebe o resultado
+     * @throws IllegalArgumentException se as dimensões das matrizes não forem compatíveis
+     */
+    default void executarIEEE(Matriz a, Matriz b, Matriz resultado) {
+        executar(a, b, resultado);
+    }
+    
+    /**
+     * Executa a operação em uma nova matriz.
+     * 
+     * @param a primeiro operando
+     * @param b segundo operando
+     * @return resultado
+     * @throws IllegalArgumentException se as dimensões dos operandos não forem compatíveis
+     * @throws ArithmeticException se a operação falhar (ex.: divisão por zero)
+     */
+    default Matriz executar(Matriz a, Matriz b) {
+        Matriz resultado = criarResultado(a, b);
+        executar(a, b, resultado);
+        return resultado;
+    }
+    
+    /**
+     * Executa a operação em uma nova matriz, sem lançar exceções por falhas aritméticas.
+     * 
+     * @param a primeiro operando
+     * @param b segundo operando
+     * @return resultado
+     * @throws IllegalArgumentException se as dimensões dos operandos não forem compatíveis
+     */
+    default Matriz executarIEEE(Matriz a, Matriz b) {
+        Matriz resultado = criarResultado(a, b);
+        executarIEEE(a, b, resultado);
+        return resultado;
+    }
+    
+    /**
+     * Retorna o símbolo da operação.
+     * 
+     * @return símbolo (m+, m-, m*, m/, mk)
+     */
+    String getSimbolo();
+    
+    /**
+     * Retorna a descrição da operação.
+     * 
+     * @return descrição textual
+     */
+    String getDescricao();
+}
@@ -0,0 +1,71 @@
+package com.calculadora.model;
+
+import java.util.Objects;
+
+/**
+ * Operação matricial calculada elemento a elemento por uma {@link Operacao}
+ * escalar, sobre os vetores de dados das matrizes.
+ * 
+ * Usa a API em lote da operação escalar, e por isso herda os seus laços
+ * vetorizáveis e a sua semântica de erro: a divisão elemento a elemento
+ * rejeita divisores zero como a {@link Divisao}.
+ */
+public abstract class OperacaoMatricialElemento implements OperacaoMatricial {
+    
+    protected final String simbolo;
+    protected final String descricao;
+    protected final Operacao operacao;
+    
+    /**
+     * @param simbolo símbolo da operação matricial
+     * @param descricao descrição da operação matricial
+     * @param operacao operação escalar aplicada a cada par de elementos
+     */
+    protected OperacaoMatricialElemento(String simbolo, String descricao, Operacao operacao) {
+        this.simbolo = simbolo;
+        this.descricao = descricao;
+        this.operacao = Objects.requireNonNull(operacao);
+    }
+    
+    @Override
+    public Matriz criarResultado(Matriz a, Matriz b) {
+        validarDimensoes(a, b);
+        return new Matriz(a.getLinhas(), a.getColunas());
+    }
+    
+    /**
+     * O resultado pode ser um dos operandos.
+     */
+    @Override
+    public void executar(Matriz a, Matriz b, Matriz resultado) {
+        validarDimensoes(a, b, resultado);
+        operacao.executar(a.getDados(), b.getDados(), resultado.getDados(), 0, a.tamanho());
+    }
+    
+    @Override
+    public void executarIEEE(Matriz a, Matriz b, Matriz resultado) {
+        validarDimensoes(a, b, resultado);
+        operacao.executarIEEE(a.getDados(), b.getDados(), resultado.getDados(), 0, a.tamanho());
+    }
+    
+    private static void validarDimensoes(Matriz a, Matriz b) {
+        if (!a.mesmasDimensoes(b)) {
+            throw new IllegalArgumentException("As matrizes devem ter as mesmas dimensões!");
+        }
+    }
+    
+    private static void validarDimensoes(Matriz a, Matriz b, Matriz resultado) {
+        validarDimensoes(a, b);
+        validarDimensoes(a, resultado);
+    }
+    
+    @Override
+    public String getSimbolo() {
+        return simbolo;
+    }
+    
+    @Override
+    public String getDescricao() {
+        return descricao;
+    }
+}
@@ -0,0 +1,217 @@
+package com.calculadora.model;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Decorador que memoriza os resultados de uma operação cara, para pares de
+ * operandos que se repetem.
+ * 
+ * A tabela tem tamanho fixo e usa apenas vetores primitivos: a chave são os
+ * bits brutos ({@link Double#doubleToRawLongBits}) dos dois operandos, sem
+ * boxing. Cada par é espalhado para um conjunto de {@value #VIAS} entradas
+ * (endereçamento aberto com sondagem limitada ao conjunto); quando o conjunto
+ * está cheio, uma entrada é substituída pelo algoritmo do relógio: a entrada
+ * usada desde a última passagem ganha uma segunda chance.
+ * 
+ * Só os resultados de {@link #executar(double, double)} (e dos lotes, que
+ * delegam para ele) são memorizados; chamadas que lançam exceção não são.
+ * Os caminhos decimais delegam diretamente para a operação original.
+ * Operações elementares ({@link Operacao#isElementar()}) não podem ser memorizadas.
+ */
+public final class OperacaoMemorizada implements Operacao {
+    
+    /** Número de entradas por conjunto. */
+    public static final int VIAS = 4;
+    
+    private static final byte VAZIA = 0;
+    private static final byte OCUPADA = 1;
+    private static final byte REFERENCIADA = 2;
+    private static final int MAXIMO_TRAVAS = 64;
+    
+    private final Operacao operacao;
+    private final int mascaraConjuntos;
+    
+    private final long[] chavesA;
+    private final long[] chavesB;
+    private final double[] resultados;
+    private final byte[] estados;
+    // Ponteiro do relógio de cada conjunto
+    private final byte[] ponteiros;
+    private final Object[] travas;
+    
+    // Contadores de uso
+    private final LongAdder acertos = new LongAdder();
+    private final LongAdder falhas = new LongAdder();
+    private final LongAdder remocoes = new LongAdder();
+    
+    /**
+     * @param operacao operação a memorizar
+     * @param capacidade número máximo de resultados, arredondado para uma potência de dois
+     * @throws IllegalArgumentException se a operação for elementar ou a capacidade não for positiva
+     */
+    public OperacaoMemorizada(Operacao operacao, int capacidade) {
+        this.operacao = Objects.requireNonNull(operacao);
+        if (operacao.isElementar()) {
+            throw new IllegalArgumentException("A operação '" + operacao.getSimbolo()
+                + "' é elementar e não deve ser memorizada!");
+        }
+        if (capacidade <= 0 || capacidade > 1 << 30) {
+            throw new IllegalArgumentException("A capacidade da memorização deve estar entre 1 e 2^30!");
+        }
+        int entradas = Math.max(VIAS, Integer.highestOneBit(capacidade - 1) << 1);
+        int conjuntos = entradas / VIAS;
+        this.mascaraConjuntos = conjuntos - 1;
+        this.chavesA = new long[entradas];
+        this.chavesB = new long[entradas];
+        this.resultados = new double[entradas];
+        this.estados = new byte[entradas];
+        this.ponteiros = new byte[conjuntos];
+        this.travas = new Object[Math.min(conjuntos, MAXIMO_TRAVAS)];
+        for (int i = 0; i < travas.length; i++) {
+            travas[i] = new Object();
+        }
+    }
+    
+    /**
+     * Retorna o resultado memorizado ou calcula, fora do bloqueio, e memoriza.
+     */
+    @Override
+    public double executar(double a, double b) {
+        long chaveA = Double.doubleToRawLongBits(a);
+        long chaveB = Double.doubleToRawLongBits(b);
+        int conjunto = espalhar(chaveA, chaveB) & mascaraConjuntos;
+        int base = conjunto * VIAS;
+        Object trava = travas[conjunto & (travas.length - 1)];
+        
+        synchronized (trava) {
+            for (int i = base; i < base + VIAS; i++) {
+                if (estados[i] != VAZIA && chavesA[i] == chaveA && chavesB[i] == chaveB) {
+                    estados[i] = REFERENCIADA;
+                    acertos.increment();
+                    return resultados[i];
+                }
+            }
+        }
+        
+        falhas.increment();
+        double resultado = operacao.executar(a, b);
+        synchronized (trava) {
+            guardar(conjunto, base, chaveA, chaveB, resultado);
+        }
+        return resultado;
+    }
+    
+    private void guardar(int conjunto, int base, long chaveA, long chaveB, double resultado) {
+        int livre = -1;
+        for (int i = base; i < base + VIAS; i++) {
+            if (estados[i] == VAZIA) {
+                livre = livre < 0 ? i : livre;
+            } else if (chavesA[i] == chaveA && chavesB[i] == chaveB) {
+                // Outra thread já memorizou o mesmo par
+                return;
+            }
+        }
+        
+        if (livre < 0) {
+            // Relógio: limpa a marca das entradas referenciadas até achar uma sem marca
+            int ponteiro = ponteiros[conjunto];
+            while (estados[base + ponteiro] == REFERENCIADA) {
+                estados[base + ponteiro] = OCUPADA;
+                ponteiro = (ponteiro + 1) & (VIAS - 1);
+            }
+            livre = base + ponteiro;
+            ponteiros[conjunto] = (byte) ((ponteiro + 1) & (VIAS - 1));
+            remocoes.increment();
+        }
+        chavesA[livre] = chaveA;
+        chavesB[livre] = chaveB;
+        resultados[livre] = resultado;
+        estados[livre] = OCUPADA;
+    }
+    
+    private static int espalhar(long chaveA, long chaveB) {
+        long h = chaveA * 0x9E3779B97F4A7C15L ^ chaveB;
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        return (int) h;
+    }
+    
+    /**
+     * Descarta todos os resultados memorizados, mantendo os contadores.
+     */
+    public void limpar() {
+        for (int conjunto = 0; conjunto <= mascaraConjuntos; conjunto++) {
+            synchronized (travas[conjunto & (travas.length - 1)]) {
+                for (int i = conjunto * VIAS; i < (conjunto + 1) * VIAS; i++) {
+                    estados[i] = VAZIA;
+                }
+            }
+        }
+    }
+    
+    @Override
+    public long executarEscalado(long a, long b, ContextoDecimal contexto) {
+        return operacao.executarEscalado(a, b, contexto);
+    }
+    
+    @Override
+    public BigDecimal executar(BigDecimal a, BigDecimal b, ContextoDecimal contexto) {
+        return operacao.executar(a, b, contexto);
+    }
+    
+    @Override
+    public boolean isAssociativa() {
+        return operacao.isAssociativa();
+    }
+    
+    @Override
+    public String getSimbolo() {
+        return operacao.getSimbolo();
+    }
+    
+    @Override
+    public String getDescricao() {
+        return operacao.getDescricao();
+    }
+    
+    /**
+     * @return operação original
+     */
+    public Operacao getOperacao() {
+        return operacao;
+    }
+    
+    public int getCapacidade() {
+        return resultados.length;
+    }
+    
+    public long getAcertos() {
+        return acertos.sum();
+    }
+    
+    public long getFalhas() {
+        return falhas.sum();
+    }
+    
+    public long getRemocoes() {
+        return remocoes.sum();
+    }
+    
+    /**
+     * @return fração das chamadas atendidas pela memorização, ou zero se não houve chamadas
+     */
+    public double getTaxaAcertos() {
+        long acertos = getAcertos();
+        long total = acertos + getFalhas();
+        return total == 0 ? 0 : (double) acertos / total;
+    }
+    
+    @Override
+    public String toString() {
+        return "OperacaoMemorizada[" + getSimbolo() + ", capacidade=" + getCapacidade()
+            + ", acertos=" + getAcertos() + ", falhas=" + getFalhas() + ", remocoes=" + getRemocoes() + "]";
+    }
+}
@@ -1,5 +1,7 @@
 package com.calculadora.model;
 
+import java.math.BigDecimal;
+
 /**
  * Implementação concreta da operação de Subtração.
  */
@@ -13,4 +15,34 @@ public class Subtracao extends OperacaoAbstrata {
     public double executar(double a, double b) {
         return a - b;
     }
+    
+    @Override
+    public void executar(double[] a, double[] b, double[] resultado, int inicio, int quantidade) {
+        Lotes.validarIntervalo(a, b, resultado, inicio, quantidade);
+        for (int i = inicio, fim = inicio + quantidade; i < fim; i++) {
+            resultado[i] = a[i] - b[i];
+        }
+    }
+    
+    /**
+     * Subtrai em ponto fixo; detecta overflow pelo sinal do resultado.
+     */
+    @Override
+    public long executarEscalado(long a, long b, ContextoDecimal contexto) {
+        long resultado = a - b;
+        if (((a ^ b) & (a ^ resultado)) < 0) {
+            return ContextoDecimal.FORA_DO_INTERVALO;
+        }
+        return resultado;
+    }
+    
+    @Override
+    public BigDecimal executar(BigDecimal a, BigDecimal b, ContextoDecimal contexto) {
+        return contexto.ajustar(a.subtract(b, contexto.getMathContext()));
+    }
+    
+    @Override
+    public boolean isElementar() {
+        return true;
+    }
 }
@@ -0,0 +1,11 @@
+package com.calculadora.model;
+
+/**
+ * Subtração elemento a elemento de matrizes e vetores de mesmas dimensões.
+ */
+public class SubtracaoMatricial extends OperacaoMatricialElemento {
+    
+    public SubtracaoMatricial() {
+        super("m-", "Subtração de matrizes", new Subtracao());
+    }
+}
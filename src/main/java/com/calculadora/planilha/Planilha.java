@@ -0,0 +1,493 @@
+package com.calculadora.planilha;
+
+import com.calculadora.controller.CalculadoraController;
+import com.calculadora.expressao.Expressao;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.regex.Pattern;
+
+/**
+ * Planilha de células nomeadas, cujas fórmulas (como {@code subtotal * taxa})
+ * referenciam outras células e usam as operações do controller.
+ * 
+ * As referências formam um grafo de dependências, verificado contra ciclos a
+ * cada definição. Alterar uma célula apenas marca como pendentes as células
+ * que dependem dela, direta ou indiretamente; o recálculo acontece na próxima
+ * leitura (ou em {@link #recalcular()}) e percorre só as pendentes, em ordem
+ * topológica. As pendentes são agrupadas em níveis: as células de um mesmo
+ * nível não dependem umas das outras e, com um {@link ForkJoinPool}, níveis
+ * grandes são calculados em paralelo.
+ * 
+ * As fórmulas começam interpretadas e são compiladas para bytecode
+ * ({@link Expressao#compilar()}) depois de recalculadas algumas vezes.
+ * Quando as operações do controller mudam ({@link CalculadoraController#getGeracao()}),
+ * todas as fórmulas são compiladas de novo a partir do texto e recalculadas;
+ * uma fórmula cuja operação foi removida resulta em NaN até que ela volte.
+ * Células referenciadas e ainda não definidas valem zero. Uma fórmula que
+ * falha (ex.: divisão por zero) resulta em NaN, que se propaga para as
+ * dependentes, e o erro fica disponível em {@link #getErro(String)}.
+ */
+public class Planilha {
+    
+    /** Tamanho mínimo de um nível para o cálculo em paralelo. */
+    public static final int LIMITE_PARALELO = 64;
+    
+    /** Número de recálculos de uma fórmula antes de compilá-la. */
+    public static final int LIMITE_COMPILACAO = 16;
+    
+    private static final Pattern NOME_VALIDO = Pattern.compile("[\\p{L}_][\\p{L}\\p{N}_]*");
+    private static final int LIMITE_TAREFA = 16;
+    
+    private final CalculadoraController controller;
+    private final ForkJoinPool pool;
+    
+    private final Map<String, Integer> indices = new HashMap<>();
+    private final List<Celula> celulas = new ArrayList<>();
+    // Células alteradas desde o último recálculo (as pendentes são as alcançáveis a partir delas)
+    private final List<Celula> pendentes = new ArrayList<>();
+    
+    private long recalculos;
+    // Geração das operações do controller com que as fórmulas foram compiladas
+    private long geracao;
+    
+    /**
+     * Cria uma planilha com recálculo sequencial.
+     * 
+     * @param controller controller que resolve as operações das fórmulas
+     */
+    public Planilha(CalculadoraController controller) {
+        this(controller, null);
+    }
+    
+    /**
+     * @param controller controller que resolve as operações das fórmulas
+     * @param pool pool para o recálculo em paralelo de níveis grandes, ou null para recálculo sequencial
+     */
+    public Planilha(CalculadoraController controller, ForkJoinPool pool) {
+        this.controller = Objects.requireNonNull(controller);
+        this.pool = pool;
+        this.geracao = controller.getGeracao();
+    }
+    
+    /**
+     * Uma célula: um valor de entrada ou uma fórmula sobre outras células.
+     */
+    private static final class Celula {
+        
+        final String nome;
+        final int indice;
+        final List<Celula> dependentes = new ArrayList<>();
+        
+        // Texto da fórmula, ou null para uma célula de entrada
+        String texto;
+        // Fórmula compilada, ou null se ela usa uma operação que não existe mais
+        Expressao formula;
+        String erroCompilacao;
+        // Células referenciadas, na ordem das variáveis da fórmula
+        Celula[] dependencias = new Celula[0];
+        double[] argumentos = new double[0];
+        int avaliacoes;
+        
+        double valor;
+        String erro;
+        
+        // Estado do recálculo em andamento
+        boolean pendente;
+        int dependenciasPendentes;
+        
+        Celula(String nome, int indice) {
+            this.nome = nome;
+            this.indice = indice;
+        }
+        
+        void compilar(CalculadoraController controller) {
+            try {
+                formula = controller.compilarExpressao(texto);
+                erroCompilacao = null;
+            } catch (IllegalArgumentException e) {
+                formula = null;
+                erroCompilacao = e.getMessage();
+            }
+            avaliacoes = 0;
+        }
+        
+        void avaliar() {
+            if (texto == null) {
+                return;
+            }
+            if (formula == null) {
+                valor = Double.NaN;
+                erro = erroCompilacao;
+                return;
+            }
+            for (int i = 0; i < dependencias.length; i++) {
+                argumentos[i] = dependencias[i].valor;
+            }
+            try {
+                if (++avaliacoes == LIMITE_COMPILACAO) {
+                    formula = formula.compilar();
+                }
+                valor = formula.avaliar(argumentos);
+                erro = null;
+            } catch (RuntimeException | LinkageError e) {
+                // Inclui falhas inesperadas de operações de plugins, que não podem interromper o recálculo
+                valor = Double.NaN;
+                erro = e.getMessage() != null ? e.getMessage() : e.toString();
+            }
+        }
+    }
+    
+    /**
+     * Define o valor de uma célula de entrada, removendo a sua fórmula, se houver.
+     * 
+     * @param nome nome da célula
+     * @param valor novo valor
+     * @throws IllegalArgumentException se o nome for inválido
+     */
+    public synchronized void definirValor(String nome, double valor) {
+        Celula celula = celula(nome);
+        trocarDependencias(celula, new Celula[0]);
+        celula.texto = null;
+        celula.formula = null;
+        celula.erroCompilacao = null;
+        celula.erro = null;
+        if (Double.doubleToRawLongBits(celula.valor) != Double.doubleToRawLongBits(valor)) {
+            celula.valor = valor;
+            marcar(celula);
+        }
+    }
+    
+    /**
+     * Define a fórmula de uma célula. Os nomes usados na fórmula são as células referenciadas.
+     * 
+     * @param nome nome da célula
+     * @param formula texto da fórmula, como {@code subtotal * (1 + taxa)}
+     * @throws IllegalArgumentException se a fórmula for inválida ou criar uma referência circular
+     */
+    public synchronized void definirFormula(String nome, String formula) {
+        Expressao expressao = controller.compilarExpressao(formula);
+        List<String> variaveis = expressao.getVariaveis();
+        
+        // Valida antes de criar qualquer célula, para que uma fórmula rejeitada não altere a planilha
+        validarNome(nome);
+        for (String variavel : variaveis) {
+            validarNome(variavel);
+        }
+        List<String> ciclo = procurarCiclo(nome, variaveis);
+        if (ciclo != null) {
+            throw new IllegalArgumentException("Referência circular: " + String.join(" -> ", ciclo) + "!");
+        }
+        
+        Celula celula = celula(nome);
+        Celula[] dependencias = new Celula[variaveis.size()];
+        for (int i = 0; i < dependencias.length; i++) {
+            dependencias[i] = celula(variaveis.get(i));
+        }
+        trocarDependencias(celula, dependencias);
+        celula.texto = formula;
+        celula.formula = expressao;
+        celula.erroCompilacao = null;
+        celula.argumentos = new double[dependencias.length];
+        celula.avaliacoes = 0;
+        marcar(celula);
+    }
+    
+    private Celula celula(String nome) {
+        Integer indice = indices.get(nome);
+        if (indice != null) {
+            return celulas.get(indice);
+        }
+        validarNome(nome);
+        Celula celula = new Celula(nome, celulas.size());
+        celulas.add(celula);
+        indices.put(nome, celula.indice);
+        return celula;
+    }
+    
+    private void validarNome(String nome) {
+        if (nome == null || (!indices.containsKey(nome) && !NOME_VALIDO.matcher(nome).matches())) {
+            throw new IllegalArgumentException("Nome de célula inválido: '" + nome + "'!");
+        }
+    }
+    
+    private void trocarDependencias(Celula celula, Celula[] dependencias) {
+        for (Celula antiga : celula.dependencias) {
+            antiga.dependentes.remove(celula);
+        }
+        celula.dependencias = dependencias;
+        for (Celula nova : new LinkedHashSet<>(List.of(dependencias))) {
+            nova.dependentes.add(celula);
+        }
+    }
+    
+    /**
+     * Procura um caminho das novas dependências até a própria célula, sem criar células:
+     * uma célula que ainda não existe não tem dependências nem dependentes.
+     * 
+     * @return nomes das células do ciclo, ou null se não houver ciclo
+     */
+    private List<String> procurarCiclo(String nome, List<String> variaveis) {
+        if (variaveis.contains(nome)) {
+            return List.of(nome, nome);
+        }
+        Integer indice = indices.get(nome);
+        if (indice == null) {
+            return null;
+        }
+        Celula celula = celulas.get(indice);
+        boolean[] visitadas = new boolean[celulas.size()];
+        for (String variavel : variaveis) {
+            Integer indiceDependencia = indices.get(variavel);
+            if (indiceDependencia == null) {
+                continue;
+            }
+            Celula dependencia = celulas.get(indiceDependencia);
+            List<String> caminho = new ArrayList<>();
+            caminho.add(celula.nome);
+            if (alcanca(dependencia, celula, visitadas, caminho)) {
+                caminho.add(celula.nome);
+                return caminho;
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Busca em profundidade pelas dependências, com pilha explícita para suportar cadeias longas.
+     * Ao encontrar o destino, acrescenta ao caminho as células da origem até antes dele.
+     */
+    private static boolean alcanca(Celula origem, Celula destino, boolean[] visitadas, List<String> caminho) {
+        List<Celula> pilha = new ArrayList<>();
+        List<Integer> proximas = new ArrayList<>();
+        pilha.add(origem);
+        proximas.add(0);
+        visitadas[origem.indice] = true;
+        while (!pilha.isEmpty()) {
+            Celula atual = pilha.get(pilha.size() - 1);
+            if (atual == destino) {
+                for (int i = 0; i < pilha.size() - 1; i++) {
+                    caminho.add(pilha.get(i).nome);
+                }
+                return true;
+            }
+            int proxima = proximas.get(proximas.size() - 1);
+            if (proxima < atual.dependencias.length) {
+                proximas.set(proximas.size() - 1, proxima + 1);
+                Celula dependencia = atual.dependencias[proxima];
+                if (!visitadas[dependencia.indice] || dependencia == destino) {
+                    visitadas[dependencia.indice] = true;
+                    pilha.add(dependencia);
+                    proximas.add(0);
+                }
+            } else {
+                pilha.remove(pilha.size() - 1);
+                proximas.remove(proximas.size() - 1);
+            }
+        }
+        return false;
+    }
+    
+    private void marcar(Celula celula) {
+        pendentes.add(celula);
+    }
+    
+    /**
+     * Retorna o valor de uma célula, recalculando antes as células pendentes.
+     * 
+     * @param nome nome da célula
+     * @return valor da célula, ou NaN se a fórmula dela (ou de uma dependência) falhou
+     * @throws IllegalArgumentException se a célula não existir
+     */
+    public synchronized double getValor(String nome) {
+        recalcular();
+        return existente(nome).valor;
+    }
+    
+    /**
+     * @param nome nome da célula
+     * @return mensagem do erro da fórmula, ou null se o último cálculo teve sucesso
+     * @throws IllegalArgumentException se a célula não existir
+     */
+    public synchronized String getErro(String nome) {
+        recalcular();
+        return existente(nome).erro;
+    }
+    
+    /**
+     * @param nome nome da célula
+     * @return texto da fórmula, ou null se a célula for de entrada
+     * @throws IllegalArgumentException se a célula não existir
+     */
+    public synchronized String getFormula(String nome) {
+        return existente(nome).texto;
+    }
+    
+    private Celula existente(String nome) {
+        Integer indice = indices.get(nome);
+        if (indice == null) {
+            throw new IllegalArgumentException("Célula '" + nome + "' não encontrada!");
+        }
+        return celulas.get(indice);
+    }
+    
+    /**
+     * Recalcula as células pendentes: as alteradas e todas as que dependem delas.
+     * Cada célula é calculada uma única vez, depois de todas as suas dependências.
+     */
+    public synchronized void recalcular() {
+        atualizarFormulas();
+        if (pendentes.isEmpty()) {
+            return;
+        }
+        
+        // Marca as células alcançáveis a partir das alteradas
+        List<Celula> afetadas = new ArrayList<>();
+        for (Celula alterada : pendentes) {
+            if (!alterada.pendente) {
+                alterada.pendente = true;
+                afetadas.add(alterada);
+            }
+        }
+        pendentes.clear();
+        for (int i = 0; i < afetadas.size(); i++) {
+            for (Celula dependente : afetadas.get(i).dependentes) {
+                if (!dependente.pendente) {
+                    dependente.pendente = true;
+                    afetadas.add(dependente);
+                }
+            }
+        }
+        
+        try {
+            calcularAfetadas(afetadas);
+        } finally {
+            // Se o recálculo for interrompido, as células não calculadas voltam a ser alteradas
+            for (Celula celula : afetadas) {
+                if (celula.pendente) {
+                    celula.pendente = false;
+                    celula.dependenciasPendentes = 0;
+                    pendentes.add(celula);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Compila de novo as fórmulas se as operações do controller mudaram: uma
+     * expressão guarda as operações resolvidas ao ser compilada. As variáveis
+     * dependem só do texto, por isso as dependências não mudam.
+     */
+    private void atualizarFormulas() {
+        // Lida antes de compilar: uma troca durante a compilação é vista no próximo recálculo
+        long atual = controller.getGeracao();
+        if (atual == geracao) {
+            return;
+        }
+        geracao = atual;
+        for (Celula celula : celulas) {
+            if (celula.texto != null) {
+                celula.compilar(controller);
+                marcar(celula);
+            }
+        }
+    }
+    
+    /**
+     * Algoritmo de Kahn restrito às afetadas, nível a nível.
+     */
+    private void calcularAfetadas(List<Celula> afetadas) {
+        List<Celula> nivel = new ArrayList<>();
+        for (Celula celula : afetadas) {
+            for (Celula dependencia : new LinkedHashSet<>(List.of(celula.dependencias))) {
+                if (dependencia.pendente) {
+                    celula.dependenciasPendentes++;
+                }
+            }
+        }
+        for (Celula celula : afetadas) {
+            if (celula.dependenciasPendentes == 0) {
+                nivel.add(celula);
+            }
+        }
+        while (!nivel.isEmpty()) {
+            calcularNivel(nivel.toArray(new Celula[0]));
+            recalculos += nivel.size();
+            
+            List<Celula> proximo = new ArrayList<>();
+            for (Celula celula : nivel) {
+                celula.pendente = false;
+                for (Celula dependente : celula.dependentes) {
+                    if (--dependente.dependenciasPendentes == 0) {
+                        proximo.add(dependente);
+                    }
+                }
+            }
+            nivel = proximo;
+        }
+    }
+    
+    private void calcularNivel(Celula[] nivel) {
+        if (pool != null && nivel.length >= LIMITE_PARALELO) {
+            pool.invoke(new Parte(nivel, 0, nivel.length));
+            return;
+        }
+        for (Celula celula : nivel) {
+            celula.avaliar();
+        }
+    }
+    
+    /**
+     * Parte de um nível, dividida ao meio até {@link #LIMITE_TAREFA} células.
+     */
+    private static final class Parte extends RecursiveAction {
+        
+        private static final long serialVersionUID = 1L;
+        
+        private final Celula[] nivel;
+        private final int inicio;
+        private final int fim;
+        
+        Parte(Celula[] nivel, int inicio, int fim) {
+            this.nivel = nivel;
+            this.inicio = inicio;
+            this.fim = fim;
+        }
+        
+        @Override
+        protected void compute() {
+            if (fim - inicio <= LIMITE_TAREFA) {
+                for (int i = inicio; i < fim; i++) {
+                    nivel[i].avaliar();
+                }
+                return;
+            }
+            int meio = (inicio + fim) >>> 1;
+            invokeAll(new Parte(nivel, inicio, meio), new Parte(nivel, meio, fim));
+        }
+    }
+    
+    /**
+     * @return nomes de todas as células, na ordem de criação
+     */
+    public synchronized Set<String> getCelulas() {
+        Set<String> nomes = new LinkedHashSet<>();
+        for (Celula celula : celulas) {
+            nomes.add(celula.nome);
+        }
+        return nomes;
+    }
+    
+    /**
+     * @return número total de células recalculadas desde a criação da planilha
+     */
+    public synchronized long getRecalculos() {
+        return recalculos;
+    }
+}
@@ -0,0 +1,124 @@
+package com.calculadora.processador;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * Processador de anotações que gera, em tempo de compilação, o índice
+ * {@code META-INF/services} das operações.
+ * Toda classe pública e concreta que implementa uma das interfaces indexadas
+ * e possui construtor público sem parâmetros entra no índice, que depois é lido
+ * pelo {@link java.util.ServiceLoader}. Assim, novas operações não precisam ser
+ * cadastradas em nenhuma lista.
+ */
+@SupportedAnnotationTypes("*")
+public class ProcessadorIndiceOperacoes extends AbstractProcessor {
+    
+    /** Interfaces cujas implementações são indexadas. */
+    private static final String[] INTERFACES = {
+        "com.calculadora.model.Operacao",
+        "com.calculadora.model.OperacaoMatricial"
+    };
+    
+    // Nome da interface -> nomes binários das implementações encontradas
+    private final Map<String, Set<String>> implementacoes = new LinkedHashMap<>();
+    
+    public ProcessadorIndiceOperacoes() {
+        for (String nomeInterface : INTERFACES) {
+            implementacoes.put(nomeInterface, new TreeSet<>());
+        }
+    }
+    
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+    
+    @Override
+    public boolean process(Set<? extends TypeElement> anotacoes, RoundEnvironment ambiente) {
+        if (ambiente.processingOver()) {
+            implementacoes.forEach(this::escreverIndice);
+            return false;
+        }
+        
+        for (TypeElement tipo : ElementFilter.typesIn(ambiente.getRootElements())) {
+            registrar(tipo);
+            for (TypeElement interno : ElementFilter.typesIn(tipo.getEnclosedElements())) {
+                if (interno.getModifiers().contains(Modifier.STATIC)) {
+                    registrar(interno);
+                }
+            }
+        }
+        return false;
+    }
+    
+    private void registrar(TypeElement tipo) {
+        if (tipo.getKind() != ElementKind.CLASS
+                || !tipo.getModifiers().contains(Modifier.PUBLIC)
+                || tipo.getModifiers().contains(Modifier.ABSTRACT)
+                || !possuiConstrutorPadrao(tipo)) {
+            return;
+        }
+        
+        for (Map.Entry<String, Set<String>> entrada : implementacoes.entrySet()) {
+            TypeElement interfaceIndexada = processingEnv.getElementUtils().getTypeElement(entrada.getKey());
+            if (interfaceIndexada == null) {
+                continue;
+            }
+            TypeMirror tipoInterface = processingEnv.getTypeUtils().erasure(interfaceIndexada.asType());
+            if (processingEnv.getTypeUtils().isAssignable(tipo.asType(), tipoInterface)) {
+                entrada.getValue().add(processingEnv.getElementUtils().getBinaryName(tipo).toString());
+            }
+        }
+    }
+    
+    private static boolean possuiConstrutorPadrao(TypeElement tipo) {
+        for (Element membro : tipo.getEnclosedElements()) {
+            if (membro.getKind() == ElementKind.CONSTRUCTOR
+                    && membro.getModifiers().contains(Modifier.PUBLIC)
+                    && ((ExecutableElement) membro).getParameters().isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private void escreverIndice(String nomeInterface, Set<String> classes) {
+        if (classes.isEmpty()) {
+            return;
+        }
+        try {
+            FileObject arquivo = processingEnv.getFiler()
+                .createResource(StandardLocation.CLASS_OUTPUT, "", "META-INF/services/" + nomeInterface);
+            try (Writer escritor = new OutputStreamWriter(arquivo.openOutputStream(), StandardCharsets.UTF_8)) {
+                for (String classe : classes) {
+                    escritor.write(classe);
+                    escritor.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                "Erro ao gerar o índice de " + nomeInterface + ": " + e.getMessage());
+        }
+    }
+}
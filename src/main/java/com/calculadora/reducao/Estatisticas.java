@@ -0,0 +1,179 @@
+package com.calculadora.reducao;
+
+import java.util.Objects;
+
+/**
+ * Estatísticas de uma sequência de valores, calculadas em uma única passada e
+ * com memória constante: contagem, soma, média, variância, mínimo e máximo.
+ * 
+ * A média e a variância usam o algoritmo de Welford, que atualiza a média e a
+ * soma dos quadrados dos desvios a cada valor e não sofre o cancelamento
+ * catastrófico da fórmula ingênua (soma dos quadrados menos o quadrado da
+ * soma). Estatísticas parciais (ex.: de partes calculadas em paralelo) são
+ * juntadas por {@link #combinar(Estatisticas)}, pela fórmula de Chan et al.
+ * 
+ * Não é thread-safe: cada thread deve usar as suas estatísticas e combiná-las no fim.
+ */
+public final class Estatisticas {
+    
+    /** Valores por bloco na adição de vetores: 8 KiB, que cabem na cache L1. */
+    private static final int TAMANHO_BLOCO = 1024;
+    
+    private long contagem;
+    private double media;
+    // Soma dos quadrados dos desvios em relação à média
+    private double m2;
+    private double minimo = Double.POSITIVE_INFINITY;
+    private double maximo = Double.NEGATIVE_INFINITY;
+    private final SomaCompensada soma = new SomaCompensada();
+    
+    /**
+     * Adiciona um valor.
+     * 
+     * @param valor valor
+     * @return estas estatísticas
+     */
+    public Estatisticas adicionar(double valor) {
+        contagem++;
+        double desvio = valor - media;
+        media += desvio / contagem;
+        m2 += desvio * (valor - media);
+        minimo = Math.min(minimo, valor);
+        maximo = Math.max(maximo, valor);
+        soma.adicionar(valor);
+        return this;
+    }
+    
+    /**
+     * Adiciona os valores de {@code valores[inicio, inicio + quantidade)}.
+     * 
+     * @param valores valores
+     * @param inicio índice inicial
+     * @param quantidade número de valores
+     * @return estas estatísticas
+     * @throws IndexOutOfBoundsException se o intervalo exceder o vetor
+     */
+    public Estatisticas adicionar(double[] valores, int inicio, int quantidade) {
+        Objects.checkFromIndexSize(inicio, quantidade, valores.length);
+        for (int bloco = inicio, fim = inicio + quantidade; bloco < fim; bloco += TAMANHO_BLOCO) {
+            adicionarBloco(valores, bloco, Math.min(bloco + TAMANHO_BLOCO, fim));
+        }
+        return this;
+    }
+    
+    /**
+     * Calcula o bloco em duas passadas (média, depois desvios), sem a divisão
+     * por valor do algoritmo de Welford, e o combina com as estatísticas atuais.
+     * O bloco é pequeno o bastante para que a segunda passada leia da cache.
+     */
+    private void adicionarBloco(double[] valores, int inicio, int fim) {
+        Estatisticas bloco = new Estatisticas();
+        bloco.soma.adicionar(valores, inicio, fim - inicio);
+        double minimoBloco = Double.POSITIVE_INFINITY;
+        double maximoBloco = Double.NEGATIVE_INFINITY;
+        for (int i = inicio; i < fim; i++) {
+            minimoBloco = Math.min(minimoBloco, valores[i]);
+            maximoBloco = Math.max(maximoBloco, valores[i]);
+        }
+        double mediaBloco = bloco.soma.getSoma() / (fim - inicio);
+        double m2Bloco = 0;
+        for (int i = inicio; i < fim; i++) {
+            double desvio = valores[i] - mediaBloco;
+            m2Bloco += desvio * desvio;
+        }
+        bloco.contagem = fim - inicio;
+        bloco.media = mediaBloco;
+        bloco.m2 = m2Bloco;
+        bloco.minimo = minimoBloco;
+        bloco.maximo = maximoBloco;
+        combinar(bloco);
+    }
+    
+    /**
+     * Junta outras estatísticas parciais a estas.
+     * 
+     * @param outras estatísticas parciais
+     * @return estas estatísticas
+     */
+    public Estatisticas combinar(Estatisticas outras) {
+        if (outras.contagem == 0) {
+            return this;
+        }
+        if (contagem == 0) {
+            media = outras.media;
+            m2 = outras.m2;
+        } else {
+            double total = (double) contagem + outras.contagem;
+            double desvio = outras.media - media;
+            media += desvio * (outras.contagem / total);
+            m2 += outras.m2 + desvio * desvio * (contagem * (outras.contagem / total));
+        }
+        contagem += outras.contagem;
+        minimo = Math.min(minimo, outras.minimo);
+        maximo = Math.max(maximo, outras.maximo);
+        soma.combinar(outras.soma);
+        return this;
+    }
+    
+    /**
+     * @return número de valores adicionados
+     */
+    public long getContagem() {
+        return contagem;
+    }
+    
+    /**
+     * @return soma compensada dos valores (0 se não houver valores)
+     */
+    public double getSoma() {
+        return soma.getSoma();
+    }
+    
+    /**
+     * @return média dos valores, ou NaN se não houver valores
+     */
+    public double getMedia() {
+        return contagem > 0 ? media : Double.NaN;
+    }
+    
+    /**
+     * @return variância populacional (divisor n), ou NaN se não houver valores
+     */
+    public double getVariancia() {
+        return contagem > 0 ? m2 / contagem : Double.NaN;
+    }
+    
+    /**
+     * @return variância amostral (divisor n - 1), ou NaN se houver menos de dois valores
+     */
+    public double getVarianciaAmostral() {
+        return contagem > 1 ? m2 / (contagem - 1) : Double.NaN;
+    }
+    
+    /**
+     * @return desvio padrão populacional, ou NaN se não houver valores
+     */
+    public double getDesvioPadrao() {
+        return Math.sqrt(getVariancia());
+    }
+    
+    /**
+     * @return menor valor, ou NaN se não houver valores
+     */
+    public double getMinimo() {
+        return contagem > 0 ? minimo : Double.NaN;
+    }
+    
+    /**
+     * @return maior valor, ou NaN se não houver valores
+     */
+    public double getMaximo() {
+        return contagem > 0 ? maximo : Double.NaN;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("Estatisticas[n=%d, média=%s, desvio=%s, mín=%s, máx=%s]",
+            contagem, getMedia(), getDesvioPadrao(), getMinimo(), getMaximo());
+    }
+}
@@ -0,0 +1,299 @@
+package com.calculadora.reducao;
+
+import com.calculadora.controller.CalculadoraController;
+import com.calculadora.controller.ModoPrecisao;
+import com.calculadora.io.CodecNumerico;
+import com.calculadora.model.Adicao;
+import com.calculadora.model.Operacao;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.DoubleStream;
+
+/**
+ * Reduções de sequências de valores: somas, estatísticas e a redução por
+ * qualquer operação do controller, sobre um {@link ForkJoinPool} próprio.
+ * 
+ * Vetores grandes são divididos ao meio até o limite sequencial, como no
+ * {@code AvaliadorParalelo}; cada parte produz um estado parcial
+ * ({@link SomaCompensada}, {@link Estatisticas} ou o valor acumulado) e os
+ * estados são combinados na volta. As somas são sempre compensadas, por isso
+ * o resultado paralelo difere do sequencial no máximo no último bit.
+ * Sequências em {@link DoubleStream} (inclusive paralelas) e arquivos de texto
+ * são reduzidos em uma única passada, com memória constante.
+ * 
+ * Em {@link #reduzir(String, double[])}, a adição no modo binário é calculada
+ * pela soma compensada do próprio redutor, sem passar pelo controller: ela não
+ * aparece nas métricas nem gera eventos JFR, e a política de erro não se
+ * aplica (a adição binária não falha; um estouro resulta em infinito). As
+ * demais operações, e a adição no modo decimal, são executadas pelo controller.
+ */
+public class Redutor implements AutoCloseable {
+    
+    /** Limite sequencial padrão: 8192 elementos. */
+    public static final int LIMITE_SEQUENCIAL_PADRAO = 1 << 13;
+    
+    /** Tamanho do buffer de leitura de arquivos; também o maior número aceito, em bytes. */
+    public static final int TAMANHO_BUFFER = 1 << 16;
+    
+    private final CalculadoraController controller;
+    private final ForkJoinPool pool;
+    private final int limiteSequencial;
+    
+    public Redutor(CalculadoraController controller) {
+        this(controller, Runtime.getRuntime().availableProcessors(), LIMITE_SEQUENCIAL_PADRAO);
+    }
+    
+    /**
+     * @param controller controller que executa as operações
+     * @param paralelismo número de threads do pool
+     * @param limiteSequencial tamanho máximo de uma parte calculada por uma única tarefa
+     */
+    public Redutor(CalculadoraController controller, int paralelismo, int limiteSequencial) {
+        if (paralelismo <= 0) {
+            throw new IllegalArgumentException("O paralelismo deve ser positivo!");
+        }
+        if (limiteSequencial <= 0) {
+            throw new IllegalArgumentException("O limite sequencial deve ser positivo!");
+        }
+        this.controller = Objects.requireNonNull(controller);
+        this.pool = new ForkJoinPool(paralelismo);
+        this.limiteSequencial = limiteSequencial;
+    }
+    
+    /**
+     * Soma compensada de um vetor.
+     * 
+     * @param valores parcelas
+     * @return soma (0 para um vetor vazio)
+     */
+    public double somar(double[] valores) {
+        return dividir(valores, (inicio, fim) -> new SomaCompensada().adicionar(valores, inicio, fim - inicio),
+            SomaCompensada::combinar).getSoma();
+    }
+    
+    /**
+     * Estatísticas de um vetor.
+     * 
+     * @param valores valores
+     * @return contagem, soma, média, variância, mínimo e máximo
+     */
+    public Estatisticas estatisticas(double[] valores) {
+        return dividir(valores, (inicio, fim) -> new Estatisticas().adicionar(valores, inicio, fim - inicio),
+            Estatisticas::combinar);
+    }
+    
+    /**
+     * Reduz um vetor por uma operação do controller: v[0] op v[1] op ... op v[n-1].
+     * 
+     * A adição (no modo binário) usa a soma compensada. As demais operações são
+     * acumuladas da esquerda para a direita; as associativas
+     * ({@link Operacao#isAssociativa()}) são divididas em partes calculadas em
+     * paralelo, cujos resultados são combinados pela própria operação.
+     * 
+     * Um vetor vazio é rejeitado em todas as operações; para a soma de um
+     * vetor possivelmente vazio, use {@link #somar(double[])}, que retorna 0.
+     * 
+     * @param simbolo símbolo da operação
+     * @param valores valores
+     * @return resultado da redução
+     * @throws IllegalArgumentException se a operação não existir ou o vetor for vazio
+     * @throws ArithmeticException se a operação falhar (ex.: divisão por zero)
+     */
+    public double reduzir(String simbolo, double[] valores) {
+        Operacao operacao = controller.getOperacoes().get(simbolo);
+        if (operacao == null) {
+            throw new IllegalArgumentException("Operação '" + simbolo + "' não encontrada!");
+        }
+        if (valores.length == 0) {
+            throw new IllegalArgumentException("Não há valores para reduzir!");
+        }
+        if (operacao instanceof Adicao && controller.getModoPrecisao() == ModoPrecisao.BINARIO) {
+            return somar(valores);
+        }
+        
+        int codigo = controller.resolverCodigo(simbolo);
+        if (!operacao.isAssociativa()) {
+            return acumular(codigo, valores, 0, valores.length);
+        }
+        return dividir(valores, (inicio, fim) -> acumular(codigo, valores, inicio, fim),
+            (esquerda, direita) -> controller.executarOperacao(codigo, esquerda, direita));
+    }
+    
+    private double acumular(int codigo, double[] valores, int inicio, int fim) {
+        double acumulado = valores[inicio];
+        for (int i = inicio + 1; i < fim; i++) {
+            acumulado = controller.executarOperacao(codigo, acumulado, valores[i]);
+        }
+        return acumulado;
+    }
+    
+    /**
+     * Soma compensada de uma sequência, que pode ser paralela.
+     * 
+     * @param valores parcelas
+     * @return soma (0 para uma sequência vazia)
+     */
+    public static double somar(DoubleStream valores) {
+        return valores.collect(SomaCompensada::new, SomaCompensada::adicionar, SomaCompensada::combinar).getSoma();
+    }
+    
+    /**
+     * Estatísticas de uma sequência, que pode ser paralela.
+     * 
+     * @param valores valores
+     * @return contagem, soma, média, variância, mínimo e máximo
+     */
+    public static Estatisticas estatisticas(DoubleStream valores) {
+        return valores.collect(Estatisticas::new, Estatisticas::adicionar, Estatisticas::combinar);
+    }
+    
+    /**
+     * Estatísticas dos números de um arquivo de texto.
+     * 
+     * @param arquivo arquivo com números separados por espaços, vírgulas, ponto e vírgula ou quebras de linha
+     * @return contagem, soma, média, variância, mínimo e máximo
+     * @throws IOException em caso de erro de leitura ou número maior que {@link #TAMANHO_BUFFER}
+     * @throws NumberFormatException se o arquivo tiver um valor que não é número
+     */
+    public static Estatisticas estatisticas(Path arquivo) throws IOException {
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            return estatisticas(canal);
+        }
+    }
+    
+    /**
+     * Estatísticas dos números lidos de um canal, em blocos de {@link #TAMANHO_BUFFER} bytes.
+     * 
+     * @param entrada canal com números separados por espaços, vírgulas, ponto e vírgula ou quebras de linha
+     * @return contagem, soma, média, variância, mínimo e máximo
+     * @throws IOException em caso de erro de leitura ou número maior que {@link #TAMANHO_BUFFER}
+     * @throws NumberFormatException se a entrada tiver um valor que não é número
+     */
+    public static Estatisticas estatisticas(ReadableByteChannel entrada) throws IOException {
+        ByteBuffer leitura = ByteBuffer.allocate(TAMANHO_BUFFER);
+        byte[] dados = leitura.array();
+        Estatisticas estatisticas = new Estatisticas();
+        boolean fimDaEntrada = false;
+        
+        while (!fimDaEntrada) {
+            fimDaEntrada = entrada.read(leitura) < 0;
+            int limite = leitura.position();
+            int inicio = 0;
+            
+            while (true) {
+                while (inicio < limite && ehSeparador(dados[inicio])) {
+                    inicio++;
+                }
+                int fim = inicio;
+                while (fim < limite && !ehSeparador(dados[fim])) {
+                    fim++;
+                }
+                if (inicio == limite || (fim == limite && !fimDaEntrada)) {
+                    // Fim do bloco ou número incompleto, que continua no próximo bloco
+                    break;
+                }
+                estatisticas.adicionar(CodecNumerico.lerDouble(dados, inicio, fim));
+                inicio = fim;
+            }
+            
+            if (inicio == 0 && limite == dados.length) {
+                throw new IOException("Valor maior que " + TAMANHO_BUFFER + " bytes!");
+            }
+            
+            // Move o número incompleto para o início do buffer
+            leitura.position(inicio);
+            leitura.limit(limite);
+            leitura.compact();
+        }
+        return estatisticas;
+    }
+    
+    private static boolean ehSeparador(byte b) {
+        return b == ' ' || b == '\n' || b == '\r' || b == '\t' || b == ',' || b == ';';
+    }
+    
+    /**
+     * @return número de threads do pool
+     */
+    public int getParalelismo() {
+        return pool.getParallelism();
+    }
+    
+    /**
+     * @return tamanho máximo de uma parte calculada por uma única tarefa
+     */
+    public int getLimiteSequencial() {
+        return limiteSequencial;
+    }
+    
+    /**
+     * Encerra as threads do pool.
+     */
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+    
+    /**
+     * Calcula o estado parcial de um intervalo [inicio, fim).
+     */
+    @FunctionalInterface
+    private interface Parcial<T> {
+        T calcular(int inicio, int fim);
+    }
+    
+    /**
+     * Combina dois estados parciais, o da esquerda primeiro.
+     */
+    @FunctionalInterface
+    private interface Combinacao<T> {
+        T combinar(T esquerda, T direita);
+    }
+    
+    private <T> T dividir(double[] valores, Parcial<T> parcial, Combinacao<T> combinacao) {
+        if (valores.length <= limiteSequencial) {
+            return parcial.calcular(0, valores.length);
+        }
+        return pool.invoke(new Parte<>(parcial, combinacao, 0, valores.length));
+    }
+    
+    /**
+     * Tarefa que reduz o intervalo [inicio, fim) a um estado parcial.
+     */
+    private final class Parte<T> extends RecursiveTask<T> {
+        
+        private static final long serialVersionUID = 1L;
+        
+        private final Parcial<T> parcial;
+        private final Combinacao<T> combinacao;
+        private final int inicio;
+        private final int fim;
+        
+        Parte(Parcial<T> parcial, Combinacao<T> combinacao, int inicio, int fim) {
+            this.parcial = parcial;
+            this.combinacao = combinacao;
+            this.inicio = inicio;
+            this.fim = fim;
+        }
+        
+        @Override
+        protected T compute() {
+            if (fim - inicio <= limiteSequencial) {
+                return parcial.calcular(inicio, fim);
+            }
+            int meio = (inicio + fim) >>> 1;
+            Parte<T> esquerda = new Parte<>(parcial, combinacao, inicio, meio);
+            Parte<T> direita = new Parte<>(parcial, combinacao, meio, fim);
+            esquerda.fork();
+            T resultadoDireita = direita.compute();
+            return combinacao.combinar(esquerda.join(), resultadoDireita);
+        }
+    }
+}
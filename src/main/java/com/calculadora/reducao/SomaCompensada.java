@@ -0,0 +1,103 @@
+package com.calculadora.reducao;
+
+import java.util.Objects;
+
+/**
+ * Acumulador de soma compensada (algoritmo de Kahan-Babuška-Neumaier).
+ * 
+ * Além da soma, guarda a parte de cada adição perdida no arredondamento e a
+ * devolve no final, de forma que o erro não cresce com o número de parcelas:
+ * somar 1e16, 1.0 e -1e16 dá 1.0, e não 0.0 como na soma direta. Duas somas
+ * parciais (ex.: de partes calculadas em paralelo) são juntadas por
+ * {@link #combinar(SomaCompensada)} sem perder a compensação.
+ * 
+ * Não é thread-safe: cada thread deve usar o seu acumulador e combiná-los no fim.
+ */
+public final class SomaCompensada {
+    
+    private double soma;
+    private double compensacao;
+    private long quantidade;
+    
+    /**
+     * Adiciona uma parcela.
+     * 
+     * @param valor parcela
+     * @return este acumulador
+     */
+    public SomaCompensada adicionar(double valor) {
+        double t = soma + valor;
+        if (Math.abs(soma) >= Math.abs(valor)) {
+            compensacao += (soma - t) + valor;
+        } else {
+            compensacao += (valor - t) + soma;
+        }
+        soma = t;
+        quantidade++;
+        return this;
+    }
+    
+    /**
+     * Adiciona as parcelas de {@code valores[inicio, inicio + quantidade)}.
+     * 
+     * @param valores parcelas
+     * @param inicio índice inicial
+     * @param quantidade número de parcelas
+     * @return este acumulador
+     * @throws IndexOutOfBoundsException se o intervalo exceder o vetor
+     */
+    public SomaCompensada adicionar(double[] valores, int inicio, int quantidade) {
+        Objects.checkFromIndexSize(inicio, quantidade, valores.length);
+        // Variáveis locais para que o JIT mantenha o laço em registradores
+        double s = soma;
+        double c = compensacao;
+        for (int i = inicio, fim = inicio + quantidade; i < fim; i++) {
+            double valor = valores[i];
+            double t = s + valor;
+            if (Math.abs(s) >= Math.abs(valor)) {
+                c += (s - t) + valor;
+            } else {
+                c += (valor - t) + s;
+            }
+            s = t;
+        }
+        soma = s;
+        compensacao = c;
+        this.quantidade += quantidade;
+        return this;
+    }
+    
+    /**
+     * Junta outra soma parcial a esta.
+     * 
+     * @param outra soma parcial
+     * @return este acumulador
+     */
+    public SomaCompensada combinar(SomaCompensada outra) {
+        long parcelas = quantidade + outra.quantidade;
+        compensacao += outra.compensacao;
+        adicionar(outra.soma);
+        quantidade = parcelas;
+        return this;
+    }
+    
+    /**
+     * @return soma das parcelas, corrigida pela compensação
+     */
+    public double getSoma() {
+        // Com parcelas infinitas a compensação é NaN; a soma direta já é o resultado correto
+        return Double.isInfinite(soma) ? soma : soma + compensacao;
+    }
+    
+    /**
+     * @return número de parcelas adicionadas
+     */
+    public long getQuantidade() {
+        return quantidade;
+    }
+    
+    @Override
+    public String toString() {
+        return "SomaCompensada[" + getSoma() + ", " + quantidade + " parcelas]";
+    }
+}
@@ -0,0 +1,219 @@
+package com.calculadora.servidor;
+
+import com.calculadora.metricas.HistogramaLatencia;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cliente de carga para o protocolo binário do {@link ServidorCalculo}.
+ * Cada conexão mantém um número fixo de pedidos em trânsito (profundidade do
+ * pipeline) e mede a latência de cada um, do envio até a resposta.
+ * 
+ * Em cada conexão uma thread envia e outra lê as respostas ao mesmo tempo:
+ * quando o pipeline não cabe nos buffers do socket e o servidor para de ler
+ * até conseguir responder, as respostas continuam sendo consumidas e os
+ * envios bloqueados voltam a andar.
+ */
+public class ClienteCarga {
+    
+    private static final String[] SIMBOLOS = {"+", "-", "*", "/"};
+    
+    private final int porta;
+    private final int conexoes;
+    private final int profundidade;
+    private final int operacoesPorQuadro;
+    
+    private final HistogramaLatencia latencias = new HistogramaLatencia();
+    private final LongAdder pedidos = new LongAdder();
+    private final LongAdder falhas = new LongAdder();
+    
+    /**
+     * @param porta porta binária do servidor em localhost
+     * @param conexoes número de conexões simultâneas, cada uma em sua thread
+     * @param profundidade pedidos em trânsito por conexão
+     * @param operacoesPorQuadro operações em cada pedido
+     */
+    public ClienteCarga(int porta, int conexoes, int profundidade, int operacoesPorQuadro) {
+        if (conexoes <= 0 || profundidade <= 0 || operacoesPorQuadro <= 0) {
+            throw new IllegalArgumentException("Conexões, profundidade e operações devem ser positivas!");
+        }
+        this.porta = porta;
+        this.conexoes = conexoes;
+        this.profundidade = profundidade;
+        this.operacoesPorQuadro = operacoesPorQuadro;
+    }
+    
+    /**
+     * Executa a carga pelo tempo informado e imprime o resumo.
+     * 
+     * @param segundos duração da carga
+     * @throws InterruptedException se a thread for interrompida
+     */
+    public void executar(int segundos) throws InterruptedException {
+        long inicio = System.nanoTime();
+        long prazo = inicio + segundos * 1_000_000_000L;
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < conexoes; i++) {
+            final int semente = i;
+            Thread thread = new Thread(() -> executarConexao(prazo, semente), "carga-" + i);
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        // As conexões continuam depois do prazo até receber as respostas pendentes
+        double decorridos = (System.nanoTime() - inicio) / 1e9;
+        
+        long total = pedidos.sum();
+        System.out.println("Pedidos:            " + total + " (" + falhas.sum() + " conexões com falha)");
+        System.out.printf("Duração:            %.2f s%n", decorridos);
+        System.out.printf("Vazão:              %.0f pedidos/s, %.0f operações/s%n",
+            total / decorridos, total * (double) operacoesPorQuadro / decorridos);
+        System.out.printf("Latência p50:       %.1f µs%n", latencias.percentil(50) / 1000.0);
+        System.out.printf("Latência p99:       %.1f µs%n", latencias.percentil(99) / 1000.0);
+        System.out.printf("Latência p99.9:     %.1f µs%n", latencias.percentil(99.9) / 1000.0);
+        System.out.printf("Latência máxima:    %.1f µs%n", latencias.maximo() / 1000.0);
+    }
+    
+    /**
+     * Lê as respostas de uma conexão enquanto uma thread auxiliar envia os pedidos.
+     */
+    private void executarConexao(long prazo, int semente) {
+        try (SocketChannel canal = SocketChannel.open(new InetSocketAddress(InetAddress.getLoopbackAddress(), porta))) {
+            canal.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            
+            Envios envios = new Envios(canal, montarPedido(new Random(semente)), prazo);
+            Thread escritora = new Thread(envios, Thread.currentThread().getName() + "-envio");
+            escritora.start();
+            try {
+                receber(canal, envios);
+            } finally {
+                escritora.interrupt();
+                escritora.join();
+            }
+            if (envios.erro != null) {
+                throw envios.erro;
+            }
+        } catch (IOException e) {
+            falhas.increment();
+            System.err.println("✗ Erro na conexão de carga: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    private void receber(SocketChannel canal, Envios envios) throws IOException, InterruptedException {
+        ByteBuffer resposta = ByteBuffer.allocate(ProtocoloBinario.tamanhoResposta(operacoesPorQuadro));
+        int recebidos = 0;
+        while (true) {
+            envios.aReceber.acquire();
+            // Sem resposta devida, a licença é a do fim dos envios
+            if (recebidos == envios.enviados) {
+                return;
+            }
+            resposta.clear();
+            while (resposta.hasRemaining()) {
+                if (canal.read(resposta) < 0) {
+                    throw new EOFException("Servidor encerrou a conexão");
+                }
+            }
+            int id = resposta.getInt(4);
+            latencias.registrar(System.nanoTime() - envios.inicios[id % profundidade]);
+            pedidos.increment();
+            recebidos++;
+            envios.janela.release();
+        }
+    }
+    
+    /**
+     * Envia pedidos até o prazo, com no máximo {@link #profundidade} sem resposta.
+     */
+    private final class Envios implements Runnable {
+        
+        final SocketChannel canal;
+        final ByteBuffer pedido;
+        final long prazo;
+        
+        // Vagas no pipeline: cada envio ocupa uma, liberada pela resposta
+        final Semaphore janela = new Semaphore(profundidade);
+        // Uma licença por pedido enviado e uma ao fim dos envios
+        final Semaphore aReceber = new Semaphore(0);
+        // Instante de envio por identificador; publicado para a leitora pela licença de aReceber
+        final long[] inicios = new long[profundidade];
+        volatile int enviados;
+        volatile IOException erro;
+        
+        Envios(SocketChannel canal, ByteBuffer pedido, long prazo) {
+            this.canal = canal;
+            this.pedido = pedido;
+            this.prazo = prazo;
+        }
+        
+        @Override
+        public void run() {
+            try {
+                for (int id = 0; System.nanoTime() < prazo; id++) {
+                    janela.acquire();
+                    inicios[id % profundidade] = System.nanoTime();
+                    enviar(canal, pedido, id);
+                    enviados = id + 1;
+                    aReceber.release();
+                }
+            } catch (IOException e) {
+                erro = e;
+            } catch (InterruptedException e) {
+                // A leitora falhou e encerrou a conexão
+            } finally {
+                aReceber.release();
+            }
+        }
+    }
+    
+    private ByteBuffer montarPedido(Random random) {
+        String[] simbolos = new String[operacoesPorQuadro];
+        double[] a = new double[operacoesPorQuadro];
+        double[] b = new double[operacoesPorQuadro];
+        for (int i = 0; i < operacoesPorQuadro; i++) {
+            simbolos[i] = SIMBOLOS[random.nextInt(SIMBOLOS.length)];
+            a[i] = random.nextDouble() * 1000;
+            b[i] = 1 + random.nextDouble() * 1000;
+        }
+        ByteBuffer pedido = ByteBuffer.allocate(ProtocoloBinario.TAMANHO_PREFIXO + ProtocoloBinario.TAMANHO_MAXIMO_QUADRO);
+        ProtocoloBinario.escreverPedido(pedido, 0, simbolos, a, b);
+        pedido.flip();
+        return pedido;
+    }
+    
+    private static void enviar(SocketChannel canal, ByteBuffer pedido, int id) throws IOException {
+        pedido.putInt(ProtocoloBinario.TAMANHO_PREFIXO, id);
+        pedido.rewind();
+        while (pedido.hasRemaining()) {
+            canal.write(pedido);
+        }
+    }
+    
+    /**
+     * @return histograma das latências medidas
+     */
+    public HistogramaLatencia getLatencias() {
+        return latencias;
+    }
+    
+    /**
+     * @return número de pedidos respondidos
+     */
+    public long getPedidos() {
+        return pedidos.sum();
+    }
+}
@@ -0,0 +1,76 @@
+package com.calculadora.servidor;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Protocolo binário do {@link ServidorCalculo}. Todos os números são big-endian.
+ * 
+ * Pedido:
+ * <pre>
+ * i32  tamanho do restante do quadro
+ * i32  identificador, repetido na resposta
+ * u16  número de operações (n)
+ * n x (u8 tamanho do símbolo, bytes UTF-8 do símbolo, f64 a, f64 b)
+ * </pre>
+ * Resposta:
+ * <pre>
+ * i32  tamanho do restante do quadro
+ * i32  identificador do pedido
+ * u16  número de operações (n)
+ * n x (u8 situação, f64 resultado)
+ * </pre>
+ * A situação segue as constantes {@code SITUACAO_*} de {@link com.calculadora.io.FormatoColunar};
+ * em caso de erro o resultado é NaN.
+ */
+public final class ProtocoloBinario {
+    
+    /** Bytes do campo de tamanho que antecede cada quadro. */
+    public static final int TAMANHO_PREFIXO = 4;
+    /** Bytes do identificador e do número de operações. */
+    public static final int TAMANHO_CABECALHO_PEDIDO = 6;
+    /** Tamanho máximo de um quadro, sem contar o prefixo. */
+    public static final int TAMANHO_MAXIMO_QUADRO = (1 << 16) - TAMANHO_PREFIXO;
+    /** Menor tamanho de uma operação no pedido (símbolo vazio e dois operandos). */
+    static final int TAMANHO_MINIMO_OPERACAO = 1 + 2 * Double.BYTES;
+    /** Tamanho de um resultado na resposta. */
+    static final int TAMANHO_RESULTADO = 1 + Double.BYTES;
+    
+    private ProtocoloBinario() {
+    }
+    
+    /**
+     * @return tamanho total, com prefixo, da resposta para {@code operacoes} operações
+     */
+    public static int tamanhoResposta(int operacoes) {
+        return TAMANHO_PREFIXO + TAMANHO_CABECALHO_PEDIDO + operacoes * TAMANHO_RESULTADO;
+    }
+    
+    /**
+     * Escreve um pedido no buffer.
+     * 
+     * @param destino buffer de saída (big-endian)
+     * @param id identificador do pedido
+     * @param simbolos símbolo de cada operação
+     * @param a primeiros operandos
+     * @param b segundos operandos
+     */
+    public static void escreverPedido(ByteBuffer destino, int id, String[] simbolos, double[] a, double[] b) {
+        int inicio = destino.position();
+        destino.putInt(0);
+        destino.putInt(id);
+        destino.putShort((short) simbolos.length);
+        for (int i = 0; i < simbolos.length; i++) {
+            byte[] simbolo = simbolos[i].getBytes(StandardCharsets.UTF_8);
+            destino.put((byte) simbolo.length);
+            destino.put(simbolo);
+            destino.putDouble(a[i]);
+            destino.putDouble(b[i]);
+        }
+        int tamanho = destino.position() - inicio - TAMANHO_PREFIXO;
+        if (tamanho > TAMANHO_MAXIMO_QUADRO) {
+            throw new IllegalArgumentException("Pedido maior que " + TAMANHO_MAXIMO_QUADRO + " bytes!");
+        }
+        destino.putInt(inicio, tamanho);
+    }
+}
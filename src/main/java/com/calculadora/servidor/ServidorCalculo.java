@@ -0,0 +1,315 @@
+package com.calculadora.servidor;
+
+import com.calculadora.controller.CalculadoraController;
+import com.calculadora.controller.ResultadoOperacao;
+import com.calculadora.io.FormatoColunar;
+import com.calculadora.io.ProcessadorLote;
+import com.calculadora.io.TabelaSimbolos;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+
+/**
+ * Servidor de cálculos em localhost, com um único laço de eventos NIO.
+ * 
+ * Atende dois protocolos, cada um em sua porta:
+ * <ul>
+ * <li>Binário ({@link ProtocoloBinario}): quadros com prefixo de tamanho, cada
+ * um com várias operações;</li>
+ * <li>Texto: uma linha {@code a op b} por cálculo, respondida com uma linha,
+ * no mesmo formato do modo lote.</li>
+ * </ul>
+ * Os clientes podem enviar vários pedidos sem esperar as respostas (pipelining);
+ * as respostas saem na ordem dos pedidos. Se um cliente não lê as respostas e o
+ * buffer de saída da conexão enche, o servidor para de ler daquela conexão até
+ * que ele esvazie, aplicando contrapressão pelo próprio TCP.
+ */
+public class ServidorCalculo {
+    
+    /** Porta padrão do protocolo binário. */
+    public static final int PORTA_BINARIA_PADRAO = 7070;
+    /** Porta padrão do protocolo texto. */
+    public static final int PORTA_TEXTO_PADRAO = 7071;
+    
+    private static final int TAMANHO_BUFFER_ENTRADA = ProtocoloBinario.TAMANHO_PREFIXO + ProtocoloBinario.TAMANHO_MAXIMO_QUADRO;
+    private static final int TAMANHO_BUFFER_SAIDA = 1 << 18;
+    
+    private final CalculadoraController controller;
+    private final TabelaSimbolos simbolos;
+    private final ProcessadorLote processadorTexto;
+    // Usado apenas pela thread do laço de eventos
+    private final ResultadoOperacao resultado = new ResultadoOperacao();
+    
+    private Selector seletor;
+    private ServerSocketChannel canalBinario;
+    private ServerSocketChannel canalTexto;
+    private Thread laco;
+    
+    public ServidorCalculo(CalculadoraController controller) {
+        this.controller = controller;
+        this.simbolos = new TabelaSimbolos(controller);
+        this.processadorTexto = new ProcessadorLote(controller);
+    }
+    
+    /**
+     * Abre as portas e inicia o laço de eventos em uma thread própria.
+     * 
+     * @param portaBinaria porta do protocolo binário (0 escolhe uma porta livre)
+     * @param portaTexto porta do protocolo texto (0 escolhe uma porta livre)
+     * @throws IOException se não for possível abrir as portas
+     */
+    public synchronized void iniciar(int portaBinaria, int portaTexto) throws IOException {
+        if (laco != null) {
+            throw new IllegalStateException("O servidor já foi iniciado!");
+        }
+        seletor = Selector.open();
+        canalBinario = abrir(portaBinaria, true);
+        canalTexto = abrir(portaTexto, false);
+        
+        laco = new Thread(this::executarLaco, "servidor-calculo");
+        laco.setDaemon(true);
+        laco.start();
+    }
+    
+    private ServerSocketChannel abrir(int porta, boolean binario) throws IOException {
+        ServerSocketChannel canal = ServerSocketChannel.open();
+        canal.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), porta));
+        canal.configureBlocking(false);
+        canal.register(seletor, SelectionKey.OP_ACCEPT, binario);
+        return canal;
+    }
+    
+    /**
+     * Fecha as portas e todas as conexões.
+     */
+    public synchronized void parar() {
+        if (laco == null) {
+            return;
+        }
+        try {
+            for (SelectionKey chave : seletor.keys()) {
+                chave.channel().close();
+            }
+            seletor.close();
+            laco.join(1000);
+        } catch (IOException e) {
+            System.err.println("✗ Erro ao parar o servidor: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        laco = null;
+    }
+    
+    public int getPortaBinaria() {
+        return canalBinario.socket().getLocalPort();
+    }
+    
+    public int getPortaTexto() {
+        return canalTexto.socket().getLocalPort();
+    }
+    
+    private void executarLaco() {
+        try {
+            while (seletor.isOpen()) {
+                seletor.select();
+                Iterator<SelectionKey> chaves = seletor.selectedKeys().iterator();
+                while (chaves.hasNext()) {
+                    SelectionKey chave = chaves.next();
+                    chaves.remove();
+                    try {
+                        tratar(chave);
+                    } catch (IOException | CancelledKeyException e) {
+                        // Conexão encerrada pelo cliente ou por parar() durante o tratamento
+                        fechar(chave);
+                    }
+                }
+            }
+        } catch (ClosedSelectorException e) {
+            // Servidor parado
+        } catch (IOException e) {
+            System.err.println("✗ Erro no laço do servidor: " + e.getMessage());
+        }
+    }
+    
+    private void tratar(SelectionKey chave) throws IOException {
+        if (!chave.isValid()) {
+            return;
+        }
+        if (chave.isAcceptable()) {
+            aceitar(chave);
+            return;
+        }
+        Conexao conexao = (Conexao) chave.attachment();
+        if (chave.isWritable()) {
+            escrever(chave, conexao);
+        }
+        if (chave.isValid() && chave.isReadable()) {
+            ler(chave, conexao);
+        }
+    }
+    
+    private void aceitar(SelectionKey chave) throws IOException {
+        SocketChannel cliente = ((ServerSocketChannel) chave.channel()).accept();
+        if (cliente == null) {
+            return;
+        }
+        cliente.configureBlocking(false);
+        cliente.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        cliente.register(seletor, SelectionKey.OP_READ, new Conexao((Boolean) chave.attachment()));
+    }
+    
+    private void ler(SelectionKey chave, Conexao conexao) throws IOException {
+        int lidos = ((SocketChannel) chave.channel()).read(conexao.entrada);
+        if (lidos < 0) {
+            fechar(chave);
+            return;
+        }
+        processar(conexao);
+        escrever(chave, conexao);
+    }
+    
+    /**
+     * Processa todos os pedidos completos da entrada enquanto houver espaço para as respostas.
+     */
+    private void processar(Conexao conexao) throws IOException {
+        conexao.entrada.flip();
+        if (conexao.binario) {
+            processarBinario(conexao);
+        } else {
+            processarTexto(conexao);
+        }
+        conexao.entrada.compact();
+    }
+    
+    private void processarBinario(Conexao conexao) throws IOException {
+        ByteBuffer entrada = conexao.entrada;
+        ByteBuffer saida = conexao.saida;
+        byte[] dados = entrada.array();
+        
+        while (entrada.remaining() >= ProtocoloBinario.TAMANHO_PREFIXO) {
+            int inicio = entrada.position();
+            int tamanho = entrada.getInt(inicio);
+            if (tamanho < ProtocoloBinario.TAMANHO_CABECALHO_PEDIDO || tamanho > ProtocoloBinario.TAMANHO_MAXIMO_QUADRO) {
+                throw new IOException("Quadro com tamanho inválido: " + tamanho);
+            }
+            if (entrada.remaining() < ProtocoloBinario.TAMANHO_PREFIXO + tamanho) {
+                return;
+            }
+            int id = entrada.getInt(inicio + 4);
+            int operacoes = Short.toUnsignedInt(entrada.getShort(inicio + 8));
+            if (operacoes * ProtocoloBinario.TAMANHO_MINIMO_OPERACAO > tamanho - ProtocoloBinario.TAMANHO_CABECALHO_PEDIDO) {
+                throw new IOException("Quadro com " + operacoes + " operações não cabe em " + tamanho + " bytes");
+            }
+            if (saida.remaining() < ProtocoloBinario.tamanhoResposta(operacoes)) {
+                // Sem espaço para a resposta: espera a saída esvaziar (contrapressão)
+                return;
+            }
+            
+            int fimQuadro = inicio + ProtocoloBinario.TAMANHO_PREFIXO + tamanho;
+            int posicao = inicio + ProtocoloBinario.TAMANHO_PREFIXO + ProtocoloBinario.TAMANHO_CABECALHO_PEDIDO;
+            saida.putInt(ProtocoloBinario.tamanhoResposta(operacoes) - ProtocoloBinario.TAMANHO_PREFIXO);
+            saida.putInt(id);
+            saida.putShort((short) operacoes);
+            for (int i = 0; i < operacoes; i++) {
+                if (posicao >= fimQuadro) {
+                    throw new IOException("Quadro truncado");
+                }
+                int tamanhoSimbolo = Byte.toUnsignedInt(dados[posicao]);
+                int fimSimbolo = posicao + 1 + tamanhoSimbolo;
+                if (fimSimbolo + 2 * Double.BYTES > fimQuadro) {
+                    throw new IOException("Quadro truncado");
+                }
+                int codigo = simbolos.resolver(dados, posicao + 1, fimSimbolo);
+                double a = entrada.getDouble(fimSimbolo);
+                double b = entrada.getDouble(fimSimbolo + Double.BYTES);
+                posicao = fimSimbolo + 2 * Double.BYTES;
+                calcular(saida, codigo, a, b);
+            }
+            entrada.position(fimQuadro);
+        }
+    }
+    
+    private void calcular(ByteBuffer saida, int codigo, double a, double b) {
+        if (codigo < 0) {
+            saida.put(FormatoColunar.SITUACAO_OPERACAO_INVALIDA).putDouble(Double.NaN);
+            return;
+        }
+        controller.executarOperacao(codigo, a, b, resultado);
+        saida.put(resultado.getSituacao()).putDouble(resultado.getValor());
+    }
+    
+    private void processarTexto(Conexao conexao) throws IOException {
+        ByteBuffer entrada = conexao.entrada;
+        ByteBuffer saida = conexao.saida;
+        byte[] dados = entrada.array();
+        int inicio = entrada.position();
+        boolean aguardandoSaida = false;
+        
+        for (int i = inicio; i < entrada.limit(); i++) {
+            if (dados[i] != '\n') {
+                continue;
+            }
+            if (saida.remaining() < ProcessadorLote.MAXIMO_POR_LINHA) {
+                aguardandoSaida = true;
+                break;
+            }
+            saida.position(processadorTexto.processarLinha(dados, inicio, i, saida.array(), saida.position()));
+            inicio = i + 1;
+        }
+        entrada.position(inicio);
+        
+        if (!aguardandoSaida && inicio == 0 && entrada.limit() == entrada.capacity()) {
+            throw new IOException("Linha maior que " + entrada.capacity() + " bytes");
+        }
+    }
+    
+    private void escrever(SelectionKey chave, Conexao conexao) throws IOException {
+        conexao.saida.flip();
+        ((SocketChannel) chave.channel()).write(conexao.saida);
+        conexao.saida.compact();
+        
+        // Pedidos retidos por falta de espaço podem ser processados agora
+        if (conexao.entrada.position() > 0) {
+            processar(conexao);
+            conexao.saida.flip();
+            ((SocketChannel) chave.channel()).write(conexao.saida);
+            conexao.saida.compact();
+        }
+        
+        boolean pendente = conexao.saida.position() > 0;
+        boolean cheia = conexao.saida.remaining() < TAMANHO_BUFFER_SAIDA / 4;
+        chave.interestOps((pendente ? SelectionKey.OP_WRITE : 0) | (cheia ? 0 : SelectionKey.OP_READ));
+    }
+    
+    private void fechar(SelectionKey chave) {
+        chave.cancel();
+        try {
+            chave.channel().close();
+        } catch (IOException e) {
+            // Conexão já encerrada
+        }
+    }
+    
+    /**
+     * Estado de uma conexão: buffers de entrada e saída e o protocolo usado.
+     */
+    private static final class Conexao {
+        
+        final boolean binario;
+        final ByteBuffer entrada = ByteBuffer.allocate(TAMANHO_BUFFER_ENTRADA);
+        final ByteBuffer saida = ByteBuffer.allocate(TAMANHO_BUFFER_SAIDA);
+        
+        Conexao(boolean binario) {
+            this.binario = binario;
+        }
+    }
+}
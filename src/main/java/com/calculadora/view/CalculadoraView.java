@@ -1,18 +1,44 @@
 package com.calculadora.view;
 
 import com.calculadora.controller.CalculadoraController;
+import com.calculadora.historico.Calculo;
+import com.calculadora.historico.HistoricoCalculos;
+import com.calculadora.io.CodecNumerico;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionEvent;
-import java.awt.event.ActionListener;
+import java.awt.event.KeyEvent;
+import java.io.IOException;
+import java.util.concurrent.ExecutionException;
 
 /**
  * View da Calculadora - Interface Gráfica usando Swing.
  * Implementa o padrão MVC (Model-View-Controller).
+ * 
+ * A entrada fica em um buffer mutável, e o teclado é tratado por key bindings
+ * (dígitos, ponto ou vírgula, operadores, Enter ou =, Backspace e Esc).
+ * A operação selecionada e os erros aparecem na linha de status, sem diálogos.
+ * Os cálculos rodam fora da thread de eventos, em um {@link SwingWorker}; cada
+ * edição da entrada incrementa uma geração, e um resultado só é exibido se
+ * ainda pertencer à geração atual, de modo que resultados atrasados não
+ * sobrescrevem o que o usuário digitou depois.
+ * 
+ * Com um {@link HistoricoCalculos}, cada cálculo concluído é registrado, e a
+ * tecla H abre uma janela (não modal) com os cálculos mais recentes. O
+ * histórico pode ser informado depois de a janela aparecer
+ * ({@link #setHistorico}), para que abri-lo não atrase a inicialização.
+ * 
+ * Para exibir o primeiro quadro o quanto antes, a construção cria apenas os
+ * componentes visíveis; o teclado é configurado depois do primeiro quadro, e
+ * a janela do histórico só quando for aberta.
  */
 public class CalculadoraView extends JFrame {
     
     private CalculadoraController controller;
+    // Lido também pela thread do cálculo; pode ser informado depois da construção
+    private volatile HistoricoCalculos historico;
+    private Runnable aoPrimeiroQuadro;
+    private boolean quadroExibido;
     
     // Componentes da interface
     private JTextField displayField;
@@ -21,14 +47,29 @@ public class CalculadoraView extends JFrame {
     private JButton botaoIgual;
     private JButton botaoLimpar;
     private JButton botaoDeletar;
+    private JLabel statusLabel;
     
     // Variáveis de controle
+    private final StringBuilder entrada = new StringBuilder("0");
     private double primeiroOperando;
     private String operacaoSelecionada;
     private boolean novoNumero = true;
     
+    // Geração da entrada; resultados de gerações anteriores são descartados
+    private long geracao;
+    private SwingWorker<Double, Void> calculoPendente;
+    
     public CalculadoraView(CalculadoraController controller) {
+        this(controller, null);
+    }
+    
+    /**
+     * @param controller controller da calculadora
+     * @param historico histórico onde os cálculos são registrados, ou null para não registrar
+     */
+    public CalculadoraView(CalculadoraController controller, HistoricoCalculos historico) {
         this.controller = controller;
+        this.historico = historico;
         inicializarInterface();
     }
     
@@ -58,6 +99,48 @@ public class CalculadoraView extends JFrame {
         setVisible(true);
     }
     
+    /**
+     * Detecta o primeiro quadro pintado e conclui a inicialização depois dele.
+     */
+    @Override
+    public void paint(Graphics g) {
+        super.paint(g);
+        if (!quadroExibido) {
+            quadroExibido = true;
+            SwingUtilities.invokeLater(this::concluirInicializacao);
+        }
+    }
+    
+    private void concluirInicializacao() {
+        configurarTeclado();
+        if (aoPrimeiroQuadro != null) {
+            aoPrimeiroQuadro.run();
+        }
+    }
+    
+    /**
+     * Define uma ação executada na thread de eventos logo depois do primeiro quadro.
+     * Deve ser chamado na thread de eventos, junto com a construção da janela.
+     * 
+     * @param acao ação, como iniciar os serviços que não são necessários para exibir a janela
+     */
+    public void setAoPrimeiroQuadro(Runnable acao) {
+        this.aoPrimeiroQuadro = acao;
+    }
+    
+    /**
+     * Passa a registrar os cálculos no histórico e habilita a tecla H.
+     * Deve ser chamado na thread de eventos.
+     * 
+     * @param historico histórico onde os cálculos são registrados
+     */
+    public void setHistorico(HistoricoCalculos historico) {
+        this.historico = historico;
+        if (quadroExibido) {
+            associarHistorico();
+        }
+    }
+    
     /**
      * Cria o painel do display da calculadora.
      */
@@ -128,12 +211,12 @@ public class CalculadoraView extends JFrame {
         
         // Botão 0
         JButton botaoZero = criarBotao("0", new Color(108, 117, 125));
-        botaoZero.addActionListener(e -> adicionarDigito("0"));
+        botaoZero.addActionListener(e -> adicionarDigito('0'));
         painel.add(botaoZero);
         
         // Botão Ponto Decimal
         JButton botaoPonto = criarBotao(".", new Color(108, 117, 125));
-        botaoPonto.addActionListener(e -> adicionarDigito("."));
+        botaoPonto.addActionListener(e -> adicionarDigito('.'));
         painel.add(botaoPonto);
         
         // Espaço vazio
@@ -153,8 +236,8 @@ public class CalculadoraView extends JFrame {
     private void adicionarBotoesNumericos(JPanel painel, int inicio, int fim) {
         for (int i = inicio; i <= fim; i++) {
             JButton botao = criarBotao(String.valueOf(i), new Color(108, 117, 125));
-            final int numero = i;
-            botao.addActionListener(e -> adicionarDigito(String.valueOf(numero)));
+            final char numero = (char) ('0' + i);
+            botao.addActionListener(e -> adicionarDigito(numero));
             painel.add(botao);
         }
     }
@@ -173,128 +256,232 @@ public class CalculadoraView extends JFrame {
     }
     
     /**
-     * Cria o painel de informações.
+     * Cria o painel de informações, com a linha de status.
      */
     private JPanel criarPainelInfo() {
         JPanel painel = new JPanel(new FlowLayout(FlowLayout.LEFT));
         painel.setBorder(BorderFactory.createEmptyBorder(5, 10, 5, 10));
         painel.setBackground(new Color(240, 240, 240));
         
-        JLabel label = new JLabel("Calculadora com MVC, Polimorfismo e Reflection");
-        label.setFont(new Font("Arial", Font.PLAIN, 12));
-        painel.add(label);
+        statusLabel = new JLabel("Calculadora com MVC, Polimorfismo e Reflection");
+        statusLabel.setFont(new Font("Arial", Font.PLAIN, 12));
+        painel.add(statusLabel);
         
         return painel;
     }
     
     /**
-     * Adiciona um dígito ao display.
+     * Associa as teclas às mesmas ações dos botões, para toda a janela.
      */
-    private void adicionarDigito(String digito) {
-        String texto = displayField.getText();
+    private void configurarTeclado() {
+        InputMap teclas = getRootPane().getInputMap(JComponent.WHEN_IN_FOCUSED_WINDOW);
+        ActionMap acoes = getRootPane().getActionMap();
         
-        if (novoNumero) {
-            if (!digito.equals(".")) {
-                displayField.setText(digito);
-                novoNumero = false;
+        for (char digito = '0'; digito <= '9'; digito++) {
+            final char valor = digito;
+            associar(teclas, acoes, KeyStroke.getKeyStroke(digito), "digito" + digito, () -> adicionarDigito(valor));
+        }
+        associar(teclas, acoes, KeyStroke.getKeyStroke('.'), "ponto", () -> adicionarDigito('.'));
+        associar(teclas, acoes, KeyStroke.getKeyStroke(','), "virgula", () -> adicionarDigito('.'));
+        for (String simbolo : new String[] {"+", "-", "*", "/"}) {
+            associar(teclas, acoes, KeyStroke.getKeyStroke(simbolo.charAt(0)), "operacao" + simbolo,
+                () -> selecionarOperacao(simbolo));
+        }
+        associar(teclas, acoes, KeyStroke.getKeyStroke('='), "igual", this::calcularResultado);
+        associar(teclas, acoes, KeyStroke.getKeyStroke(KeyEvent.VK_ENTER, 0), "enter", this::calcularResultado);
+        associar(teclas, acoes, KeyStroke.getKeyStroke(KeyEvent.VK_BACK_SPACE, 0), "deletar", this::deletarUltimoDigito);
+        associar(teclas, acoes, KeyStroke.getKeyStroke(KeyEvent.VK_ESCAPE, 0), "limpar", this::limpar);
+        associar(teclas, acoes, KeyStroke.getKeyStroke(KeyEvent.VK_DELETE, 0), "limparDelete", this::limpar);
+        if (historico != null) {
+            associarHistorico();
+        }
+    }
+    
+    private void associarHistorico() {
+        associar(getRootPane().getInputMap(JComponent.WHEN_IN_FOCUSED_WINDOW), getRootPane().getActionMap(),
+            KeyStroke.getKeyStroke(KeyEvent.VK_H, 0), "historico", this::mostrarHistorico);
+    }
+    
+    private static void associar(InputMap teclas, ActionMap acoes, KeyStroke tecla, String nome, Runnable acao) {
+        teclas.put(tecla, nome);
+        acoes.put(nome, new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                acao.run();
             }
-        } else {
-            if (digito.equals(".")) {
-                if (!texto.contains(".")) {
-                    displayField.setText(texto + digito);
-                }
-            } else {
-                displayField.setText(texto + digito);
+        });
+    }
+    
+    /**
+     * Adiciona um dígito ao buffer de entrada.
+     */
+    private void adicionarDigito(char digito) {
+        invalidarCalculo();
+        if (novoNumero) {
+            entrada.setLength(0);
+            entrada.append(digito == '.' ? "0." : String.valueOf(digito));
+            novoNumero = false;
+        } else if (digito != '.' || entrada.indexOf(".") < 0) {
+            if (entrada.length() == 1 && entrada.charAt(0) == '0' && digito != '.') {
+                entrada.setLength(0);
             }
+            entrada.append(digito);
         }
+        atualizarDisplay();
     }
     
     /**
-     * Deleta o último dígito do display.
+     * Deleta o último dígito do buffer de entrada.
      */
     private void deletarUltimoDigito() {
-        String texto = displayField.getText();
-        if (texto.length() > 1) {
-            displayField.setText(texto.substring(0, texto.length() - 1));
+        invalidarCalculo();
+        if (!novoNumero && entrada.length() > 1) {
+            entrada.setLength(entrada.length() - 1);
         } else {
-            displayField.setText("0");
+            entrada.setLength(0);
+            entrada.append('0');
             novoNumero = true;
         }
+        atualizarDisplay();
+    }
+    
+    private void atualizarDisplay() {
+        displayField.setText(entrada.toString());
+    }
+    
+    private void mostrarStatus(String mensagem, boolean erro) {
+        statusLabel.setForeground(erro ? new Color(220, 53, 69) : Color.DARK_GRAY);
+        statusLabel.setText(mensagem);
     }
     
     /**
-     * Seleciona uma operação.
+     * Seleciona uma operação, informando-a na linha de status.
      */
     private void selecionarOperacao(String simbolo) {
+        invalidarCalculo();
         try {
-            primeiroOperando = Double.parseDouble(displayField.getText());
+            primeiroOperando = CodecNumerico.lerDouble(entrada);
             operacaoSelecionada = simbolo;
             novoNumero = true;
             
             // Mostra qual operação foi selecionada
-            JOptionPane.showMessageDialog(
-                this,
-                "Operação: " + controller.getDescricaoOperacao(simbolo),
-                "Operação Selecionada",
-                JOptionPane.INFORMATION_MESSAGE
-            );
+            mostrarStatus("Operação: " + controller.getDescricaoOperacao(simbolo) + " (" + simbolo + ")", false);
         } catch (NumberFormatException ex) {
-            JOptionPane.showMessageDialog(
-                this,
-                "Número inválido!",
-                "Erro",
-                JOptionPane.ERROR_MESSAGE
-            );
+            mostrarStatus("Número inválido!", true);
+        }
+    }
+    
+    /**
+     * Descarta o cálculo em andamento, se houver, e tira o aviso dele da linha de status.
+     */
+    private void invalidarCalculo() {
+        geracao++;
+        if (calculoPendente != null) {
+            calculoPendente.cancel(false);
+            calculoPendente = null;
+            mostrarStatus(" ", false);
         }
     }
     
     /**
-     * Calcula o resultado da operação usando o Controller.
+     * Calcula o resultado da operação usando o Controller, fora da thread de eventos.
      */
     private void calcularResultado() {
+        if (operacaoSelecionada == null) {
+            return;
+        }
+        final double segundoOperando;
         try {
-            double segundoOperando = Double.parseDouble(displayField.getText());
-            
-            // Utiliza o Controller com Reflection para executar a operação
-            double resultado = controller.executarOperacao(
-                operacaoSelecionada,
-                primeiroOperando,
-                segundoOperando
-            );
+            segundoOperando = CodecNumerico.lerDouble(entrada);
+        } catch (NumberFormatException ex) {
+            mostrarStatus("Número inválido!", true);
+            return;
+        }
+        
+        final String simbolo = operacaoSelecionada;
+        final double primeiro = primeiroOperando;
+        final long geracaoDoCalculo = ++geracao;
+        if (calculoPendente != null) {
+            calculoPendente.cancel(false);
+        }
+        mostrarStatus("Calculando...", false);
+        
+        calculoPendente = new SwingWorker<Double, Void>() {
+            @Override
+            protected Double doInBackground() {
+                double resultado = controller.executarOperacao(simbolo, primeiro, segundoOperando);
+                HistoricoCalculos historico = CalculadoraView.this.historico;
+                if (historico != null) {
+                    try {
+                        historico.registrar(simbolo, primeiro, segundoOperando, resultado);
+                    } catch (IOException e) {
+                        // O resultado continua válido mesmo sem o registro no histórico
+                        System.err.println("✗ Erro ao registrar no histórico: " + e.getMessage());
+                    }
+                }
+                return resultado;
+            }
             
-            displayField.setText(String.valueOf(resultado));
+            @Override
+            protected void done() {
+                if (isCancelled() || geracaoDoCalculo != geracao) {
+                    // Entrada mudou durante o cálculo: o resultado está obsoleto
+                    return;
+                }
+                calculoPendente = null;
+                exibirResultado(this);
+            }
+        };
+        calculoPendente.execute();
+    }
+    
+    private void exibirResultado(SwingWorker<Double, Void> calculo) {
+        try {
+            double resultado = calculo.get();
+            entrada.setLength(0);
+            entrada.append(resultado);
+            atualizarDisplay();
+            mostrarStatus(" ", false);
             novoNumero = true;
             operacaoSelecionada = null;
-        } catch (NumberFormatException ex) {
-            JOptionPane.showMessageDialog(
-                this,
-                "Número inválido!",
-                "Erro",
-                JOptionPane.ERROR_MESSAGE
-            );
-        } catch (ArithmeticException ex) {
-            JOptionPane.showMessageDialog(
-                this,
-                ex.getMessage(),
-                "Erro Matemático",
-                JOptionPane.ERROR_MESSAGE
-            );
-            limpar();
-        } catch (IllegalArgumentException ex) {
-            JOptionPane.showMessageDialog(
-                this,
-                ex.getMessage(),
-                "Erro de Operação",
-                JOptionPane.ERROR_MESSAGE
-            );
+        } catch (ExecutionException ex) {
+            Throwable causa = ex.getCause();
+            if (causa instanceof ArithmeticException) {
+                limpar();
+                mostrarStatus("Erro matemático: " + causa.getMessage(), true);
+            } else {
+                mostrarStatus("Erro de operação: " + causa.getMessage(), true);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    /**
+     * Mostra os cálculos mais recentes do histórico em uma janela não modal.
+     */
+    private void mostrarHistorico() {
+        DefaultListModel<String> linhas = new DefaultListModel<>();
+        for (Calculo calculo : historico.recentes(100)) {
+            linhas.addElement(calculo.toString());
         }
+        
+        JDialog janela = new JDialog(this, "Histórico (" + historico.getTotal() + " cálculos)", false);
+        janela.add(new JScrollPane(new JList<>(linhas)));
+        janela.setSize(300, 400);
+        janela.setLocationRelativeTo(this);
+        janela.setVisible(true);
     }
     
     /**
      * Limpa o display e reinicializa as variáveis.
      */
     private void limpar() {
-        displayField.setText("0");
+        invalidarCalculo();
+        entrada.setLength(0);
+        entrada.append('0');
+        atualizarDisplay();
+        mostrarStatus(" ", false);
         primeiroOperando = 0;
         operacaoSelecionada = null;
         novoNumero = true;
@@ -0,0 +1,12 @@
+#!/bin/sh
+# Inicia a calculadora com o arquivo CDS (classes pré-carregadas) gerado pelo perfil inicio-rapido.
+# Se o arquivo não existir, ele é gerado ao final desta execução; apague-o ao trocar de JVM.
+# Requer Java 13 ou mais recente.
+DIR=$(cd "$(dirname "$0")" && pwd)
+JAR="$DIR/${project.build.finalName}.jar"
+ARQUIVO_CDS="$DIR/calculadora.jsa"
+
+if [ -f "$ARQUIVO_CDS" ]; then
+    exec java -XX:SharedArchiveFile="$ARQUIVO_CDS" -Xshare:auto $JAVA_OPTS -jar "$JAR" "$@"
+fi
+exec java -XX:ArchiveClassesAtExit="$ARQUIVO_CDS" $JAVA_OPTS -jar "$JAR" "$@"
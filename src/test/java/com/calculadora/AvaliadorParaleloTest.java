@@ -0,0 +1,85 @@
+package com.calculadora;
+
+import com.calculadora.controller.AvaliadorParalelo;
+import com.calculadora.controller.CalculadoraController;
+import java.util.Random;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Testes unitários para a avaliação paralela de lotes.
+ */
+public class AvaliadorParaleloTest {
+    
+    private static final int TAMANHO = 100_000;
+    
+    private CalculadoraController controller;
+    private AvaliadorParalelo avaliador;
+    private double[] a;
+    private double[] b;
+    
+    @Before
+    public void setUp() {
+        controller = new CalculadoraController();
+        avaliador = new AvaliadorParalelo(controller, 4, 1000);
+        Random random = new Random(42);
+        a = new double[TAMANHO];
+        b = new double[TAMANHO];
+        for (int i = 0; i < TAMANHO; i++) {
+            a[i] = random.nextGaussian() * 1e6;
+            b[i] = random.nextGaussian() * 1e-3;
+        }
+    }
+    
+    @After
+    public void tearDown() {
+        avaliador.close();
+    }
+    
+    @Test
+    public void testeResultadoIdenticoAoSequencial() {
+        for (String simbolo : new String[] {"+", "-", "*", "/"}) {
+            double[] esperado = new double[TAMANHO];
+            controller.executarOperacao(simbolo, a, b, esperado);
+            
+            double[] resultado = new double[TAMANHO];
+            byte[] situacao = new byte[TAMANHO];
+            assertEquals(0, avaliador.avaliar(simbolo, a, b, resultado, situacao));
+            for (int i = 0; i < TAMANHO; i++) {
+                assertEquals(Double.doubleToRawLongBits(esperado[i]), Double.doubleToRawLongBits(resultado[i]));
+            }
+        }
+    }
+    
+    @Test
+    public void testeDivisaoPorZeroMarcadaPorIndice() {
+        b[7] = 0;
+        b[54_321] = 0;
+        double[] resultado = new double[TAMANHO];
+        byte[] situacao = new byte[TAMANHO];
+        
+        assertEquals(2, avaliador.avaliar("/", a, b, resultado, situacao));
+        assertEquals(AvaliadorParalelo.SITUACAO_ERRO_ARITMETICO, situacao[7]);
+        assertEquals(AvaliadorParalelo.SITUACAO_ERRO_ARITMETICO, situacao[54_321]);
+        assertTrue(Double.isNaN(resultado[54_321]));
+        assertEquals(AvaliadorParalelo.SITUACAO_OK, situacao[8]);
+        assertEquals(a[8] / b[8], resultado[8], 0.0);
+        assertEquals(a[TAMANHO - 1] / b[TAMANHO - 1], resultado[TAMANHO - 1], 0.0);
+    }
+    
+    @Test
+    public void testeLotePequenoSequencial() {
+        double[] resultado = new double[3];
+        byte[] situacao = new byte[3];
+        avaliador.avaliar(controller.resolverCodigo("*"), new double[] {2, 3, 4}, new double[] {5, 6, 7},
+            resultado, situacao, 0, 3);
+        assertArrayEquals(new double[] {10, 18, 28}, resultado, 0.0);
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testeParalelismoInvalido() {
+        new AvaliadorParalelo(controller, 0, 1000);
+    }
+}
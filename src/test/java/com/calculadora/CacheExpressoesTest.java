@@ -0,0 +1,89 @@
+package com.calculadora;
+
+import com.calculadora.controller.CacheExpressoes;
+import com.calculadora.controller.CalculadoraController;
+import com.calculadora.expressao.Expressao;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Testes unitários para a cache de expressões compiladas.
+ */
+public class CacheExpressoesTest {
+    
+    private CalculadoraController controller;
+    
+    @Before
+    public void setUp() {
+        controller = new CalculadoraController(2);
+    }
+    
+    @Test
+    public void testeAcertoReaproveitaExpressao() {
+        Expressao primeira = controller.compilarExpressao("a + b");
+        Expressao segunda = controller.compilarExpressao("a + b");
+        
+        assertSame(primeira, segunda);
+        assertEquals(1, controller.getCacheExpressoes().getAcertos());
+        assertEquals(1, controller.getCacheExpressoes().getFalhas());
+    }
+    
+    @Test
+    public void testeRemocaoDaMenosRecente() {
+        Expressao soma = controller.compilarExpressao("a + b");
+        controller.compilarExpressao("a - b");
+        controller.compilarExpressao("a + b");
+        controller.compilarExpressao("a * b");
+        
+        CacheExpressoes cache = controller.getCacheExpressoes();
+        assertEquals(2, cache.getTamanho());
+        assertEquals(1, cache.getRemocoes());
+        assertSame(soma, controller.compilarExpressao("a + b"));
+        assertEquals(2, cache.getAcertos());
+    }
+    
+    @Test
+    public void testeCacheDesativada() {
+        CalculadoraController semCache = new CalculadoraController(0);
+        assertNotSame(semCache.compilarExpressao("1 + 1"), semCache.compilarExpressao("1 + 1"));
+        assertEquals(0, semCache.getCacheExpressoes().getTamanho());
+    }
+    
+    @Test
+    public void testeExpressaoInvalidaNaoEntraNaCache() {
+        try {
+            controller.compilarExpressao("a +");
+            fail("Deveria lançar IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            assertEquals(0, controller.getCacheExpressoes().getTamanho());
+        }
+    }
+    
+    @Test
+    public void testeCompilacaoAnteriorALimpezaNaoEntraNaCache() {
+        CacheExpressoes cache = new CacheExpressoes(4);
+        Expressao compilada = controller.compilarExpressao("a + b");
+        
+        // Simula um novo estado publicado pelo controller enquanto a expressão compilava
+        Expressao obtida = cache.obter("a + b", texto -> {
+            cache.limpar();
+            return compilada;
+        });
+        assertSame(compilada, obtida);
+        assertEquals(0, cache.getTamanho());
+        
+        cache.obter("a + b", texto -> compilada);
+        assertEquals(1, cache.getTamanho());
+    }
+    
+    @Test
+    public void testeAvaliarExpressao() {
+        assertEquals(15.0, controller.avaliarExpressao("(a + b) * c / 2", 2, 3, 6), 0.001);
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testeCapacidadeNegativa() {
+        new CacheExpressoes(-1);
+    }
+}
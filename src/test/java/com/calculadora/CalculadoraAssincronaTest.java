@@ -0,0 +1,140 @@
+package com.calculadora;
+
+import com.calculadora.controller.CalculadoraAssincrona;
+import com.calculadora.controller.CalculadoraController;
+import com.calculadora.controller.PoliticaAdmissao;
+import com.calculadora.controller.PoliticaErro;
+import com.calculadora.model.OperacaoAbstrata;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Testes unitários para a fachada assíncrona do controller.
+ */
+public class CalculadoraAssincronaTest {
+    
+    /**
+     * Registra a operação "~", que só termina quando a trava é liberada.
+     */
+    private static CountDownLatch registrarOperacaoBloqueante(CalculadoraController controller) {
+        CountDownLatch trava = new CountDownLatch(1);
+        controller.registrarOperacoes(Collections.singletonList(new OperacaoAbstrata("~", "Bloqueante") {
+            @Override
+            public double executar(double a, double b) {
+                try {
+                    trava.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return a;
+            }
+        }));
+        return trava;
+    }
+    
+    private static Throwable causa(CompletableFuture<?> futuro) throws InterruptedException {
+        try {
+            futuro.get();
+            fail("O futuro deveria completar com erro");
+            return null;
+        } catch (ExecutionException e) {
+            return e.getCause();
+        }
+    }
+    
+    @Test
+    public void testeResultadosEErros() throws Exception {
+        CalculadoraController controller = new CalculadoraController();
+        try (CalculadoraAssincrona assincrona = new CalculadoraAssincrona(controller)) {
+            assertEquals(5.0, assincrona.executarOperacaoAsync("+", 2, 3).get(), 0);
+            assertEquals(2.5, assincrona.executarOperacaoAsync("/", 10, 4).get(), 0);
+            assertTrue(causa(assincrona.executarOperacaoAsync("/", 1, 0)) instanceof ArithmeticException);
+            assertTrue(causa(assincrona.executarOperacaoAsync("?", 1, 2)) instanceof IllegalArgumentException);
+            
+            double[] resultado = assincrona.executarOperacaoAsync("*", new double[] {1, 2, 3}, new double[] {4, 5, 6}).get();
+            assertArrayEquals(new double[] {4, 10, 18}, resultado, 0);
+            assertTrue(causa(assincrona.executarOperacaoAsync("/", new double[] {1}, new double[] {0}))
+                instanceof ArithmeticException);
+            
+            controller.setPoliticaErro(PoliticaErro.IEEE);
+            assertEquals(Double.POSITIVE_INFINITY, assincrona.executarOperacaoAsync("/", 1, 0).get(), 0);
+        }
+    }
+    
+    @Test
+    public void testeAdmissaoRejeita() throws Exception {
+        CalculadoraController controller = new CalculadoraController();
+        CountDownLatch trava = registrarOperacaoBloqueante(controller);
+        try (CalculadoraAssincrona assincrona =
+                 new CalculadoraAssincrona(controller, 1, 2, 16, PoliticaAdmissao.REJEITAR)) {
+            CompletableFuture<Double> primeiro = assincrona.executarOperacaoAsync("~", 1, 0);
+            CompletableFuture<Double> segundo = assincrona.executarOperacaoAsync("+", 1, 1);
+            CompletableFuture<Double> terceiro = assincrona.executarOperacaoAsync("+", 2, 2);
+            
+            assertTrue(causa(terceiro) instanceof RejectedExecutionException);
+            assertEquals(1, assincrona.getRejeitados());
+            assertEquals(2, assincrona.getPendentes());
+            
+            trava.countDown();
+            assertEquals(1.0, primeiro.get(), 0);
+            assertEquals(2.0, segundo.get(), 0);
+            // Com vagas livres, os pedidos voltam a ser aceitos
+            assertEquals(4.0, assincrona.executarOperacaoAsync("+", 2, 2).get(), 0);
+        }
+    }
+    
+    @Test
+    public void testeAdmissaoEspera() throws Exception {
+        CalculadoraController controller = new CalculadoraController();
+        CountDownLatch trava = registrarOperacaoBloqueante(controller);
+        try (CalculadoraAssincrona assincrona =
+                 new CalculadoraAssincrona(controller, 1, 1, 16, PoliticaAdmissao.ESPERAR)) {
+            CompletableFuture<Double> primeiro = assincrona.executarOperacaoAsync("~", 1, 0);
+            List<CompletableFuture<Double>> segundo = new ArrayList<>();
+            Thread produtor = new Thread(() -> segundo.add(assincrona.executarOperacaoAsync("+", 1, 1)));
+            produtor.start();
+            
+            // O produtor fica bloqueado enquanto não houver vaga
+            produtor.join(200);
+            assertTrue(produtor.isAlive());
+            
+            trava.countDown();
+            produtor.join();
+            assertEquals(1.0, primeiro.get(), 0);
+            assertEquals(2.0, segundo.get(0).get(), 0);
+            assertEquals(0, assincrona.getRejeitados());
+        }
+    }
+    
+    @Test
+    public void testeMicroLotes() throws Exception {
+        CalculadoraController controller = new CalculadoraController();
+        CountDownLatch trava = registrarOperacaoBloqueante(controller);
+        try (CalculadoraAssincrona assincrona =
+                 new CalculadoraAssincrona(controller, 1, 1024, 64, PoliticaAdmissao.REJEITAR)) {
+            CompletableFuture<Double> bloqueante = assincrona.executarOperacaoAsync("~", 1, 0);
+            
+            // Pedidos enviados enquanto a única tarefa está ocupada são calculados em lotes
+            List<CompletableFuture<Double>> futuros = new ArrayList<>();
+            for (int i = 0; i < 256; i++) {
+                futuros.add(assincrona.executarOperacaoAsync(i % 2 == 0 ? "+" : "*", i, 2));
+            }
+            trava.countDown();
+            
+            bloqueante.get();
+            for (int i = 0; i < futuros.size(); i++) {
+                assertEquals(i % 2 == 0 ? i + 2 : i * 2, futuros.get(i).get(), 0);
+            }
+            assertEquals(257, assincrona.getPedidos());
+            assertTrue("Lotes: " + assincrona.getLotes(), assincrona.getLotes() <= 1 + 256 / 64 + 1);
+        }
+    }
+}
@@ -64,4 +64,43 @@ public class CalculadoraControllerTest {
     public void testeDescricaoOperacaoInvalida() {
         assertNull(controller.getDescricaoOperacao("%"));
     }
+    
+    @Test
+    public void testeControllerEmLote() {
+        double[] a = {10, 20, 30};
+        double[] b = {2, 4, 5};
+        double[] resultado = new double[3];
+        controller.executarOperacao("/", a, b, resultado);
+        assertArrayEquals(new double[] {5, 5, 6}, resultado, 0.001);
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testeOperacaoInvalidaEmLote() {
+        double[] vetor = new double[2];
+        controller.executarOperacao("%", vetor, vetor, vetor);
+    }
+    
+    @Test
+    public void testeExecutarPorCodigo() {
+        int soma = controller.resolverCodigo("+");
+        int divisao = controller.resolverCodigo("/");
+        assertNotEquals(soma, divisao);
+        assertEquals(15.0, controller.executarOperacao(soma, 10, 5), 0.001);
+        assertEquals(2.0, controller.executarOperacao(divisao, 10, 5), 0.001);
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testeResolverCodigoInvalido() {
+        controller.resolverCodigo("%");
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testeCodigoInexistente() {
+        controller.executarOperacao(99, 1, 2);
+    }
+    
+    @Test(expected = UnsupportedOperationException.class)
+    public void testeOperacoesImutaveis() {
+        controller.getOperacoes().clear();
+    }
 }
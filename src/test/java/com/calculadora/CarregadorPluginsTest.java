@@ -0,0 +1,223 @@
+package com.calculadora;
+
+import com.calculadora.controller.CalculadoraController;
+import com.calculadora.controller.CarregadorPlugins;
+import com.calculadora.model.Operacao;
+import com.calculadora.model.OperacaoAbstrata;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Stream;
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Testes unitários para o registro com cópia na escrita e os plugins.
+ */
+public class CarregadorPluginsTest {
+    
+    private Path diretorio;
+    private Path fontes;
+    
+    @Before
+    public void setUp() throws IOException {
+        diretorio = Files.createTempDirectory("plugins");
+        fontes = Files.createTempDirectory("fontes");
+    }
+    
+    @After
+    public void tearDown() throws IOException {
+        for (Path raiz : new Path[] {diretorio, fontes}) {
+            try (Stream<Path> arquivos = Files.walk(raiz)) {
+                arquivos.sorted(Comparator.reverseOrder()).forEach(arquivo -> arquivo.toFile().delete());
+            }
+        }
+    }
+    
+    /**
+     * Compila uma operação e a empacota em um jar com o índice do ServiceLoader.
+     */
+    private void criarPlugin(String jar, String classe, String simbolo, String expressao, long modificacao)
+            throws Exception {
+        criarPlugin(jar, classe, simbolo, expressao, "", modificacao);
+    }
+    
+    /**
+     * Como {@link #criarPlugin(String, String, String, String, long)}, com classes
+     * auxiliares declaradas no mesmo arquivo e empacotadas no mesmo jar.
+     */
+    private void criarPlugin(String jar, String classe, String simbolo, String expressao, String auxiliares,
+            long modificacao) throws Exception {
+        Path saida = Files.createTempDirectory(fontes, "classes");
+        Path fonte = saida.resolve(classe + ".java");
+        Files.write(fonte, ("package plugin;\n"
+            + "public class " + classe + " extends com.calculadora.model.OperacaoAbstrata {\n"
+            + "    public " + classe + "() { super(\"" + simbolo + "\", \"" + classe + "\"); }\n"
+            + "    public double executar(double a, double b) { return " + expressao + "; }\n"
+            + "}\n" + auxiliares).getBytes(StandardCharsets.UTF_8));
+        
+        JavaCompiler compilador = ToolProvider.getSystemJavaCompiler();
+        String classes = Paths.get(Operacao.class.getProtectionDomain().getCodeSource().getLocation().toURI()).toString();
+        assertEquals(0, compilador.run(null, null, null, "-proc:none", "-cp", classes,
+            "-d", saida.toString(), fonte.toString()));
+        
+        Path arquivo = diretorio.resolve(jar);
+        try (JarOutputStream saidaJar = new JarOutputStream(Files.newOutputStream(arquivo))) {
+            try (Stream<Path> compiladas = Files.list(saida.resolve("plugin"))) {
+                for (Path compilada : (Iterable<Path>) compiladas::iterator) {
+                    saidaJar.putNextEntry(new JarEntry("plugin/" + compilada.getFileName()));
+                    saidaJar.write(Files.readAllBytes(compilada));
+                }
+            }
+            saidaJar.putNextEntry(new JarEntry("META-INF/services/com.calculadora.model.Operacao"));
+            saidaJar.write(("plugin." + classe + "\n").getBytes(StandardCharsets.UTF_8));
+        }
+        Files.setLastModifiedTime(arquivo, FileTime.fromMillis(modificacao));
+    }
+    
+    @Test
+    public void testeCarregarSubstituirEDescarregar() throws Exception {
+        CalculadoraController controller = new CalculadoraController();
+        try (CarregadorPlugins plugins = new CarregadorPlugins(controller, diretorio)) {
+            criarPlugin("potencia.jar", "Potencia", "^", "Math.pow(a, b)", 1_000_000);
+            plugins.recarregar();
+            assertEquals(8.0, controller.executarOperacao("^", 2, 3), 0.0);
+            assertEquals(Collections.singleton("^"), plugins.getSimbolos());
+            int codigo = controller.resolverCodigo("^");
+            
+            // Nova versão do mesmo jar: o código resolvido continua válido
+            criarPlugin("potencia.jar", "PotenciaNegada", "^", "-Math.pow(a, b)", 2_000_000);
+            plugins.recarregar();
+            assertEquals(-8.0, controller.executarOperacao(codigo, 2, 3), 0.0);
+            assertEquals(5.0, controller.executarOperacao("+", 2, 3), 0.0);
+            
+            Files.delete(diretorio.resolve("potencia.jar"));
+            plugins.recarregar();
+            assertFalse(controller.getOperacoes().containsKey("^"));
+            assertTrue(plugins.getSimbolos().isEmpty());
+        }
+    }
+    
+    @Test
+    public void testeVersaoSubstituidaCarregaClassesNovas() throws Exception {
+        CalculadoraController controller = new CalculadoraController();
+        try (CarregadorPlugins plugins = new CarregadorPlugins(controller, diretorio)) {
+            // A classe auxiliar só é carregada na primeira execução
+            criarPlugin("resto.jar", "Resto", "%", "Auxiliar.resto(a, b)",
+                "class Auxiliar { static double resto(double a, double b) { return a % b; } }\n", 1_000_000);
+            plugins.recarregar();
+            Operacao antiga = controller.getOperacoes().get("%");
+            
+            criarPlugin("resto.jar", "RestoNovo", "%", "-(a % b)", 2_000_000);
+            plugins.recarregar();
+            assertEquals(-1.0, controller.executarOperacao("%", 7, 3), 0.0);
+            // Um cálculo que ainda usa a versão anterior não pode falhar
+            assertEquals(1.0, antiga.executar(7, 3), 0.0);
+            
+            Files.delete(diretorio.resolve("resto.jar"));
+            plugins.recarregar();
+            assertEquals(1.0, antiga.executar(10, 3), 0.0);
+        }
+    }
+    
+    @Test
+    public void testeConflitoComOperacaoDaAplicacao() throws Exception {
+        CalculadoraController controller = new CalculadoraController();
+        try (CarregadorPlugins plugins = new CarregadorPlugins(controller, diretorio)) {
+            criarPlugin("soma.jar", "SomaErrada", "+", "a - b", 1_000_000);
+            plugins.recarregar();
+            assertEquals(5.0, controller.executarOperacao("+", 2, 3), 0.0);
+            assertTrue(plugins.getSimbolos().isEmpty());
+        }
+    }
+    
+    @Test
+    public void testeJarInvalidoMantemVersaoAnterior() throws Exception {
+        CalculadoraController controller = new CalculadoraController();
+        try (CarregadorPlugins plugins = new CarregadorPlugins(controller, diretorio)) {
+            criarPlugin("maximo.jar", "Maximo", "max", "Math.max(a, b)", 1_000_000);
+            plugins.recarregar();
+            
+            Path jar = diretorio.resolve("maximo.jar");
+            Files.write(jar, new byte[] {1, 2, 3});
+            Files.setLastModifiedTime(jar, FileTime.fromMillis(2_000_000));
+            plugins.recarregar();
+            assertEquals(7.0, controller.executarOperacao("max", 2, 7), 0.0);
+        }
+    }
+    
+    @Test
+    public void testeObservacaoDoDiretorio() throws Exception {
+        CalculadoraController controller = new CalculadoraController();
+        try (CarregadorPlugins plugins = new CarregadorPlugins(controller, diretorio)) {
+            plugins.iniciar();
+            criarPlugin("minimo.jar", "Minimo", "min", "Math.min(a, b)", 1_000_000);
+            
+            long limite = System.currentTimeMillis() + 20_000;
+            while (!controller.getOperacoes().containsKey("min") && System.currentTimeMillis() < limite) {
+                Thread.sleep(50);
+            }
+            assertEquals(2.0, controller.executarOperacao("min", 2, 7), 0.0);
+        }
+    }
+    
+    @Test
+    public void testeRegistroConcorrenteSemBloqueio() throws Exception {
+        CalculadoraController controller = new CalculadoraController();
+        int codigoSoma = controller.resolverCodigo("+");
+        int operacoes = controller.getOperacoes().size();
+        AtomicBoolean parar = new AtomicBoolean();
+        AtomicReference<Throwable> falha = new AtomicReference<>();
+        
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    while (!parar.get()) {
+                        assertEquals(5.0, controller.executarOperacao("+", 2, 3), 0.0);
+                        assertEquals(6.0, controller.executarOperacao(codigoSoma, 3, 3), 0.0);
+                    }
+                } catch (Throwable e) {
+                    falha.set(e);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        
+        Operacao resto = new OperacaoAbstrata("%", "Resto") {
+            @Override
+            public double executar(double a, double b) {
+                return a % b;
+            }
+        };
+        for (int i = 0; i < 2000; i++) {
+            controller.registrarOperacoes(Collections.singletonList(resto));
+            assertEquals(1.0, controller.executarOperacao("%", 7, 3), 0.0);
+            controller.removerOperacoes(Collections.singletonList("%"));
+        }
+        parar.set(true);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        
+        assertNull(falha.get());
+        assertEquals(operacoes, controller.getOperacoes().size());
+        assertEquals(codigoSoma, controller.resolverCodigo("+"));
+    }
+}
@@ -0,0 +1,122 @@
+package com.calculadora;
+
+import com.calculadora.io.CodecNumerico;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Random;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Testes unitários para a leitura e a escrita de doubles do codec numérico.
+ */
+public class CodecNumericoTest {
+    
+    private static void assertLeituraIgualAoJdk(String texto) {
+        long esperado = Double.doubleToRawLongBits(Double.parseDouble(texto));
+        byte[] bytes = texto.getBytes(StandardCharsets.US_ASCII);
+        assertEquals(texto, esperado, Double.doubleToRawLongBits(CodecNumerico.lerDouble(bytes, 0, bytes.length)));
+        assertEquals(texto, esperado, Double.doubleToRawLongBits(CodecNumerico.lerDouble(texto)));
+    }
+    
+    private static String escrever(double valor) {
+        byte[] destino = new byte[CodecNumerico.MAXIMO_CARACTERES + 1];
+        int fim = CodecNumerico.escreverDouble(valor, destino, 1);
+        return new String(destino, 1, fim - 1, StandardCharsets.US_ASCII);
+    }
+    
+    @Test
+    public void testeLeituraCasosLimite() {
+        String[] textos = {
+            "9999999999999999999", "18446744073709551615", "9007199254740993",
+            "9007199254740993.00000000000000000001", "2.2250738585072011e-308", "2.2250738585072012e-308",
+            "4.9e-324", "2.4703282292062327e-324", "2.4703282292062328e-324", "1.7976931348623157e308",
+            "1.7976931348623158e308", "1.7976931348623159e308", "1e23", "8.98846567431158e307",
+            "1e-400", "1e400", "0.000000000000000000000000000001", "123456789012345678901234567890e-10"
+        };
+        for (String texto : textos) {
+            assertLeituraIgualAoJdk(texto);
+            assertLeituraIgualAoJdk("-" + texto);
+        }
+    }
+    
+    @Test
+    public void testeLeituraAleatoriaIgualAoJdk() {
+        Random random = new Random(11);
+        for (int i = 0; i < 200_000; i++) {
+            // Todos os doubles, escritos com 17 dígitos (caminho de Eisel-Lemire)
+            double valor = Double.longBitsToDouble(random.nextLong());
+            if (!Double.isNaN(valor) && !Double.isInfinite(valor)) {
+                assertLeituraIgualAoJdk(String.format(Locale.ROOT, "%.16e", valor));
+            }
+            
+            // Texto com até 25 dígitos e expoente qualquer, inclusive mantissas truncadas
+            StringBuilder texto = new StringBuilder();
+            int digitos = 1 + random.nextInt(25);
+            for (int j = 0; j < digitos; j++) {
+                texto.append((char) ('0' + random.nextInt(10)));
+            }
+            texto.insert(random.nextInt(texto.length()), '.');
+            texto.append('e').append(random.nextInt(700) - 350);
+            assertLeituraIgualAoJdk(texto.toString());
+        }
+    }
+    
+    @Test
+    public void testeLeituraDeCaracteres() {
+        CharBuffer buffer = CharBuffer.wrap("x=12.5;y=-3e2");
+        assertEquals(12.5, CodecNumerico.lerDouble(buffer, 2, 6), 0);
+        assertEquals(-300, CodecNumerico.lerDouble(buffer, 9, 13), 0);
+        assertTrue(Double.isNaN(CodecNumerico.lerDouble(new StringBuilder("NaN"))));
+        try {
+            CodecNumerico.lerDouble("1.2.3");
+            fail("Deveria lançar NumberFormatException");
+        } catch (NumberFormatException e) {
+            // esperado
+        }
+    }
+    
+    @Test
+    public void testeEscritaCasosEspeciais() {
+        assertEquals("0.0", escrever(0.0));
+        assertEquals("-0.0", escrever(-0.0));
+        assertEquals("NaN", escrever(Double.NaN));
+        assertEquals("Infinity", escrever(Double.POSITIVE_INFINITY));
+        assertEquals("-Infinity", escrever(Double.NEGATIVE_INFINITY));
+        assertEquals("1.0", escrever(1));
+        assertEquals("100.0", escrever(100));
+        assertEquals("1234567.0", escrever(1234567));
+        assertEquals("1.0E7", escrever(1e7));
+        assertEquals("0.001", escrever(0.001));
+        assertEquals("1.0E-4", escrever(0.0001));
+        assertEquals("0.30000000000000004", escrever(0.1 + 0.2));
+        assertEquals("4.9E-324", escrever(Double.MIN_VALUE));
+        assertEquals("1.7976931348623157E308", escrever(Double.MAX_VALUE));
+        assertEquals("2.2250738585072014E-308", escrever(Double.MIN_NORMAL));
+        // Potências de 10 que não são exatas em binário
+        assertEquals("2.0E23", escrever(2.0E23));
+        assertEquals("1.0E23", escrever(1.0E23));
+    }
+    
+    @Test
+    public void testeEscritaAleatoriaMaisCurtaEReversivel() {
+        boolean jdkMaisCurto = Runtime.version().feature() >= 19;
+        Random random = new Random(13);
+        for (int i = 0; i < 200_000; i++) {
+            double valor = Double.longBitsToDouble(random.nextLong());
+            if (Double.isNaN(valor)) {
+                continue;
+            }
+            String texto = escrever(valor);
+            String jdk = Double.toString(valor);
+            if (jdkMaisCurto) {
+                assertEquals(jdk, texto);
+            } else {
+                // Versões antigas às vezes escrevem um dígito desnecessário
+                assertEquals(jdk, Double.doubleToRawLongBits(valor), Double.doubleToRawLongBits(Double.parseDouble(texto)));
+                assertTrue(jdk + " / " + texto, texto.length() <= jdk.length());
+            }
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.calculadora;
+
+import com.calculadora.controller.CalculadoraController;
+import com.calculadora.expressao.Expressao;
+import com.calculadora.model.OperacaoAbstrata;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Random;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Testes unitários para o motor de expressões.
+ */
+public class ExpressaoTest {
+    
+    private CalculadoraController controller;
+    
+    @Before
+    public void setUp() {
+        controller = new CalculadoraController();
+    }
+    
+    @Test
+    public void testePrecedencia() {
+        assertEquals(14.0, controller.compilarExpressao("2 + 3 * 4").avaliar(new double[0]), 0.001);
+        assertEquals(20.0, controller.compilarExpressao("(2 + 3) * 4").avaliar(new double[0]), 0.001);
+        assertEquals(1.0, controller.compilarExpressao("8 - 4 - 3").avaliar(new double[0]), 0.001);
+        assertEquals(1.0, controller.compilarExpressao("8 / 4 / 2").avaliar(new double[0]), 0.001);
+    }
+    
+    @Test
+    public void testeVariaveis() {
+        Expressao expressao = controller.compilarExpressao("(a + b) * c / 2");
+        assertEquals(Arrays.asList("a", "b", "c"), expressao.getVariaveis());
+        assertEquals(15.0, expressao.avaliar(new double[] {2, 3, 6}), 0.001);
+        assertEquals(-1.0, expressao.avaliar(new double[] {1, -2, 2}), 0.001);
+    }
+    
+    @Test
+    public void testeVariavelRepetida() {
+        Expressao expressao = controller.compilarExpressao("x * x - y");
+        assertEquals(2, expressao.getVariaveis().size());
+        assertEquals(1, expressao.indiceVariavel("y"));
+        assertEquals(7.0, expressao.avaliar(new double[] {3, 2}), 0.001);
+    }
+    
+    @Test
+    public void testeMenosUnarioENotacaoCientifica() {
+        assertEquals(-5.0, controller.compilarExpressao("-(2 + 3)").avaliar(new double[0]), 0.001);
+        assertEquals(250.0, controller.compilarExpressao("2.5e2").avaliar(new double[0]), 0.001);
+        assertEquals(6.0, controller.compilarExpressao("3 * -2 * -1").avaliar(new double[0]), 0.001);
+    }
+    
+    @Test(expected = ArithmeticException.class)
+    public void testeDivisaoPorZero() {
+        controller.compilarExpressao("a / b").avaliar(new double[] {1, 0});
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testeOperacaoInexistente() {
+        controller.compilarExpressao("a % b");
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testeParentesesDesbalanceados() {
+        controller.compilarExpressao("(a + b");
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testeValoresInsuficientes() {
+        controller.compilarExpressao("a + b").avaliar(new double[] {1});
+    }
+    
+    @Test
+    public void testeCompiladaIgualAInterpretada() {
+        String[] formulas = {"(a + b) * c / 2", "x * x - y", "-(a - b) * -c + 1.5e3 / a", "a / b / c - a * -b"};
+        Random random = new Random(42);
+        for (String formula : formulas) {
+            Expressao interpretada = controller.compilarExpressao(formula);
+            Expressao compilada = controller.compilarFormula(formula);
+            assertFalse(interpretada.isCompilada());
+            assertTrue(compilada.isCompilada());
+            assertSame(compilada, interpretada.compilar());
+            assertEquals(interpretada.getVariaveis(), compilada.getVariaveis());
+            
+            for (int i = 0; i < 100; i++) {
+                double[] valores = {random.nextDouble() * 10 + 1, random.nextDouble() * 10 + 1, random.nextDouble() + 1};
+                assertEquals(interpretada.avaliar(valores), compilada.avaliar(valores), 0.0);
+            }
+        }
+    }
+    
+    @Test
+    public void testeDobramentoDeConstantes() {
+        Expressao constante = controller.compilarFormula("(2 + 3) * -(4 - 1) / 5");
+        assertTrue(constante.isCompilada());
+        assertEquals(-3.0, constante.avaliar(new double[0]), 0.0);
+        
+        Expressao parcial = controller.compilarFormula("x * (60 * 60) + 0.5");
+        assertEquals(7200.5, parcial.avaliar(new double[] {2}), 0.0);
+    }
+    
+    @Test(expected = ArithmeticException.class)
+    public void testeDivisaoPorZeroConstanteCompilada() {
+        // A divisão por zero não é dobrada: o erro acontece na avaliação, como no interpretador
+        controller.compilarFormula("x + 1 / 0").avaliar(new double[] {1});
+    }
+    
+    @Test(expected = ArithmeticException.class)
+    public void testeDivisaoPorZeroCompilada() {
+        controller.compilarFormula("a / b").avaliar(new double[] {1, 0});
+    }
+    
+    @Test
+    public void testeCompiladaComOperacaoRegistrada() {
+        controller.registrarOperacoes(Collections.singletonList(new OperacaoAbstrata("^", "Potência") {
+            @Override
+            public double executar(double a, double b) {
+                return Math.pow(a, b);
+            }
+        }));
+        Expressao expressao = controller.compilarFormula("a ^ 2 ^ 1 + b");
+        assertTrue(expressao.isCompilada());
+        assertEquals(controller.compilarExpressao("a ^ 2 ^ 1 + b").avaliar(new double[] {3, 1}),
+            expressao.avaliar(new double[] {3, 1}), 0.0);
+        // Operações que não são elementares não são calculadas em tempo de compilação
+        assertEquals(9.0, controller.compilarFormula("3 ^ 2").avaliar(new double[0]), 0.0);
+    }
+}
@@ -0,0 +1,144 @@
+package com.calculadora;
+
+import com.calculadora.historico.Calculo;
+import com.calculadora.historico.HistoricoCalculos;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Testes unitários para o histórico de cálculos com diário mapeado.
+ */
+public class HistoricoCalculosTest {
+    
+    private Path diretorio;
+    private Path arquivo;
+    
+    @Before
+    public void setUp() throws IOException {
+        diretorio = Files.createTempDirectory("historico");
+        arquivo = diretorio.resolve("historico.dat");
+    }
+    
+    @After
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(arquivo);
+        Files.deleteIfExists(diretorio);
+    }
+    
+    private HistoricoCalculos abrir() throws IOException {
+        // Buffer circular e segmentos pequenos para exercitar a volta do anel e o crescimento do diário
+        return new HistoricoCalculos(arquivo, 4, 8, 0);
+    }
+    
+    @Test
+    public void testeRecentesNoBufferCircular() throws IOException {
+        try (HistoricoCalculos historico = abrir()) {
+            for (int i = 1; i <= 10; i++) {
+                historico.registrar("+", i, 1, i + 1);
+            }
+            assertEquals(10, historico.getTotal());
+            
+            List<Calculo> recentes = historico.recentes(10);
+            assertEquals(4, recentes.size());
+            assertEquals(10, recentes.get(0).getA(), 0.0);
+            assertEquals(7, recentes.get(3).getA(), 0.0);
+            assertEquals("+", recentes.get(0).getSimbolo());
+            assertEquals(11, recentes.get(0).getResultado(), 0.0);
+        }
+    }
+    
+    @Test
+    public void testeRecuperacaoAoReabrir() throws IOException {
+        try (HistoricoCalculos historico = abrir()) {
+            for (int i = 0; i < 20; i++) {
+                historico.registrar(HistoricoCalculos.compactarSimbolo("*"), i, 2, i * 2, 1000 + i);
+            }
+        }
+        
+        try (HistoricoCalculos historico = abrir()) {
+            assertEquals(20, historico.getTotal());
+            List<Calculo> recentes = historico.recentes(2);
+            assertEquals(19, recentes.get(0).getA(), 0.0);
+            assertEquals(1019, recentes.get(0).getInstante());
+            assertEquals(18, recentes.get(1).getA(), 0.0);
+            
+            historico.registrar(HistoricoCalculos.compactarSimbolo("-"), 1, 1, 0, 5000);
+            assertEquals(21, historico.getTotal());
+            assertEquals(20, historico.consultar(0, Long.MAX_VALUE, "*", 100).size());
+        }
+    }
+    
+    @Test
+    public void testeConsultaPorTempoEOperacao() throws IOException {
+        try (HistoricoCalculos historico = abrir()) {
+            String[] simbolos = {"+", "-", "/", "^"};
+            for (int i = 0; i < 40; i++) {
+                historico.registrar(HistoricoCalculos.compactarSimbolo(simbolos[i % 4]), i, 1, i, 100 * (i + 1));
+            }
+            
+            List<Calculo> intervalo = historico.consultar(1000, 2000, null, 100);
+            assertEquals(11, intervalo.size());
+            assertEquals(1000, intervalo.get(0).getInstante());
+            assertEquals(2000, intervalo.get(10).getInstante());
+            
+            List<Calculo> potencias = historico.consultar(0, Long.MAX_VALUE, "^", 100);
+            assertEquals(10, potencias.size());
+            for (Calculo calculo : potencias) {
+                assertEquals("^", calculo.getSimbolo());
+            }
+            
+            assertEquals(3, historico.consultar(0, Long.MAX_VALUE, "-", 3).size());
+            assertTrue(historico.consultar(5000, 6000, null, 100).isEmpty());
+        }
+    }
+    
+    @Test
+    public void testeInstantesNuncaDecrescem() throws IOException {
+        try (HistoricoCalculos historico = abrir()) {
+            historico.registrar(HistoricoCalculos.compactarSimbolo("+"), 1, 1, 2, 500);
+            historico.registrar(HistoricoCalculos.compactarSimbolo("+"), 2, 2, 4, 100);
+            assertEquals(500, historico.recentes(1).get(0).getInstante());
+        }
+    }
+    
+    @Test
+    public void testeRegistroIncompletoDescartado() throws IOException {
+        try (HistoricoCalculos historico = abrir()) {
+            for (int i = 0; i < 5; i++) {
+                historico.registrar(HistoricoCalculos.compactarSimbolo("+"), i, i, i + i, 1000 + i);
+            }
+        }
+        
+        // Simula uma escrita interrompida no último registro (bloco 5, após o cabeçalho)
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.WRITE)) {
+            canal.write(ByteBuffer.wrap(new byte[] {1, 2, 3}), 5 * HistoricoCalculos.TAMANHO_REGISTRO + 10);
+        }
+        
+        try (HistoricoCalculos historico = abrir()) {
+            assertEquals(4, historico.getTotal());
+            assertEquals(3, historico.recentes(1).get(0).getA(), 0.0);
+        }
+    }
+    
+    @Test
+    public void testeSimboloCompactado() {
+        assertEquals("sqrt", HistoricoCalculos.expandirSimbolo(HistoricoCalculos.compactarSimbolo("sqrt")));
+        assertEquals("√", HistoricoCalculos.expandirSimbolo(HistoricoCalculos.compactarSimbolo("√")));
+        assertEquals("", HistoricoCalculos.expandirSimbolo(HistoricoCalculos.compactarSimbolo("")));
+    }
+    
+    @Test(expected = IOException.class)
+    public void testeArquivoInvalido() throws IOException {
+        Files.write(arquivo, "não é um diário".getBytes());
+        abrir().close();
+    }
+}
@@ -0,0 +1,136 @@
+package com.calculadora;
+
+import com.calculadora.controller.CalculadoraController;
+import com.calculadora.controller.PoliticaErro;
+import com.calculadora.model.Matriz;
+import com.calculadora.model.MultiplicacaoMatricial;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Testes unitários para as operações sobre matrizes e vetores.
+ */
+public class MatrizTest {
+    
+    private static Matriz aleatoria(Random random, int linhas, int colunas) {
+        Matriz matriz = new Matriz(linhas, colunas);
+        double[] dados = matriz.getDados();
+        for (int i = 0; i < dados.length; i++) {
+            dados[i] = random.nextDouble() * 2 - 1;
+        }
+        return matriz;
+    }
+    
+    private static Matriz produtoIngenuo(Matriz a, Matriz b) {
+        Matriz resultado = new Matriz(a.getLinhas(), b.getColunas());
+        for (int i = 0; i < a.getLinhas(); i++) {
+            for (int j = 0; j < b.getColunas(); j++) {
+                double soma = 0;
+                for (int k = 0; k < a.getColunas(); k++) {
+                    soma += a.get(i, k) * b.get(k, j);
+                }
+                resultado.set(i, j, soma);
+            }
+        }
+        return resultado;
+    }
+    
+    @Test
+    public void testeOperacoesElementoAElemento() {
+        CalculadoraController controller = new CalculadoraController();
+        Matriz a = new Matriz(2, 2, new double[] {1, 2, 3, 4});
+        Matriz b = new Matriz(2, 2, new double[] {4, 3, 2, 1});
+        
+        assertEquals(new Matriz(2, 2, new double[] {5, 5, 5, 5}), controller.executarOperacao("m+", a, b));
+        assertEquals(new Matriz(2, 2, new double[] {-3, -1, 1, 3}), controller.executarOperacao("m-", a, b));
+        assertEquals(new Matriz(2, 2, new double[] {0.25, 2 / 3.0, 1.5, 4}), controller.executarOperacao("m/", a, b));
+        assertEquals(new Matriz(2, 2, new double[] {2, 4, 6, 8}), controller.executarOperacao("mk", a, Matriz.escalar(2)));
+        assertEquals(Matriz.vetor(5, 7), controller.executarOperacao("m+", Matriz.vetor(1, 2), Matriz.vetor(4, 5)));
+        
+        try {
+            controller.executarOperacao("m+", a, Matriz.vetor(1, 2));
+            fail("Deveria rejeitar matrizes de dimensões diferentes");
+        } catch (IllegalArgumentException e) {
+            // esperado
+        }
+        try {
+            controller.executarOperacao("mk", a, b);
+            fail("Deveria rejeitar um fator que não é escalar");
+        } catch (IllegalArgumentException e) {
+            // esperado
+        }
+    }
+    
+    @Test
+    public void testeDivisaoPorZero() {
+        CalculadoraController controller = new CalculadoraController();
+        Matriz a = Matriz.vetor(1, 0, 3);
+        Matriz b = Matriz.vetor(2, 0, 0);
+        try {
+            controller.executarOperacao("m/", a, b);
+            fail("Deveria lançar ArithmeticException");
+        } catch (ArithmeticException e) {
+            // esperado
+        }
+        
+        controller.setPoliticaErro(PoliticaErro.IEEE);
+        Matriz resultado = controller.executarOperacao("m/", a, b);
+        assertEquals(0.5, resultado.get(0, 0), 0);
+        assertTrue(Double.isNaN(resultado.get(1, 0)));
+        assertEquals(Double.POSITIVE_INFINITY, resultado.get(2, 0), 0);
+    }
+    
+    @Test
+    public void testeProdutoMatrizVetor() {
+        CalculadoraController controller = new CalculadoraController();
+        Matriz a = new Matriz(2, 3, new double[] {1, 2, 3, 4, 5, 6});
+        assertEquals(Matriz.vetor(14, 32), controller.executarOperacao("m*", a, Matriz.vetor(1, 2, 3)));
+        assertEquals(new Matriz(1, 1, new double[] {14}),
+            controller.executarOperacao("m*", Matriz.vetor(1, 2, 3).transposta(), Matriz.vetor(1, 2, 3)));
+        assertEquals(a, controller.executarOperacao("m*", Matriz.identidade(2), a));
+        try {
+            controller.executarOperacao("m*", a, a);
+            fail("Deveria rejeitar dimensões incompatíveis");
+        } catch (IllegalArgumentException e) {
+            // esperado
+        }
+    }
+    
+    @Test
+    public void testeProdutoEmBlocosIgualAoIngenuo() {
+        Random random = new Random(17);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            MultiplicacaoMatricial multiplicacao = new MultiplicacaoMatricial(pool);
+            // Dimensões que não são múltiplas dos blocos e passam do limite sequencial
+            int[][] dimensoes = {{1, 1, 1}, {7, 300, 5}, {300, 257, 190}, {3, 800, 1100}, {0, 4, 3}};
+            for (int[] d : dimensoes) {
+                Matriz a = aleatoria(random, d[0], d[1]);
+                Matriz b = aleatoria(random, d[1], d[2]);
+                Matriz resultado = multiplicacao.executar(a, b);
+                // Mesma ordem de soma: igualdade bit a bit, e não só aproximada
+                assertEquals(d[0] + "x" + d[1] + "x" + d[2], produtoIngenuo(a, b), resultado);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+    
+    @Test
+    public void testeOperacoesRegistradas() {
+        CalculadoraController controller = new CalculadoraController();
+        assertTrue(controller.getOperacoesMatriciais().keySet().containsAll(
+            Arrays.asList("m+", "m-", "m*", "m/", "mk")));
+        // As operações matriciais não se misturam às escalares
+        assertNull(controller.getOperacoes().get("m+"));
+        try {
+            controller.executarOperacao("m^", Matriz.escalar(1), Matriz.escalar(1));
+            fail("Deveria rejeitar uma operação inexistente");
+        } catch (IllegalArgumentException e) {
+            // esperado
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.calculadora;
+
+import com.calculadora.controller.CalculadoraController;
+import com.calculadora.controller.PoliticaErro;
+import com.calculadora.metricas.MetricasOperacoes;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import javax.management.openmbean.TabularData;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Testes unitários para as métricas por operação.
+ */
+public class MetricasOperacoesTest {
+    
+    private CalculadoraController controller;
+    private MetricasOperacoes metricas;
+    
+    @Before
+    public void setUp() {
+        controller = new CalculadoraController();
+        metricas = controller.getMetricas();
+    }
+    
+    @Test
+    public void testeDesativadaNaoConta() {
+        assertFalse(metricas.isAtiva());
+        controller.executarOperacao("+", 1, 2);
+        assertEquals(Long.valueOf(0), metricas.getChamadas().get("+"));
+    }
+    
+    @Test
+    public void testeContaChamadasErrosELotes() {
+        metricas.setAtiva(true);
+        controller.executarOperacao("+", 1, 2);
+        controller.executarOperacao(controller.resolverCodigo("+"), 3, 4);
+        controller.executarOperacao("*", new double[] {1, 2, 3}, new double[] {4, 5, 6}, new double[3]);
+        try {
+            controller.executarOperacao("/", 1, 0);
+            fail("Deveria lançar ArithmeticException");
+        } catch (ArithmeticException e) {
+            // Esperado
+        }
+        
+        assertEquals(Long.valueOf(2), metricas.getChamadas().get("+"));
+        assertEquals(Long.valueOf(3), metricas.getChamadas().get("*"));
+        assertEquals(Long.valueOf(1), metricas.getErros().get("/"));
+        assertEquals(2, metricas.getLatencias(controller.resolverCodigo("+")).getTotal());
+        
+        metricas.setAtiva(false);
+        controller.executarOperacao("+", 1, 2);
+        assertEquals(Long.valueOf(2), metricas.getChamadas().get("+"));
+        
+        metricas.zerar();
+        assertEquals(Long.valueOf(0), metricas.getChamadas().get("*"));
+    }
+    
+    @Test
+    public void testeErrosPorElementoEmTodasAsPoliticas() {
+        metricas.setAtiva(true);
+        double[] a = {1, 2, 3, 4};
+        double[] b = {0, 1, 0, 2};
+        
+        try {
+            controller.executarOperacao("/", a, b, new double[4]);
+            fail("Deveria lançar ArithmeticException");
+        } catch (ArithmeticException e) {
+            // Esperado
+        }
+        assertEquals(Long.valueOf(2), metricas.getErros().get("/"));
+        assertEquals(Long.valueOf(4), metricas.getChamadas().get("/"));
+        
+        metricas.zerar();
+        controller.executarOperacao(controller.resolverCodigo("/"), a, b, new double[4], new byte[4], 0, 4);
+        assertEquals(Long.valueOf(2), metricas.getErros().get("/"));
+        
+        for (PoliticaErro politica : new PoliticaErro[] {PoliticaErro.IEEE, PoliticaErro.SINALIZAR}) {
+            controller.setPoliticaErro(politica);
+            metricas.zerar();
+            assertEquals(Double.POSITIVE_INFINITY, controller.executarOperacao("/", 1, 0), 0.0);
+            assertTrue(Double.isNaN(controller.executarOperacao("/", 0, 0)));
+            assertEquals(Long.valueOf(2), metricas.getErros().get("/"));
+            
+            metricas.zerar();
+            controller.executarOperacao("/", a, b, new double[4]);
+            assertEquals(Long.valueOf(2), metricas.getErros().get("/"));
+            
+            // Resultado gravado sobre o primeiro operando
+            metricas.zerar();
+            double[] resultado = a.clone();
+            controller.executarOperacao("/", resultado, b, resultado);
+            assertEquals(Long.valueOf(2), metricas.getErros().get("/"));
+            
+            // Estouro não é falha aritmética em nenhuma política
+            metricas.zerar();
+            assertEquals(Double.POSITIVE_INFINITY, controller.executarOperacao("*", 1e308, 10), 0.0);
+            assertEquals(Long.valueOf(0), metricas.getErros().get("*"));
+        }
+    }
+    
+    @Test
+    public void testeMBean() throws Exception {
+        ObjectName nome = metricas.registrarMBean("teste");
+        MBeanServer servidor = ManagementFactory.getPlatformMBeanServer();
+        try {
+            servidor.setAttribute(nome, new javax.management.Attribute("Ativa", true));
+            controller.executarOperacao("-", 5, 3);
+            
+            TabularData chamadas = (TabularData) servidor.getAttribute(nome, "Chamadas");
+            CompositeData linha = chamadas.get(new Object[] {"-"});
+            assertEquals(1L, linha.get("value"));
+            
+            TabularData operacoes = (TabularData) servidor.getAttribute(nome, "Operacoes");
+            assertEquals(controller.getOperacoes().size(), operacoes.size());
+        } finally {
+            servidor.unregisterMBean(nome);
+        }
+    }
+    
+    @Test
+    public void testeEventoJfr() throws Exception {
+        Path arquivo = Files.createTempFile("metricas", ".jfr");
+        try (Recording gravacao = new Recording()) {
+            gravacao.enable("com.calculadora.Operacao");
+            gravacao.start();
+            metricas.setAtiva(true);
+            controller.executarOperacao("*", 6, 7);
+            gravacao.stop();
+            gravacao.dump(arquivo);
+            
+            List<RecordedEvent> eventos = RecordingFile.readAllEvents(arquivo);
+            assertTrue(eventos.stream().anyMatch(evento ->
+                evento.getEventType().getName().equals("com.calculadora.Operacao")
+                    && "*".equals(evento.getString("simbolo"))));
+        } finally {
+            Files.deleteIfExists(arquivo);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.calculadora;
+
+import com.calculadora.controller.CalculadoraController;
+import com.calculadora.model.Adicao;
+import com.calculadora.model.Operacao;
+import com.calculadora.model.OperacaoAbstrata;
+import com.calculadora.model.OperacaoMemorizada;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Testes unitários para a memorização de operações caras.
+ */
+public class OperacaoMemorizadaTest {
+    
+    /**
+     * Operação "cara" que conta quantas vezes foi calculada.
+     */
+    private static class Hipotenusa extends OperacaoAbstrata {
+        
+        int calculos;
+        
+        Hipotenusa() {
+            super("hyp", "Hipotenusa");
+        }
+        
+        @Override
+        public double executar(double a, double b) {
+            calculos++;
+            return Math.hypot(a, b);
+        }
+    }
+    
+    @Test
+    public void testeAcertosNaoRecalculam() {
+        Hipotenusa hipotenusa = new Hipotenusa();
+        OperacaoMemorizada memorizada = new OperacaoMemorizada(hipotenusa, 64);
+        
+        for (int i = 0; i < 10; i++) {
+            assertEquals(5.0, memorizada.executar(3, 4), 0.0);
+            assertEquals(13.0, memorizada.executar(5, 12), 0.0);
+        }
+        assertEquals(2, hipotenusa.calculos);
+        assertEquals(18, memorizada.getAcertos());
+        assertEquals(2, memorizada.getFalhas());
+        assertEquals(0.9, memorizada.getTaxaAcertos(), 1e-12);
+        assertEquals(64, memorizada.getCapacidade());
+    }
+    
+    @Test
+    public void testeChavePelosBitsBrutos() {
+        Hipotenusa hipotenusa = new Hipotenusa();
+        OperacaoMemorizada memorizada = new OperacaoMemorizada(hipotenusa, 64);
+        
+        memorizada.executar(0.0, 1);
+        memorizada.executar(-0.0, 1);
+        memorizada.executar(Double.NaN, 1);
+        memorizada.executar(Double.NaN, 1);
+        assertEquals(3, hipotenusa.calculos);
+    }
+    
+    @Test
+    public void testeMemoriaFixaComRemocao() {
+        Hipotenusa hipotenusa = new Hipotenusa();
+        OperacaoMemorizada memorizada = new OperacaoMemorizada(hipotenusa, 16);
+        
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(Math.hypot(i, 1), memorizada.executar(i, 1), 0.0);
+        }
+        assertEquals(16, memorizada.getCapacidade());
+        assertTrue(memorizada.getRemocoes() >= 1000 - 16);
+        
+        // Os resultados continuam corretos depois das remoções
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(Math.hypot(i, 1), memorizada.executar(i, 1), 0.0);
+        }
+        
+        memorizada.limpar();
+        int antes = hipotenusa.calculos;
+        memorizada.executar(999, 1);
+        assertEquals(antes + 1, hipotenusa.calculos);
+    }
+    
+    @Test
+    public void testeRelogioPreservaEntradasUsadas() {
+        Hipotenusa hipotenusa = new Hipotenusa();
+        // Um único conjunto de VIAS entradas
+        OperacaoMemorizada memorizada = new OperacaoMemorizada(hipotenusa, OperacaoMemorizada.VIAS);
+        
+        for (int i = 0; i < OperacaoMemorizada.VIAS; i++) {
+            memorizada.executar(i, 0);
+        }
+        memorizada.executar(0, 0);
+        memorizada.executar(100, 0);
+        
+        // A entrada (0, 0), usada depois de inserida, ganhou segunda chance
+        int antes = hipotenusa.calculos;
+        memorizada.executar(0, 0);
+        assertEquals(antes, hipotenusa.calculos);
+        assertEquals(1, memorizada.getRemocoes());
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testeOperacaoElementarRecusada() {
+        new OperacaoMemorizada(new Adicao(), 64);
+    }
+    
+    @Test
+    public void testeMemorizacaoNoController() {
+        CalculadoraController controller = new CalculadoraController();
+        Operacao original = controller.getOperacoes().get("/");
+        assertTrue(original.isElementar());
+        
+        try {
+            controller.memorizarOperacao("+", 64);
+            fail("Operações elementares não devem ser memorizadas");
+        } catch (IllegalArgumentException e) {
+            assertNull(controller.getMemorizacao("+"));
+        }
+        assertEquals(5.0, controller.executarOperacao("+", 2, 3), 0.0);
+        
+        controller.removerMemorizacao("+");
+        assertNull(controller.getMemorizacao("+"));
+    }
+}
@@ -85,4 +85,39 @@ public class OperacoesTest {
         assertEquals("Multiplicação", multiplicacao.getDescricao());
         assertEquals("Divisão", divisao.getDescricao());
     }
+    
+    @Test
+    public void testeAdicaoEmLote() {
+        double[] a = {1, 2, 3, 4};
+        double[] b = {10, 20, 30, 40};
+        double[] resultado = new double[4];
+        adicao.executar(a, b, resultado, 1, 2);
+        assertArrayEquals(new double[] {0, 22, 33, 0}, resultado, 0.001);
+    }
+    
+    @Test
+    public void testeLoteIgualAoEscalar() {
+        double[] a = {7, -3.5, 0, 1e10, 2};
+        double[] b = {2, 0.5, -4, 3, 8};
+        double[] resultado = new double[a.length];
+        Operacao[] operacoes = {adicao, subtracao, multiplicacao, divisao};
+        for (Operacao operacao : operacoes) {
+            operacao.executar(a, b, resultado, 0, a.length);
+            for (int i = 0; i < a.length; i++) {
+                assertEquals(operacao.executar(a[i], b[i]), resultado[i], 0.0);
+            }
+        }
+    }
+    
+    @Test(expected = ArithmeticException.class)
+    public void testeDivisaoPorZeroEmLote() {
+        double[] resultado = new double[3];
+        divisao.executar(new double[] {1, 2, 3}, new double[] {1, 0, 1}, resultado, 0, 3);
+    }
+    
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testeLoteForaDosLimites() {
+        double[] vetor = new double[3];
+        multiplicacao.executar(vetor, vetor, vetor, 2, 2);
+    }
 }
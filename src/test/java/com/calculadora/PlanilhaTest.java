@@ -0,0 +1,204 @@
+package com.calculadora;
+
+import com.calculadora.controller.CalculadoraController;
+import com.calculadora.model.OperacaoAbstrata;
+import com.calculadora.planilha.Planilha;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Testes unitários para a planilha com recálculo incremental.
+ */
+public class PlanilhaTest {
+    
+    @Test
+    public void testeFormulasEntreCelulas() {
+        Planilha planilha = new Planilha(new CalculadoraController());
+        planilha.definirValor("preco", 10);
+        planilha.definirValor("quantidade", 3);
+        planilha.definirFormula("subtotal", "preco * quantidade");
+        planilha.definirFormula("total", "subtotal * (1 + taxa)");
+        
+        // Célula referenciada e não definida vale zero
+        assertEquals(30.0, planilha.getValor("total"), 0.0);
+        planilha.definirValor("taxa", 0.5);
+        assertEquals(45.0, planilha.getValor("total"), 0.0);
+        assertEquals("preco * quantidade", planilha.getFormula("subtotal"));
+        assertNull(planilha.getFormula("preco"));
+    }
+    
+    @Test
+    public void testeRecalculaApenasAsDependentes() {
+        Planilha planilha = new Planilha(new CalculadoraController());
+        for (int i = 0; i < 100; i++) {
+            planilha.definirValor("x" + i, i);
+            planilha.definirFormula("y" + i, "x" + i + " * 2");
+        }
+        planilha.definirFormula("soma", "y0 + y1");
+        planilha.recalcular();
+        long recalculos = planilha.getRecalculos();
+        
+        planilha.definirValor("x1", 50);
+        assertEquals(100.0, planilha.getValor("soma"), 0.0);
+        // x1, y1 e soma
+        assertEquals(recalculos + 3, planilha.getRecalculos());
+        
+        // Leituras sem alterações não recalculam
+        assertEquals(100.0, planilha.getValor("y50"), 0.0);
+        assertEquals(recalculos + 3, planilha.getRecalculos());
+    }
+    
+    @Test
+    public void testeDiamanteCalculadoUmaVez() {
+        Planilha planilha = new Planilha(new CalculadoraController());
+        planilha.definirValor("a", 1);
+        planilha.definirFormula("b", "a + 1");
+        planilha.definirFormula("c", "a * 10");
+        planilha.definirFormula("d", "b + c + a");
+        assertEquals(13.0, planilha.getValor("d"), 0.0);
+        
+        long recalculos = planilha.getRecalculos();
+        planilha.definirValor("a", 2);
+        assertEquals(25.0, planilha.getValor("d"), 0.0);
+        assertEquals(recalculos + 4, planilha.getRecalculos());
+    }
+    
+    @Test
+    public void testeReferenciaCircular() {
+        Planilha planilha = new Planilha(new CalculadoraController());
+        planilha.definirFormula("a", "b + 1");
+        planilha.definirFormula("b", "c + 1");
+        try {
+            planilha.definirFormula("c", "a + 1");
+            fail("Deveria rejeitar a referência circular");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("c -> a -> b -> c"));
+        }
+        try {
+            planilha.definirFormula("d", "d * 2");
+            fail("Deveria rejeitar a referência a si mesma");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("d -> d"));
+        }
+        // A rejeição não altera a planilha, nem cria as células citadas na fórmula rejeitada
+        assertEquals(new LinkedHashSet<>(Arrays.asList("a", "b", "c")), planilha.getCelulas());
+        planilha.definirValor("c", 5);
+        assertEquals(7.0, planilha.getValor("a"), 0.0);
+    }
+    
+    @Test
+    public void testeFalhaInesperadaNaoInterrompeRecalculo() {
+        CalculadoraController controller = new CalculadoraController();
+        controller.registrarOperacoes(Collections.singletonList(new OperacaoAbstrata("#", "Falha") {
+            @Override
+            public double executar(double a, double b) {
+                throw new IllegalStateException("plugin com defeito");
+            }
+        }));
+        Planilha planilha = new Planilha(controller);
+        planilha.definirValor("x", 1);
+        planilha.definirFormula("quebrada", "x # 2");
+        planilha.definirFormula("dependente", "quebrada + 1");
+        planilha.definirFormula("independente", "x + 1");
+        
+        assertTrue(Double.isNaN(planilha.getValor("dependente")));
+        assertEquals("plugin com defeito", planilha.getErro("quebrada"));
+        assertEquals(2.0, planilha.getValor("independente"), 0.0);
+        
+        // As células continuam sendo recalculadas depois da falha
+        planilha.definirFormula("quebrada", "x * 2");
+        assertEquals(3.0, planilha.getValor("dependente"), 0.0);
+    }
+    
+    @Test
+    public void testeFormulasAcompanhamAsOperacoes() {
+        CalculadoraController controller = new CalculadoraController();
+        controller.registrarOperacoes(Collections.singletonList(new OperacaoAbstrata("#", "Média") {
+            @Override
+            public double executar(double a, double b) {
+                return (a + b) / 2;
+            }
+        }));
+        Planilha planilha = new Planilha(controller);
+        planilha.definirValor("x", 2);
+        planilha.definirValor("y", 4);
+        planilha.definirFormula("media", "x # y");
+        planilha.definirFormula("dobro", "media * 2");
+        // Passa do limite de compilação para bytecode
+        for (int i = 0; i < Planilha.LIMITE_COMPILACAO + 1; i++) {
+            planilha.definirValor("x", i);
+            planilha.recalcular();
+        }
+        planilha.definirValor("x", 2);
+        assertEquals(6.0, planilha.getValor("dobro"), 0.0);
+        
+        controller.registrarOperacoes(Collections.singletonList(new OperacaoAbstrata("#", "Máximo") {
+            @Override
+            public double executar(double a, double b) {
+                return Math.max(a, b);
+            }
+        }));
+        assertEquals(8.0, planilha.getValor("dobro"), 0.0);
+        
+        controller.removerOperacoes(Collections.singletonList("#"));
+        assertTrue(Double.isNaN(planilha.getValor("dobro")));
+        assertTrue(planilha.getErro("media").contains("'#'"));
+        assertEquals("x # y", planilha.getFormula("media"));
+        
+        controller.registrarOperacoes(Collections.singletonList(new OperacaoAbstrata("#", "Mínimo") {
+            @Override
+            public double executar(double a, double b) {
+                return Math.min(a, b);
+            }
+        }));
+        assertEquals(4.0, planilha.getValor("dobro"), 0.0);
+        assertNull(planilha.getErro("media"));
+    }
+    
+    @Test
+    public void testeErroPropagadoComoNaN() {
+        Planilha planilha = new Planilha(new CalculadoraController());
+        planilha.definirValor("x", 1);
+        planilha.definirValor("y", 0);
+        planilha.definirFormula("razao", "x / y");
+        planilha.definirFormula("dobro", "razao * 2");
+        
+        assertTrue(Double.isNaN(planilha.getValor("dobro")));
+        assertNotNull(planilha.getErro("razao"));
+        
+        planilha.definirValor("y", 4);
+        assertEquals(0.5, planilha.getValor("dobro"), 0.0);
+        assertNull(planilha.getErro("razao"));
+    }
+    
+    @Test
+    public void testeParaleloIgualAoSequencial() {
+        CalculadoraController controller = new CalculadoraController();
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            Planilha sequencial = new Planilha(controller);
+            Planilha paralela = new Planilha(controller, pool);
+            for (Planilha planilha : new Planilha[] {sequencial, paralela}) {
+                planilha.definirValor("base", 3);
+                for (int i = 0; i < 500; i++) {
+                    planilha.definirFormula("n" + i, "base * " + i + " + base / " + (i + 1));
+                    planilha.definirFormula("m" + i, "n" + i + " - " + (i > 0 ? "m" + (i - 1) : "base"));
+                }
+            }
+            for (int rodada = 0; rodada < 20; rodada++) {
+                sequencial.definirValor("base", rodada * 1.5);
+                paralela.definirValor("base", rodada * 1.5);
+                for (int i = 0; i < 500; i++) {
+                    assertEquals(Double.doubleToLongBits(sequencial.getValor("m" + i)),
+                        Double.doubleToLongBits(paralela.getValor("m" + i)));
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
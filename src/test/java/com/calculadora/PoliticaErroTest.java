@@ -0,0 +1,101 @@
+package com.calculadora;
+
+import com.calculadora.controller.CalculadoraController;
+import com.calculadora.controller.PoliticaErro;
+import com.calculadora.controller.ResultadoOperacao;
+import com.calculadora.model.Lotes;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Testes unitários para as políticas de erro e as APIs com situação.
+ */
+public class PoliticaErroTest {
+    
+    @Test
+    public void testePadraoLancaExcecao() {
+        CalculadoraController controller = new CalculadoraController();
+        assertEquals(PoliticaErro.EXCECAO, controller.getPoliticaErro());
+        try {
+            controller.executarOperacao("/", 1, 0);
+            fail("Deveria lançar ArithmeticException");
+        } catch (ArithmeticException e) {
+            // esperado
+        }
+        try {
+            controller.executarOperacao("?", 1, 2);
+            fail("Deveria lançar IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            // esperado
+        }
+    }
+    
+    @Test
+    public void testePoliticaIEEE() {
+        CalculadoraController controller = new CalculadoraController();
+        controller.setPoliticaErro(PoliticaErro.IEEE);
+        
+        assertEquals(Double.POSITIVE_INFINITY, controller.executarOperacao("/", 1, 0), 0);
+        assertEquals(Double.NEGATIVE_INFINITY, controller.executarOperacao("/", -1, 0), 0);
+        assertTrue(Double.isNaN(controller.executarOperacao("/", 0, 0)));
+        assertTrue(Double.isNaN(controller.executarOperacao("?", 1, 2)));
+        
+        double[] resultado = new double[3];
+        controller.executarOperacao("/", new double[] {6, 1, 0}, new double[] {3, 0, 0}, resultado);
+        assertEquals(2, resultado[0], 0);
+        assertEquals(Double.POSITIVE_INFINITY, resultado[1], 0);
+        assertTrue(Double.isNaN(resultado[2]));
+    }
+    
+    @Test
+    public void testeSituacaoEmLote() {
+        CalculadoraController controller = new CalculadoraController();
+        int codigo = controller.resolverCodigo("/");
+        double[] a = {6, 1, 8, 0};
+        double[] b = {3, 0, 2, 0};
+        double[] resultado = new double[4];
+        byte[] situacao = new byte[4];
+        
+        // Sem exceções mesmo com a política padrão
+        int falhas = controller.executarOperacao(codigo, a, b, resultado, situacao, 0, 4);
+        assertEquals(2, falhas);
+        assertArrayEquals(new byte[] {Lotes.SITUACAO_OK, Lotes.SITUACAO_ERRO_ARITMETICO,
+            Lotes.SITUACAO_OK, Lotes.SITUACAO_ERRO_ARITMETICO}, situacao);
+        assertEquals(2, resultado[0], 0);
+        assertTrue(Double.isNaN(resultado[1]));
+        assertEquals(4, resultado[2], 0);
+        
+        // Com IEEE a situação continua sinalizando, mas o valor é mantido
+        controller.setPoliticaErro(PoliticaErro.IEEE);
+        controller.executarOperacao(codigo, a, b, resultado, situacao, 0, 4);
+        assertEquals(Lotes.SITUACAO_ERRO_ARITMETICO, situacao[1]);
+        assertEquals(Double.POSITIVE_INFINITY, resultado[1], 0);
+        
+        falhas = controller.executarOperacao(-1, a, b, resultado, situacao, 1, 2);
+        assertEquals(2, falhas);
+        assertEquals(Lotes.SITUACAO_OPERACAO_INVALIDA, situacao[1]);
+        assertEquals(Lotes.SITUACAO_OPERACAO_INVALIDA, situacao[2]);
+        assertEquals(Lotes.SITUACAO_OK, situacao[0]);
+    }
+    
+    @Test
+    public void testeResultadoReutilizavel() {
+        CalculadoraController controller = new CalculadoraController();
+        controller.setPoliticaErro(PoliticaErro.SINALIZAR);
+        ResultadoOperacao resultado = new ResultadoOperacao();
+        
+        assertTrue(controller.executarOperacao("+", 2, 3, resultado));
+        assertTrue(resultado.isOk());
+        assertEquals(5, resultado.getValor(), 0);
+        
+        assertFalse(controller.executarOperacao("/", 2, 0, resultado));
+        assertEquals(Lotes.SITUACAO_ERRO_ARITMETICO, resultado.getSituacao());
+        assertTrue(Double.isNaN(resultado.getValor()));
+        
+        assertFalse(controller.executarOperacao("?", 2, 3, resultado));
+        assertEquals(Lotes.SITUACAO_OPERACAO_INVALIDA, resultado.getSituacao());
+        
+        assertTrue(controller.executarOperacao("*", 2, 3, resultado));
+        assertEquals(6, resultado.getValor(), 0);
+    }
+}
@@ -0,0 +1,169 @@
+package com.calculadora;
+
+import com.calculadora.controller.CalculadoraController;
+import com.calculadora.controller.ModoPrecisao;
+import com.calculadora.model.ContextoDecimal;
+import com.calculadora.model.Operacao;
+import com.calculadora.model.OperacaoAbstrata;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Collections;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Testes unitários para o modo de precisão decimal.
+ */
+public class PrecisaoDecimalTest {
+    
+    private CalculadoraController controller;
+    
+    @Before
+    public void setUp() {
+        controller = new CalculadoraController();
+    }
+    
+    @Test
+    public void testeSomaSemArtefatosBinarios() {
+        assertNotEquals(0.3, controller.executarOperacao("+", 0.1, 0.2), 0.0);
+        
+        controller.setModoPrecisao(ModoPrecisao.DECIMAL);
+        assertEquals(0.3, controller.executarOperacao("+", 0.1, 0.2), 0.0);
+        assertEquals(0.07, controller.executarOperacao("*", 0.7, 0.1), 0.0);
+        assertEquals(0.1, controller.executarOperacao("-", 0.3, 0.2), 0.0);
+        
+        double[] resultado = new double[2];
+        controller.executarOperacao("+", new double[] {0.1, 1.1}, new double[] {0.2, 2.2}, resultado);
+        assertArrayEquals(new double[] {0.3, 3.3}, resultado, 0.0);
+    }
+    
+    @Test
+    public void testeArredondamentoDivisao() {
+        controller.setContextoDecimal(new ContextoDecimal(2, RoundingMode.HALF_UP));
+        assertEquals(new BigDecimal("0.67"), controller.executarOperacao("/", BigDecimal.valueOf(2), BigDecimal.valueOf(3)));
+        
+        controller.setContextoDecimal(new ContextoDecimal(2, RoundingMode.DOWN));
+        assertEquals(new BigDecimal("0.66"), controller.executarOperacao("/", BigDecimal.valueOf(2), BigDecimal.valueOf(3)));
+        
+        controller.setContextoDecimal(new ContextoDecimal(0, RoundingMode.HALF_EVEN));
+        controller.setModoPrecisao(ModoPrecisao.DECIMAL);
+        assertEquals(2.0, controller.executarOperacao("/", 5, 2), 0.0);
+        assertEquals(4.0, controller.executarOperacao("/", 7, 2), 0.0);
+    }
+    
+    @Test
+    public void testeFallbackBigDecimal() {
+        controller.setModoPrecisao(ModoPrecisao.DECIMAL);
+        // Não cabe no ponto fixo: resolvido em BigDecimal
+        assertEquals(1e30, controller.executarOperacao("*", 1e15, 1e15), 0.0);
+        assertEquals(1.0 / 3, controller.executarOperacao("+", 1.0 / 3, 0), 1e-10);
+        
+        BigDecimal grande = new BigDecimal("123456789012345678901234567890.25");
+        assertEquals(new BigDecimal("123456789012345678901234567891.50"),
+            controller.executarOperacao("+", grande, new BigDecimal("1.25")));
+    }
+    
+    @Test
+    public void testePontoFixo() {
+        controller.setContextoDecimal(new ContextoDecimal(2, RoundingMode.HALF_EVEN));
+        int multiplicacao = controller.resolverCodigo("*");
+        // 12.34 * 12.34 = 152.2756, arredondado para 152.28
+        assertEquals(15228, controller.executarOperacaoEscalada(multiplicacao, 1234, 1234));
+        // Multiplicar por 1.00 passa do long no produto intermediário, mas não no resultado
+        long grande = Long.MAX_VALUE / 100 * 100;
+        assertEquals(grande, controller.executarOperacaoEscalada(multiplicacao, grande, 100));
+    }
+    
+    @Test(expected = ArithmeticException.class)
+    public void testeDivisaoPorZeroDecimal() {
+        controller.setModoPrecisao(ModoPrecisao.DECIMAL);
+        controller.executarOperacao("/", 1, 0);
+    }
+    
+    @Test
+    public void testeDividirIgualAoBigDecimal() {
+        Random random = new Random(7);
+        RoundingMode[] modos = {RoundingMode.UP, RoundingMode.DOWN, RoundingMode.CEILING, RoundingMode.FLOOR,
+            RoundingMode.HALF_UP, RoundingMode.HALF_DOWN, RoundingMode.HALF_EVEN};
+        for (RoundingMode modo : modos) {
+            ContextoDecimal contexto = new ContextoDecimal(0, modo);
+            for (int i = 0; i < 2000; i++) {
+                long dividendo = random.nextInt(2001) - 1000;
+                long divisor = random.nextInt(40) - 20;
+                if (divisor == 0) {
+                    continue;
+                }
+                long esperado = BigDecimal.valueOf(dividendo).divide(BigDecimal.valueOf(divisor), 0, modo).longValueExact();
+                assertEquals(modo + ": " + dividendo + "/" + divisor, esperado, contexto.dividir(dividendo, divisor));
+            }
+        }
+    }
+    
+    @Test
+    public void testePontoFixoIgualAoBigDecimal() {
+        Random random = new Random(11);
+        ContextoDecimal contexto = new ContextoDecimal(10, RoundingMode.HALF_EVEN);
+        BigDecimal maximo = contexto.paraBigDecimal(Long.MAX_VALUE);
+        for (int i = 0; i < 20000; i++) {
+            long a = random.nextLong() >> random.nextInt(64);
+            long b = random.nextLong() >> random.nextInt(64);
+            BigDecimal decimalA = contexto.paraBigDecimal(a);
+            BigDecimal decimalB = contexto.paraBigDecimal(b);
+            
+            BigDecimal produto = decimalA.multiply(decimalB).setScale(10, RoundingMode.HALF_EVEN);
+            verificar(produto, maximo, contexto.multiplicarEscalado(a, b), contexto, a + "*" + b);
+            if (b != 0) {
+                BigDecimal quociente = decimalA.divide(decimalB, 10, RoundingMode.HALF_EVEN);
+                verificar(quociente, maximo, contexto.dividirEscalado(a, b), contexto, a + "/" + b);
+            }
+        }
+    }
+    
+    @Test
+    public void testeOperacaoDecimalDuranteTrocaDeOperacoes() throws InterruptedException {
+        Operacao resto = new OperacaoAbstrata("%", "Resto") {
+            @Override
+            public double executar(double a, double b) {
+                return a % b;
+            }
+        };
+        AtomicBoolean parar = new AtomicBoolean();
+        AtomicReference<Throwable> falha = new AtomicReference<>();
+        Thread thread = new Thread(() -> {
+            try {
+                while (!parar.get()) {
+                    try {
+                        assertEquals(0, BigDecimal.ONE.compareTo(
+                            controller.executarOperacao("%", BigDecimal.valueOf(7), BigDecimal.valueOf(3))));
+                    } catch (IllegalArgumentException e) {
+                        // Removida entre as chamadas: nunca um código resolvido em outro retrato
+                        assertEquals("Operação '%' não encontrada!", e.getMessage());
+                    }
+                }
+            } catch (Throwable e) {
+                falha.set(e);
+            }
+        });
+        thread.start();
+        for (int i = 0; i < 2000; i++) {
+            controller.registrarOperacoes(Collections.singletonList(resto));
+            controller.removerOperacoes(Collections.singletonList("%"));
+        }
+        parar.set(true);
+        thread.join();
+        assertNull(falha.get());
+    }
+    
+    private static void verificar(BigDecimal esperado, BigDecimal maximo, long resultado, ContextoDecimal contexto,
+                                  String mensagem) {
+        if (esperado.abs().compareTo(maximo) > 0) {
+            assertEquals(mensagem, ContextoDecimal.FORA_DO_INTERVALO, resultado);
+        } else {
+            assertEquals(mensagem, esperado, contexto.paraBigDecimal(resultado));
+        }
+    }
+}
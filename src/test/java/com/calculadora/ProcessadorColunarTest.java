@@ -0,0 +1,95 @@
+package com.calculadora;
+
+import com.calculadora.controller.CalculadoraController;
+import com.calculadora.io.FormatoColunar;
+import com.calculadora.io.ProcessadorColunar;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Testes unitários para o formato binário colunar.
+ */
+public class ProcessadorColunarTest {
+    
+    private Path diretorio;
+    private Path entrada;
+    private Path saida;
+    
+    @Before
+    public void setUp() throws IOException {
+        diretorio = Files.createTempDirectory("colunar");
+        entrada = diretorio.resolve("entrada.bin");
+        saida = diretorio.resolve("saida.bin");
+    }
+    
+    @After
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(entrada);
+        Files.deleteIfExists(saida);
+        Files.deleteIfExists(diretorio);
+    }
+    
+    @Test
+    public void testeProcessamentoEmJanelas() throws IOException {
+        String[] simbolos = {"+", "/", "%"};
+        byte[] codigos = {0, 0, 1, 1, 1, 2, 0};
+        double[] a = {1, 2, 10, 10, 10, 5, 0.1};
+        double[] b = {2, 3, 4, 0, 5, 5, 0.2};
+        FormatoColunar.escreverEntrada(entrada, simbolos, codigos, a, b);
+        
+        ProcessadorColunar processador = new ProcessadorColunar(new CalculadoraController(), 3);
+        assertEquals(7, processador.processar(entrada, saida));
+        assertEquals(2, processador.getErros());
+        
+        ByteBuffer resultado = ByteBuffer.wrap(Files.readAllBytes(saida)).order(ByteOrder.LITTLE_ENDIAN);
+        assertEquals(7, resultado.getLong(8));
+        double[] esperados = {3, 5, 2.5, Double.NaN, 2, Double.NaN, 0.1 + 0.2};
+        byte[] situacoes = {0, 0, 0, FormatoColunar.SITUACAO_ERRO_ARITMETICO, 0,
+            FormatoColunar.SITUACAO_OPERACAO_INVALIDA, 0};
+        for (int i = 0; i < 7; i++) {
+            assertEquals(esperados[i], resultado.getDouble(16 + i * 8), 0.0);
+            assertEquals(situacoes[i], resultado.get(16 + 7 * 8 + i));
+        }
+    }
+    
+    @Test
+    public void testeVersaoNaoSuportada() throws IOException {
+        FormatoColunar.escreverEntrada(entrada, new String[] {"+"}, new byte[] {0}, new double[] {1}, new double[] {2});
+        try (FileChannel canal = FileChannel.open(entrada, StandardOpenOption.WRITE)) {
+            ByteBuffer versao = ByteBuffer.allocate(2).order(ByteOrder.LITTLE_ENDIAN);
+            versao.putShort(0, (short) (FormatoColunar.VERSAO + 1));
+            canal.write(versao, 4);
+        }
+        try {
+            new ProcessadorColunar(new CalculadoraController()).processar(entrada, saida);
+            fail("Deveria recusar a versão");
+        } catch (IOException e) {
+            assertTrue(e.getMessage().contains("Versão"));
+        }
+    }
+    
+    @Test
+    public void testeNumeroDeLinhasQueEstouraOTamanho() throws IOException {
+        // 17 bytes por linha: o tamanho esperado daria a volta e caberia em um arquivo pequeno
+        long linhas = Long.divideUnsigned(-1L, 1 + 2 * Double.BYTES) + 1;
+        ByteBuffer cabecalho = ByteBuffer.allocate(64).order(ByteOrder.LITTLE_ENDIAN);
+        cabecalho.putInt(0x424C4143).putShort((short) FormatoColunar.VERSAO).putShort((short) 1).putLong(linhas);
+        cabecalho.put((byte) 1).put((byte) '+');
+        Files.write(entrada, cabecalho.array());
+        try (FileChannel canal = FileChannel.open(entrada, StandardOpenOption.READ)) {
+            FormatoColunar.lerCabecalho(canal);
+            fail("Deveria recusar o número de linhas");
+        } catch (IOException e) {
+            assertTrue(e.getMessage().contains("linhas"));
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.calculadora;
+
+import com.calculadora.controller.CalculadoraController;
+import com.calculadora.io.CodecNumerico;
+import com.calculadora.io.ProcessadorLote;
+import com.calculadora.model.OperacaoAbstrata;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Random;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Testes unitários para o processamento em lote e a leitura de números.
+ */
+public class ProcessadorLoteTest {
+    
+    private CalculadoraController controller;
+    
+    @Before
+    public void setUp() {
+        controller = new CalculadoraController();
+    }
+    
+    private String processar(String entrada, int tamanhoBuffer) throws IOException {
+        return processar(new ProcessadorLote(controller, tamanhoBuffer), entrada);
+    }
+    
+    private static String processar(ProcessadorLote processador, String entrada) throws IOException {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        processador.processar(
+            Channels.newChannel(new ByteArrayInputStream(entrada.getBytes(StandardCharsets.UTF_8))),
+            Channels.newChannel(saida));
+        return new String(saida.toByteArray(), StandardCharsets.UTF_8);
+    }
+    
+    @Test
+    public void testeFormatos() throws IOException {
+        String saida = processar("12.5 * 3\n10,/,4\r\n-1 - -2\n7+8\n\n2e3;+;1", 1024);
+        assertEquals("37.5\n2.5\n1.0\n15.0\n\n2001.0\n", saida);
+    }
+    
+    @Test
+    public void testeErrosNaoInterrompem() throws IOException {
+        String saida = processar("1 / 0\nabc + 1\n1 % 2\n3 * 3\n", 1024);
+        String[] linhas = saida.split("\n");
+        assertEquals(4, linhas.length);
+        assertTrue(linhas[0].startsWith("ERRO"));
+        assertTrue(linhas[1].startsWith("ERRO"));
+        assertTrue(linhas[2].startsWith("ERRO"));
+        assertEquals("9.0", linhas[3]);
+        // Na política padrão, a mensagem é a da exceção da operação
+        assertEquals("ERRO: Divisão por zero não é permitida!", linhas[0]);
+    }
+    
+    @Test
+    public void testeOperacoesRegistradasDepoisDeCriado() throws IOException {
+        ProcessadorLote processador = new ProcessadorLote(controller, 1024);
+        controller.registrarOperacoes(Collections.singletonList(new OperacaoAbstrata("max", "Máximo") {
+            @Override
+            public double executar(double a, double b) {
+                return Math.max(a, b);
+            }
+        }));
+        assertEquals("7.0\n", processar(processador, "3 max 7\n"));
+        
+        controller.removerOperacoes(Collections.singletonList("max"));
+        assertTrue(processar(processador, "3 max 7\n").startsWith("ERRO"));
+    }
+    
+    @Test
+    public void testeLinhasAtravessandoBuffers() throws IOException {
+        StringBuilder entrada = new StringBuilder();
+        StringBuilder esperado = new StringBuilder();
+        for (int i = 0; i < 2000; i++) {
+            entrada.append(i).append(" + 0.5\n");
+            esperado.append(i + 0.5).append('\n');
+        }
+        assertEquals(esperado.toString(), processar(entrada.toString(), 256));
+    }
+    
+    @Test
+    public void testeLinhaMaiorQueBuffer() throws IOException {
+        StringBuilder longa = new StringBuilder();
+        for (int i = 0; i < 600; i++) {
+            longa.append(' ');
+        }
+        String saida = processar("1 + 1\n" + longa + "1 + 2\n2 + 2\n", 256);
+        String[] linhas = saida.split("\n");
+        assertEquals("2.0", linhas[0]);
+        assertTrue(linhas[1].startsWith("ERRO"));
+        assertEquals("4.0", linhas[2]);
+    }
+    
+    @Test
+    public void testeLeituraIgualAoJdk() {
+        String[] textos = {"0", "-0", "1", "0.1", "3.14159", "1e10", "-2.5E-3", "123456789012345678901234",
+            "0.30000000000000004", "1e-320", "1.7976931348623157E308", ".5", "5.", "NaN", "-Infinity"};
+        for (String texto : textos) {
+            byte[] bytes = texto.getBytes(StandardCharsets.US_ASCII);
+            assertEquals(texto, Double.parseDouble(texto), CodecNumerico.lerDouble(bytes, 0, bytes.length), 0.0);
+        }
+        
+        Random random = new Random(7);
+        for (int i = 0; i < 100_000; i++) {
+            String texto = Double.toString(random.nextDouble() * Math.pow(10, random.nextInt(40) - 20));
+            byte[] bytes = texto.getBytes(StandardCharsets.US_ASCII);
+            assertEquals(texto, Double.parseDouble(texto), CodecNumerico.lerDouble(bytes, 0, bytes.length), 0.0);
+        }
+    }
+    
+    @Test
+    public void testeMantissasDe19E20Digitos() throws IOException {
+        // Mantissas que não cabem em um long com sinal não podem virar números negativos
+        String[] textos = {"9999999999999999999", "0.9999999999999999999", "9223372036854775808",
+            "18446744073709551615", "12345678901234567890", "-9999999999999999999", "99999999999999999999e-20"};
+        for (String texto : textos) {
+            byte[] bytes = texto.getBytes(StandardCharsets.US_ASCII);
+            assertEquals(texto, Double.parseDouble(texto), CodecNumerico.lerDouble(bytes, 0, bytes.length), 0.0);
+        }
+        assertEquals("1.0E19\n1.0\n", processar("9999999999999999999 + 0\n0.9999999999999999999 * 1\n", 1024));
+    }
+    
+    @Test(expected = NumberFormatException.class)
+    public void testeLeituraInvalida() {
+        byte[] bytes = "1.2.3".getBytes(StandardCharsets.US_ASCII);
+        CodecNumerico.lerDouble(bytes, 0, bytes.length);
+    }
+}
@@ -0,0 +1,163 @@
+package com.calculadora;
+
+import com.calculadora.controller.CalculadoraController;
+import com.calculadora.controller.ModoPrecisao;
+import com.calculadora.reducao.Estatisticas;
+import com.calculadora.reducao.Redutor;
+import com.calculadora.reducao.SomaCompensada;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.stream.DoubleStream;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Testes unitários para as reduções e estatísticas.
+ */
+public class RedutorTest {
+    
+    private static double[] valoresAleatorios(int n) {
+        Random aleatorio = new Random(42);
+        double[] valores = new double[n];
+        for (int i = 0; i < n; i++) {
+            // Magnitudes muito diferentes, para que a soma direta perca precisão
+            valores[i] = aleatorio.nextGaussian() * Math.pow(10, aleatorio.nextInt(20) - 10);
+        }
+        return valores;
+    }
+    
+    private static double somaExata(double[] valores) {
+        BigDecimal soma = BigDecimal.ZERO;
+        for (double valor : valores) {
+            soma = soma.add(new BigDecimal(valor));
+        }
+        return soma.doubleValue();
+    }
+    
+    @Test
+    public void testeSomaCompensada() {
+        SomaCompensada soma = new SomaCompensada().adicionar(1e16).adicionar(1.0).adicionar(-1e16);
+        assertEquals(1.0, soma.getSoma(), 0.0);
+        assertEquals(3, soma.getQuantidade());
+        
+        double[] valores = valoresAleatorios(100_000);
+        double exata = somaExata(valores);
+        assertEquals(exata, new SomaCompensada().adicionar(valores, 0, valores.length).getSoma(), Math.ulp(exata));
+    }
+    
+    @Test
+    public void testeSomaParalelaIgualAExata() {
+        double[] valores = valoresAleatorios(200_000);
+        double exata = somaExata(valores);
+        try (Redutor redutor = new Redutor(new CalculadoraController(), 4, 1000)) {
+            assertEquals(exata, redutor.somar(valores), Math.ulp(exata));
+            assertEquals(exata, redutor.reduzir("+", valores), Math.ulp(exata));
+        }
+        assertEquals(exata, Redutor.somar(DoubleStream.of(valores).parallel()), Math.ulp(exata));
+    }
+    
+    @Test
+    public void testeEstatisticasWelford() {
+        Estatisticas estatisticas = new Estatisticas();
+        // Deslocamento grande: a fórmula ingênua perderia todos os dígitos da variância
+        for (double valor : new double[] {4, 7, 13, 16}) {
+            estatisticas.adicionar(1e9 + valor);
+        }
+        assertEquals(4, estatisticas.getContagem());
+        assertEquals(1e9 + 10, estatisticas.getMedia(), 0.0);
+        assertEquals(30.0, estatisticas.getVarianciaAmostral(), 1e-6);
+        assertEquals(22.5, estatisticas.getVariancia(), 1e-6);
+        assertEquals(1e9 + 4, estatisticas.getMinimo(), 0.0);
+        assertEquals(1e9 + 16, estatisticas.getMaximo(), 0.0);
+        
+        Estatisticas vazia = new Estatisticas();
+        assertTrue(Double.isNaN(vazia.getMedia()));
+        assertTrue(Double.isNaN(vazia.getMinimo()));
+        assertEquals(0.0, vazia.getSoma(), 0.0);
+    }
+    
+    @Test
+    public void testeEstatisticasParalelasIguaisAsSequenciais() {
+        double[] valores = valoresAleatorios(100_000);
+        Estatisticas sequencial = new Estatisticas().adicionar(valores, 0, valores.length);
+        try (Redutor redutor = new Redutor(new CalculadoraController(), 4, 777)) {
+            Estatisticas paralela = redutor.estatisticas(valores);
+            assertEquals(sequencial.getContagem(), paralela.getContagem());
+            assertEquals(sequencial.getSoma(), paralela.getSoma(), Math.ulp(sequencial.getSoma()));
+            assertEquals(sequencial.getMedia(), paralela.getMedia(), Math.abs(sequencial.getMedia()) * 1e-12);
+            assertEquals(sequencial.getVariancia(), paralela.getVariancia(), sequencial.getVariancia() * 1e-12);
+            assertEquals(sequencial.getMinimo(), paralela.getMinimo(), 0.0);
+            assertEquals(sequencial.getMaximo(), paralela.getMaximo(), 0.0);
+        }
+        Estatisticas fluxo = Redutor.estatisticas(DoubleStream.of(valores).parallel());
+        assertEquals(sequencial.getVariancia(), fluxo.getVariancia(), sequencial.getVariancia() * 1e-12);
+    }
+    
+    @Test
+    public void testeReduzirPorOperacao() {
+        try (Redutor redutor = new Redutor(new CalculadoraController(), 4, 4)) {
+            double[] valores = {1, 2, 3, 4, 5, 6, 7, 8, 9, 10};
+            assertEquals(3628800.0, redutor.reduzir("*", valores), 0.0);
+            // Não associativa: sempre da esquerda para a direita
+            assertEquals(1 - 2 - 3 - 4 - 5 - 6 - 7 - 8 - 9 - 10, redutor.reduzir("-", valores), 0.0);
+            assertEquals(5.0, redutor.reduzir("/", new double[] {100, 5, 4}), 0.0);
+            
+            try {
+                redutor.reduzir("*", new double[0]);
+                fail("Deveria rejeitar a redução de um vetor vazio");
+            } catch (IllegalArgumentException e) {
+                // Esperado
+            }
+            // A adição no modo binário usa a soma compensada, mas rejeita o vetor vazio como as demais
+            try {
+                redutor.reduzir("+", new double[0]);
+                fail("Deveria rejeitar a redução de um vetor vazio");
+            } catch (IllegalArgumentException e) {
+                // Esperado
+            }
+            assertEquals(0.0, redutor.somar(new double[0]), 0.0);
+            try {
+                redutor.reduzir("/", new double[] {1, 0});
+                fail("Deveria propagar a divisão por zero");
+            } catch (ArithmeticException e) {
+                // Esperado
+            }
+        }
+        
+        CalculadoraController decimal = new CalculadoraController();
+        decimal.setModoPrecisao(ModoPrecisao.DECIMAL);
+        try (Redutor redutor = new Redutor(decimal, 4, 4)) {
+            redutor.reduzir("+", new double[0]);
+            fail("Deveria rejeitar a redução de um vetor vazio no modo decimal");
+        } catch (IllegalArgumentException e) {
+            // Esperado
+        }
+    }
+    
+    @Test
+    public void testeEstatisticasDeArquivo() throws IOException {
+        Path arquivo = Files.createTempFile("valores", ".txt");
+        try {
+            StringBuilder texto = new StringBuilder();
+            Estatisticas esperadas = new Estatisticas();
+            for (int i = 0; i < 50_000; i++) {
+                double valor = i * 0.25 - 1000;
+                esperadas.adicionar(valor);
+                texto.append(valor).append(i % 3 == 0 ? "\n" : i % 3 == 1 ? ", " : " ; ");
+            }
+            Files.write(arquivo, texto.toString().getBytes(StandardCharsets.UTF_8));
+            
+            Estatisticas lidas = Redutor.estatisticas(arquivo);
+            assertEquals(esperadas.getContagem(), lidas.getContagem());
+            assertEquals(esperadas.getSoma(), lidas.getSoma(), 0.0);
+            assertEquals(esperadas.getVariancia(), lidas.getVariancia(), 0.0);
+            assertEquals(-1000.0, lidas.getMinimo(), 0.0);
+        } finally {
+            Files.delete(arquivo);
+        }
+    }
+}
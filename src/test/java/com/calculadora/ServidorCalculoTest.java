@@ -0,0 +1,114 @@
+package com.calculadora;
+
+import com.calculadora.controller.CalculadoraController;
+import com.calculadora.io.FormatoColunar;
+import com.calculadora.servidor.ClienteCarga;
+import com.calculadora.servidor.ProtocoloBinario;
+import com.calculadora.servidor.ServidorCalculo;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Testes do servidor de cálculos nos protocolos binário e texto.
+ */
+public class ServidorCalculoTest {
+    
+    private ServidorCalculo servidor;
+    
+    @Before
+    public void setUp() throws IOException {
+        servidor = new ServidorCalculo(new CalculadoraController());
+        servidor.iniciar(0, 0);
+    }
+    
+    @After
+    public void tearDown() {
+        servidor.parar();
+    }
+    
+    private SocketChannel conectar(int porta) throws IOException {
+        return SocketChannel.open(new InetSocketAddress(InetAddress.getLoopbackAddress(), porta));
+    }
+    
+    private static void lerCompleto(SocketChannel canal, ByteBuffer destino) throws IOException {
+        while (destino.hasRemaining()) {
+            assertTrue(canal.read(destino) >= 0);
+        }
+        destino.flip();
+    }
+    
+    @Test
+    public void testeProtocoloBinarioComPipelining() throws IOException {
+        try (SocketChannel canal = conectar(servidor.getPortaBinaria())) {
+            ByteBuffer pedidos = ByteBuffer.allocate(1024);
+            ProtocoloBinario.escreverPedido(pedidos, 1, new String[] {"+", "/", "%"},
+                new double[] {2, 1, 1}, new double[] {3, 0, 1});
+            ProtocoloBinario.escreverPedido(pedidos, 2, new String[] {"*"}, new double[] {6}, new double[] {7});
+            pedidos.flip();
+            while (pedidos.hasRemaining()) {
+                canal.write(pedidos);
+            }
+            
+            ByteBuffer resposta = ByteBuffer.allocate(ProtocoloBinario.tamanhoResposta(3) + ProtocoloBinario.tamanhoResposta(1));
+            lerCompleto(canal, resposta);
+            
+            assertEquals(1, resposta.getInt(4));
+            assertEquals(3, resposta.getShort(8));
+            assertEquals(FormatoColunar.SITUACAO_OK, resposta.get(10));
+            assertEquals(5.0, resposta.getDouble(11), 0.0);
+            assertEquals(FormatoColunar.SITUACAO_ERRO_ARITMETICO, resposta.get(19));
+            assertEquals(FormatoColunar.SITUACAO_OPERACAO_INVALIDA, resposta.get(28));
+            
+            int segunda = ProtocoloBinario.tamanhoResposta(3);
+            assertEquals(2, resposta.getInt(segunda + 4));
+            assertEquals(42.0, resposta.getDouble(segunda + 11), 0.0);
+        }
+    }
+    
+    @Test
+    public void testeProtocoloTexto() throws IOException {
+        try (SocketChannel canal = conectar(servidor.getPortaTexto())) {
+            canal.write(ByteBuffer.wrap("1 + 2\n10 / 4\n".getBytes(StandardCharsets.US_ASCII)));
+            ByteBuffer resposta = ByteBuffer.allocate("3.0\n2.5\n".length());
+            lerCompleto(canal, resposta);
+            assertEquals("3.0\n2.5\n", StandardCharsets.US_ASCII.decode(resposta).toString());
+        }
+    }
+    
+    @Test
+    public void testeProtocoloTextoMantissasLongas() throws IOException {
+        try (SocketChannel canal = conectar(servidor.getPortaTexto())) {
+            canal.write(ByteBuffer.wrap("9999999999999999999 + 0\n12345678901234567890 - 0\n"
+                .getBytes(StandardCharsets.US_ASCII)));
+            String esperado = "1.0E19\n1.2345678901234567E19\n";
+            ByteBuffer resposta = ByteBuffer.allocate(esperado.length());
+            lerCompleto(canal, resposta);
+            assertEquals(esperado, StandardCharsets.US_ASCII.decode(resposta).toString());
+        }
+    }
+    
+    @Test
+    public void testeClienteCarga() throws InterruptedException {
+        ClienteCarga cliente = new ClienteCarga(servidor.getPortaBinaria(), 2, 8, 4);
+        cliente.executar(1);
+        assertTrue(cliente.getPedidos() > 0);
+        assertEquals(cliente.getPedidos(), cliente.getLatencias().getTotal());
+    }
+    
+    @Test(timeout = 60_000)
+    public void testeClienteCargaComPipelineMaiorQueOsBuffers() throws InterruptedException {
+        // Cerca de 14 MiB de pedidos em trânsito: o servidor para de ler enquanto não consegue responder
+        ClienteCarga cliente = new ClienteCarga(servidor.getPortaBinaria(), 1, 256, 3000);
+        cliente.executar(1);
+        assertTrue(cliente.getPedidos() >= 256);
+        assertEquals(cliente.getPedidos(), cliente.getLatencias().getTotal());
+    }
+}
@@ -0,0 +1,90 @@
+package com.calculadora;
+
+import com.calculadora.carga.TesteResistencia;
+import com.calculadora.controller.CalculadoraController;
+import com.calculadora.model.OperacaoAbstrata;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Testes unitários para o teste de resistência.
+ */
+public class TesteResistenciaTest {
+    
+    @Test
+    public void testeLerMistura() {
+        Map<String, Integer> mistura = TesteResistencia.lerMistura("+:40, /:10,+:5");
+        assertEquals(Integer.valueOf(45), mistura.get("+"));
+        assertEquals(Integer.valueOf(10), mistura.get("/"));
+        try {
+            TesteResistencia.lerMistura("+40");
+            fail("Deveria rejeitar um par sem peso");
+        } catch (IllegalArgumentException e) {
+            // esperado
+        }
+    }
+    
+    @Test
+    public void testeDivisoresZeroEArquivo() throws Exception {
+        CalculadoraController controller = new CalculadoraController();
+        TesteResistencia teste = new TesteResistencia(controller, 2, 2000);
+        teste.setMistura(TesteResistencia.lerMistura("/:1"));
+        teste.setTaxaDivisorZero(0.5);
+        teste.setIntervaloRelatorio(Duration.ofMillis(100));
+        teste.setImprimir(false);
+        
+        Path arquivo = Files.createTempFile("resistencia", ".json");
+        try {
+            teste.executar(Duration.ofMillis(300), arquivo);
+            String json = new String(Files.readAllBytes(arquivo), StandardCharsets.UTF_8);
+            assertTrue(json.contains("\"configuracao\""));
+            assertTrue(json.contains("\"intervalos\""));
+            assertTrue(json.contains("\"total\""));
+            assertTrue(json.contains("\"correcao_omissao\": true"));
+        } finally {
+            Files.deleteIfExists(arquivo);
+        }
+        
+        // Laço aberto: cerca de 2 threads × 2000/s × 0,3 s
+        assertTrue(teste.getOperacoes() > 600 && teste.getOperacoes() <= 1300);
+        double fracaoErros = teste.getErros() / (double) teste.getOperacoes();
+        assertTrue("Fração de erros: " + fracaoErros, fracaoErros > 0.3 && fracaoErros < 0.7);
+    }
+    
+    @Test
+    public void testeCorrecaoOmissaoCoordenada() throws Exception {
+        CalculadoraController controller = new CalculadoraController();
+        AtomicBoolean pausou = new AtomicBoolean();
+        controller.registrarOperacoes(Collections.singletonList(new OperacaoAbstrata("~", "Pausa única") {
+            @Override
+            public double executar(double a, double b) {
+                if (!pausou.getAndSet(true)) {
+                    try {
+                        Thread.sleep(100);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return a;
+            }
+        }));
+        
+        TesteResistencia teste = new TesteResistencia(controller, 1, 1000);
+        teste.setMistura(TesteResistencia.lerMistura("~:1"));
+        teste.setImprimir(false);
+        teste.executar(Duration.ofMillis(400), null);
+        
+        // Uma só chamada demorou, mas as ~100 previstas durante a pausa também esperaram
+        long p90Corrigido = teste.getLatencias().percentil(90);
+        long p90Servico = teste.getLatenciasServico().percentil(90);
+        assertTrue("p90 corrigido: " + p90Corrigido, p90Corrigido > 10_000_000L);
+        assertTrue("p90 de serviço: " + p90Servico, p90Servico < 10_000_000L);
+    }
+}